@@ -0,0 +1,3 @@
+@echo off
+java -Xmx1024m -jar lib\iris-client-5.74.0.jar iris-client.properties
+echo on
@@ -0,0 +1,3 @@
+#!/bin/sh
+
+java -Xmx1024m -agentlib:jdwp=transport=dt_socket,server=y,suspend=n -jar lib/iris-client-5.74.0.jar iris-client.properties
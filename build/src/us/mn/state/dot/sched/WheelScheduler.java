@@ -0,0 +1,398 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Scheduler for performing jobs in a dedicated thread, using a hierarchical
+ * timing wheel.  This has the same API as Scheduler, but adding and removing
+ * jobs are constant time, and callers never contend for a lock with the
+ * scheduler thread.  Jobs are performed with a resolution of TICK_MS.
+ *
+ * @author Douglas Lau
+ */
+public final class WheelScheduler {
+
+	/** Scheduler thread group */
+	static private final ThreadGroup GROUP = new ThreadGroup("WHEEL");
+
+	/** Default exception handler */
+	static private ExceptionHandler HANDLER = new ExceptionHandler() {
+		public boolean handle(Exception e) {
+			System.err.println("WheelScheduler: " +
+				Thread.currentThread().getName());
+			e.printStackTrace();
+			return true;
+		}
+	};
+
+	/** Set the default exception handler */
+	static public void setHandler(ExceptionHandler h) {
+		HANDLER = h;
+	}
+
+	/** Duration of one tick (ms) */
+	static public final int TICK_MS = 10;
+
+	/** Number of bits for first wheel slots */
+	static private final int ROOT_BITS = 8;
+
+	/** Number of bits for upper wheel slots */
+	static private final int LEVEL_BITS = 6;
+
+	/** Number of wheel levels */
+	static private final int LEVELS = 4;
+
+	/** Maximum tick span of all wheels */
+	static private final long MAX_SPAN =
+		1L << (ROOT_BITS + LEVEL_BITS * (LEVELS - 1));
+
+	/** Get the bit shift for a wheel level */
+	static private int levelShift(int lvl) {
+		return (lvl > 0) ? ROOT_BITS + LEVEL_BITS * (lvl - 1) : 0;
+	}
+
+	/** Get the number of slots for a wheel level */
+	static private int levelSlots(int lvl) {
+		return (lvl > 0) ? 1 << LEVEL_BITS : 1 << ROOT_BITS;
+	}
+
+	/** Get the tick span of a wheel level */
+	static private long levelSpan(int lvl) {
+		return 1L << (levelShift(lvl) + ((lvl > 0)
+			? LEVEL_BITS : ROOT_BITS));
+	}
+
+	/** Get the tick when a job should be performed */
+	static private long jobTick(Job job) {
+		long t = TimeSteward.currentTimeMillis() + job.delay();
+		return Math.floorDiv(t + TICK_MS - 1, TICK_MS);
+	}
+
+	/** Slot containing jobs in insertion order */
+	static private final class Slot extends LinkedHashSet<Job> { }
+
+	/** Exception handler */
+	private final ExceptionHandler handler;
+
+	/** Handle an exception */
+	private void handleException(Exception e) {
+		if (handler != null)
+			handler.handle(e);
+		else
+			HANDLER.handle(e);
+	}
+
+	/** Thread for running jobs */
+	private final Thread thread;
+
+	/** Debug log for scheduled jobs */
+	private final DebugLog slog;
+
+	/** Wheel slots for each level.  Only accessed by scheduler thread. */
+	private final Slot[][] wheels = new Slot[LEVELS][];
+
+	/** Mapping of scheduled jobs to slots.  Only accessed by scheduler
+	 * thread. */
+	private final HashMap<Job, Slot> slots = new HashMap<Job, Slot>();
+
+	/** Pseudo-slot for jobs which are due to be performed */
+	private final Slot due = new Slot();
+
+	/** Jobs which were due when scheduled.  Only accessed by scheduler
+	 * thread. */
+	private final ArrayList<Job> ready = new ArrayList<Job>();
+
+	/** Jobs to add to the wheel */
+	private final ConcurrentLinkedQueue<Job> toadd =
+		new ConcurrentLinkedQueue<Job>();
+
+	/** Jobs to remove from the wheel */
+	private final ConcurrentLinkedQueue<Job> toremove =
+		new ConcurrentLinkedQueue<Job>();
+
+	/** Next tick to be processed.  Only accessed by scheduler thread. */
+	private long tick;
+
+	/** Time the scheduler thread will wake up (Long.MIN_VALUE while
+	 * performing jobs) */
+	private volatile long wake_time = Long.MIN_VALUE;
+
+	/** Count of scheduled jobs */
+	private volatile int n_jobs = 0;
+
+	/** Maximum lag (ms) of performed jobs since last check */
+	private long max_lag = 0;
+
+	/** Flag to indicate disposing */
+	private boolean disposing = false;
+
+	/** Create a new job scheduler */
+	public WheelScheduler() {
+		this("wheel");
+	}
+
+	/** Create a new job scheduler */
+	public WheelScheduler(String name) {
+		this(name, null);
+	}
+
+	/** Create a new job scheduler */
+	public WheelScheduler(String name, ExceptionHandler h) {
+		slog = new DebugLog(name, h);
+		handler = h;
+		for (int lvl = 0; lvl < LEVELS; lvl++) {
+			wheels[lvl] = new Slot[levelSlots(lvl)];
+			for (int i = 0; i < wheels[lvl].length; i++)
+				wheels[lvl][i] = new Slot();
+		}
+		tick = currentTick();
+		thread = new Thread(GROUP, name) {
+			public void run() {
+				try {
+					performJobs();
+				}
+				catch (InterruptedException e) {
+					if (!disposing)
+						handleException(e);
+				}
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/** Get the current tick */
+	private long currentTick() {
+		return Math.floorDiv(TimeSteward.currentTimeMillis(), TICK_MS);
+	}
+
+	/** Perform jobs as they are scheduled */
+	private void performJobs() throws InterruptedException {
+		while (!thread.isInterrupted()) {
+			addJobs();
+			removeJobs();
+			ArrayList<Job> jobs = advance();
+			for (Job job: jobs) {
+				removeJobs();
+				if (slots.get(job) == due) {
+					slots.remove(job);
+					performJob(job);
+					if (job.isRepeating()) {
+						job.computeNextTime();
+						schedule(job);
+					}
+				}
+			}
+			n_jobs = slots.size();
+			if (jobs.isEmpty())
+				waitTick();
+		}
+	}
+
+	/** Add jobs from the add queue to the wheel */
+	private void addJobs() {
+		Job job = toadd.poll();
+		while (job != null) {
+			if (!slots.containsKey(job))
+				schedule(job);
+			job = toadd.poll();
+		}
+	}
+
+	/** Remove jobs in the remove queue from the wheel.  This needs to be
+	 * done on the scheduler thread in case the job is being performed
+	 * while removeJob is called. */
+	private void removeJobs() {
+		Job job = toremove.poll();
+		while (job != null) {
+			Slot s = slots.remove(job);
+			if (s != null && s != due)
+				s.remove(job);
+			job = toremove.poll();
+		}
+	}
+
+	/** Schedule a job in the proper wheel slot */
+	private void schedule(Job job) {
+		if (job.delay() > 0)
+			place(job, jobTick(job));
+		else {
+			slots.put(job, due);
+			ready.add(job);
+		}
+	}
+
+	/** Place a job into a wheel slot.
+	 * @param job Job to place.
+	 * @param jt Tick when job should be performed. */
+	private void place(Job job, long jt) {
+		long delta = Math.max(jt - tick, 0);
+		if (delta >= MAX_SPAN) {
+			// Park in the farthest slot; it will be re-placed
+			// when that slot is cascaded
+			jt = tick + MAX_SPAN - 1;
+			delta = MAX_SPAN - 1;
+		}
+		int lvl = 0;
+		while (delta >= levelSpan(lvl))
+			lvl++;
+		long t = (delta > 0) ? jt : tick;
+		Slot[] wheel = wheels[lvl];
+		Slot s = wheel[(int) (t >>> levelShift(lvl)) &
+			(wheel.length - 1)];
+		s.add(job);
+		slots.put(job, s);
+	}
+
+	/** Advance the wheel up to the current tick.
+	 * @return Jobs which are due, sorted in scheduled order. */
+	private ArrayList<Job> advance() {
+		ArrayList<Job> jobs = new ArrayList<Job>();
+		long now = currentTick();
+		if (slots.isEmpty() && tick < now)
+			tick = now;
+		while (tick <= now) {
+			cascade();
+			Slot s = wheels[0][(int) tick & (levelSlots(0) - 1)];
+			for (Job job: s) {
+				slots.put(job, due);
+				jobs.add(job);
+			}
+			s.clear();
+			tick++;
+		}
+		jobs.addAll(ready);
+		ready.clear();
+		Collections.sort(jobs);
+		return jobs;
+	}
+
+	/** Cascade jobs from upper wheels into lower wheels */
+	private void cascade() {
+		for (int lvl = 1; lvl < LEVELS; lvl++) {
+			long mask = (1L << levelShift(lvl)) - 1;
+			if ((tick & mask) != 0)
+				break;
+			Slot[] wheel = wheels[lvl];
+			Slot s = wheel[(int) (tick >>> levelShift(lvl)) &
+				(wheel.length - 1)];
+			ArrayList<Job> jobs = new ArrayList<Job>(s);
+			s.clear();
+			for (Job job: jobs)
+				schedule(job);
+		}
+	}
+
+	/** Wait until the next tick which may have jobs to perform */
+	private void waitTick() throws InterruptedException {
+		long wt = nextTick() * TICK_MS;
+		synchronized (this) {
+			wake_time = wt;
+			long delay = wt - TimeSteward.currentTimeMillis();
+			if (delay > 0 && toadd.isEmpty())
+				TimeSteward.wait(this, delay);
+			wake_time = Long.MIN_VALUE;
+		}
+	}
+
+	/** Get the next tick which may have jobs to perform */
+	private long nextTick() {
+		if (slots.isEmpty())
+			return Long.MAX_VALUE / TICK_MS;
+		// Search root wheel up to the next cascade
+		long end = (tick | (levelSlots(0) - 1)) + 1;
+		for (long t = tick; t < end; t++) {
+			if (!wheels[0][(int) t & (levelSlots(0) - 1)].isEmpty())
+				return t;
+		}
+		return end;
+	}
+
+	/** Perform a job */
+	private void performJob(Job job) {
+		recordLag(-job.delay());
+		boolean op = slog.isOpen();
+		try {
+			if (op)
+				slog.log("Starting " + job);
+			job.performTask();
+		}
+		catch (Exception e) {
+			handleException(e);
+		}
+		catch (VirtualMachineError e) {
+			System.err.println("VIRTUAL MACHINE ERROR");
+			e.printStackTrace();
+			System.err.println("FATAL: RESTARTING");
+			System.exit(1);
+		}
+		finally {
+			if (op)
+				slog.log("Finished " + job);
+		}
+	}
+
+	/** Record the lag of a job being performed */
+	private synchronized void recordLag(long lag) {
+		max_lag = Math.max(max_lag, lag);
+	}
+
+	/** Get the maximum lag (ms) of jobs performed since the last call */
+	public synchronized long takeMaxLag() {
+		long lag = max_lag;
+		max_lag = 0;
+		return lag;
+	}
+
+	/** Add a job for this scheduler to perform */
+	public void addJob(Job job) {
+		toadd.add(job);
+		if (TimeSteward.currentTimeMillis() + job.delay() < wake_time)
+			wakeup();
+	}
+
+	/** Remove a job from this scheduler */
+	public void removeJob(Job job) {
+		if (job != null)
+			toremove.add(job);
+	}
+
+	/** Wake up the scheduler thread */
+	private synchronized void wakeup() {
+		notify();
+	}
+
+	/** Get the count of jobs in the queue */
+	public int size() {
+		return n_jobs;
+	}
+
+	/** Test if the current thread is the scheduler thread */
+	public boolean isCurrentThread() {
+		return Thread.currentThread() == thread;
+	}
+
+	/** Dispose of the scheduler */
+	public void dispose() {
+		disposing = true;
+		thread.interrupt();
+	}
+}
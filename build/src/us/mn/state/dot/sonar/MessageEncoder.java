@@ -0,0 +1,131 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * A message encoder provides a Java API for encoding messages to the SONAR
+ * wire protocol.
+ *
+ * @author Douglas Lau
+ */
+public class MessageEncoder {
+
+	/** Everything on the wire is encoded to UTF-8 */
+	static protected final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** Strip message delimiters and terminators from a string */
+	static protected String stripString(String s) {
+		s = s.replace(Message.UNIT_SEP.code, ' ');
+		return s.replace(Message.RECORD_SEP.code, ' ');
+	}
+
+	/** Append one message with the given code, name and parameters */
+	static private void append(Appendable a, Message m, String name,
+		String[] params) throws IOException
+	{
+		a.append(m.code);
+		if(name != null) {
+			a.append(Message.UNIT_SEP.code);
+			a.append(name);
+			if(params != null) {
+				for(String p: params) {
+					a.append(Message.UNIT_SEP.code);
+					a.append(stripString(p));
+				}
+			}
+		}
+		a.append(Message.RECORD_SEP.code);
+	}
+
+	/** Encode one message to a byte array.  This allows a message to be
+	 * encoded once and sent to many connections. */
+	static public byte[] encodeBytes(Message m, String name,
+		String[] params)
+	{
+		StringBuilder sb = new StringBuilder();
+		try {
+			append(sb, m, name, params);
+		}
+		catch (IOException e) {
+			// StringBuilder does not throw IOException
+			throw new IllegalStateException(e);
+		}
+		return sb.toString().getBytes(UTF8);
+	}
+
+	/** Byte buffer output stream */
+	protected final ByteBufferOutputStream out_buf;
+
+	/** Char writer output stream */
+	protected final OutputStreamWriter writer;
+
+	/** Create a new SONAR message encoder */
+	public MessageEncoder(int n_bytes) throws IOException {
+		out_buf = new ByteBufferOutputStream(n_bytes);
+		writer = new OutputStreamWriter(out_buf, UTF8);
+	}
+
+	/** Encode one message with the given code.
+	 * This may only be called on the Task Processor thread. */
+	public void encode(Message m) throws IOException {
+		encode(m, null, null);
+	}
+
+	/** Encode one message with the given code and name.
+	 * This may only be called on the Task Processor thread. */
+	public void encode(Message m, String name) throws IOException {
+		encode(m, name, null);
+	}
+
+	/** Encode one message with the given code, name and parameters.
+	 * This may only be called on the Task Processor thread. */
+	public void encode(Message m, String name, String[] params)
+		throws IOException
+	{
+		append(writer, m, name, params);
+	}
+
+	/** Encode one message which was encoded with encodeBytes.
+	 * This may only be called on the Task Processor thread. */
+	public void encode(byte[] msg) throws IOException {
+		writer.flush();
+		out_buf.write(msg, 0, msg.length);
+	}
+
+	/** Flush the encoded data */
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	/** Get the current output buffer */
+	public ByteBuffer getBuffer() {
+		return out_buf.getBuffer();
+	}
+
+	/** Check if there is any encoded data */
+	public boolean hasData() {
+		return getBuffer().position() > 0;
+	}
+
+	/** Compact the output buffer */
+	public void compact() {
+		out_buf.compact();
+	}
+}
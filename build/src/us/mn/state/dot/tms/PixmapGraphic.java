@@ -0,0 +1,112 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+/**
+ * PixmapGraphic is a simple 24-bit graphic pixmap for DMS display feedback.
+ * Pixel data is stored in BGR order.
+ *
+ * @author Douglas Lau
+ */
+public class PixmapGraphic extends RasterGraphic {
+
+	/** Transparent color */
+	private final Integer transparent_color;
+
+	/** Create a new pixmap graphic */
+	public PixmapGraphic(int w, int h) {
+		this(w, h, null);
+	}
+
+	/** Create a new pixmap graphic */
+	public PixmapGraphic(int w, int h, Integer tc) {
+		super(w, h);
+		transparent_color = tc;
+	}
+
+	/** Get the pixel data length in bytes */
+	@Override
+	public int length() {
+		return width * height * 3;
+	}
+
+	/** Get the pixel index for the specified location */
+	private int pixelIndex(int x, int y) {
+		if (x < 0 || x >= width) {
+			throw new IndexOutOfBoundsException("x=" + x +
+				", width=" + width);
+		}
+		if (y < 0 || y >= height) {
+			throw new IndexOutOfBoundsException("y=" + y +
+				", height=" + height);
+		}
+		return ((y * width) + x) * 3;
+	}
+
+	/** Check if a specified pixel is transparent */
+	@Override
+	public boolean isTransparent(int x, int y) {
+		if (transparent_color != null) {
+			int p = pixelIndex(x, y);
+			int blue = pixels[p + 0] & 0xFF;
+			int green = pixels[p + 1] & 0xFF;
+			int red = pixels[p + 2] & 0xFF;
+			int clr = red | green << 8 | blue << 16;
+			return clr == transparent_color;
+		} else
+			return false;
+	}
+
+	/** Get the pixel color at the specified location */
+	@Override
+	public DmsColor getPixel(int x, int y) {
+		int p = pixelIndex(x, y);
+		int blue = pixels[p + 0] & 0xFF;
+		int green = pixels[p + 1] & 0xFF;
+		int red = pixels[p + 2] & 0xFF;
+		return new DmsColor(red, green, blue);
+	}
+
+	/** Blit a packed glyph onto the pixmap, skipping unlit pixels a row
+	 * at a time */
+	@Override
+	public void blit(PackedGlyph pg, int x0, int y0, DmsColor fg) {
+		checkBlit(pg, x0, y0);
+		byte blue = (byte) fg.blue;
+		byte green = (byte) fg.green;
+		byte red = (byte) fg.red;
+		for (int y = 0; y < pg.height; y++) {
+			long row = pg.getRow(y);
+			int base = (y0 + y) * width + x0;
+			while (row != 0) {
+				int x = Long.numberOfLeadingZeros(row);
+				row &= ~(Long.MIN_VALUE >>> x);
+				int p = (base + x) * 3;
+				pixels[p + 0] = blue;
+				pixels[p + 1] = green;
+				pixels[p + 2] = red;
+			}
+		}
+	}
+
+	/** Set the pixel color at the specified location */
+	@Override
+	public void setPixel(int x, int y, DmsColor clr) {
+		int p = pixelIndex(x, y);
+		pixels[p + 0] = (byte)clr.blue;
+		pixels[p + 1] = (byte)clr.green;
+		pixels[p + 2] = (byte)clr.red;
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2004-2024  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * A station is a group of related detectors.
+ *
+ * @author Douglas Lau
+ */
+public interface Station extends SonarObject {
+
+	/** SONAR type name */
+	String SONAR_TYPE = "station";
+
+	/** Get the SONAR type name */
+	@Override
+	default String getTypeName() {
+		return SONAR_TYPE;
+	}
+
+	/** SONAR base type name */
+	String SONAR_BASE = Detector.SONAR_TYPE;
+
+	/** Get the roadway node */
+	R_Node getR_Node();
+}
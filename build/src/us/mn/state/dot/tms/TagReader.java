@@ -0,0 +1,51 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2014-2024  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+/**
+ * A tag reader is a sensor for vehicle transponders, which are used for
+ * toll lanes.
+ *
+ * @author Douglas Lau
+ */
+public interface TagReader extends Device {
+
+	/** SONAR type name */
+	String SONAR_TYPE = "tag_reader";
+
+	/** Get the SONAR type name */
+	@Override
+	default String getTypeName() {
+		return SONAR_TYPE;
+	}
+
+	/** SONAR base type name */
+	String SONAR_BASE = TollZone.SONAR_TYPE;
+
+	/** Get the device location */
+	GeoLoc getGeoLoc();
+
+	/** Set the toll zone */
+	void setTollZone(TollZone tz);
+
+	/** Get the toll zone */
+	TollZone getTollZone();
+
+	/** Set the DMSs assigned to the tag reader */
+	void setSigns(DMS[] ds);
+
+	/** Get the DMSs assigned to the tag reader */
+	DMS[] getSigns();
+}
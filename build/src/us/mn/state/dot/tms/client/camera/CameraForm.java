@@ -0,0 +1,33 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2008-2017  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.camera;
+
+import us.mn.state.dot.tms.Camera;
+import us.mn.state.dot.tms.client.Session;
+import us.mn.state.dot.tms.client.proxy.ProxyTableForm;
+import us.mn.state.dot.tms.utils.I18N;
+
+/**
+ * A form for displaying and editing cameras
+ *
+ * @author Douglas Lau
+ */
+public class CameraForm extends ProxyTableForm<Camera> {
+
+	/** Create a new camera form */
+	public CameraForm(Session s) {
+		super(I18N.get("camera.title"), new CameraModel(s));
+	}
+}
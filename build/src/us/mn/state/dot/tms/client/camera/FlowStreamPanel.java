@@ -0,0 +1,36 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2020  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.camera;
+
+import us.mn.state.dot.tms.FlowStream;
+import us.mn.state.dot.tms.client.Session;
+import us.mn.state.dot.tms.client.proxy.ProxyTablePanel;
+
+/**
+ * A panel for displaying a table of flow streams.
+ *
+ * @author Douglas Lau
+ */
+public class FlowStreamPanel extends ProxyTablePanel<FlowStream> {
+
+	/** User session */
+	private final Session session;
+
+	/** Create a new flow stream panel */
+	public FlowStreamPanel(Session s) {
+		super(new FlowStreamModel(s));
+		session = s;
+	}
+}
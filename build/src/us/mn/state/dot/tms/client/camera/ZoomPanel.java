@@ -0,0 +1,95 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2014  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.camera;
+
+import javax.swing.GroupLayout;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import us.mn.state.dot.tms.DeviceRequest;
+import static us.mn.state.dot.tms.client.widget.Widgets.UI;
+import us.mn.state.dot.tms.utils.I18N;
+
+/**
+ * A panel for camera lens control.
+ *
+ * @author Douglas Lau
+ */
+public class ZoomPanel extends JPanel {
+
+	/** Button used to zoom in */
+	private final JButton zoom_in_btn;
+
+	/** Button used to zoom out */
+	private final JButton zoom_out_btn;
+
+	/** Camera PTZ */
+	private final CameraPTZ cam_ptz;
+
+	/** Create a new camera lens panel */
+	public ZoomPanel(CameraPTZ cptz) {
+		cam_ptz = cptz;
+		zoom_in_btn = new PTZButton("camera.lens.zoom.in", cptz,
+			0, 0, 1);
+		zoom_out_btn = new PTZButton("camera.lens.zoom.out", cptz,
+			0, 0, -1);
+		layoutPanel();
+	}
+
+	/** Layout the panel */
+	private void layoutPanel() {
+		GroupLayout gl = new GroupLayout(this);
+		gl.setHonorsVisibility(false);
+		gl.setAutoCreateGaps(false);
+		gl.setHorizontalGroup(createHorizontalGroup(gl));
+		gl.setVerticalGroup(createVerticalGroup(gl));
+		gl.linkSize(zoom_in_btn, zoom_out_btn);
+		setLayout(gl);
+	}
+
+	/** Create the horizontal group */
+	private GroupLayout.Group createHorizontalGroup(GroupLayout gl) {
+		GroupLayout.SequentialGroup hg = gl.createSequentialGroup();
+		GroupLayout.ParallelGroup g1 = gl.createParallelGroup(
+			GroupLayout.Alignment.CENTER);
+		g1.addComponent(zoom_in_btn);
+		hg.addGroup(g1);
+		hg.addGap(UI.hgap);
+		GroupLayout.ParallelGroup g2 = gl.createParallelGroup(
+			GroupLayout.Alignment.CENTER);
+		g2.addComponent(zoom_out_btn);
+		hg.addGroup(g2);
+		return hg;
+	}
+
+	/** Create the vertical group */
+	private GroupLayout.Group createVerticalGroup(GroupLayout gl) {
+		GroupLayout.SequentialGroup vg = gl.createSequentialGroup();
+		GroupLayout.ParallelGroup g0 = gl.createParallelGroup(
+			GroupLayout.Alignment.CENTER);
+		g0.addComponent(zoom_in_btn);
+		g0.addComponent(zoom_out_btn);
+		vg.addGroup(g0);
+		return vg;
+	}
+
+	/** Set enabled status */
+	@Override
+	public void setEnabled(boolean e) {
+		super.setEnabled(e);
+		zoom_in_btn.setEnabled(e);
+		zoom_out_btn.setEnabled(e);
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2000-2016  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.util.EventObject;
+
+/**
+ * LayerChangeEvents are sent to LayerChangeListeners when layer is changed.
+ *
+ * @author Erik Engstrom
+ * @author Douglas Lau
+ */
+public class LayerChangeEvent extends EventObject {
+
+	/** Reason code for layer change */
+	private LayerChange reason;
+
+	/** Create a new LayerChangeEvent */
+	public LayerChangeEvent(Object source, LayerChange why) {
+		super(source);
+		reason = why;
+	}
+
+	/** Get the reason the layer changed */
+	public LayerChange getReason() {
+		return reason;
+	}
+}
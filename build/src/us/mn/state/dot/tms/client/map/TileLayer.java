@@ -0,0 +1,72 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A tile layer for drawing a Google-style tile map.
+ *
+ * @author Douglas Lau
+ */
+public class TileLayer extends Layer {
+
+	/** Maximum size of decoded tiles in memory (bytes) */
+	static private final long MEM_BYTES = 64 * 1024 * 1024;
+
+	/** Maximum size of tile files on disk (bytes) */
+	static private final long DISK_BYTES = 256 * 1024 * 1024;
+
+	/** URL where tiles are hosted */
+	private final String url;
+
+	/** Directory to cache tile files (null for none) */
+	private final File dir;
+
+	/** Tile cache */
+	private TileCache cache;
+
+	/** Create a new tile layer.
+	 * @param n Layer name.
+	 * @param url URL where tiles are hosted.
+	 * @param d Directory to cache tile files (null for none). */
+	public TileLayer(String n, String url, File d) {
+		super(n);
+		this.url = url;
+		// separate directory for each tile URL
+		dir = (d != null)
+		    ? new File(d, Integer.toHexString(url.hashCode()))
+		    : null;
+	}
+
+	/** Initialize the tile layer */
+	public void initialize() throws IOException {
+		ImageFetcher f = new ImageFetcher(url);
+		cache = new TileCache(f, MEM_BYTES, dir, DISK_BYTES);
+	}
+
+	/** Create a new layer state */
+	public LayerState createState(MapBean mb) {
+		assert (cache != null);
+		return new TileLayerState(this, mb, cache);
+	}
+
+	/** Check if the layer is searchable */
+	@Override
+	public boolean isSearchable() {
+		return false;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.Dimension;
+import java.awt.Image;
+import java.awt.geom.Point2D;
+import us.mn.state.dot.tms.geo.ZoomLevel;
+
+/**
+ * A tile layer state for drawing a Google-style tile map.
+ *
+ * @author Douglas Lau
+ */
+public class TileLayerState extends LayerState {
+
+	/** Cache of tiles */
+	private final TileCache cache;
+
+	/** Callback to redraw the layer after a tile is loaded */
+	private final Runnable loaded = new Runnable() {
+		public void run() {
+			fireLayerChanged(LayerChange.geometry);
+		}
+	};
+
+	/** Create a new tile layer state */
+	public TileLayerState(TileLayer layer, MapBean mb, TileCache c) {
+		super(layer, mb, new Theme("Tile", new TileSymbol(),
+			new Style("Tile")));
+		cache = c;
+	}
+
+	/** Call the specified callback for each map object in the layer */
+	@Override
+	public MapObject forEach(MapSearcher s) {
+		MapModel model = map.getModel();
+		ZoomLevel zoom = model.getZoomLevel();
+		Dimension sz = map.getSize();
+		Point2D center = model.getCenter();
+		int hx = (int) sz.getWidth() / 2;
+		int hy = (int) sz.getHeight() / 2;
+		int px = (int) zoom.getPixelX(center.getX());
+		int py = (int) zoom.getPixelY(center.getY());
+		int x0 = zoomLimit(zoom, (px - hx) / 256);
+		int x1 = zoomLimit(zoom, ((px + hx) / 256) + 1);
+		int ox = (px - hx) % 256;
+		int y0 = zoomLimit(zoom, (py - hy) / 256);
+		int y1 = zoomLimit(zoom, ((py + hy) / 256) + 1);
+		int oy = (py + hy) % 256 - 512;
+		for (int x = x0; x <= x1; x++) {
+			int xp = (x - x0) * 256 - ox;
+			for (int y = y0; y <= y1; y++) {
+				int yp = (y1 - y) * 256 + oy;
+				String tile = TileCache.tileName(zoom, x, y);
+				Image img = cache.getTile(tile, loaded);
+				if (img != null)
+					s.next(new TileMapObject(img, xp, yp));
+			}
+		}
+		cache.prefetch(zoom, x0, x1, y0, y1);
+		return null;
+	}
+
+	/** Limit X or Y tile based on zoom level */
+	private int zoomLimit(ZoomLevel zoom, int xory) {
+		return Math.max(0, Math.min(zoom.n_tiles - 1, xory));
+	}
+}
@@ -0,0 +1,33 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2018  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.parking;
+
+import us.mn.state.dot.tms.ParkingArea;
+import us.mn.state.dot.tms.client.Session;
+import us.mn.state.dot.tms.client.proxy.ProxyTableForm;
+import us.mn.state.dot.tms.utils.I18N;
+
+/**
+ * A form for displaying and editing parking areas.
+ *
+ * @author Douglas Lau
+ */
+public class ParkingAreaForm extends ProxyTableForm<ParkingArea> {
+
+	/** Create a new parking area form */
+	public ParkingAreaForm(Session s) {
+		super(I18N.get("parking_area.title"), new ParkingAreaModel(s));
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.tms.GeoLocHelper;
+import us.mn.state.dot.tms.geo.QuadTree;
+import us.mn.state.dot.tms.geo.SphericalMercatorPosition;
+
+/**
+ * A cache mapping from MapGeoLoc to proxy objects.  This cache
+ * is an optimization to help ProxyManager.findProxy run fast.  It also
+ * maintains a spatial index of the MapGeoLoc positions, so that only
+ * objects within a region need to be searched.
+ *
+ * @author Douglas Lau
+ */
+public final class ProxyMapCache<T extends SonarObject>
+	implements Iterable<MapGeoLoc>
+{
+	/** Mapping from MapGeoLoc to proxy objects.  This is an optimization
+	 * cache to help findProxy run fast. */
+	private final HashMap<MapGeoLoc, T> map_proxies =
+		new HashMap<MapGeoLoc, T>();
+
+	/** Spatial index of MapGeoLoc positions */
+	private final QuadTree<MapGeoLoc> index =
+		QuadTree.createSphericalMercator();
+
+	/** Dispose of the proxy map cache */
+	public synchronized void dispose() {
+		map_proxies.clear();
+		index.clear();
+	}
+
+	/** Put an entry into cache.
+	 * @param loc Map object to associate with proxy.
+	 * @param proxy Proxy to associate with map object. */
+	public synchronized void put(MapGeoLoc loc, T proxy) {
+		map_proxies.put(loc, proxy);
+		updateIndex(loc);
+	}
+
+	/** Update the position of a map object in the spatial index */
+	private void updateIndex(MapGeoLoc loc) {
+		SphericalMercatorPosition pos = GeoLocHelper.getPosition(
+			loc.getGeoLoc());
+		if (pos != null)
+			index.put(loc, pos.getX(), pos.getY());
+		else
+			index.remove(loc);
+	}
+
+	/** Update the position of a cached map object.
+	 * @param loc Map object which may have moved. */
+	public synchronized void move(MapGeoLoc loc) {
+		if (map_proxies.containsKey(loc))
+			updateIndex(loc);
+	}
+
+	/** Remove an entry from cache.
+	 * @param proxy Proxy to remove from cache. */
+	public synchronized void remove(T proxy) {
+		Iterator<Map.Entry<MapGeoLoc, T>> it =
+			map_proxies.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<MapGeoLoc, T> ent = it.next();
+			if (ent.getValue() == proxy) {
+				index.remove(ent.getKey());
+				it.remove();
+				break;
+			}
+		}
+	}
+
+	/** Lookup a proxy in the cache.
+	 * @param loc Map object to find associated proxy.
+	 * @return Proxy associated with map object. */
+	public synchronized T lookup(MapGeoLoc loc) {
+		return map_proxies.get(loc);
+	}
+
+	/** Search for map objects within a region.  Objects without a
+	 * position are not included.
+	 * @param r Region to search (world coordinates).
+	 * @param s Searcher to call for each map object.
+	 * @return First map object for which the searcher returned true, or
+	 *         null. */
+	public synchronized MapGeoLoc search(Rectangle2D r,
+		QuadTree.Searcher<MapGeoLoc> s)
+	{
+		return index.search(r.getMinX(), r.getMinY(), r.getMaxX(),
+			r.getMaxY(), s);
+	}
+
+	/** Get an iterator over the MapGeoLoc keys */
+	public Iterator<MapGeoLoc> iterator() {
+		return map_proxies.keySet().iterator();
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.geo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A quad tree is a spatial index of items located at points.  Each node
+ * covers a rectangular area, and is split into four quadrants when it holds
+ * too many items.  Items can be added, moved and removed incrementally.
+ * Items located outside the bounds of the tree are kept in a separate list,
+ * which is checked by every search.
+ *
+ * @author Douglas Lau
+ */
+public class QuadTree<T> {
+
+	/** Maximum number of items in a leaf node before splitting */
+	static private final int CAPACITY = 16;
+
+	/** Maximum depth of the tree */
+	static private final int MAX_DEPTH = 24;
+
+	/** Searcher callback for items in a quad tree */
+	public interface Searcher<T> {
+
+		/** Check the next item.
+		 * @return true to stop searching. */
+		boolean next(T item);
+	}
+
+	/** Create a quad tree covering the spherical mercator projection */
+	static public <T> QuadTree<T> createSphericalMercator() {
+		double r = Math.PI *
+			GeodeticDatum.SPHERICAL.getEquatorialRadius();
+		return new QuadTree<T>(-r, -r, r, r);
+	}
+
+	/** An item entry */
+	static private final class Entry<T> {
+		private final T item;
+		private final double x;
+		private final double y;
+		private Entry(T i, double ex, double ey) {
+			item = i;
+			x = ex;
+			y = ey;
+		}
+	}
+
+	/** A node of the tree */
+	static private final class Node<T> {
+
+		/** Node bounds */
+		private final double x0, y0, x1, y1;
+
+		/** Node depth */
+		private final int depth;
+
+		/** Entries in a leaf node (null if split) */
+		private ArrayList<Entry<T>> entries = new ArrayList<Entry<T>>();
+
+		/** Child quadrants (null for a leaf node) */
+		private Node<T>[] kids;
+
+		/** Number of entries in node and all children */
+		private int n_entries = 0;
+
+		/** Create a new node */
+		private Node(double nx0, double ny0, double nx1, double ny1,
+			int d)
+		{
+			x0 = nx0;
+			y0 = ny0;
+			x1 = nx1;
+			y1 = ny1;
+			depth = d;
+		}
+
+		/** Get the child quadrant containing a point */
+		private Node<T> child(double x, double y) {
+			double mx = (x0 + x1) / 2;
+			double my = (y0 + y1) / 2;
+			return kids[((x >= mx) ? 1 : 0) + ((y >= my) ? 2 : 0)];
+		}
+
+		/** Add an entry */
+		private void add(Entry<T> e) {
+			n_entries++;
+			if (kids != null)
+				child(e.x, e.y).add(e);
+			else {
+				entries.add(e);
+				if (entries.size() > CAPACITY &&
+				    depth < MAX_DEPTH)
+					split();
+			}
+		}
+
+		/** Split a leaf node into quadrants */
+		@SuppressWarnings("unchecked")
+		private void split() {
+			double mx = (x0 + x1) / 2;
+			double my = (y0 + y1) / 2;
+			int d = depth + 1;
+			kids = new Node[] {
+				new Node<T>(x0, y0, mx, my, d),
+				new Node<T>(mx, y0, x1, my, d),
+				new Node<T>(x0, my, mx, y1, d),
+				new Node<T>(mx, my, x1, y1, d),
+			};
+			ArrayList<Entry<T>> ents = entries;
+			entries = null;
+			for (Entry<T> e: ents)
+				child(e.x, e.y).add(e);
+		}
+
+		/** Remove an entry.
+		 * @return true if entry was removed. */
+		private boolean remove(Entry<T> e) {
+			boolean r = (kids != null)
+			          ? child(e.x, e.y).remove(e)
+			          : entries.remove(e);
+			if (r) {
+				n_entries--;
+				if (kids != null && n_entries <= CAPACITY / 2)
+					merge();
+			}
+			return r;
+		}
+
+		/** Merge child quadrants back into a leaf node */
+		private void merge() {
+			ArrayList<Entry<T>> ents = new ArrayList<Entry<T>>();
+			collect(ents);
+			kids = null;
+			entries = ents;
+		}
+
+		/** Collect all entries in node and children */
+		private void collect(ArrayList<Entry<T>> ents) {
+			if (kids != null) {
+				for (Node<T> k: kids)
+					k.collect(ents);
+			} else
+				ents.addAll(entries);
+		}
+
+		/** Check if node overlaps a rectangle */
+		private boolean overlaps(double rx0, double ry0, double rx1,
+			double ry1)
+		{
+			return rx0 <= x1 && rx1 >= x0 && ry0 <= y1 && ry1 >= y0;
+		}
+
+		/** Search for entries within a rectangle */
+		private T search(double rx0, double ry0, double rx1, double ry1,
+			Searcher<T> s)
+		{
+			if (kids != null) {
+				for (Node<T> k: kids) {
+					if (k.n_entries > 0 &&
+					    k.overlaps(rx0, ry0, rx1, ry1))
+					{
+						T i = k.search(rx0, ry0, rx1,
+							ry1, s);
+						if (i != null)
+							return i;
+					}
+				}
+				return null;
+			} else {
+				return searchList(entries, rx0, ry0, rx1, ry1,
+					s);
+			}
+		}
+	}
+
+	/** Search a list of entries within a rectangle */
+	static private <T> T searchList(ArrayList<Entry<T>> ents, double rx0,
+		double ry0, double rx1, double ry1, Searcher<T> s)
+	{
+		for (Entry<T> e: ents) {
+			if (e.x >= rx0 && e.x <= rx1 && e.y >= ry0 &&
+			    e.y <= ry1 && s.next(e.item))
+				return e.item;
+		}
+		return null;
+	}
+
+	/** Root node */
+	private final Node<T> root;
+
+	/** Entries outside the bounds of the root node */
+	private final ArrayList<Entry<T>> outside = new ArrayList<Entry<T>>();
+
+	/** Mapping of items to entries */
+	private final HashMap<T, Entry<T>> items = new HashMap<T, Entry<T>>();
+
+	/** Create a new quad tree.
+	 * @param x0 Minimum X bound.
+	 * @param y0 Minimum Y bound.
+	 * @param x1 Maximum X bound.
+	 * @param y1 Maximum Y bound. */
+	public QuadTree(double x0, double y0, double x1, double y1) {
+		root = new Node<T>(x0, y0, x1, y1, 0);
+	}
+
+	/** Get the number of items in the tree */
+	public int size() {
+		return items.size();
+	}
+
+	/** Check if an item is in the tree */
+	public boolean contains(T item) {
+		return items.containsKey(item);
+	}
+
+	/** Put an item into the tree, moving it if already present.
+	 * @param item Item to put.
+	 * @param x X coordinate of item.
+	 * @param y Y coordinate of item. */
+	public void put(T item, double x, double y) {
+		Entry<T> old = items.get(item);
+		if (old != null) {
+			if (old.x == x && old.y == y)
+				return;
+			removeEntry(old);
+		}
+		Entry<T> e = new Entry<T>(item, x, y);
+		items.put(item, e);
+		if (x >= root.x0 && x <= root.x1 && y >= root.y0 &&
+		    y <= root.y1)
+			root.add(e);
+		else
+			outside.add(e);
+	}
+
+	/** Remove an item from the tree.
+	 * @return true if the item was removed. */
+	public boolean remove(T item) {
+		Entry<T> e = items.remove(item);
+		if (e != null) {
+			removeEntry(e);
+			return true;
+		} else
+			return false;
+	}
+
+	/** Remove an entry from the nodes */
+	private void removeEntry(Entry<T> e) {
+		if (!outside.remove(e))
+			root.remove(e);
+	}
+
+	/** Remove all items from the tree */
+	public void clear() {
+		items.clear();
+		outside.clear();
+		root.kids = null;
+		root.entries = new ArrayList<Entry<T>>();
+		root.n_entries = 0;
+	}
+
+	/** Search for items within a rectangle.
+	 * @param x0 Minimum X coordinate.
+	 * @param y0 Minimum Y coordinate.
+	 * @param x1 Maximum X coordinate.
+	 * @param y1 Maximum Y coordinate.
+	 * @param s Searcher to call for each item within the rectangle.
+	 * @return First item for which the searcher returned true, or
+	 *         null. */
+	public T search(double x0, double y0, double x1, double y1,
+		Searcher<T> s)
+	{
+		T i = searchList(outside, x0, y0, x1, y1, s);
+		if (i != null)
+			return i;
+		return (root.n_entries > 0 && root.overlaps(x0, y0, x1, y1))
+		      ? root.search(x0, y0, x1, y1, s)
+		      : null;
+	}
+}
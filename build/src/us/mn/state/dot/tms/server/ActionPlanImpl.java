@@ -0,0 +1,664 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
+ * Copyright (C) 2018  Iteris Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.net.InetAddress;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.Name;
+import us.mn.state.dot.tms.ActionPlan;
+import us.mn.state.dot.tms.ActionPlanHelper;
+import us.mn.state.dot.tms.Beacon;
+import us.mn.state.dot.tms.BeaconHelper;
+import us.mn.state.dot.tms.Camera;
+import us.mn.state.dot.tms.ChangeVetoException;
+import us.mn.state.dot.tms.DMS;
+import us.mn.state.dot.tms.DMSHelper;
+import us.mn.state.dot.tms.DeviceAction;
+import us.mn.state.dot.tms.DeviceActionHelper;
+import us.mn.state.dot.tms.EventType;
+import us.mn.state.dot.tms.GateArm;
+import us.mn.state.dot.tms.GateArmHelper;
+import us.mn.state.dot.tms.Hashtags;
+import us.mn.state.dot.tms.PlanPhase;
+import us.mn.state.dot.tms.RampMeter;
+import us.mn.state.dot.tms.RampMeterHelper;
+import us.mn.state.dot.tms.TimeAction;
+import us.mn.state.dot.tms.TimeActionHelper;
+import us.mn.state.dot.tms.TMSException;
+import static us.mn.state.dot.tms.server.MainServer.TIMER;
+import us.mn.state.dot.tms.server.event.ActionPlanEvent;
+import static us.mn.state.dot.tms.server.ActionPlanSystem.sendEmailAlert;
+import us.mn.state.dot.tms.utils.CidrBlock;
+import us.mn.state.dot.tms.utils.UniqueNameCreator;
+
+/**
+ * An action plan is a set of actions which can be deployed together.
+ *
+ * @author Douglas Lau
+ * @author Michael Darter
+ */
+public class ActionPlanImpl extends BaseObjectImpl implements ActionPlan {
+
+	/** Delay before retrying a failed phase update (ms) */
+	static private final long RETRY_MS = 5 * 1000;
+
+	/** Minimum time in a phase before it is updated automatically (ms).
+	 * This prevents phases with zero hold time from cycling rapidly. */
+	static private final long MIN_PHASE_MS = 5 * 1000;
+
+	/** Allow list of CIDR blocks */
+	static private final List<CidrBlock> ALLOWLIST =
+		new ArrayList<CidrBlock>();
+
+	/** Initialize the gate arm allow list */
+	static public void initAllowList(Properties props)
+		throws IllegalArgumentException
+	{
+		List<CidrBlock> allow = CidrBlock.parseList(props.getProperty(
+			"gate.arm.allowlist"));
+		ALLOWLIST.addAll(allow);
+	}
+
+	/** Check if IP address is in allow list */
+	static private boolean checkList(InetAddress a)
+		throws ChangeVetoException
+	{
+		for (CidrBlock block: ALLOWLIST) {
+			if (block.matches(a))
+				return true;
+		}
+		throw new ChangeVetoException("IP ADDRESS NOT ALLOWED: " + a);
+	}
+
+	/** Create a unique ActionPlan record name */
+	static public String createUniqueName(String template) {
+		UniqueNameCreator unc = new UniqueNameCreator(template, 16,
+			(n)->lookupActionPlan(n));
+		return unc.createUniqueName();
+	}
+
+	/** Schedule phase updates for all plans in a phase.  This must be
+	 * called when the hold time or next phase is changed.
+	 * @param p Plan phase which was changed. */
+	static public void schedulePhaseUpdates(PlanPhase p) {
+		Iterator<ActionPlan> it = ActionPlanHelper.iterator();
+		while (it.hasNext()) {
+			ActionPlan ap = it.next();
+			if (ap instanceof ActionPlanImpl && ap.getPhase() == p)
+				((ActionPlanImpl) ap).schedulePhaseUpdate();
+		}
+	}
+
+	/** Load all the action plans */
+	static protected void loadAll() throws TMSException {
+		store.query("SELECT name, notes, sync_actions, sticky, " +
+			"ignore_auto_fail, active, default_phase, phase " +
+			"FROM iris." + SONAR_TYPE + ";", new ResultFactory()
+		{
+			public void create(ResultSet row) throws Exception {
+				namespace.addObject(new ActionPlanImpl(row));
+			}
+		});
+	}
+
+	/** Get a mapping of the columns */
+	@Override
+	public Map<String, Object> getColumns() {
+		HashMap<String, Object> map = new HashMap<String, Object>();
+		map.put("name", name);
+		map.put("notes", notes);
+		map.put("sync_actions", sync_actions);
+		map.put("sticky", sticky);
+		map.put("ignore_auto_fail", ignore_auto_fail);
+		map.put("active", active);
+		map.put("default_phase", default_phase);
+		map.put("phase", phase);
+		return map;
+	}
+
+	/** Create a new action plan */
+	public ActionPlanImpl(String n) {
+		super(n);
+		default_phase = lookupPlanPhase(PlanPhase.UNDEPLOYED);
+		phase = default_phase;
+	}
+
+	/** Create an action plan */
+	private ActionPlanImpl(ResultSet row) throws SQLException {
+		this(row.getString(1),  // name
+		     row.getString(2),  // notes
+		     row.getBoolean(3), // sync_actions
+		     row.getBoolean(4), // sticky
+		     row.getBoolean(5), // ignore_auto_fail
+		     row.getBoolean(6), // active
+		     row.getString(7),  // default_phase
+		     row.getString(8)   // phase
+		);
+	}
+
+	/** Create an action plan */
+	protected ActionPlanImpl(String n, String nt, boolean sa, boolean st,
+		boolean ig, boolean a, String dp, String p)
+	{
+		this(n);
+		notes = nt;
+		sync_actions = sa;
+		sticky = st;
+		ignore_auto_fail = ig;
+		active = a;
+		default_phase = lookupPlanPhase(dp);
+		phase = lookupPlanPhase(p);
+		schedulePhaseUpdate();
+	}
+
+	/** Test whether gate arm system should be disabled.
+	 * @param name Object name.
+	 * @param reason Reason for disabling. */
+	public void testGateArmDisable(String name, String reason) {
+		if (ActionPlanHelper.countGateArms(this) > 0)
+			GateArmSystem.disable(name, reason);
+	}
+
+	/** Administrator notes */
+	private String notes;
+
+	/** Set administrator notes (including hashtags) */
+	@Override
+	public void setNotes(String n) {
+		testGateArmDisable(name, "set notes");
+		notes = n;
+	}
+
+	/** Set administrator notes (including hashtags) */
+	public void doSetNotes(String n) throws TMSException {
+		if (!objectEquals(n, notes)) {
+			store.update(this, "notes", n);
+			setNotes(n);
+		}
+	}
+
+	/** Get administrator notes (including hashtags) */
+	@Override
+	public String getNotes() {
+		return notes;
+	}
+
+	/** Sync actions flag */
+	private boolean sync_actions;
+
+	/** Set the sync actions flag */
+	@Override
+	public void setSyncActions(boolean s) {
+		testGateArmDisable(name, "set sync_actions");
+		sync_actions = s;
+	}
+
+	/** Set the sync actions flag */
+	public void doSetSyncActions(boolean s) throws TMSException {
+		if (s != sync_actions) {
+			store.update(this, "sync_actions", s);
+			setSyncActions(s);
+		}
+	}
+
+	/** Get the sync actions flag */
+	@Override
+	public boolean getSyncActions() {
+		return sync_actions;
+	}
+
+	/** Sticky flag */
+	private boolean sticky;
+
+	/** Set the sticky flag */
+	@Override
+	public void setSticky(boolean s) {
+		testGateArmDisable(name, "set sticky");
+		sticky = s;
+	}
+
+	/** Set the sticky flag */
+	public void doSetSticky(boolean s) throws TMSException {
+		if (s != sticky) {
+			store.update(this, "sticky", s);
+			setSticky(s);
+		}
+	}
+
+	/** Get the sticky flag */
+	@Override
+	public boolean getSticky() {
+		return sticky;
+	}
+
+	/** Ignore auto-fail flag */
+	private boolean ignore_auto_fail;
+
+	/** Set ignore auto-fail flag */
+	@Override
+	public void setIgnoreAutoFail(boolean ig) {
+		ignore_auto_fail = ig;
+	}
+
+	/** Set ignore auto-fail flag */
+	public void doSetIgnoreAutoFail(boolean ig) throws TMSException {
+		if (ig != ignore_auto_fail) {
+			store.update(this, "ignore_auto_fail", ig);
+			setIgnoreAutoFail(ig);
+		}
+	}
+
+	/** Get ignore auto-fail flag */
+	@Override
+	public boolean getIgnoreAutoFail() {
+		return ignore_auto_fail;
+	}
+
+	/** Active status */
+	private boolean active;
+
+	/** Set the active status */
+	@Override
+	public void setActive(boolean a) {
+		testGateArmDisable(name, "set active");
+		active = a;
+		schedulePhaseUpdate();
+		EventType et = (a ? EventType.ACTION_PLAN_ACTIVATED :
+			EventType.ACTION_PLAN_DEACTIVATED);
+		String un = getProcUser();
+		logEvent(et, null, un);
+		sendEmailAlert(un, a, getName());
+	}
+
+	/** Log an action plan event */
+	private void logEvent(EventType et, PlanPhase phase, String uid) {
+		logEvent(new ActionPlanEvent(et, getName(), phase, uid));
+	}
+
+	/** Set the active status */
+	public void doSetActive(boolean a) throws TMSException {
+		if (a != active) {
+			if (a)
+				setPhaseNotifyX(default_phase, getProcUser());
+			store.update(this, "active", a);
+			setActive(a);
+		}
+	}
+
+	/** Set active and schedule phase */
+	public void setActiveScheduledNotify(boolean a) throws TMSException {
+		if (a)
+			setPhaseNotifyX(getScheduledPhase(), null);
+		if (a != active) {
+			store.update(this, "active", a);
+			setActive(a);
+			notifyAttribute("active");
+		}
+	}
+
+	/** Get the currently scheduled phase */
+	private PlanPhase getScheduledPhase() {
+		// Use time in thirty seconds to avoid missing time actions
+		long now = TimeSteward.currentTimeMillis() + 30 * 1000;
+		TimeAction ta = TimeActionHelper.getMostRecentAction(this,
+			new Date(now));
+		return (ta != null) ? ta.getPhase() : default_phase;
+	}
+
+	/** Get the active status */
+	@Override
+	public boolean getActive() {
+		return active;
+	}
+
+	/** Default plan phase */
+	private PlanPhase default_phase;
+
+	/** Set the default phase */
+	@Override
+	public void setDefaultPhase(PlanPhase dp) {
+		testGateArmDisable(name, "set default_phase");
+		default_phase = dp;
+	}
+
+	/** Set the default phase */
+	public void doSetDefaultPhase(PlanPhase dp) throws TMSException {
+		if (dp != default_phase) {
+			store.update(this, "default_phase", dp);
+			setDefaultPhase(dp);
+		}
+	}
+
+	/** Get the default phase */
+	@Override
+	public PlanPhase getDefaultPhase() {
+		return default_phase;
+	}
+
+	/** Current plan phase */
+	private PlanPhase phase;
+
+	/** Time stamp for last phase change */
+	private long phase_time = TimeSteward.currentTimeMillis();
+
+	/** Set the phase */
+	@Override
+	public void setPhase(PlanPhase p) {
+		phase = p;
+		phase_time = TimeSteward.currentTimeMillis();
+		schedulePhaseUpdate();
+		if (active)
+			TIMER.addJob(new DeviceActionJob(this));
+	}
+
+	/**
+	 * Set the phase.  If sync actions are enabled, the phase is set only
+	 * only if all dms, beacon, gate arm, lane, and meter actions are valid.
+	 */
+	public void doSetPhase(PlanPhase p) throws TMSException {
+		if (!objectEquals(p, phase)) {
+			Name name = new Name(this, "phase");
+			if (accessLevel(name) < name.accessWrite())
+				throw new ChangeVetoException("NOT PERMITTED");
+			checkDeviceAccess(); // throws exception
+			if (getSyncActions())
+				validateDeviceActions(); // throws exception
+			store.update(this, "phase", p);
+			setPhase(p);
+			logEvent(EventType.ACTION_PLAN_PHASE_CHANGED, p,
+				getProcUser());
+		}
+	}
+
+	/** Get the phase */
+	@Override
+	public PlanPhase getPhase() {
+		return phase;
+	}
+
+	/** Set the deployed phase (and notify clients) */
+	private boolean setPhaseNotifyX(PlanPhase p, String uid)
+		throws TMSException
+	{
+		boolean change = (p != phase);
+		if (change) {
+			if (getSyncActions())
+				validateDeviceActions(); // throws exception
+			store.update(this, "phase", p);
+			setPhase(p);
+			notifyAttribute("phase");
+			logEvent(EventType.ACTION_PLAN_PHASE_CHANGED, p, uid);
+		}
+		return change;
+	}
+
+	/** Set the deployed phase (and notify clients) */
+	public boolean setPhaseNotify(PlanPhase p, String uid) {
+		try {
+			return setPhaseNotifyX(p, uid);
+		}
+		catch (TMSException e) {
+			DeviceActionJob.PLAN_LOG.log(
+				"setPhaseNotify: " + e.getMessage()
+			);
+			return false;
+		}
+	}
+
+	/** Check plan device access permissions */
+	private void checkDeviceAccess() throws ChangeVetoException {
+		checkBeaconsOperatable();
+		checkCamerasOperatable();
+		checkDmsOperatable();
+		checkGateArmsOperatable();
+		checkRampMetersOperatable();
+	}
+
+	/** Check if beacons are operatable, or none associated with plan */
+	private void checkBeaconsOperatable() throws ChangeVetoException {
+		Name name = new Name(Beacon.SONAR_TYPE, "oname", "state");
+		if (accessLevel(name) < name.accessWrite() &&
+		    ActionPlanHelper.countBeacons(this) > 0)
+		{
+			throw new ChangeVetoException("Device action " +
+				"not allowed for beacons");
+		}
+	}
+
+	/** Check if cameras are operatable, or none associated with plan */
+	private void checkCamerasOperatable() throws ChangeVetoException {
+		Name name = new Name(Camera.SONAR_TYPE, "oname", "recallPreset");
+		if (accessLevel(name) < name.accessWrite() &&
+		    ActionPlanHelper.countCameras(this) > 0)
+		{
+			throw new ChangeVetoException("Device action " +
+				"not allowed for cameras");
+		}
+	}
+
+	/** Check if DMS are operatable, or none associated with plan */
+	private void checkDmsOperatable() throws ChangeVetoException {
+		Name name = new Name(DMS.SONAR_TYPE, "oname", "lock");
+		if (accessLevel(name) < name.accessWrite() &&
+		    ActionPlanHelper.countDms(this) > 0)
+		{
+			throw new ChangeVetoException("Device action " +
+				"not allowed for DMS");
+		}
+	}
+
+	/** Check if gate arms are operatable, or none associated with plan */
+	private void checkGateArmsOperatable() throws ChangeVetoException {
+		Name name = new Name(GateArm.SONAR_TYPE, "oname", "lock");
+		if (accessLevel(name) < name.accessWrite() &&
+		    ActionPlanHelper.countGateArms(this) > 0)
+		{
+			throw new ChangeVetoException("Device action " +
+				"not allowed for gate arms");
+		}
+		checkList(MainServer.server.getProcAddress());
+	}
+
+	/** Check if ramp meters are operatable, or none associated with plan */
+	private void checkRampMetersOperatable() throws ChangeVetoException {
+		Name name = new Name(RampMeter.SONAR_TYPE, "oname", "lock");
+		if (accessLevel(name) < name.accessWrite() &&
+		    ActionPlanHelper.countRampMeters(this) > 0)
+		{
+			throw new ChangeVetoException("Device action " +
+				"not allowed for ramp meters");
+		}
+	}
+
+	/**
+	 * Validate that all device actions are deployable.
+	 * @throws ChangeVetoException If any DeviceAction for this
+	 *         ActionPlan is not deployable.
+	 */
+	private void validateDeviceActions() throws ChangeVetoException {
+		Iterator<DeviceAction> it = DeviceActionHelper.iterator(this);
+		while (it.hasNext()) {
+			DeviceAction da = it.next();
+			if (!isDeployable(da)) {
+				throw new ChangeVetoException("Device action " +
+					da.getName() + " not deployable");
+			}
+		}
+	}
+
+	/** Check if a device action is deployable */
+	private boolean isDeployable(DeviceAction da) {
+		String ht = da.getHashtag();
+		return areBeaconsDeployable(ht)
+		    && areDmsDeployable(ht)
+		    && areGateArmsDeployable(da, ht)
+		    && areRampMetersDeployable(ht);
+	}
+
+	/** Check if all beacons for a hashtag are deployable */
+	private boolean areBeaconsDeployable(String ht) {
+		Iterator<Beacon> it = BeaconHelper.iterator();
+		while (it.hasNext()) {
+			Beacon b = it.next();
+			if (b instanceof BeaconImpl) {
+				BeaconImpl bi = (BeaconImpl) b;
+				if (bi.isActive() && bi.isOffline()) {
+					if (new Hashtags(bi.getNotes())
+					   .contains(ht))
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Check if all DMS for a hashtag are deployable */
+	private boolean areDmsDeployable(String ht) {
+		Iterator<DMS> it = DMSHelper.iterator();
+		while (it.hasNext()) {
+			DMS d = it.next();
+			if (d instanceof DMSImpl) {
+				DMSImpl dms = (DMSImpl) d;
+				if (dms.isActive() && !dms.isDeployable()) {
+					if (new Hashtags(d.getNotes())
+					   .contains(ht))
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Check if all gate arms for a hashtag are deployable */
+	private boolean areGateArmsDeployable(DeviceAction da, String ht) {
+		PlanPhase pp = da.getPhase();
+		boolean open = !PlanPhase.GATE_ARM_CLOSED.equals(pp.getName());
+		Iterator<GateArm> it = GateArmHelper.iterator();
+		while (it.hasNext()) {
+			GateArm ga = it.next();
+			if (ga instanceof GateArmImpl) {
+				GateArmImpl gai = (GateArmImpl) ga;
+				if (gai.isActive() && !gai.isDeployable(open)) {
+					if (new Hashtags(gai.getNotes())
+					   .contains(ht))
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Check if all ramp meters for a hashtag are deployable */
+	private boolean areRampMetersDeployable(String ht) {
+		Iterator<RampMeter> it = RampMeterHelper.iterator();
+		while (it.hasNext()) {
+			RampMeter rm = it.next();
+			if (rm instanceof RampMeterImpl) {
+				RampMeterImpl rmi = (RampMeterImpl) rm;
+				if (rmi.isActive() && rmi.isOffline()) {
+					if (new Hashtags(rmi.getNotes())
+					   .contains(ht))
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Destroy an action plan */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		schedulePhaseJob(-1);
+	}
+
+	/** Job to update the phase when its hold time expires */
+	private transient ActionPlanPhaseJob phase_job;
+
+	/** Schedule a job to update the phase when its hold time expires */
+	private void schedulePhaseUpdate() {
+		schedulePhaseJob(phaseDelay());
+	}
+
+	/** Get the delay until the phase hold time expires.
+	 * @return Delay (ms), or -1 if the phase will not be updated. */
+	private long phaseDelay() {
+		PlanPhase p = phase;
+		if (p != null && active) {
+			Integer ht = p.getHoldTime();
+			PlanPhase np = p.getNextPhase();
+			if (ht != null && np != null && np != p) {
+				long t = phase_time + Math.max(ht * 1000L,
+					MIN_PHASE_MS);
+				return Math.max(0, t -
+					TimeSteward.currentTimeMillis());
+			}
+		}
+		return -1;
+	}
+
+	/** Schedule a job to update the phase, replacing any previous job.
+	 * @param ms Delay (ms), or -1 to cancel the job. */
+	private synchronized void schedulePhaseJob(long ms) {
+		TIMER.removeJob(phase_job);
+		if (ms >= 0) {
+			phase_job = new ActionPlanPhaseJob(this, ms);
+			TIMER.addJob(phase_job);
+		} else
+			phase_job = null;
+	}
+
+	/** Perform a phase update job */
+	public void performPhaseJob(ActionPlanPhaseJob job) {
+		synchronized (this) {
+			// Ignore jobs which have been replaced
+			if (job != phase_job)
+				return;
+			phase_job = null;
+		}
+		updatePhase();
+	}
+
+	/** Update the plan phase */
+	private void updatePhase() {
+		PlanPhase p = getPhase();
+		if (p != null && getActive()) {
+			Integer ht = p.getHoldTime();
+			PlanPhase np = p.getNextPhase();
+			if (ht != null && np != null && np != p) {
+				if (phaseSecs() < ht)
+					schedulePhaseUpdate();
+				else if (!setPhaseNotify(np, null))
+					schedulePhaseJob(RETRY_MS);
+			}
+		}
+	}
+
+	/** Get the number of seconds in the current phase */
+	private int phaseSecs() {
+		long elapsed = TimeSteward.currentTimeMillis() - phase_time;
+		return (int) (elapsed / 1000);
+	}
+}
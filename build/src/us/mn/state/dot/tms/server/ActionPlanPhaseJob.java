@@ -0,0 +1,43 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import us.mn.state.dot.sched.Job;
+
+/**
+ * Job to update the phase of an action plan when the hold time of its
+ * current phase expires.
+ *
+ * @author Douglas Lau
+ */
+public class ActionPlanPhaseJob extends Job {
+
+	/** Action plan to update */
+	private final ActionPlanImpl plan;
+
+	/** Create a new action plan phase update job.
+	 * @param ap Action plan to update.
+	 * @param ms Delay before updating phase (milliseconds). */
+	public ActionPlanPhaseJob(ActionPlanImpl ap, long ms) {
+		super((int) Math.min(ms, Integer.MAX_VALUE));
+		plan = ap;
+	}
+
+	/** Perform the action plan job */
+	@Override
+	public void perform() {
+		plan.performPhaseJob(this);
+	}
+}
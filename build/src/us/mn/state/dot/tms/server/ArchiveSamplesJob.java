@@ -0,0 +1,366 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FilenameFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.TimeSteward;
+import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
+
+/**
+ * Job to create sample data archive files.  Each day directory is archived
+ * by a job on one of a small pool of archive threads, so that the FLUSH
+ * thread is only busy while listing the archive directories.
+ *
+ * @author Douglas Lau
+ */
+public class ArchiveSamplesJob extends Job {
+
+	/** Number of archive worker threads */
+	static private final int ARCHIVE_THREADS = Math.max(1, Math.min(4,
+		Runtime.getRuntime().availableProcessors() / 2));
+
+	/** Size of buffers for copying sample data (bytes) */
+	static private final int BUFFER_SIZE = 64 * 1024;
+
+	/** Extension for sample archive files */
+	static private final String TRAFFIC_EXT = ".traffic";
+
+	/** Extension for archive files which are being created */
+	static private final String TEMP_EXT = ".tmp";
+
+	/** Sample archive factory */
+	private final SampleArchiveFactory a_factory;
+
+	/** Archive worker threads */
+	private final Scheduler[] workers = new Scheduler[ARCHIVE_THREADS];
+
+	/** Day directories which are queued or being archived */
+	private final Set<File> queued = ConcurrentHashMap.newKeySet();
+
+	/** Index of next worker thread */
+	private int next_worker = 0;
+
+	/** Create a new job to archive sample data.  This needs to happen
+	 * after 6 PM to allow for buffered data to be read in case of
+	 * communication errors (MnDOT protocol). */
+	public ArchiveSamplesJob(SampleArchiveFactory saf) {
+		super(Calendar.DATE, 1, Calendar.HOUR, 22);
+		a_factory = saf;
+	}
+
+	/** Perform the archive samples job */
+	public void perform() throws IOException {
+		archiveSamples();
+	}
+
+	/** Archive data samples */
+	protected void archiveSamples() throws IOException {
+		File[] years = listYears();
+		if(years != null) {
+			for(File year: years) {
+				for(File day: listDays(year))
+					queueSampleArchive(day);
+			}
+		}
+	}
+
+	/** Get an array of years in the sample archive directory */
+	protected File[] listYears() {
+		File arc = SampleArchiveFactoryImpl.sampleArchiveDir();
+		return arc.listFiles(new FileFilter() {
+			public boolean accept(File file) {
+				return file.isDirectory() &&
+				       isValidYear(file.getName());
+			}
+		});
+	}
+
+	/** Get a set of days which have not been archived for a given year.
+	 * The names in the year directory are used as a manifest of archived
+	 * days, so no archive files need to be checked individually. */
+	protected Set<File> listDays(File year) {
+		HashSet<File> days = new HashSet<File>();
+		String[] names = year.list();
+		if(names != null) {
+			HashSet<String> archived = new HashSet<String>();
+			for(String name: names) {
+				if(name.endsWith(TRAFFIC_EXT)) {
+					archived.add(name.substring(0,
+						name.length() - TRAFFIC_EXT.length()));
+				}
+			}
+			for(String name: names) {
+				if(isValidDate(name) && !archived.contains(name)) {
+					File day = new File(year, name);
+					if(day.isDirectory())
+						days.add(day);
+				}
+			}
+		}
+		return days;
+	}
+
+	/** Queue a day directory to be archived on a worker thread */
+	protected void queueSampleArchive(final File day) {
+		if(queued.add(day)) {
+			nextWorker().addJob(new Job() {
+				public void perform() throws IOException {
+					try {
+						createSampleArchive(day);
+					}
+					finally {
+						queued.remove(day);
+					}
+				}
+			});
+		}
+	}
+
+	/** Get the next worker thread, creating it if necessary */
+	private Scheduler nextWorker() {
+		int i = next_worker;
+		next_worker = (i + 1) % workers.length;
+		if(workers[i] == null)
+			workers[i] = new Scheduler("archive_" + i);
+		return workers[i];
+	}
+
+	/** Create a sample archive file for the given day.  The archive is
+	 * written to a temporary file first, so that an interrupted archive
+	 * is not mistaken for a complete one. */
+	protected void createSampleArchive(File day) throws IOException {
+		File traf = new File(day.toString() + TRAFFIC_EXT);
+		if(traf.exists())
+			return;
+		File tmp = new File(traf.toString() + TEMP_EXT);
+		FileOutputStream fos = new FileOutputStream(tmp);
+		try {
+			addSampleEntries(fos, day);
+		}
+		finally {
+			fos.close();
+		}
+		if(!tmp.renameTo(traf))
+			throw new IOException("Rename failed: " + tmp);
+		deleteOriginalSampleFiles(traf, day);
+	}
+
+	/** Add all valid sample file entries to an archive file */
+	protected void addSampleEntries(FileOutputStream fos, File day)
+		throws IOException
+	{
+		ZipOutputStream zos = new ZipOutputStream(
+			new BufferedOutputStream(fos, BUFFER_SIZE));
+		addSampleEntries(zos, day, new byte[BUFFER_SIZE]);
+		zos.finish();
+		zos.close();
+	}
+
+	/** Add all valid sample file entries to an archive file */
+	protected void addSampleEntries(ZipOutputStream zos, File day,
+		byte[] buffer) throws IOException
+	{
+		String[] entries = day.list(new FilenameFilter() {
+			public boolean accept(File dir, String name) {
+				return a_factory.hasKnownExtension(name);
+			}
+		});
+		if(entries == null)
+			throw new IOException("Cannot list: " + day);
+		Arrays.sort(entries);
+		// Mapped files are added first, since per-sensor files for
+		// the same entries must be merged with them
+		HashSet<String> written = new HashSet<String>();
+		for(String entry: entries) {
+			if(entry.endsWith(MappedSampleFile.EXT)) {
+				addMappedEntries(zos, day, entry, written,
+					buffer);
+			}
+		}
+		for(String entry: entries) {
+			if(!entry.endsWith(MappedSampleFile.EXT) &&
+			   !written.contains(entry))
+				addSampleEntry(zos, day, entry, buffer);
+		}
+	}
+
+	/** Add one sample file entry to an archive file */
+	protected void addSampleEntry(ZipOutputStream zos, File day,
+		String name, byte[] buffer) throws IOException
+	{
+		zos.putNextEntry(new ZipEntry(name));
+		FileInputStream fis = new FileInputStream(new File(day, name));
+		try {
+			while(true) {
+				int n_bytes = fis.read(buffer);
+				if(n_bytes < 0)
+					break;
+				zos.write(buffer, 0, n_bytes);
+			}
+		}
+		finally {
+			fis.close();
+		}
+	}
+
+	/** Add entries for all sensors in a mapped sample file.  The entries
+	 * are the same as per-sensor sample files.  If a per-sensor file also
+	 * exists (sample.archive.mapped was changed during the day), it is
+	 * merged into the entry.
+	 * @param written Set of entry names written. */
+	protected void addMappedEntries(ZipOutputStream zos, File day,
+		String name, Set<String> written, byte[] buffer)
+		throws IOException
+	{
+		String ext = name.substring(0, name.length() -
+			MappedSampleFile.EXT.length());
+		MappedSampleFile mf = MappedSampleFile.openRead(
+			new File(day, name));
+		try {
+			int slot = 0;
+			for (String sid: mf.getSensorIds()) {
+				String entry = sid + "." + ext;
+				zos.putNextEntry(new ZipEntry(entry));
+				written.add(entry);
+				ByteBuffer b = mf.readSlot(slot);
+				File pf = new File(day, entry);
+				if (pf.isFile()) {
+					b = mergeSamples(b, pf,
+						mf.getSampleBytes());
+				}
+				while(b.hasRemaining()) {
+					int n_bytes = Math.min(b.remaining(),
+						buffer.length);
+					b.get(buffer, 0, n_bytes);
+					zos.write(buffer, 0, n_bytes);
+				}
+				slot++;
+			}
+		}
+		finally {
+			mf.close();
+		}
+	}
+
+	/** Merge samples from a per-sensor file into mapped sample data.
+	 * Samples missing in the mapped data are taken from the file.
+	 * @param b Mapped sample data.
+	 * @param f Per-sensor sample file.
+	 * @param s_bytes Number of bytes per sample.
+	 * @return Merged sample data. */
+	static protected ByteBuffer mergeSamples(ByteBuffer b, File f,
+		int s_bytes) throws IOException
+	{
+		byte[] data = new byte[b.remaining()];
+		b.get(data);
+		byte[] fdata = Files.readAllBytes(f.toPath());
+		int len = Math.min(data.length, fdata.length);
+		for(int pos = 0; pos + s_bytes <= len; pos += s_bytes) {
+			if(isMissing(data, pos, s_bytes)) {
+				System.arraycopy(fdata, pos, data, pos,
+					s_bytes);
+			}
+		}
+		return ByteBuffer.wrap(data);
+	}
+
+	/** Check if a sample is missing */
+	static private boolean isMissing(byte[] data, int pos, int s_bytes) {
+		// MISSING_DATA is -1 for both 1 and 2 byte samples
+		for(int i = 0; i < s_bytes; i++) {
+			if(data[pos + i] != MISSING_DATA)
+				return false;
+		}
+		return true;
+	}
+
+	/** Delete the original sample files that have been copied into an
+	 * archive file */
+	protected void deleteOriginalSampleFiles(File traf, File day)
+		throws IOException
+	{
+		try (ZipFile zf = new ZipFile(traf)) {
+			Enumeration<? extends ZipEntry> e = zf.entries();
+			while(e.hasMoreElements()) {
+				String name = e.nextElement().getName();
+				if(a_factory.hasKnownExtension(name)) {
+					File file = new File(day, name);
+					if(file.isFile())
+						file.delete();
+				}
+			}
+		}
+		File[] mapped = day.listFiles(new FileFilter() {
+			public boolean accept(File file) {
+				// include temp files left by a crash
+				String n = file.getName();
+				if(n.endsWith(TEMP_EXT)) {
+					n = n.substring(0, n.length() -
+						TEMP_EXT.length());
+				}
+				return n.endsWith(MappedSampleFile.EXT);
+			}
+		});
+		if(mapped != null) {
+			for(File file: mapped)
+				file.delete();
+		}
+		day.delete();
+	}
+
+	/** Test if a year is valid */
+	static protected boolean isValidYear(String year) {
+		if(year.length() != 4)
+			return false;
+		try {
+			return Integer.parseInt(year) > 1900;
+		}
+		catch(NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/** Test if a date string is valid */
+	static protected boolean isValidDate(String date) {
+		if(date.length() != 8 ||
+		   date.equals(TimeSteward.currentDateShortString()))
+			return false;
+		try {
+			return Integer.parseInt(date) > 19000000;
+		}
+		catch(NumberFormatException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,629 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.Date;
+import us.mn.state.dot.sonar.Name;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.sonar.server.Server;
+import us.mn.state.dot.sonar.server.ServerNamespace;
+import us.mn.state.dot.tms.BaseHelper;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.server.event.BaseEvent;
+
+/**
+ * Base object class for storable SONAR objects.
+ *
+ * @author Douglas Lau
+ */
+abstract public class BaseObjectImpl implements Storable, SonarObject {
+
+	/** SONAR namespace */
+	static public ServerNamespace namespace;
+
+	/** SQL connection to database */
+	static SQLConnection store;
+
+	/** Corridor manager */
+	static public final CorridorManager corridors = new CorridorManager();
+
+	/** Load all objects from the database into the SONAR Namespace.
+	 * Table queries run concurrently, but objects are created in the
+	 * order listed, so that references can be resolved. */
+	static void loadAll(SQLConnection s, ServerNamespace ns)
+		throws TMSException
+	{
+		store = s;
+		namespace = ns;
+		StartupLoader loader = new StartupLoader(
+			s.getMaxConnections());
+		loader.addTable(DomainImpl.class, DomainImpl::loadAll);
+		loader.addTable(RoleImpl.class, RoleImpl::loadAll);
+		loader.addTable(PermissionImpl.class, PermissionImpl::loadAll);
+		loader.addTable(UserImpl.class, UserImpl::loadAll);
+		loader.addTable(SystemAttributeImpl.class,
+			SystemAttributeImpl::loadAll);
+		loader.addTable(EventConfigImpl.class,
+			EventConfigImpl::loadAll);
+		loader.addTable(GraphicImpl.class, GraphicImpl::loadAll);
+		loader.addTable(FontImpl.class, FontImpl::loadAll);
+		loader.addTable(GlyphImpl.class, GlyphImpl::loadAll);
+		loader.addTable(RoadImpl.class, RoadImpl::loadAll);
+		loader.addTable(RoadAffixImpl.class, RoadAffixImpl::loadAll);
+		loader.addTable(GeoLocImpl.class, GeoLocImpl::loadAll);
+		loader.addTable(MapExtentImpl.class, MapExtentImpl::loadAll);
+		loader.addTable(IncidentDetailImpl.class,
+			IncidentDetailImpl::loadAll);
+		loader.addTable(CommConfigImpl.class, CommConfigImpl::loadAll);
+		loader.addTable(CommLinkImpl.class, CommLinkImpl::loadAll);
+		loader.addTable(ModemImpl.class, ModemImpl::loadAll);
+		loader.addTable(CabinetStyleImpl.class,
+			CabinetStyleImpl::loadAll);
+		loader.addTable(ControllerImpl.class, ControllerImpl::loadAll);
+		loader.addTable(SignConfigImpl.class, SignConfigImpl::loadAll);
+		loader.addTable(SignDetailImpl.class, SignDetailImpl::loadAll);
+		loader.addTable(DayPlanImpl.class, DayPlanImpl::loadAll);
+		loader.addTable(DayMatcherImpl.class, DayMatcherImpl::loadAll);
+		loader.addTable(PlanPhaseImpl.class, PlanPhaseImpl::loadAll);
+		loader.addTable(ActionPlanImpl.class, ActionPlanImpl::loadAll);
+		loader.addTable(R_NodeImpl.class, R_NodeImpl::loadAll);
+		/* NOTE: must happen after r_nodes are loaded */
+		loader.addStep("corridors", new StartupLoader.Step() {
+			public void load() {
+				corridors.createCorridors();
+			}
+		});
+		loader.addTable(AlarmImpl.class, AlarmImpl::loadAll);
+		loader.addTable(GpsImpl.class, GpsImpl::loadAll);
+		loader.addTable(CameraTemplateImpl.class,
+			CameraTemplateImpl::loadAll);
+		loader.addTable(VidSourceTemplateImpl.class,
+			VidSourceTemplateImpl::loadAll);
+		loader.addTable(CameraVidSourceOrderImpl.class,
+			CameraVidSourceOrderImpl::loadAll);
+		loader.addTable(DetectorImpl.class, DetectorImpl::loadAll);
+		loader.addTable(TollZoneImpl.class, TollZoneImpl::loadAll);
+		loader.addTable(EncoderTypeImpl.class,
+			EncoderTypeImpl::loadAll);
+		loader.addTable(EncoderStreamImpl.class,
+			EncoderStreamImpl::loadAll);
+		loader.addTable(CameraImpl.class, CameraImpl::loadAll);
+		loader.addTable(CameraPresetImpl.class,
+			CameraPresetImpl::loadAll);
+		loader.addTable(PlayListImpl.class, PlayListImpl::loadAll);
+		loader.addTable(MonitorStyleImpl.class,
+			MonitorStyleImpl::loadAll);
+		loader.addTable(VideoMonitorImpl.class,
+			VideoMonitorImpl::loadAll);
+		loader.addTable(FlowStreamImpl.class, FlowStreamImpl::loadAll);
+		loader.addTable(BeaconImpl.class, BeaconImpl::loadAll);
+		loader.addTable(WeatherSensorImpl.class,
+			WeatherSensorImpl::loadAll);
+		loader.addTable(RampMeterImpl.class, RampMeterImpl::loadAll);
+		loader.addTable(SignMessageImpl.class,
+			SignMessageImpl::loadAll);
+		loader.addTable(DMSImpl.class, DMSImpl::loadAll);
+		loader.addTable(MsgPatternImpl.class, MsgPatternImpl::loadAll);
+		loader.addTable(MsgLineImpl.class, MsgLineImpl::loadAll);
+		loader.addTable(GateArmImpl.class, GateArmImpl::loadAll);
+		loader.addTable(TagReaderImpl.class, TagReaderImpl::loadAll);
+		loader.addTable(LcsImpl.class, LcsImpl::loadAll);
+		loader.addTable(LcsStateImpl.class, LcsStateImpl::loadAll);
+		loader.addTable(ParkingAreaImpl.class,
+			ParkingAreaImpl::loadAll);
+		loader.addTable(IncidentImpl.class, IncidentImpl::loadAll);
+		loader.addTable(IncDescriptorImpl.class,
+			IncDescriptorImpl::loadAll);
+		loader.addTable(IncLocatorImpl.class, IncLocatorImpl::loadAll);
+		loader.addTable(IncAdviceImpl.class, IncAdviceImpl::loadAll);
+		loader.addTable(TimeActionImpl.class, TimeActionImpl::loadAll);
+		loader.addTable(DeviceActionImpl.class,
+			DeviceActionImpl::loadAll);
+		loader.addTable(WordImpl.class, WordImpl::loadAll);
+		loader.addStep("dms_styles", new StartupLoader.Step() {
+			public void load() {
+				DMSImpl.updateAllStyles();
+			}
+		});
+		loader.addTable(RptConduitImpl.class, RptConduitImpl::loadAll);
+		loader.addTable(AlertConfigImpl.class,
+			AlertConfigImpl::loadAll);
+		loader.addTable(AlertMessageImpl.class,
+			AlertMessageImpl::loadAll);
+		loader.addTable(AlertInfoImpl.class, AlertInfoImpl::loadAll);
+		loader.run();
+	}
+
+	/** Get the time as a time stamp */
+	static protected Date asTimestamp(Long ts) {
+		return (ts != null) ? new Date(ts) : null;
+	}
+
+	/** Get time as milliseconds since epoch */
+	static protected Long stampMillis(Date ts) {
+		if (ts != null)
+			return ts.getTime();
+		else
+			return null;
+	}
+
+	/** Compare two (possibly-null) objects for equality */
+	static protected boolean objectEquals(Object o0, Object o1) {
+		return BaseHelper.objectEquals(o0, o1);
+	}
+
+	/** Lookup a sonar object */
+	static private SonarObject lookupObject(String st, String name) {
+		if (namespace != null)
+			return namespace.lookupObject(st, name);
+		else
+			return null;
+	}
+
+	/** Lookup a user */
+	static protected UserImpl lookupUser(String name) {
+		SonarObject so = lookupObject(UserImpl.SONAR_TYPE, name);
+		return (so instanceof UserImpl) ? (UserImpl) so : null;
+	}
+
+	/** Lookup a role */
+	static protected RoleImpl lookupRole(String name) {
+		SonarObject so = lookupObject(RoleImpl.SONAR_TYPE, name);
+		return (so instanceof RoleImpl) ? (RoleImpl) so : null;
+	}
+
+	/** Lookup a road */
+	static protected RoadImpl lookupRoad(String name) {
+		SonarObject so = lookupObject(RoadImpl.SONAR_TYPE, name);
+		return (so instanceof RoadImpl) ? (RoadImpl) so : null;
+	}
+
+	/** Lookup a geo location */
+	static protected GeoLocImpl lookupGeoLoc(String name) {
+		SonarObject so = lookupObject(GeoLocImpl.SONAR_TYPE, name);
+		return (so instanceof GeoLocImpl) ? (GeoLocImpl) so : null;
+	}
+
+	/** Lookup an r_node */
+	static protected R_NodeImpl lookupR_Node(String name) {
+		SonarObject so = lookupObject(R_NodeImpl.SONAR_TYPE, name);
+		return (so instanceof R_NodeImpl) ? (R_NodeImpl) so : null;
+	}
+
+	/** Lookup a cabinet style */
+	static protected CabinetStyleImpl lookupCabinetStyle(String name) {
+		SonarObject so = lookupObject(CabinetStyleImpl.SONAR_TYPE,name);
+		return (so instanceof CabinetStyleImpl)
+		      ? (CabinetStyleImpl) so
+		      : null;
+	}
+
+	/** Lookup a comm config */
+	static protected CommConfigImpl lookupCommConfig(String name) {
+		SonarObject so = lookupObject(CommConfigImpl.SONAR_TYPE, name);
+		return (so instanceof CommConfigImpl)
+		      ? (CommConfigImpl) so
+		      : null;
+	}
+
+	/** Lookup a comm link */
+	static protected CommLinkImpl lookupCommLink(String name) {
+		SonarObject so = lookupObject(CommLinkImpl.SONAR_TYPE, name);
+		return (so instanceof CommLinkImpl)
+		      ?	(CommLinkImpl) so
+		      : null;
+	}
+
+	/** Lookup a controller */
+	static protected ControllerImpl lookupController(String name) {
+		SonarObject so = lookupObject(ControllerImpl.SONAR_TYPE, name);
+		return (so instanceof ControllerImpl)
+		      ? (ControllerImpl) so
+		      : null;
+	}
+
+	/** Lookup a toll zone */
+	static protected TollZoneImpl lookupTollZone(String name) {
+		SonarObject so = lookupObject(TollZoneImpl.SONAR_TYPE, name);
+		if (so instanceof TollZoneImpl)
+			return (TollZoneImpl)so;
+		else
+			return null;
+	}
+
+	/** Lookup a GPS */
+	static protected GpsImpl lookupGps(String name) {
+		SonarObject so = lookupObject(GpsImpl.SONAR_TYPE, name);
+		return (so instanceof GpsImpl) ? (GpsImpl) so : null;
+	}
+
+	/** Lookup a graphic */
+	static protected GraphicImpl lookupGraphic(String name) {
+		SonarObject so = lookupObject(GraphicImpl.SONAR_TYPE, name);
+		return (so instanceof GraphicImpl) ? (GraphicImpl) so : null;
+	}
+
+	/** Lookup a beacon */
+	static protected BeaconImpl lookupBeacon(String name) {
+		SonarObject so = lookupObject(BeaconImpl.SONAR_TYPE, name);
+		if (so instanceof BeaconImpl)
+			return (BeaconImpl)so;
+		else
+			return null;
+	}
+
+	/** Lookup an encoder type */
+	static protected EncoderTypeImpl lookupEncoderType(String name) {
+		SonarObject so = lookupObject(EncoderTypeImpl.SONAR_TYPE, name);
+		return (so instanceof EncoderTypeImpl)
+		      ? (EncoderTypeImpl) so
+		      :	null;
+	}
+
+	/** Lookup a camera template */
+	static protected CameraTemplateImpl lookupCameraTemplate(String name) {
+		SonarObject so = lookupObject(CameraTemplateImpl.SONAR_TYPE, name);
+		return (so instanceof CameraTemplateImpl)
+				? (CameraTemplateImpl) so
+				: null;
+	}
+
+	/** Lookup a monitor style */
+	static protected MonitorStyleImpl lookupMonitorStyle(String name) {
+		SonarObject so = lookupObject(MonitorStyleImpl.SONAR_TYPE,name);
+		return (so instanceof MonitorStyleImpl)
+		      ? (MonitorStyleImpl) so
+		      :	null;
+	}
+
+	/** Lookup a camera */
+	static protected CameraImpl lookupCamera(String name) {
+		SonarObject so = lookupObject(CameraImpl.SONAR_TYPE, name);
+		return (so instanceof CameraImpl) ? (CameraImpl) so : null;
+	}
+
+	/** Lookup a play list */
+	static protected PlayListImpl lookupPlayList(String name) {
+		SonarObject so = lookupObject(PlayListImpl.SONAR_TYPE, name);
+		return (so instanceof PlayListImpl) ? (PlayListImpl) so : null;
+	}
+
+	/** Lookup a camera preset */
+	static protected CameraPresetImpl lookupPreset(String name) {
+		SonarObject so = lookupObject(CameraPresetImpl.SONAR_TYPE,name);
+		if (so instanceof CameraPresetImpl)
+			return (CameraPresetImpl)so;
+		else
+			return null;
+	}
+
+	/** Assign a camera preset */
+	static protected void assignPreset(CameraPresetImpl op,
+		CameraPresetImpl np)
+	{
+		if (op != null)
+			op.setAssignedNotify(false);
+		if (np != null)
+			np.setAssignedNotify(true);
+	}
+
+	/** Lookup a DMS */
+	static protected DMSImpl lookupDMS(String name) {
+		SonarObject so = lookupObject(DMSImpl.SONAR_TYPE, name);
+		return (so instanceof DMSImpl) ? (DMSImpl) so : null;
+	}
+
+	/** Lookup a sign config */
+	static protected SignConfigImpl lookupSignConfig(String name) {
+		SonarObject so = lookupObject(SignConfigImpl.SONAR_TYPE, name);
+		return (so instanceof SignConfigImpl)
+		      ? (SignConfigImpl) so
+		      : null;
+	}
+
+	/** Lookup a message pattern */
+	static protected MsgPatternImpl lookupMsgPattern(String name) {
+		SonarObject so = lookupObject(MsgPatternImpl.SONAR_TYPE, name);
+		return (so instanceof MsgPatternImpl)
+		      ? (MsgPatternImpl) so
+		      : null;
+	}
+
+	/** Lookup an LCS */
+	static protected LcsImpl lookupLcs(String name) {
+		SonarObject so = lookupObject(LcsImpl.SONAR_TYPE, name);
+		return (so instanceof LcsImpl) ? (LcsImpl) so : null;
+	}
+
+	/** Lookup an incident detail */
+	static protected IncidentDetailImpl lookupIncDetail(String name) {
+		SonarObject so = lookupObject(IncidentDetailImpl.SONAR_TYPE,
+			name);
+		return (so instanceof IncidentDetailImpl)
+		      ? (IncidentDetailImpl) so
+		      : null;
+	}
+
+	/** Lookup an incident */
+	static protected IncidentImpl lookupIncident(String name) {
+		SonarObject so = lookupObject(IncidentImpl.SONAR_TYPE, name);
+		return (so instanceof IncidentImpl) ? (IncidentImpl) so : null;
+	}
+
+	/** Lookup an action plan */
+	static protected ActionPlanImpl lookupActionPlan(String name) {
+		SonarObject so = lookupObject(ActionPlanImpl.SONAR_TYPE, name);
+		return (so instanceof ActionPlanImpl)
+		      ? (ActionPlanImpl) so
+		      : null;
+	}
+
+	/** Lookup a plan phase */
+	static protected PlanPhaseImpl lookupPlanPhase(String name) {
+		SonarObject so = lookupObject(PlanPhaseImpl.SONAR_TYPE, name);
+		return (so instanceof PlanPhaseImpl) ? (PlanPhaseImpl)so : null;
+	}
+
+	/** Lookup a day plan */
+	static protected DayPlanImpl lookupDayPlan(String name) {
+		SonarObject so = lookupObject(DayPlanImpl.SONAR_TYPE, name);
+		return (so instanceof DayPlanImpl) ? (DayPlanImpl) so : null;
+	}
+
+	/** Lookup a time action */
+	static protected TimeActionImpl lookupTimeAction(String name) {
+		SonarObject so = lookupObject(TimeActionImpl.SONAR_TYPE, name);
+		return (so instanceof TimeActionImpl)
+		      ? (TimeActionImpl) so
+		      : null;
+	}
+
+	/** Lookup a device action */
+	static protected DeviceActionImpl lookupDeviceAction(String name) {
+		SonarObject so = lookupObject(DeviceActionImpl.SONAR_TYPE, name);
+		return (so instanceof DeviceActionImpl)
+		      ? (DeviceActionImpl) so
+		      : null;
+	}
+
+	/** Lookup an alert config */
+	static protected AlertConfigImpl lookupAlertConfig(String name) {
+		SonarObject so = lookupObject(AlertConfigImpl.SONAR_TYPE, name);
+		return (so instanceof AlertConfigImpl)
+		      ? (AlertConfigImpl) so
+		      : null;
+	}
+
+	/** Lookup an alert info */
+	static protected AlertInfoImpl lookupAlertInfo(String name) {
+		SonarObject so = lookupObject(AlertInfoImpl.SONAR_TYPE, name);
+		return (so instanceof AlertInfoImpl)
+		      ? (AlertInfoImpl) so
+		      : null;
+	}
+
+	/** Lookup an alert message */
+	static protected AlertMessageImpl lookupAlertMessage(String name) {
+		SonarObject so = lookupObject(AlertMessageImpl.SONAR_TYPE,name);
+		return (so instanceof AlertMessageImpl)
+		      ? (AlertMessageImpl) so
+		      : null;
+	}
+
+	/** Get the database table name */
+	@Override
+	public String getTable() {
+		return "iris." + getTypeName();
+	}
+
+	/** Get the primary key name */
+	@Override
+	public String getPKeyName() {
+		return "name";
+	}
+
+	/** Get the primary key */
+	@Override
+	public String getPKey() {
+		return name;
+	}
+
+	/** Base object name */
+	protected final String name;
+
+	/** Get the object name */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/** Get notes (including hashtags) */
+	@Override
+	public String getNotes() {
+		return null;
+	}
+
+	/** Create a new base object */
+	protected BaseObjectImpl(String n) {
+		name = n;
+	}
+
+	/** Get a string representation of the object */
+	@Override
+	public final String toString() {
+		return name;
+	}
+
+	/** Calculate a hash code */
+	@Override
+	public int hashCode() {
+		return name.hashCode();
+	}
+
+	/** Test if the object equals another */
+	@Override
+	public boolean equals(Object o) {
+		if (o instanceof BaseObjectImpl)
+			return name.equals(((BaseObjectImpl) o).name);
+		else
+			return false;
+	}
+
+	/** Store an object */
+	public void doStore() throws TMSException {
+		store.create(this);
+		initTransients();
+	}
+
+	/** Destroy an object */
+	@Override
+	public void destroy() {
+		// Handled by doDestroy() method
+	}
+
+	/** Destroy an object */
+	public void doDestroy() throws TMSException {
+		store.destroy(this);
+	}
+
+	/** Initialize the transient fields */
+	protected void initTransients() throws TMSException {
+		// Override this to initialize new objects
+	}
+
+	/** Get access level of current SONAR processing user */
+	protected int accessLevel(Name name) {
+		UserImpl user = lookupUser(getProcUser());
+		return namespace.accessLevel(name, user);
+	}
+
+	/** Get user for current SONAR message processing */
+	public String getProcUser() {
+		Server s = MainServer.server;
+		if (s != null) {
+			String u = s.getProcUser();
+			if (u != null)
+				return u;
+		}
+		return BaseHelper.USER_AUTO;
+	}
+
+	/** Notify SONAR clients of an object created */
+	public void notifyCreate() throws SonarException {
+		Server s = MainServer.server;
+		if (s != null)
+			s.createObject(this);
+		else
+			namespace.storeObject(this);
+	}
+
+	/** Run a task after a new object has been added to the namespace.
+	 * This must be called from doStore, since objects are stored before
+	 * they are added to the namespace. */
+	static protected void runAfterStore(String name, Runnable r) {
+		Server s = MainServer.server;
+		if (s != null)
+			s.scheduleTask(name, r);
+		else
+			r.run();
+	}
+
+	/** Notify SONAR clients of an object removed */
+	public void notifyRemove() {
+		Server s = MainServer.server;
+		if (s != null)
+			s.removeObject(this);
+	}
+
+	/** Notify SONAR clients of a change to an attribute. Attribute names
+	 *  should use lower camel case instead of underscores (e.g.
+	 *  "someAttribute" instead of "some_attribute").
+	 */
+	protected void notifyAttribute(String aname) {
+		Server s = MainServer.server;
+		if (s != null)
+			s.setAttribute(this, aname);
+	}
+
+	/** Number format for each thread (creating one is expensive) */
+	static private final ThreadLocal<NumberFormat> NUM_FORMAT =
+		new ThreadLocal<NumberFormat>()
+	{
+		@Override protected NumberFormat initialValue() {
+			NumberFormat nf = NumberFormat.getNumberInstance();
+			nf.setGroupingUsed(false);
+			return nf;
+		}
+	};
+
+	/** Format a float value */
+	static String formatFloat(float value, int digits) {
+		NumberFormat nf = NUM_FORMAT.get();
+		nf.setMaximumFractionDigits(digits);
+		return nf.format(value);
+	}
+
+	/** Format a double value */
+	static String formatDouble(double value) {
+		NumberFormat nf = NUM_FORMAT.get();
+		nf.setMaximumFractionDigits(5);
+		return nf.format(value);
+	}
+
+	/** Get a String array from a particular column of a ResultSet.
+	 * Guards against null pointer exceptions. */
+	static protected String[] getStringArray(ResultSet row, int columnIndex)
+		throws SQLException
+	{
+		Array arr = row.getArray(columnIndex);
+		return row.wasNull() ? null : (String []) arr.getArray();
+	}
+
+	/** Get an array representation of a string given a string array.  If
+	 *  the array provided is null, null is returned (instead of the string
+	 *  "null" returned by Arrays.toString(). */
+	static protected String arrayToString(String[] a) {
+		return (a != null)
+		      ? Arrays.toString(a).replace("[", "{").replace("]", "}")
+		      : null;
+	}
+
+	/** Trim and truncate a string to a given maximum length.
+	 * @param value String to be truncated (may be null).
+	 * @param maxlen Maximum length of string (characters).
+	 * @return Trimmed, truncated string, or null. */
+	static protected String trimTruncate(String value, int maxlen) {
+		if (value != null) {
+			String v = value.trim();
+			if (v.length() > 0) {
+				return (v.length() <= maxlen)
+				      ? v
+				      : v.substring(0, maxlen);
+			}
+		}
+		return null;
+	}
+
+	/** Log an event */
+	static public void logEvent(BaseEvent ev) {
+		ev.queueStore();
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.mn.state.dot.tms.utils.FileIO;
+
+/**
+ * Delta feed writes a JSON file containing only the sample values which
+ * changed since the previous interval.  Every few intervals, a keyframe
+ * containing all values is written instead.  Each file has a sequence
+ * number, so a consumer which misses an interval can wait for the next
+ * keyframe, or fetch the full feed.
+ *
+ * Values are JSON text (for example "[360,55]"), keyed by sensor name.  A
+ * name which had a value in the previous interval but not in this one is
+ * listed in "removed".
+ *
+ * @author Douglas Lau
+ */
+public class DeltaFeed {
+
+	/** Date formatter for RFC 3339 */
+	private final SimpleDateFormat rfc3339 =
+		new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+
+	/** File to write */
+	private final File file;
+
+	/** Number of intervals between keyframes */
+	private final int key_intervals;
+
+	/** Values from the previous interval */
+	private LinkedHashMap<String, String> prev =
+		new LinkedHashMap<String, String>();
+
+	/** Sequence number of the previous interval */
+	private long seq = 0;
+
+	/** Number of intervals since the previous keyframe */
+	private int since_key = 0;
+
+	/** Create a new delta feed.
+	 * @param f File to write.
+	 * @param ki Number of intervals between keyframes. */
+	public DeltaFeed(File f, int ki) {
+		file = f;
+		key_intervals = Math.max(1, ki);
+	}
+
+	/** Write the feed file for one interval.
+	 * @param stamp Time stamp at end of interval.
+	 * @param values Current values, in output order. */
+	public void write(long stamp, Map<String, String> values)
+		throws IOException
+	{
+		File temp = new File(file.getAbsolutePath() + "~");
+		FeedWriter w = new FeedWriter(new FileOutputStream(temp));
+		try {
+			write(w, stamp, values);
+		}
+		finally {
+			w.close();
+		}
+		FileIO.atomicMove(temp.toPath(), file.toPath());
+	}
+
+	/** Write one interval to a writer.
+	 * @return true if a keyframe was written. */
+	boolean write(Writer w, long stamp, Map<String, String> values)
+		throws IOException
+	{
+		boolean key = (since_key == 0);
+		seq++;
+		since_key = (since_key + 1) % key_intervals;
+		w.write("{\n\"time_stamp\":\"");
+		w.write(rfc3339.format(new Date(stamp)));
+		w.write("\",\n\"period\":30,\n\"seq\":");
+		w.write(Long.toString(seq));
+		w.write(",\n\"keyframe\":");
+		w.write(key ? "true" : "false");
+		w.write(",\n\"samples\":{");
+		boolean first = true;
+		for (Map.Entry<String, String> e: values.entrySet()) {
+			String n = e.getKey();
+			String v = e.getValue();
+			if (key || !v.equals(prev.get(n))) {
+				if (!first)
+					w.write(',');
+				w.write("\n\"");
+				w.write(n);
+				w.write("\":");
+				w.write(v);
+				first = false;
+			}
+		}
+		w.write("\n}");
+		if (!key)
+			writeRemoved(w, values);
+		w.write("\n}\n");
+		prev = new LinkedHashMap<String, String>(values);
+		return key;
+	}
+
+	/** Write names which no longer have values */
+	private void writeRemoved(Writer w, Map<String, String> values)
+		throws IOException
+	{
+		ArrayList<String> removed = new ArrayList<String>();
+		for (String n: prev.keySet()) {
+			if (!values.containsKey(n))
+				removed.add(n);
+		}
+		if (removed.isEmpty())
+			return;
+		w.write(",\n\"removed\":[");
+		for (int i = 0; i < removed.size(); i++) {
+			if (i > 0)
+				w.write(',');
+			w.write('"');
+			w.write(removed.get(i));
+			w.write('"');
+		}
+		w.write(']');
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Feed writer is a streaming writer for XML and JSON feeds.  Characters are
+ * encoded as UTF-8 directly into a byte buffer, without an intermediate
+ * encoder or String, and the buffer is written to the output stream only
+ * when full.  XmlWriter.writeAttribute escapes values while writing, so
+ * values which do not need escaping are never copied.
+ *
+ * @author Douglas Lau
+ */
+public class FeedWriter extends Writer {
+
+	/** Default buffer size (bytes) */
+	static public final int BUFFER_SIZE = 64 * 1024;
+
+	/** Create a gzip output stream with a compression level.
+	 * @param os Output stream to compress.
+	 * @param level Deflater compression level (0-9, or -1 for default).
+	 * @return Compressed output stream. */
+	static public OutputStream gzipStream(OutputStream os, final int level)
+		throws IOException
+	{
+		return new GZIPOutputStream(os, BUFFER_SIZE) {
+			{
+				def.setLevel(level);
+			}
+		};
+	}
+
+	/** Check if a compression level is valid */
+	static public boolean isValidLevel(int level) {
+		return level == Deflater.DEFAULT_COMPRESSION ||
+		      (level >= Deflater.NO_COMPRESSION &&
+		       level <= Deflater.BEST_COMPRESSION);
+	}
+
+	/** Write an integer to a writer, without creating a String if it is
+	 * a feed writer */
+	static public void writeInt(Writer w, int v) throws IOException {
+		if (w instanceof FeedWriter)
+			((FeedWriter) w).writeInt(v);
+		else
+			w.write(String.valueOf(v));
+	}
+
+	/** Output stream */
+	private final OutputStream out;
+
+	/** Byte buffer */
+	private final byte[] buf;
+
+	/** Buffer position */
+	private int pos = 0;
+
+	/** High surrogate from previous char (or 0) */
+	private char high = 0;
+
+	/** Create a new feed writer.
+	 * @param os Output stream.
+	 * @param size Buffer size (bytes). */
+	public FeedWriter(OutputStream os, int size) {
+		out = os;
+		buf = new byte[Math.max(size, 16)];
+	}
+
+	/** Create a new feed writer with the default buffer size */
+	public FeedWriter(OutputStream os) {
+		this(os, BUFFER_SIZE);
+	}
+
+	/** Make room for a number of bytes in the buffer */
+	private void reserve(int n) throws IOException {
+		if (pos + n > buf.length)
+			flushBuffer();
+	}
+
+	/** Write the buffer to the output stream */
+	private void flushBuffer() throws IOException {
+		if (pos > 0) {
+			out.write(buf, 0, pos);
+			pos = 0;
+		}
+	}
+
+	/** Encode one char as UTF-8.  Unpaired surrogates are replaced with
+	 * '?', as OutputStreamWriter does. */
+	private void encode(char c) throws IOException {
+		if (high != 0 && !Character.isLowSurrogate(c)) {
+			high = 0;
+			encode('?');
+		}
+		if (c < 0x80) {
+			if (pos >= buf.length)
+				flushBuffer();
+			buf[pos++] = (byte) c;
+		} else if (c < 0x800) {
+			reserve(2);
+			buf[pos++] = (byte) (0xC0 | (c >> 6));
+			buf[pos++] = (byte) (0x80 | (c & 0x3F));
+		} else if (Character.isHighSurrogate(c))
+			high = c;
+		else if (Character.isLowSurrogate(c)) {
+			if (high != 0) {
+				int cp = Character.toCodePoint(high, c);
+				high = 0;
+				reserve(4);
+				buf[pos++] = (byte) (0xF0 | (cp >> 18));
+				buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+				buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+				buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+			} else
+				encode('?');
+		} else {
+			reserve(3);
+			buf[pos++] = (byte) (0xE0 | (c >> 12));
+			buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+			buf[pos++] = (byte) (0x80 | (c & 0x3F));
+		}
+	}
+
+	/** Write one char */
+	@Override
+	public void write(int c) throws IOException {
+		encode((char) c);
+	}
+
+	/** Write an array of chars */
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		for (int i = off; i < off + len; i++)
+			encode(cbuf[i]);
+	}
+
+	/** Write part of a string */
+	@Override
+	public void write(String s, int off, int len) throws IOException {
+		for (int i = off; i < off + len; i++)
+			encode(s.charAt(i));
+	}
+
+	/** Write a string */
+	@Override
+	public void write(String s) throws IOException {
+		write(s, 0, s.length());
+	}
+
+	/** Write an integer, without creating a String */
+	public void writeInt(int v) throws IOException {
+		if (v == Integer.MIN_VALUE) {
+			write(String.valueOf(v));
+			return;
+		}
+		if (v < 0) {
+			encode('-');
+			v = -v;
+		}
+		int d = 1;
+		while (d <= v / 10)
+			d *= 10;
+		for (; d > 0; d /= 10)
+			encode((char) ('0' + (v / d) % 10));
+	}
+
+	/** Flush the buffer and the output stream */
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	/** Flush and close the output stream */
+	@Override
+	public void close() throws IOException {
+		try {
+			flushBuffer();
+		}
+		finally {
+			out.close();
+		}
+	}
+}
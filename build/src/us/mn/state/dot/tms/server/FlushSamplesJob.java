@@ -0,0 +1,137 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.Detector;
+import us.mn.state.dot.tms.DetectorHelper;
+import us.mn.state.dot.tms.SystemAttrEnum;
+import us.mn.state.dot.tms.WeatherSensor;
+import us.mn.state.dot.tms.WeatherSensorHelper;
+import us.mn.state.dot.tms.units.Interval;
+
+/**
+ * Job to flush sample data to disk.  Only sensors which have been queued
+ * (by storing new samples) since the previous run are flushed.  Sensors
+ * which fail to flush are queued again for the next run.
+ *
+ * @author Douglas Lau
+ */
+public class FlushSamplesJob extends Job {
+
+	/** Sample flush debug log */
+	static private final DebugLog SAMPLE_FLUSH_LOG =
+		new DebugLog("sample_flush");
+
+	/** Queue of sensors with samples which have not been flushed */
+	static private final Set<SampleSensor> FLUSH_QUEUE =
+		ConcurrentHashMap.newKeySet();
+
+	/** Queue a sensor to be flushed on the next run */
+	static public void queueFlush(SampleSensor ss) {
+		FLUSH_QUEUE.add(ss);
+	}
+
+	/** Is archiving enabled? */
+	static private boolean isArchiveEnabled() {
+		return SystemAttrEnum.DETECTOR_DATA_ARCHIVE_ENABLE.getBoolean();
+	}
+
+	/** Number of milliseconds to cache periodic sample data */
+	static private final long SAMPLE_CACHE_MS = new Interval(10,
+		Interval.Units.MINUTES).ms();
+
+	/** Calculate a time stamp to purge samples */
+	static private long calculatePurgeStamp() {
+		return TimeSteward.currentTimeMillis() - SAMPLE_CACHE_MS;
+	}
+
+	/** Periodic sample writer */
+	private final PeriodicSampleWriter writer;
+
+	/** Create a new flush samples job */
+	public FlushSamplesJob(SampleArchiveFactory saf) {
+		super(Calendar.MINUTE, 2);
+		writer = new PeriodicSampleWriter(saf);
+	}
+
+	/** Perform the flush samples job */
+	public void perform() {
+		long start = TimeSteward.currentTimeMillis();
+		long before = calculatePurgeStamp();
+		writer.resetCounts();
+		int n_sensors = flushQueuedSamples(isArchiveEnabled());
+		purgeDetectorSamples(before);
+		purgeWeatherSamples(before);
+		if (SAMPLE_FLUSH_LOG.isOpen()) {
+			long ms = TimeSteward.currentTimeMillis() - start;
+			SAMPLE_FLUSH_LOG.log("sensors: " + n_sensors +
+				", caches: " + writer.getFlushed() +
+				", failed: " + writer.getFailed() +
+				", bytes: " + writer.getBytesWritten() +
+				", " + ms + " ms");
+		}
+	}
+
+	/** Flush queued sample data to disk.
+	 * @param do_flush Flag to write samples (false to discard queue).
+	 * @return Number of sensors flushed. */
+	int flushQueuedSamples(boolean do_flush) {
+		ArrayList<SampleSensor> failed = new ArrayList<SampleSensor>();
+		int n_sensors = 0;
+		Iterator<SampleSensor> it = FLUSH_QUEUE.iterator();
+		while (it.hasNext()) {
+			SampleSensor ss = it.next();
+			it.remove();
+			if (do_flush) {
+				int n_failed = writer.getFailed();
+				ss.flush(writer);
+				if (writer.getFailed() > n_failed)
+					failed.add(ss);
+				n_sensors++;
+			}
+		}
+		// queue after iterating, so they are not flushed twice
+		FLUSH_QUEUE.addAll(failed);
+		return n_sensors;
+	}
+
+	/** Purge old detector sample data */
+	private void purgeDetectorSamples(long before) {
+		Iterator<Detector> it = DetectorHelper.iterator();
+		while (it.hasNext()) {
+			Detector d = it.next();
+			if (d instanceof DetectorImpl)
+				((DetectorImpl) d).purge(before);
+		}
+	}
+
+	/** Purge old weather sample data */
+	private void purgeWeatherSamples(long before) {
+		Iterator<WeatherSensor> it = WeatherSensorHelper.iterator();
+		while (it.hasNext()) {
+			WeatherSensor w = it.next();
+			if (w instanceof WeatherSensorImpl)
+				((WeatherSensorImpl) w).purge(before);
+		}
+	}
+}
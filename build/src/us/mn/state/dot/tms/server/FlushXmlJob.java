@@ -0,0 +1,175 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.tms.Detector;
+import us.mn.state.dot.tms.DetectorHelper;
+import us.mn.state.dot.tms.SystemAttrEnum;
+
+/**
+ * Job to flush XML data
+ *
+ * @author Douglas Lau
+ */
+public class FlushXmlJob extends Job {
+
+	/** Detector data file */
+	static private final String SAMPLE_XML = "det_sample.xml";
+
+	/** Name of station delta JSON file */
+	static private final String STATION_DELTA = "station_sample_delta";
+
+	/** Name of detector delta JSON file */
+	static private final String DET_DELTA = "det_sample_delta";
+
+	/** Station manager */
+	private final StationManager station_manager;
+
+	/** Station delta feed (null if disabled) */
+	private final DeltaFeed station_delta;
+
+	/** Detector delta feed (null if disabled) */
+	private final DeltaFeed det_delta;
+
+	/** Create a new flush XML samples job.
+	 * @param sm Station manager.
+	 * @param key_intervals Intervals between delta feed keyframes, or 0
+	 *                      to disable delta feeds. */
+	public FlushXmlJob(StationManager sm, int key_intervals) {
+		station_manager = sm;
+		station_delta = (key_intervals > 0)
+			? new DeltaFeed(new File(StationManager
+				.JSON_OUTPUT_DIRECTORY, STATION_DELTA),
+				key_intervals)
+			: null;
+		det_delta = (key_intervals > 0)
+			? new DeltaFeed(new File(StationManager
+				.JSON_OUTPUT_DIRECTORY, DET_DELTA), key_intervals)
+			: null;
+	}
+
+	/** Perform flush XML data to disk */
+	@Override
+	public void perform() throws IOException {
+		StationSnapshot snap = station_manager.getSnapshot();
+		if (SystemAttrEnum.LEGACY_XML_DETECTOR_ENABLE.getBoolean()) {
+			writeSampleXml(snap.stamp);
+			station_manager.writeSampleXml(snap);
+		}
+		station_manager.writeSampleJson(snap);
+		if (station_delta != null)
+			station_delta.write(snap.stamp, stationValues(snap));
+		if (det_delta != null)
+			det_delta.write(snap.stamp, detectorValues(snap.stamp));
+	}
+
+	/** Get station values for the delta feed */
+	private LinkedHashMap<String, String> stationValues(
+		StationSnapshot snap)
+	{
+		LinkedHashMap<String, String> values =
+			new LinkedHashMap<String, String>();
+		for (StationSnapshot.Sample smp: snap.samples) {
+			String v = smp.jsonValue();
+			if (v != null)
+				values.put(smp.name, v);
+		}
+		return values;
+	}
+
+	/** Get detector values for the delta feed */
+	private LinkedHashMap<String, String> detectorValues(long stamp) {
+		int per_ms = DetectorImpl.BIN_PERIOD_MS;
+		LinkedHashMap<String, String> values =
+			new LinkedHashMap<String, String>();
+		Iterator<Detector> it = DetectorHelper.iterator();
+		while (it.hasNext()) {
+			Detector d = it.next();
+			if (d instanceof DetectorImpl) {
+				DetectorImpl det = (DetectorImpl) d;
+				String v = det.getSampleJson(stamp, per_ms);
+				if (v != null)
+					values.put(det.getName(), v);
+			}
+		}
+		return values;
+	}
+
+	/** Write the detector data out as XML */
+	private void writeSampleXml(final long stamp) throws IOException {
+		XmlWriter w = new XmlWriter(SAMPLE_XML, true) {
+			@Override protected void write(Writer w)
+				throws IOException
+			{
+				writeSampleXmlHead(w, stamp);
+				writeSampleXmlBody(w, stamp);
+				writeSampleXmlTail(w);
+			}
+		};
+		w.write();
+	}
+
+	/** Write the header of the detector XML file */
+	private void writeSampleXmlHead(Writer w, long stamp)
+		throws IOException
+	{
+		w.write(XmlWriter.XML_DECLARATION);
+		writeDtd(w);
+		w.write("<traffic_sample time_stamp='" + new Date(stamp) +
+			"' period='30'>\n");
+	}
+
+	/** Write the DTD */
+	private void writeDtd(Writer w) throws IOException {
+		w.write("<!DOCTYPE traffic_sample [\n");
+		w.write("<!ELEMENT traffic_sample (sample)*>\n");
+		w.write("<!ATTLIST traffic_sample time_stamp " +
+			"CDATA #REQUIRED>\n");
+		w.write("<!ATTLIST traffic_sample period CDATA #REQUIRED>\n");
+		w.write("<!ELEMENT sample EMPTY>\n");
+		w.write("<!ATTLIST sample sensor CDATA #REQUIRED>\n");
+		w.write("<!ATTLIST sample flow CDATA 'UNKNOWN'>\n");
+		w.write("<!ATTLIST sample speed CDATA 'UNKNOWN'>\n");
+		w.write("<!ATTLIST sample occ CDATA 'UNKNOWN'>\n");
+		w.write("]>\n");
+	}
+
+	/** Write the body of the detector XML file */
+	private void writeSampleXmlBody(Writer w, long stamp)
+		throws IOException
+	{
+		int per_ms = DetectorImpl.BIN_PERIOD_MS;
+		Iterator<Detector> it = DetectorHelper.iterator();
+		while (it.hasNext()) {
+			Detector d = it.next();
+			if (d instanceof DetectorImpl) {
+				DetectorImpl det = (DetectorImpl) d;
+				det.writeSampleXml(w, stamp, per_ms);
+			}
+		}
+	}
+
+	/** Write the tail of the detector XML file */
+	private void writeSampleXmlTail(Writer w) throws IOException {
+		w.write("</traffic_sample>\n");
+	}
+}
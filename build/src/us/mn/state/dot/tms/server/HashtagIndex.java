@@ -0,0 +1,102 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import us.mn.state.dot.tms.Hashtags;
+
+/**
+ * Hashtag index is a mapping from hashtags to the items which have them in
+ * their notes.  It is updated whenever the notes of an item change, so that
+ * items can be found without parsing the notes of every item.  Hashtags are
+ * matched without regard to case.
+ *
+ * @author Douglas Lau
+ */
+public class HashtagIndex<T> {
+
+	/** Get the key for a hashtag */
+	static private String key(String ht) {
+		return ht.toLowerCase();
+	}
+
+	/** Mapping of hashtag keys to items */
+	private final HashMap<String, HashSet<T>> tagged =
+		new HashMap<String, HashSet<T>>();
+
+	/** Mapping of items to hashtag keys */
+	private final HashMap<T, HashSet<String>> items =
+		new HashMap<T, HashSet<String>>();
+
+	/** Update the notes of an item.
+	 * @param item Item to update.
+	 * @param notes Notes containing hashtags (may be null). */
+	public synchronized void update(T item, String notes) {
+		HashSet<String> keys = new HashSet<String>();
+		for (String ht: new Hashtags(notes).tags())
+			keys.add(key(ht));
+		HashSet<String> old = items.get(item);
+		if (old != null) {
+			if (old.equals(keys))
+				return;
+			removeKeys(item, old);
+		}
+		if (keys.isEmpty()) {
+			items.remove(item);
+			return;
+		}
+		items.put(item, keys);
+		for (String k: keys) {
+			HashSet<T> set = tagged.get(k);
+			if (set == null) {
+				set = new HashSet<T>();
+				tagged.put(k, set);
+			}
+			set.add(item);
+		}
+	}
+
+	/** Remove an item from the index */
+	public synchronized void remove(T item) {
+		HashSet<String> old = items.remove(item);
+		if (old != null)
+			removeKeys(item, old);
+	}
+
+	/** Remove an item from the sets of some hashtag keys */
+	private void removeKeys(T item, HashSet<String> keys) {
+		for (String k: keys) {
+			HashSet<T> set = tagged.get(k);
+			if (set != null) {
+				set.remove(item);
+				if (set.isEmpty())
+					tagged.remove(k);
+			}
+		}
+	}
+
+	/** Lookup all items with a hashtag.
+	 * @param ht Hashtag to lookup (may be null).
+	 * @return List of matching items (may be empty). */
+	public synchronized List<T> lookup(String ht) {
+		HashSet<T> set = (ht != null) ? tagged.get(key(ht)) : null;
+		return (set != null)
+		      ? new ArrayList<T>(set)
+		      : new ArrayList<T>();
+	}
+}
@@ -0,0 +1,363 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
+
+/**
+ * A memory-mapped sample file contains one day of samples for one sample
+ * type and period, for all sensors.  Each sensor has a fixed slot.
+ *
+ * The file starts with a header, followed by an index of sensor IDs (one per
+ * slot), followed by the sample data for each slot.  The sample data for one
+ * slot has the same layout as a per-sensor sample file.
+ *
+ * @author Douglas Lau
+ */
+public class MappedSampleFile {
+
+	/** File extension for mapped sample files */
+	static public final String EXT = ".smap";
+
+	/** Magic number at start of file ("ISM1") */
+	static private final int MAGIC = 0x49534d31;
+
+	/** Number of bytes in header */
+	static private final int HEADER_BYTES = 32;
+
+	/** Maximum number of bytes in a sensor ID */
+	static private final int ID_BYTES = 20;
+
+	/** Initial number of slots in a new file */
+	static private final int INITIAL_SLOTS = 256;
+
+	/** Maximum file size (limit of one MappedByteBuffer) */
+	static private final long MAX_FILE_BYTES = Integer.MAX_VALUE;
+
+	/** Offset of slot capacity in header */
+	static private final int CAPACITY_POS = 12;
+
+	/** Offset of slot count in header */
+	static private final int N_SLOTS_POS = 16;
+
+	/** Open a mapped sample file for reading.
+	 * @param f File to open.
+	 * @return Mapped sample file. */
+	static public MappedSampleFile openRead(File f) throws IOException {
+		MappedSampleFile mf = new MappedSampleFile(f);
+		mf.map(FileChannel.MapMode.READ_ONLY);
+		return mf;
+	}
+
+	/** Open a mapped sample file for writing, creating it if necessary.
+	 * A temporary file left by an interrupted grow is deleted.
+	 * @param f File to open.
+	 * @param s_bytes Number of bytes per sample.
+	 * @param n_samples Number of samples per day.
+	 * @return Mapped sample file. */
+	static public MappedSampleFile openWrite(File f, int s_bytes,
+		int n_samples) throws IOException
+	{
+		tempFile(f).delete();
+		MappedSampleFile mf = new MappedSampleFile(f);
+		if (f.exists())
+			mf.map(FileChannel.MapMode.READ_WRITE);
+		else
+			mf.create(s_bytes, n_samples, INITIAL_SLOTS);
+		if (mf.sample_bytes != s_bytes || mf.samples != n_samples)
+			throw new IOException("Invalid sample size: " + f);
+		return mf;
+	}
+
+	/** Get the temporary file used while creating a mapped file */
+	static public File tempFile(File f) {
+		return new File(f.getPath() + ".tmp");
+	}
+
+	/** Release a mapped buffer without waiting for garbage collection.
+	 * This is only supported on Java 9 or later; otherwise the mapping is
+	 * released when the buffer is collected. */
+	static private void unmap(MappedByteBuffer b) {
+		try {
+			Class<?> uc = Class.forName("sun.misc.Unsafe");
+			Field f = uc.getDeclaredField("theUnsafe");
+			f.setAccessible(true);
+			uc.getMethod("invokeCleaner", ByteBuffer.class)
+				.invoke(f.get(null), b);
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			// not supported
+		}
+	}
+
+	/** File */
+	private final File file;
+
+	/** Mapping of sensor IDs to slot numbers */
+	private final HashMap<String, Integer> slots =
+		new HashMap<String, Integer>();
+
+	/** Sensor IDs in slot order */
+	private final ArrayList<String> sensors = new ArrayList<String>();
+
+	/** Mapped file buffer */
+	private MappedByteBuffer buf;
+
+	/** Number of bytes per sample */
+	private int sample_bytes;
+
+	/** Number of samples per day */
+	private int samples;
+
+	/** Number of slots available */
+	private int capacity;
+
+	/** Create a new mapped sample file */
+	private MappedSampleFile(File f) {
+		file = f;
+	}
+
+	/** Get the file */
+	public File getFile() {
+		return file;
+	}
+
+	/** Get the number of bytes per sample */
+	public int getSampleBytes() {
+		return sample_bytes;
+	}
+
+	/** Get the number of bytes for one slot */
+	private int slotBytes() {
+		return samples * sample_bytes;
+	}
+
+	/** Get the offset of sample data */
+	private int dataPos() {
+		return HEADER_BYTES + capacity * ID_BYTES;
+	}
+
+	/** Get the total file size */
+	private long fileSize() {
+		return dataPos() + (long) capacity * slotBytes();
+	}
+
+	/** Get the maximum slot capacity which fits in one mapping */
+	private int maxCapacity() {
+		return (int) ((MAX_FILE_BYTES - HEADER_BYTES) /
+			(ID_BYTES + slotBytes()));
+	}
+
+	/** Map the file and read the header and index */
+	private void map(FileChannel.MapMode mode) throws IOException {
+		String m = (mode == FileChannel.MapMode.READ_ONLY) ? "r" : "rw";
+		try (RandomAccessFile raf = new RandomAccessFile(file, m)) {
+			FileChannel fc = raf.getChannel();
+			if (fc.size() < HEADER_BYTES)
+				throw new IOException("Invalid header: " + file);
+			buf = fc.map(mode, 0, fc.size());
+		}
+		if (buf.getInt(0) != MAGIC)
+			throw new IOException("Invalid magic: " + file);
+		sample_bytes = buf.getInt(4);
+		samples = buf.getInt(8);
+		capacity = buf.getInt(CAPACITY_POS);
+		int n_slots = buf.getInt(N_SLOTS_POS);
+		if (n_slots > capacity || buf.capacity() < fileSize())
+			throw new IOException("Invalid size: " + file);
+		for (int i = 0; i < n_slots; i++)
+			addSensor(readId(i));
+	}
+
+	/** Create a new file.
+	 * @param s_bytes Number of bytes per sample.
+	 * @param n_samples Number of samples per day.
+	 * @param cap Slot capacity. */
+	private void create(int s_bytes, int n_samples, int cap)
+		throws IOException
+	{
+		sample_bytes = s_bytes;
+		samples = n_samples;
+		capacity = cap;
+		File tmp = tempFile(file);
+		try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw")) {
+			raf.setLength(0);
+			FileChannel fc = raf.getChannel();
+			MappedByteBuffer b = fc.map(FileChannel.MapMode
+				.READ_WRITE, 0, fileSize());
+			b.putInt(0, MAGIC);
+			b.putInt(4, sample_bytes);
+			b.putInt(8, samples);
+			b.putInt(CAPACITY_POS, capacity);
+			b.putInt(N_SLOTS_POS, sensors.size());
+			for (int i = 0; i < sensors.size(); i++)
+				writeId(b, i, sensors.get(i));
+			// Only slots without existing data need filling
+			fillMissing(b, dataPos() + sensors.size() * slotBytes(),
+				(int) fileSize());
+			if (buf != null) {
+				// Copy existing slot data
+				int len = sensors.size() * slotBytes();
+				ByteBuffer src = buf.duplicate();
+				src.limit(src.getInt(CAPACITY_POS) * ID_BYTES
+					+ HEADER_BYTES + len);
+				src.position(src.limit() - len);
+				b.position(dataPos());
+				b.put(src);
+			}
+			b.force();
+			MappedByteBuffer old = buf;
+			buf = b;
+			if (old != null)
+				unmap(old);
+		}
+		if (!tmp.renameTo(file))
+			throw new IOException("Rename failed: " + tmp);
+	}
+
+	/** Fill part of a buffer with MISSING_DATA */
+	static private void fillMissing(ByteBuffer b, int start, int end) {
+		// MISSING_DATA is -1 for both 1 and 2 byte samples
+		byte[] fill = new byte[4096];
+		Arrays.fill(fill, MISSING_DATA);
+		b.position(start);
+		while (b.position() < end) {
+			int n = Math.min(fill.length, end - b.position());
+			b.put(fill, 0, n);
+		}
+	}
+
+	/** Read a sensor ID from the index */
+	private String readId(int slot) {
+		byte[] id = new byte[ID_BYTES];
+		ByteBuffer b = buf.duplicate();
+		b.position(HEADER_BYTES + slot * ID_BYTES);
+		b.get(id);
+		int len = 0;
+		while (len < id.length && id[len] != 0)
+			len++;
+		return new String(id, 0, len, StandardCharsets.UTF_8);
+	}
+
+	/** Write a sensor ID to the index */
+	static private void writeId(ByteBuffer b, int slot, String sid) {
+		byte[] id = Arrays.copyOf(sid.getBytes(StandardCharsets.UTF_8),
+			ID_BYTES);
+		b.position(HEADER_BYTES + slot * ID_BYTES);
+		b.put(id);
+	}
+
+	/** Add a sensor to the slot mapping */
+	private int addSensor(String sid) {
+		int slot = sensors.size();
+		sensors.add(sid);
+		slots.put(sid, slot);
+		return slot;
+	}
+
+	/** Get the slot for a sensor, allocating one if necessary */
+	private int allocateSlot(String sid) throws IOException {
+		Integer s = slots.get(sid);
+		if (s != null)
+			return s;
+		if (sid.getBytes(StandardCharsets.UTF_8).length > ID_BYTES)
+			throw new IOException("Invalid sensor ID: " + sid);
+		if (sensors.size() >= capacity)
+			grow();
+		int slot = addSensor(sid);
+		writeId(buf, slot, sid);
+		buf.putInt(N_SLOTS_POS, sensors.size());
+		return slot;
+	}
+
+	/** Grow the file, doubling slot capacity (up to the maximum) */
+	private void grow() throws IOException {
+		int cap = (int) Math.min(capacity * 2L, maxCapacity());
+		if (cap <= capacity)
+			throw new IOException("File full: " + file);
+		create(sample_bytes, samples, cap);
+	}
+
+	/** Check that the file has not been closed */
+	private void checkOpen() throws IOException {
+		if (null == buf)
+			throw new IOException("Closed: " + file);
+	}
+
+	/** Close the file, releasing the mapping.  The file cannot be used
+	 * after it is closed. */
+	public synchronized void close() {
+		MappedByteBuffer b = buf;
+		buf = null;
+		if (b != null)
+			unmap(b);
+	}
+
+	/** Put a sample value into the file.
+	 * @param sid Sensor ID.
+	 * @param s_type Sample type.
+	 * @param sample Sample number (0 is first sample of day).
+	 * @param value Sample value. */
+	public synchronized void putValue(String sid,
+		PeriodicSampleType s_type, int sample, int value)
+		throws IOException
+	{
+		checkOpen();
+		if (sample < 0 || sample >= samples)
+			throw new IOException("Invalid sample: " + sample);
+		int slot = allocateSlot(sid);
+		buf.position(dataPos() + slot * slotBytes() +
+			sample * sample_bytes);
+		s_type.putValue(buf, value);
+	}
+
+	/** Get the sensor IDs in slot order */
+	public synchronized List<String> getSensorIds() {
+		return new ArrayList<String>(sensors);
+	}
+
+	/** Read samples for one sensor.
+	 * @param sid Sensor ID.
+	 * @return Read-only buffer of sample data, or null if sensor has no
+	 *         slot in the file. */
+	public synchronized ByteBuffer read(String sid) throws IOException {
+		Integer slot = slots.get(sid);
+		return (slot != null) ? readSlot(slot) : null;
+	}
+
+	/** Read samples for one slot.
+	 * @param slot Slot number.
+	 * @return Read-only buffer of sample data. */
+	public synchronized ByteBuffer readSlot(int slot) throws IOException {
+		checkOpen();
+		ByteBuffer b = buf.asReadOnlyBuffer();
+		int pos = dataPos() + slot * slotBytes();
+		b.limit(pos + slotBytes());
+		b.position(pos);
+		return b.slice();
+	}
+}
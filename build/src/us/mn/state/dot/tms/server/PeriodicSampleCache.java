@@ -0,0 +1,454 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.units.Interval;
+import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
+
+/**
+ * A cache for periodic sample data.  Samples are stored in a ring buffer of
+ * primitive values, indexed by period number, to avoid allocating an object
+ * for each sample.
+ *
+ * @author Douglas Lau
+ */
+public class PeriodicSampleCache {
+
+	/** Sample cache debug log */
+	static private final DebugLog SAMPLE_LOG = new DebugLog("samples");
+
+	/** Threshold for minimum valid stamp */
+	static private final long SAMPLE_MIN_MS = new Interval(2,
+		Interval.Units.DAYS).ms();
+
+	/** Threshold for maximum valid stamp */
+	static private final long SAMPLE_MAX_MS = new Interval(1,
+		Interval.Units.HOURS).ms();
+
+	/** Check if a timestamp is valid */
+	static private boolean checkStamp(long ts) {
+		long now = TimeSteward.currentTimeMillis();
+		return (ts > now - SAMPLE_MIN_MS && ts < now + SAMPLE_MAX_MS);
+	}
+
+	/** Interpolate summed sample data into an array of values.
+	 * @param values Array of existing sample values.
+	 * @param total Total of all sample values.
+	 * @return Array of interpolated samples. */
+	static private int[] interpolateSum(int[] values, int total) {
+		int e_total = 0;	// existing values total
+		int n_miss = 0;		// number of missing samples
+		for (int value: values) {
+			if (value < 0)
+				n_miss++;
+			else
+				e_total += value;
+		}
+		if (n_miss > 0) {
+			int excess = total - e_total;
+			if (excess >= 0)
+				return missingSum(values, excess, n_miss);
+		}
+		return new int[0];
+	}
+
+	/** Put missing sum sample data into an array of values.
+	 * @param values Array of existing sample values.
+	 * @param excess Excess sample data to distribute in missing samples.
+	 * @param n_miss Number of missing samples.
+	 * @return Array of samples which were missing. */
+	static private int[] missingSum(int[] values, int excess, int n_miss) {
+		int[] vals = new int[values.length];
+		int t_miss = excess / n_miss;
+		int m_miss = excess % n_miss;
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] < 0) {
+				vals[i] = t_miss;
+				if (m_miss > 0) {
+					vals[i]++;
+					m_miss--;
+				}
+			} else
+				vals[i] = MISSING_DATA;
+		}
+		return vals;
+	}
+
+	/** Interpolate averaged sample data into an array of values.
+	 * @param values Array of existing sample values.
+	 * @param average Average of all sample values.
+	 * @return Array of interpolated samples. */
+	static private int[] interpolateAverage(int[] values, int average) {
+		int e_total = 0;	// existing values total
+		int n_miss = 0;		// number of missing samples
+		for (int value: values) {
+			if (value < 0)
+				n_miss++;
+			else
+				e_total += value;
+		}
+		if (n_miss > 0) {
+			int a_total = average * values.length;
+			float excess = a_total - e_total;
+			if (excess >= 0) {
+				int m_avg = Math.round(excess / n_miss);
+				return missingAverage(values, m_avg);
+			}
+		}
+		return new int[0];
+	}
+
+	/** Put missing average sample data into an array of values.
+	 * @param values Array of existing sample values.
+	 * @param m_avg Average value to store in missing samples.
+	 * @return Array of samples which were missing. */
+	static private int[] missingAverage(int[] values, int m_avg) {
+		int[] vals = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			vals[i] = (values[i] < 0)
+			        ? m_avg
+			        : MISSING_DATA;
+		}
+		return vals;
+	}
+
+	/** Initial number of slots in ring buffer */
+	static private final int INITIAL_SLOTS = 32;
+
+	/** Create an array of slots filled with MISSING_DATA */
+	static private int[] createSlots(int n_slots) {
+		int[] vals = new int[n_slots];
+		Arrays.fill(vals, MISSING_DATA);
+		return vals;
+	}
+
+	/** Sample type */
+	public final PeriodicSampleType sample_type;
+
+	/** Ring buffer of sample values, indexed by period number.  The
+	 * length is always a power of two.  Slots without a sample contain
+	 * MISSING_DATA (cached samples are always valid).  All access must be
+	 * synchronized on the cache. */
+	private int[] values = createSlots(INITIAL_SLOTS);
+
+	/** Sampling period (seconds); 0 when cache is empty.  Every sample is
+	 * guaranteed to have the same sampling period. */
+	private int per_sec = 0;
+
+	/** Period number of first sample */
+	private long first = 0;
+
+	/** Period number of last sample */
+	private long last = -1;
+
+	/** Count of samples in the cache */
+	private int n_samples = 0;
+
+	/** Flag indicating samples were added since last flush */
+	private boolean dirty = false;
+
+	/** Create a new periodic sample cache.
+	 * @param tp Sample type. */
+	public PeriodicSampleCache(PeriodicSampleType tp) {
+		sample_type = tp;
+	}
+
+	/** Add a periodic sample to the cache.
+	 * If the sampling period is incompatable with existing samples, the
+	 * cache is cleared first.
+	 * @param ps Sample to add to the cache. */
+	public synchronized void add(PeriodicSample ps, String name) {
+		if (checkStamp(ps.stamp)) {
+			if (sample_type.isValid(ps)) {
+				if (!isPeriodOk(ps.per_sec))
+					clear();
+				if (isPeriodSame(ps.per_sec))
+					addSample(ps);
+				else
+					interpolate(ps);
+			}
+		} else {
+			if (SAMPLE_LOG.isOpen()) {
+				SAMPLE_LOG.log(name + ": invalid stamp: " +
+					new Date(ps.stamp));
+			}
+		}
+	}
+
+	/** Clear all samples from the cache */
+	private void clear() {
+		if (values.length > INITIAL_SLOTS)
+			values = createSlots(INITIAL_SLOTS);
+		else
+			Arrays.fill(values, MISSING_DATA);
+		per_sec = 0;
+		first = 0;
+		last = -1;
+		n_samples = 0;
+	}
+
+	/** Check if a period is OK to be cached.
+	 * @param per_sec Period to check (seconds).
+	 * @return true if period is OK to be cached. */
+	private boolean isPeriodOk(int per_sec) {
+		return per_sec % getPeriod(per_sec) == 0;
+	}
+
+	/** Is a sample period the same as for the cache? */
+	private boolean isPeriodSame(int per_sec) {
+		return per_sec == getPeriod(per_sec);
+	}
+
+	/** Get the sample period.
+	 * @param p Default sample period.
+	 * @return Sample period (seconds). */
+	private int getPeriod(int p) {
+		return (n_samples > 0) ? per_sec : p;
+	}
+
+	/** Get the sampling period in milliseconds */
+	private long periodMillis() {
+		return per_sec * 1000L;
+	}
+
+	/** Get the ring buffer slot for a period number */
+	private int slot(long pn) {
+		return (int) (pn & (values.length - 1));
+	}
+
+	/** Add a sample */
+	private void addSample(PeriodicSample ps) {
+		assert ps.per_sec == getPeriod(ps.per_sec) : "Invalid period";
+		per_sec = ps.per_sec;
+		long pn = ps.start() / periodMillis();
+		if (n_samples > 0) {
+			long f = Math.min(first, pn);
+			long l = Math.max(last, pn);
+			ensureCapacity(f, l);
+			first = f;
+			last = l;
+		} else {
+			first = pn;
+			last = pn;
+		}
+		int s = slot(pn);
+		assert values[s] == MISSING_DATA : "Duplicate start time";
+		if (values[s] == MISSING_DATA) {
+			values[s] = ps.value;
+			n_samples++;
+			dirty = true;
+		}
+	}
+
+	/** Check if samples were added since the last call, and clear the
+	 * dirty flag.
+	 * @return true if cache needs to be flushed. */
+	public synchronized boolean takeDirty() {
+		boolean d = dirty;
+		dirty = false;
+		return d;
+	}
+
+	/** Mark the cache dirty again, after a failed flush */
+	public synchronized void markDirty() {
+		dirty = true;
+	}
+
+	/** Ensure the ring buffer can hold a range of period numbers */
+	private void ensureCapacity(long f, long l) {
+		long span = l - f + 1;
+		if (span > values.length) {
+			int n_slots = values.length;
+			while (n_slots < span)
+				n_slots *= 2;
+			resize(n_slots);
+		}
+	}
+
+	/** Resize the ring buffer */
+	private void resize(int n_slots) {
+		int[] vals = values;
+		values = createSlots(n_slots);
+		for (long pn = first; pn <= last; pn++)
+			values[slot(pn)] = vals[(int) (pn & (vals.length - 1))];
+	}
+
+	/** Interpolate sample data from a sample with a larger period.
+	 * Any missing samples are estimated and added to the cache.
+	 * @param ps Periodic sample (with a larger period). */
+	private void interpolate(PeriodicSample ps) {
+		long start = ps.start();
+		int n_vals = ps.per_sec / per_sec;
+		assert n_vals > 1;
+		int[] vals = getValues(start, ps.end(), n_vals);
+		switch (sample_type.aggregation) {
+		case SUM:
+			addSamples(start, interpolateSum(vals, ps.value));
+			return;
+		case AVERAGE:
+			addSamples(start, interpolateAverage(vals, ps.value));
+			return;
+		default:
+			return;
+		}
+	}
+
+	/** Get an array of sample values from the cache.
+	 * @param start Time stamp at start of samples.
+	 * @param end Time stamp at end of samples.
+	 * @param n_vals Number of sample values.
+	 * @return Array of samples values. */
+	private int[] getValues(long start, long end, int n_vals) {
+		long per_ms = periodMillis();
+		int[] vals = createSlots(n_vals);
+		for (long pn = first; pn <= last; pn++) {
+			long stamp = pn * per_ms;
+			if (stamp >= start && stamp < end) {
+				int i = (int) ((stamp - start) / per_ms);
+				vals[i] = values[slot(pn)];
+			}
+		}
+		return vals;
+	}
+
+	/** Get aggregate of sampled values in a time interval */
+	public synchronized int getValue(long start, long end) {
+		switch (sample_type.aggregation) {
+		case SUM:
+			return getSum(start, end);
+		case AVERAGE:
+			return getAverage(start, end);
+		default:
+			return MISSING_DATA;
+		}
+	}
+
+	/** Get sum of sampled values in a time interval */
+	private int getSum(long start, long end) {
+		long per_ms = periodMillis();
+		int total = 0;
+		int n_sum = 0;
+		for (long pn = first; pn <= last; pn++) {
+			int value = values[slot(pn)];
+			if (value >= 0) {
+				long stamp = pn * per_ms;
+				if (stamp >= start && stamp < end) {
+					total += value;
+					n_sum++;
+				}
+			}
+		}
+		long sam_ms = n_sum * per_ms;     // sampled period
+		long full_ms = end - start;       // full period
+		if (sam_ms == full_ms)
+			return total;
+		else if (2 * sam_ms >= full_ms) {  // at least half sampled
+			float r = full_ms / (float) sam_ms;
+			return Math.round(total * r);
+		} else
+			return MISSING_DATA;
+	}
+
+	/** Get average of sampled values in a time interval */
+	private int getAverage(long start, long end) {
+		long per_ms = periodMillis();
+		int total = 0;
+		int n_avg = 0;
+		for (long pn = first; pn <= last; pn++) {
+			int value = values[slot(pn)];
+			if (value >= 0) {
+				long stamp = pn * per_ms;
+				if (stamp >= start && stamp < end) {
+					total += value;
+					n_avg++;
+				}
+			}
+		}
+		return (n_avg > 0)
+		      ? Math.round(total / (float) n_avg)
+		      : MISSING_DATA;
+	}
+
+	/** Add an array of samples.
+	 * @param start Start time of sample array.
+	 * @param vals Array of sample values to add. */
+	private void addSamples(long start, int[] vals) {
+		long per_ms = periodMillis();
+		for (int i = 0; i < vals.length; i++) {
+			if (vals[i] >= 0) {
+				long stamp = start + per_ms * (i + 1);
+				addSample(new PeriodicSample(stamp, per_sec,
+					vals[i]));
+			}
+		}
+	}
+
+	/** Get a sample iterator.  The iterator is a snapshot of the cache,
+	 * and does not support removal. */
+	public synchronized Iterator<PeriodicSample> iterator() {
+		final int ps = per_sec;
+		final long per_ms = periodMillis();
+		final long pn0 = first;
+		final int[] vals = new int[(int) (last - first + 1)];
+		for (int i = 0; i < vals.length; i++)
+			vals[i] = values[slot(pn0 + i)];
+		return new Iterator<PeriodicSample>() {
+			private int i = skip(0);
+			private int skip(int n) {
+				while (n < vals.length && vals[n] < 0)
+					n++;
+				return n;
+			}
+			@Override public boolean hasNext() {
+				return i < vals.length;
+			}
+			@Override public PeriodicSample next() {
+				if (i >= vals.length)
+					throw new NoSuchElementException();
+				long stamp = (pn0 + i + 1) * per_ms;
+				PeriodicSample s = new PeriodicSample(stamp, ps,
+					vals[i]);
+				i = skip(i + 1);
+				return s;
+			}
+		};
+	}
+
+	/** Purge all samples before a specified time stamp.
+	 * @param before Time stamp to purge before. */
+	public synchronized void purge(long before) {
+		long per_ms = periodMillis();
+		// Sample end time is start of next period
+		while (n_samples > 0 && (first + 1) * per_ms < before) {
+			int s = slot(first);
+			if (values[s] != MISSING_DATA) {
+				values[s] = MISSING_DATA;
+				n_samples--;
+			}
+			first++;
+		}
+		if (n_samples == 0)
+			clear();
+		else if (values.length > INITIAL_SLOTS &&
+		         4 * (last - first + 1) < values.length)
+			resize(values.length / 2);
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.util.Calendar;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.tms.RasterCache;
+import us.mn.state.dot.tms.SystemAttrEnum;
+import us.mn.state.dot.tms.server.comm.CommScheduler;
+import us.mn.state.dot.tms.server.event.BaseEvent;
+
+/**
+ * Job to write out prifiling data.
+ *
+ * @author Douglas Lau
+ */
+public class ProfilingJob extends Job {
+
+	/** Raster cache debug log */
+	static private final DebugLog RASTER_LOG = new DebugLog("raster_cache");
+
+	/** Seconds to offset each poll from start of interval */
+	static protected final int OFFSET_SECS = 1;
+
+	/** Profiler instance */
+	protected final Profiler profiler = new Profiler();
+
+	/** Create a new profiling job */
+	public ProfilingJob() {
+		super(Calendar.MINUTE, 1, Calendar.SECOND, OFFSET_SECS);
+	}
+
+	/** Perform the profiling job */
+	public void perform() throws IOException {
+		profiler.debugMemory();
+		profiler.debugThreads();
+		profiler.appendUptimeLog();
+		CommScheduler.logMetrics();
+		if (BaseObjectImpl.store != null)
+			BaseObjectImpl.store.logStats();
+		if (BaseEvent.writer != null)
+			BaseEvent.writer.logStats();
+		if (RASTER_LOG.isOpen())
+			RASTER_LOG.log(RasterCache.takeStats());
+	}
+}
@@ -0,0 +1,647 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.regex.Matcher;
+import org.postgis.MultiPolygon;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sonar.Message;
+import us.mn.state.dot.sonar.Name;
+import us.mn.state.dot.tms.ChangeVetoException;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Simple SQL database abstraction stuff.
+ *
+ * A small pool of database connections is kept, so that storage from
+ * different threads does not need to wait for a single connection.  A thread
+ * which makes nested calls (from a ResultFactory, for example) always uses
+ * the same connection.  Storable create, update and destroy statements are
+ * prepared once per connection, with values passed as parameters.
+ *
+ * @author Douglas Lau
+ */
+public class SQLConnection {
+
+	/** SQL debug log */
+	static private final DebugLog SQL_LOG = new DebugLog("sql");
+
+	/** Maximum number of prepared statements cached per connection */
+	static private final int MAX_PREPARED = 256;
+
+	/** Maximum number of pooled connections */
+	static public final int MAX_CONNECTIONS = 32;
+
+	/** Pattern to match for an invalid SONAR name */
+	static private final Pattern INVALID_NAME = Pattern.compile("[" +
+		Message.RECORD_SEP.code +
+		Message.UNIT_SEP.code +
+		Message.NULL_REF.code +
+		Name.SEP +
+		"]"
+	);
+
+	/** Validate SONAR name */
+	static private void validateName(String name)
+		throws ChangeVetoException
+	{
+		if (name != null) {
+			Matcher m = INVALID_NAME.matcher(name);
+			if (m.find()) {
+				throw new ChangeVetoException("Invalid name: "+
+					name);
+			}
+		}
+	}
+
+	/** Pattern to match for a SQL identifier */
+	static private final Pattern SQL_IDENTIFIER =
+		Pattern.compile("[a-z_0-9.]*");
+
+	/** Validate a SQL identifier */
+	static private void validateIdentifier(String sql)
+		throws ChangeVetoException
+	{
+		Matcher m = SQL_IDENTIFIER.matcher(sql);
+		if (!m.matches()) {
+			throw new ChangeVetoException("Invalid SQL identifier: "
+				+ sql);
+		}
+	}
+
+	/** Pattern to match for a SQL string constant value */
+	static private final Pattern SQL_VALUE =
+		Pattern.compile("[[\\p{Graph}\\p{Blank}\n]]*");
+
+	/** Validate a SQL string constant value */
+	static private void validateValue(String v) throws ChangeVetoException {
+		Matcher m = SQL_VALUE.matcher(v);
+		if (!m.matches())
+			throw new ChangeVetoException("Invalid SQL value: " +v);
+	}
+
+	/** Escape a string constant value for SQL */
+	static public String escapeValue(Object value) {
+		return value.toString().replace("'", "''");
+	}
+
+	/** Prepare a string array for SQL */
+	static private String prepareArray(Object value) {
+		assert value != null;
+		return (value.getClass().isArray() || value instanceof List<?>)
+		      ? value.toString().replace("[", "{").replace("]", "}")
+		      : value.toString();
+	}
+
+	/** Get a PostGIS MultiPolygon from a DB query object.
+	 *
+	 * This uses runtime reflection so that the postgres jar is not
+	 * required at build time. */
+	static public MultiPolygon multiPolygon(Object gp) {
+		try {
+			Class<?> cls = gp.getClass();
+			Method getGeometry = cls.getMethod("getGeometry");
+			Object mp = getGeometry.invoke(gp);
+			if (mp instanceof MultiPolygon)
+				return (MultiPolygon) mp;
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/** Barrier to pass after a query is executed, before results are
+	 * created (for each thread) */
+	static private final ThreadLocal<Runnable> barrier =
+		new ThreadLocal<Runnable>();
+
+	/** Set the query barrier for the current thread.
+	 * @param b Barrier to run after each query, or null to clear. */
+	static void setQueryBarrier(Runnable b) {
+		if (b != null)
+			barrier.set(b);
+		else
+			barrier.remove();
+	}
+
+	/** Pass the query barrier for the current thread.  The PostgreSQL
+	 * driver fetches all rows when a query is executed, so other threads
+	 * can run queries while this one waits. */
+	static void passQueryBarrier() {
+		Runnable b = barrier.get();
+		if (b != null)
+			b.run();
+	}
+
+	/** Location of database server */
+	private final String location;
+
+	/** User to log into database server */
+	private final String user;
+
+	/** Password to log into database server */
+	private final String password;
+
+	/** Maximum number of open connections */
+	private final int max_conn;
+
+	/** Pooled database connection, with cached statements */
+	private class PooledConnection {
+
+		/** Connection to the SQL database */
+		private final Connection connection;
+
+		/** Available SQL statements */
+		private final ArrayDeque<Statement> statements =
+			new ArrayDeque<Statement>();
+
+		/** Cached prepared statements (LRU order) */
+		private final LinkedHashMap<String, PreparedStatement> prepared
+			= new LinkedHashMap<String, PreparedStatement>(16,
+			0.75f, true)
+		{
+			@Override protected boolean removeEldestEntry(
+				Map.Entry<String, PreparedStatement> e)
+			{
+				if (size() > MAX_PREPARED) {
+					closeStatement(e.getValue());
+					return true;
+				} else
+					return false;
+			}
+		};
+
+		/** Depth of nested use by the holding thread */
+		private int depth = 0;
+
+		/** Open a new pooled connection */
+		private PooledConnection() throws SQLException {
+			connection = DriverManager.getConnection(location, user,
+				password);
+			connection.setAutoCommit(true);
+		}
+
+		/** Get an available statement */
+		private Statement getStatement() throws SQLException {
+			return statements.isEmpty()
+			      ? connection.createStatement()
+			      : statements.removeLast();
+		}
+
+		/** Put a statement back after using it */
+		private void putStatement(Statement s) {
+			statements.add(s);
+		}
+
+		/** Get a prepared statement */
+		private PreparedStatement prepare(String sql)
+			throws SQLException
+		{
+			PreparedStatement ps = prepared.get(sql);
+			if (ps == null) {
+				ps = connection.prepareStatement(sql);
+				prepared.put(sql, ps);
+			}
+			return ps;
+		}
+
+		/** Check if the connection is still valid */
+		private boolean isValid() {
+			try {
+				return connection.isValid(2);
+			}
+			catch (SQLException e) {
+				return false;
+			}
+		}
+
+		/** Close the connection */
+		private void close() {
+			statements.clear();
+			prepared.clear();
+			try {
+				connection.close();
+			}
+			catch (SQLException e) {
+				SQL_LOG.log("close -> " + e);
+			}
+		}
+	}
+
+	/** Close a statement, ignoring errors */
+	static private void closeStatement(Statement s) {
+		try {
+			s.close();
+		}
+		catch (SQLException e) {
+			SQL_LOG.log("closeStatement -> " + e);
+		}
+	}
+
+	/** Idle pooled connections */
+	private final ArrayDeque<PooledConnection> idle =
+		new ArrayDeque<PooledConnection>();
+
+	/** Number of open connections */
+	private int n_open = 0;
+
+	/** Connection held by the current thread */
+	private final ThreadLocal<PooledConnection> held =
+		new ThreadLocal<PooledConnection>();
+
+	/** Timing statistics for one statement */
+	static private class StatementStats {
+		private int count;
+		private long total_ns;
+		private long max_ns;
+	}
+
+	/** Timing statistics, mapped by statement */
+	private final HashMap<String, StatementStats> stats =
+		new HashMap<String, StatementStats>();
+
+	/** Create a new SQL connection.
+	 * @param url Location of database server.
+	 * @param usr User to log into database server.
+	 * @param pswd Password to log into database server.
+	 * @param n_conn Maximum number of pooled connections. */
+	public SQLConnection(String url, String usr, String pswd, int n_conn)
+		throws TMSException
+	{
+		try {
+			Class.forName("org.postgresql.Driver");
+		}
+		catch (ClassNotFoundException e) {
+			throw new TMSException(e);
+		}
+		location = url;
+		user = usr;
+		password = pswd;
+		max_conn = Math.max(1, Math.min(n_conn, MAX_CONNECTIONS));
+	}
+
+	/** Get the maximum number of open connections */
+	public int getMaxConnections() {
+		return max_conn;
+	}
+
+	/** Acquire a connection for the current thread */
+	private PooledConnection acquire() throws TMSException {
+		PooledConnection pc = held.get();
+		if (pc == null) {
+			pc = takeConnection();
+			held.set(pc);
+		}
+		pc.depth++;
+		return pc;
+	}
+
+	/** Take an idle connection, or open a new one */
+	private PooledConnection takeConnection() throws TMSException {
+		synchronized (idle) {
+			while (idle.isEmpty() && n_open >= max_conn) {
+				try {
+					idle.wait();
+				}
+				catch (InterruptedException e) {
+					throw new TMSException(e);
+				}
+			}
+			if (!idle.isEmpty())
+				return idle.removeLast();
+			n_open++;
+		}
+		try {
+			return new PooledConnection();
+		}
+		catch (SQLException e) {
+			SQL_LOG.log("open -> " + e);
+			synchronized (idle) {
+				n_open--;
+				idle.notify();
+			}
+			throw new TMSException(e);
+		}
+	}
+
+	/** Release a connection for the current thread.
+	 * @param pc Pooled connection.
+	 * @param ok Flag indicating whether last statement succeeded. */
+	private void release(PooledConnection pc, boolean ok) {
+		pc.depth--;
+		if (pc.depth > 0)
+			return;
+		held.remove();
+		boolean valid = ok || pc.isValid();
+		if (!valid)
+			pc.close();
+		synchronized (idle) {
+			if (valid)
+				idle.add(pc);
+			else
+				n_open--;
+			idle.notify();
+		}
+	}
+
+	/** Record timing for one statement */
+	private void recordTiming(String key, long start) {
+		if (SQL_LOG.isOpen()) {
+			long ns = System.nanoTime() - start;
+			synchronized (stats) {
+				StatementStats st = stats.get(key);
+				if (st == null) {
+					st = new StatementStats();
+					stats.put(key, st);
+				}
+				st.count++;
+				st.total_ns += ns;
+				st.max_ns = Math.max(st.max_ns, ns);
+			}
+		}
+	}
+
+	/** Log statement timing statistics and connection pool usage */
+	public void logStats() {
+		if (SQL_LOG.isOpen()) {
+			ArrayList<Map.Entry<String, StatementStats>> ents;
+			synchronized (stats) {
+				ents = new ArrayList<Map.Entry<String,
+					StatementStats>>(stats.entrySet());
+				stats.clear();
+			}
+			for (Map.Entry<String, StatementStats> ent: ents) {
+				StatementStats st = ent.getValue();
+				SQL_LOG.log(ent.getKey() + " count: " +
+					st.count + ", avg: " +
+					(st.total_ns / st.count / 1000) +
+					" us, max: " + (st.max_ns / 1000) +
+					" us");
+			}
+			synchronized (idle) {
+				SQL_LOG.log("pool open: " + n_open + ", idle: " +
+					idle.size());
+			}
+		}
+	}
+
+	/** Query the database and call a factory for each result */
+	public void query(String sql, ResultFactory factory)
+		throws TMSException
+	{
+		long start = System.nanoTime();
+		PooledConnection pc = acquire();
+		boolean ok = false;
+		try {
+			Statement s = pc.getStatement();
+			ResultSet set = s.executeQuery(sql);
+			try {
+				// barrier wait is not counted as query time
+				long bar = System.nanoTime();
+				passQueryBarrier();
+				start += System.nanoTime() - bar;
+				while (set.next())
+					factory.create(set);
+			}
+			finally {
+				set.close();
+			}
+			pc.putStatement(s);
+			ok = true;
+		}
+		catch (Exception e) {
+			throw new TMSException(e);
+		}
+		finally {
+			release(pc, ok);
+			recordTiming("query", start);
+		}
+	}
+
+	/** Update the database with the given SQL command */
+	public void update(String sql) throws TMSException {
+		long start = System.nanoTime();
+		PooledConnection pc = acquire();
+		boolean ok = false;
+		try {
+			Statement s = pc.getStatement();
+			s.executeUpdate(sql);
+			pc.putStatement(s);
+			ok = true;
+		}
+		catch (SQLException e) {
+			SQL_LOG.log(sql + " -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			release(pc, ok);
+			recordTiming("update", start);
+		}
+	}
+
+	/** Update the database with a prepared statement.
+	 * @param sql SQL command, with a ? for each parameter.
+	 * @param params Parameter values, which are passed untyped so that
+	 *               the database can convert them to the column types. */
+	private void updatePrepared(String sql, String... params)
+		throws TMSException
+	{
+		long start = System.nanoTime();
+		PooledConnection pc = acquire();
+		boolean ok = false;
+		try {
+			PreparedStatement ps = pc.prepare(sql);
+			for (int i = 0; i < params.length; i++)
+				ps.setObject(i + 1, params[i], Types.OTHER);
+			ps.executeUpdate();
+			ok = true;
+		}
+		catch (SQLException e) {
+			SQL_LOG.log(sql + " " + Arrays.toString(params) +
+				" -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			release(pc, ok);
+			recordTiming(sql, start);
+		}
+	}
+
+	/** Update one field in a storable database table */
+	public void update(Storable s, String field, Object value)
+		throws TMSException
+	{
+		validateIdentifier(field);
+		String key = s.getPKey();
+		validateValue(key);
+		if (value == null) {
+			updateNull(s, field, key);
+			return;
+		}
+		String av = prepareArray(value);
+		validateValue(av);
+		updatePrepared("UPDATE " + s.getTable() +
+		      " SET " + field + " = ?" +
+		      " WHERE " + s.getPKeyName() + " = ?;", av, key);
+	}
+
+	/** Update one field with a NULL value */
+	private void updateNull(Storable s, String field, String key)
+		throws TMSException
+	{
+		updatePrepared("UPDATE " + s.getTable() +
+		      " SET " + field + " = NULL" +
+		      " WHERE " + s.getPKeyName() + " = ?;", key);
+	}
+
+	/** Create one storable record */
+	public void create(Storable s) throws TMSException {
+		validateName(s.getPKey());
+		Map<String, Object> columns = s.getColumns();
+		StringBuilder keys = new StringBuilder();
+		StringBuilder marks = new StringBuilder();
+		ArrayList<String> values = new ArrayList<String>();
+		for (Map.Entry<String, Object> col: columns.entrySet()) {
+			Object value = col.getValue();
+			if (value != null) {
+				String field = col.getKey();
+				validateIdentifier(field);
+				keys.append(field);
+				keys.append(",");
+				String av = prepareArray(value);
+				validateValue(av);
+				marks.append("?,");
+				values.add(av);
+			}
+		}
+		keys.setLength(keys.length() - 1);
+		marks.setLength(marks.length() - 1);
+		String sql = "INSERT INTO " + s.getTable() + " (" + keys +
+			") VALUES (" + marks + ");";
+		updatePrepared(sql, values.toArray(new String[0]));
+	}
+
+	/** Create a batch of storable records with one INSERT statement.
+	 * All records must be for the same table, with the same non-null
+	 * columns. */
+	public void createAll(List<? extends Storable> rows)
+		throws TMSException
+	{
+		if (rows.isEmpty())
+			return;
+		String table = rows.get(0).getTable();
+		TreeSet<String> fields = null;
+		ArrayList<String> values = new ArrayList<String>();
+		for (Storable s: rows) {
+			validateName(s.getPKey());
+			if (!table.equals(s.getTable()))
+				throw new ChangeVetoException("Invalid table");
+			TreeMap<String, Object> columns = nonNullColumns(s);
+			if (fields == null) {
+				fields = new TreeSet<String>(columns.keySet());
+				for (String field: fields)
+					validateIdentifier(field);
+			} else if (!fields.equals(columns.keySet()))
+				throw new ChangeVetoException("Invalid columns");
+			for (Object value: columns.values()) {
+				String av = prepareArray(value);
+				validateValue(av);
+				values.add(av);
+			}
+		}
+		StringBuilder marks = new StringBuilder();
+		for (int i = 0; i < fields.size(); i++)
+			marks.append((i > 0) ? ",?" : "(?");
+		marks.append(")");
+		StringBuilder sql = new StringBuilder();
+		sql.append("INSERT INTO ");
+		sql.append(table);
+		sql.append(" (");
+		sql.append(String.join(",", fields));
+		sql.append(") VALUES ");
+		for (int i = 0; i < rows.size(); i++) {
+			if (i > 0)
+				sql.append(",");
+			sql.append(marks);
+		}
+		sql.append(";");
+		updatePrepared(sql.toString(), values.toArray(new String[0]));
+	}
+
+	/** Get the non-null columns of a storable record, sorted by name */
+	static public TreeMap<String, Object> nonNullColumns(Storable s) {
+		TreeMap<String, Object> columns = new TreeMap<String, Object>();
+		for (Map.Entry<String, Object> col: s.getColumns().entrySet()) {
+			if (col.getValue() != null)
+				columns.put(col.getKey(), col.getValue());
+		}
+		return columns;
+	}
+
+	/** Destroy one storable record */
+	public void destroy(Storable s) throws TMSException {
+		String val = prepareArray(s.getPKey());
+		validateValue(val);
+		updatePrepared("DELETE FROM " + s.getTable() +
+		      " WHERE " + s.getPKeyName() + " = ?;", val);
+	}
+
+	/** Update the database with a batch of SQL commands */
+	public void batch(BatchFactory f) throws TMSException {
+		long start = System.nanoTime();
+		PooledConnection pc = acquire();
+		boolean ok = false;
+		try {
+			Statement s = pc.getStatement();
+			while (true) {
+				String sql = f.next();
+				if (sql == null)
+					break;
+				s.addBatch(sql);
+			}
+			s.executeBatch();
+			s.clearBatch();
+			pc.putStatement(s);
+			ok = true;
+		}
+		catch (SQLException e) {
+			SQL_LOG.log("batch -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			release(pc, ok);
+			recordTiming("batch", start);
+		}
+	}
+}
@@ -0,0 +1,229 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2004-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import us.mn.state.dot.tms.R_NodeHelper;
+import us.mn.state.dot.tms.Station;
+import us.mn.state.dot.tms.StationHelper;
+import us.mn.state.dot.tms.utils.DevelCfg;
+import us.mn.state.dot.tms.utils.FileIO;
+
+/**
+ * Station manager calculates station data and writes out station XML files.
+ * Stations are calculated in parallel, with one fork-join task for each
+ * corridor.  The results are published as an immutable snapshot for each
+ * sample interval.
+ *
+ * @author Douglas Lau
+ */
+class StationManager {
+
+	/** Date formatter for RFC 3339 */
+	static private final SimpleDateFormat RFC3339 =
+		new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+
+	/** JSON output directory */
+	static final File JSON_OUTPUT_DIRECTORY = new File(
+		DevelCfg.get("json.output.dir", "/var/lib/iris/web/"));
+
+	/** Location of station XML file */
+	static private final String SAMPLE_XML = "stat_sample.xml";
+
+	/** Name of station JSON file */
+	static private final String SAMPLE_JSON = "station_sample";
+
+	/** Task to calculate data for the stations on one corridor */
+	static private class CorridorTask extends RecursiveAction {
+		/** All stations */
+		private final ArrayList<StationImpl> stations;
+
+		/** Indices of stations on the corridor */
+		private final ArrayList<Integer> indices;
+
+		/** Samples for all stations (indexed like stations) */
+		private final StationSnapshot.Sample[] samples;
+
+		/** Time stamp at end of interval */
+		private final long stamp;
+
+		/** Sample period (ms) */
+		private final int per_ms;
+
+		/** Create a new corridor task */
+		private CorridorTask(ArrayList<StationImpl> st,
+			ArrayList<Integer> idx, StationSnapshot.Sample[] smp,
+			long s, int p)
+		{
+			stations = st;
+			indices = idx;
+			samples = smp;
+			stamp = s;
+			per_ms = p;
+		}
+
+		/** Calculate data for all stations on the corridor */
+		@Override protected void compute() {
+			for (int i: indices) {
+				samples[i] = stations.get(i).calculateData(stamp,
+					per_ms);
+			}
+		}
+	}
+
+	/** Snapshot of the most recent interval */
+	private volatile StationSnapshot snapshot = new StationSnapshot(0,
+		new ArrayList<StationSnapshot.Sample>());
+
+	/** Get the snapshot of the most recent interval */
+	public StationSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/** Calculate the current data for all stations.  Stations on the same
+	 * corridor are calculated by one task, in iteration order. */
+	public void calculateData() {
+		int per_ms = DetectorImpl.BIN_PERIOD_MS;
+		long stamp = DetectorImpl.calculateEndTime(per_ms);
+		ArrayList<StationImpl> stations = new ArrayList<StationImpl>();
+		LinkedHashMap<String, ArrayList<Integer>> corridors =
+			new LinkedHashMap<String, ArrayList<Integer>>();
+		Iterator<Station> it = StationHelper.iterator();
+		while (it.hasNext()) {
+			Station s = it.next();
+			if (s instanceof StationImpl) {
+				StationImpl si = (StationImpl) s;
+				String cn = R_NodeHelper.getCorridorName(
+					si.getR_Node());
+				if (cn == null)
+					cn = "";
+				ArrayList<Integer> idx = corridors.get(cn);
+				if (idx == null) {
+					idx = new ArrayList<Integer>();
+					corridors.put(cn, idx);
+				}
+				idx.add(stations.size());
+				stations.add(si);
+			}
+		}
+		StationSnapshot.Sample[] samples =
+			new StationSnapshot.Sample[stations.size()];
+		ArrayList<CorridorTask> tasks = new ArrayList<CorridorTask>();
+		for (ArrayList<Integer> idx: corridors.values()) {
+			tasks.add(new CorridorTask(stations, idx, samples,
+				stamp, per_ms));
+		}
+		ForkJoinTask.invokeAll(tasks);
+		snapshot = new StationSnapshot(stamp, Arrays.asList(samples));
+	}
+
+	/** Write the station data out as XML */
+	public void writeSampleXml(final StationSnapshot snap)
+		throws IOException
+	{
+		XmlWriter w = new XmlWriter(SAMPLE_XML, true) {
+			@Override protected void write(Writer w)
+				throws IOException
+			{
+				writeSampleXmlHead(w, snap);
+				writeSampleXmlBody(w, snap);
+				writeSampleXmlTail(w);
+			}
+		};
+		w.write();
+	}
+
+	/** Write the station data out as JSON */
+	public void writeSampleJson(StationSnapshot snap) throws IOException {
+		File file = new File(JSON_OUTPUT_DIRECTORY, SAMPLE_JSON);
+		File temp = new File(file.getAbsolutePath() + "~");
+		FeedWriter writer = new FeedWriter(new FileOutputStream(temp));
+		try {
+			writeSampleJson(writer, snap);
+		}
+		finally {
+			writer.close();
+		}
+		FileIO.atomicMove(temp.toPath(), file.toPath());
+	}
+
+	/** Write the station data out as JSON */
+	private void writeSampleJson(Writer writer, StationSnapshot snap)
+		throws IOException
+	{
+		writer.write("{\n");
+		writer.write("\"time_stamp\":\"");
+		writer.write(RFC3339.format(new Date(snap.stamp)));
+		writer.write("\",\n");
+		writer.write("\"period\":30,\n");
+		writer.write("\"samples\":{");
+		boolean first = true;
+		for (StationSnapshot.Sample smp: snap.samples) {
+			if (smp.writeJson(writer, first))
+				first = false;
+		}
+		writer.write("\n}\n");
+		writer.write("}\n");
+	}
+
+	/** Print the header of the station XML file */
+	private void writeSampleXmlHead(Writer w, StationSnapshot snap)
+		throws IOException
+	{
+		w.write(XmlWriter.XML_DECLARATION);
+		writeDtd(w);
+		w.write("<traffic_sample time_stamp='" + new Date(snap.stamp) +
+			"' period='30'>\n");
+	}
+
+	/** Print the DTD */
+	private void writeDtd(Writer w) throws IOException {
+		w.write("<!DOCTYPE traffic_sample [\n");
+		w.write("<!ELEMENT traffic_sample (sample)*>\n");
+		w.write("<!ATTLIST traffic_sample time_stamp " +
+			"CDATA #REQUIRED>\n");
+		w.write("<!ATTLIST traffic_sample period CDATA #REQUIRED>\n");
+		w.write("<!ELEMENT sample EMPTY>\n");
+		w.write("<!ATTLIST sample sensor CDATA #REQUIRED>\n");
+		w.write("<!ATTLIST sample flow CDATA 'UNKNOWN'>\n");
+		w.write("<!ATTLIST sample speed CDATA 'UNKNOWN'>\n");
+		w.write("<!ATTLIST sample occ CDATA 'UNKNOWN'>\n");
+		w.write("]>\n");
+	}
+
+	/** Print the body of the station XML file */
+	private void writeSampleXmlBody(Writer w, StationSnapshot snap)
+		throws IOException
+	{
+		for (StationSnapshot.Sample smp: snap.samples)
+			smp.writeXml(w);
+	}
+
+	/** Print the tail of the station XML file */
+	private void writeSampleXmlTail(Writer w) throws IOException {
+		w.write("</traffic_sample>\n");
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.zip.Deflater;
+import us.mn.state.dot.tms.utils.DevelCfg;
+import us.mn.state.dot.tms.utils.FileIO;
+
+/**
+ * A simple class for writing out XML documents
+ *
+ * @author Douglas Lau
+ */
+abstract public class XmlWriter {
+
+	/** XML output directory */
+	static public final File XML_OUTPUT_DIRECTORY = new File(DevelCfg.get(
+		"xml.output.dir", "/var/www/html/iris_xml/"));
+
+	/** XML version and encoding declaration */
+	static protected final String XML_DECLARATION =
+		"<?xml version='1.0' encoding='UTF-8'?>\n";
+
+	/** Compression level for gzip files (0-9, or -1 for default) */
+	static private final int GZIP_LEVEL = lookupGzipLevel();
+
+	/** Lookup the gzip compression level */
+	static private int lookupGzipLevel() {
+		try {
+			int lvl = Integer.parseInt(DevelCfg.get("xml.gzip.level",
+				String.valueOf(Deflater.DEFAULT_COMPRESSION)).trim());
+			if (FeedWriter.isValidLevel(lvl))
+				return lvl;
+		}
+		catch (NumberFormatException e) {
+			// fall through
+		}
+		return Deflater.DEFAULT_COMPRESSION;
+	}
+
+	/** Check if a char is special in XML */
+	static private boolean isSpecial(char c) {
+		switch (c) {
+		case '&':
+		case '<':
+		case '>':
+		case '"':
+		case '\'':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/** Get the escape sequence for a special char */
+	static private String escape(char c) {
+		switch (c) {
+		case '&':
+			return "&amp;";
+		case '<':
+			return "&lt;";
+		case '>':
+			return "&gt;";
+		case '"':
+			return "&quot;";
+		default:
+			return "&apos;";
+		}
+	}
+
+	/** Find the index of the first special char (or -1) */
+	static private int firstSpecial(String v) {
+		for (int i = 0; i < v.length(); i++) {
+			if (isSpecial(v.charAt(i)))
+				return i;
+		}
+		return -1;
+	}
+
+	/** Validate an xml element name */
+	static public String validateElementName(String e) {
+		int i = firstSpecial(e);
+		if (i < 0)
+			return e;
+		StringBuilder sb = new StringBuilder(e.length());
+		sb.append(e, 0, i);
+		for (; i < e.length(); i++) {
+			char c = e.charAt(i);
+			if (!isSpecial(c))
+				sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	/** Validate an xml element value */
+	static public String validateElementValue(String v) {
+		int i = firstSpecial(v);
+		if (i < 0)
+			return v;
+		StringBuilder sb = new StringBuilder(v.length() + 16);
+		sb.append(v, 0, i);
+		for (; i < v.length(); i++) {
+			char c = v.charAt(i);
+			if (isSpecial(c))
+				sb.append(escape(c));
+			else
+				sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	/** Create an XML attribute */
+	static public String createAttribute(String name, Object value) {
+		if (value != null) {
+			StringBuilder sb = new StringBuilder(" ");
+			sb.append(validateElementName(name));
+			sb.append("='");
+			sb.append(validateElementValue(value.toString()));
+			sb.append("'");
+			return sb.toString();
+		} else
+			return "";
+	}
+
+	/** Write an XML attribute, escaping the value while writing */
+	static public void writeAttribute(Writer w, String name, String value)
+		throws IOException
+	{
+		if (value != null) {
+			w.write(' ');
+			w.write(validateElementName(name));
+			w.write("='");
+			int s = 0;
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (isSpecial(c)) {
+					w.write(value, s, i - s);
+					w.write(escape(c));
+					s = i + 1;
+				}
+			}
+			w.write(value, s, value.length() - s);
+			w.write('\'');
+		}
+	}
+
+	/** Write an XML attribute with an integer value */
+	static public void writeAttribute(Writer w, String name, int value)
+		throws IOException
+	{
+		w.write(' ');
+		w.write(validateElementName(name));
+		w.write("='");
+		FeedWriter.writeInt(w, value);
+		w.write('\'');
+	}
+
+	/** File to write final XML data */
+	protected final File file;
+
+	/** Temporary file to write XML data */
+	protected final File temp;
+
+	/** Should the XML data be compressed? */
+	protected final boolean gzip;
+
+	/** Create a new XML writer */
+	public XmlWriter(String f, boolean gz) {
+		if (gz)
+			f = f + ".gz";
+		file = new File(XML_OUTPUT_DIRECTORY, f);
+		temp = new File(file.getAbsolutePath() + "~");
+		gzip = gz;
+	}
+
+	/** Create the underlying output stream */
+	private OutputStream createOutputStream() throws IOException {
+		OutputStream os = new FileOutputStream(temp);
+		return (gzip) ? FeedWriter.gzipStream(os, GZIP_LEVEL) : os;
+	}
+
+	/** Write the XML file */
+	public void write() throws IOException {
+		OutputStream os = createOutputStream();
+		try {
+			FeedWriter fw = new FeedWriter(os);
+			write(fw);
+			fw.flush();
+		}
+		finally {
+			os.close();
+		}
+		FileIO.atomicMove(temp.toPath(), file.toPath());
+	}
+
+	/** Write the XML to a writer */
+	abstract protected void write(Writer w) throws IOException;
+}
@@ -0,0 +1,110 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.util.Properties;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Comm thread factory creates the threads for comm links (CommThread and
+ * subclasses).  In "platform" mode, each link has a platform (OS) thread.  In
+ * "virtual" mode, links run on virtual threads, which have a much smaller
+ * memory footprint.  Virtual threads require a Java runtime which supports
+ * them; they are looked up by reflection so that IRIS still builds and runs
+ * on older runtimes.
+ *
+ * @author Douglas Lau
+ */
+public final class CommThreadFactory {
+
+	/** Thread group for all platform comm threads */
+	static private final ThreadGroup GROUP = new ThreadGroup("Comm");
+
+	/** Factory for platform comm threads */
+	static public final ThreadFactory PLATFORM = new ThreadFactory() {
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(GROUP, r);
+			t.setDaemon(true);
+			return t;
+		}
+	};
+
+	/** Factory for virtual comm threads (null if not supported) */
+	static public final ThreadFactory VIRTUAL = lookupVirtual();
+
+	/** Lookup the virtual thread factory, if supported by the runtime */
+	static private ThreadFactory lookupVirtual() {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual")
+				.invoke(null);
+			return (ThreadFactory) Class.forName(
+				"java.lang.Thread$Builder").getMethod("factory")
+				.invoke(builder);
+		}
+		catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/** Current thread factory */
+	static private ThreadFactory factory = PLATFORM;
+
+	/** Don't allow instantiation */
+	private CommThreadFactory() { }
+
+	/** Initialize the comm thread factory from server properties.  This
+	 * must be called before any comm threads are created. */
+	static public synchronized void init(Properties props)
+		throws IllegalArgumentException
+	{
+		String m = props.getProperty("comm.thread.mode", "platform");
+		setFactory(lookupFactory(m.trim()));
+	}
+
+	/** Lookup a thread factory by mode name */
+	static public ThreadFactory lookupFactory(String m)
+		throws IllegalArgumentException
+	{
+		if ("platform".equals(m))
+			return PLATFORM;
+		if ("virtual".equals(m)) {
+			if (VIRTUAL != null)
+				return VIRTUAL;
+			throw new IllegalArgumentException(
+				"Virtual threads not supported");
+		}
+		throw new IllegalArgumentException(
+			"Invalid comm.thread.mode: " + m);
+	}
+
+	/** Set the thread factory */
+	static public synchronized void setFactory(ThreadFactory tf) {
+		factory = tf;
+	}
+
+	/** Create a new (unstarted) comm thread.
+	 * @param name Thread name.
+	 * @param r Runnable for the thread.
+	 * @return New thread. */
+	static public Thread newThread(String name, Runnable r) {
+		ThreadFactory tf;
+		synchronized (CommThreadFactory.class) {
+			tf = factory;
+		}
+		Thread t = tf.newThread(r);
+		t.setName(name);
+		return t;
+	}
+}
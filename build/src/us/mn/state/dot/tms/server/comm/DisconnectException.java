@@ -0,0 +1,35 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2020  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.io.EOFException;
+
+/**
+ * DisconnectException is thrown when a comm link or modem is disconnected.
+ *
+ * @author Douglas Lau
+ */
+public class DisconnectException extends EOFException {
+
+	/** Create a new disconnect exception */
+	public DisconnectException() {
+		super("DISCONNECT");
+	}
+
+	/** Create a new disconnect exception */
+	public DisconnectException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,28 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2016  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+/**
+ * InvalidAddressException is thrown when a controller address is invalid.
+ *
+ * @author Douglas Lau
+ */
+public class InvalidAddressException extends ProtocolException {
+
+	/** Create a new invalid address exception */
+	public InvalidAddressException(int drop) {
+		super("INVALID ADDRESS: " + drop);
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2017       SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import us.mn.state.dot.tms.EventType;
+
+/**
+ * A prioritized queue which sorts Operation objects by their priority
+ * class.  Operations with the same priority are sorted FIFO.
+ *
+ * A lock is used instead of synchronized methods, so that comm threads
+ * waiting for operations do not pin a carrier when running on virtual
+ * threads.
+ *
+ * @author Douglas Lau
+ * @author John L. Stanley
+ */
+public final class OpQueue<T extends ControllerProperty> {
+
+	/** Inner class for nodes in the queue */
+	static private final class Node<T extends ControllerProperty> {
+		final OpController<T> operation;
+		final PriorityLevel priority;
+		Node<T> next;
+		Node(OpController<T> op, Node<T> n) {
+			operation = op;
+			priority = op.getPriority();
+			next = n;
+		}
+	}
+
+	/** Lock for queue state */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Condition signalled when an operation is added */
+	private final Condition added = lock.newCondition();
+
+	/** Front node in the queue */
+	private Node<T> front = null;
+
+	/** Current working operation.  This is needed so that an "equal"
+	 * operation cannot be added while work is in progress. */
+	private OpController<T> work = null;
+
+	/** Flag to tell when the poller is closing */
+	private boolean closing = false;
+
+	/** Close the queue for new operations */
+	public void close() {
+		lock.lock();
+		try {
+			closing = true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Check if the queue is open */
+	public boolean isOpen() {
+		return !closing;
+	}
+
+	/** Check if the queue is empty */
+	public boolean isEmpty() {
+		lock.lock();
+		try {
+			return (work == null) && (front == null);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Check if the queue has any more ops to process.
+	 * (Like isEmpty(), but ignores the current work op.) */
+	public boolean noMoreOps() {
+		lock.lock();
+		try {
+			return (front == null);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Enqueue a new operation */
+	public boolean enqueue(OpController<T> op) {
+		lock.lock();
+		try {
+			if (shouldAdd(op)) {
+				op.begin();
+				add(op);
+				return true;
+			} else
+				return false;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Check if an operation should be added to the queue */
+	private boolean shouldAdd(OpController<T> op) {
+		return isOpen() && !contains(op);
+	}
+
+	/** Check if the queue contains a given operation */
+	private boolean contains(OpController<T> op) {
+		if (op.equals(work) && !work.isDone())
+			return true;
+		Node<T> node = front;
+		while (node != null) {
+			OpController<T> nop = node.operation;
+			if (op.equals(nop) && !nop.isDone())
+				return true;
+			node = node.next;
+		}
+		return false;
+	}
+
+	/** Add an operation to the queue */
+	private void add(OpController<T> op) {
+		PriorityLevel priority = op.getPriority();
+		Node<T> prev = null;
+		Node<T> node = front;
+		while (node != null) {
+			if (priority.ordinal() < node.priority.ordinal())
+				break;
+			prev = node;
+			node = node.next;
+		}
+		node = new Node<T>(op, node);
+		if (prev == null)
+			front = node;
+		else
+			prev.next = node;
+		added.signal();
+	}
+
+	/** Requeue an in-progress operation */
+	public boolean requeue(OpController<T> op) {
+		lock.lock();
+		try {
+			if ((remove(op) == op) && isOpen()) {
+				add(op);
+				return true;
+			} else
+				return false;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Remove an operation from the queue */
+	private OpController<T> remove(OpController<T> op) {
+		if (op == work) {
+			work = null;
+			return op;
+		}
+		Node<T> prev = null;
+		Node<T> node = front;
+		while (node != null) {
+			if (node.operation == op) {
+				if (prev == null)
+					front = node;
+				else
+					prev.next = node;
+				return op;
+			}
+			prev = node;
+			node = node.next;
+		}
+		return null;
+	}
+
+	/** Get the next operation from the queue (and remove it).
+	 * Waits until an operation is added, the timeout expires or the thread
+	 * is interrupted (destroyed).
+	 * @param idle_ms Idle timeout (ms); 0 indicates no timeout.
+	 * @return Operation at front of queue.
+	 * @throws DisconnectException If idle timeout expires or comm thread is
+	 *                             destroyed. */
+	public OpController<T> next(long idle_ms) throws DisconnectException {
+		lock.lock();
+		try {
+			work = null;
+			while (null == front) {
+				awaitAdded(idle_ms);
+				if (idle_ms > 0 && null == front) {
+					// Empty msg (status) doesn't fail controllers
+					throw new DisconnectException("");
+				}
+			}
+			work = front.operation;
+			front = front.next;
+			return work;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Wait for an operation to be added.
+	 * @param idle_ms Idle timeout (ms); 0 indicates no timeout.
+	 * @throws DisconnectException If comm thread is destroyed. */
+	private void awaitAdded(long idle_ms) throws DisconnectException {
+		try {
+			if (idle_ms > 0)
+				added.await(idle_ms, TimeUnit.MILLISECONDS);
+			else
+				added.await();
+		}
+		catch (InterruptedException e) {
+			throw new DisconnectException("DESTROYED");
+		}
+	}
+
+	/** Get the next operation from the queue (and remove it).
+	 * If there's no op in the queue, immediately return null. */
+	public OpController<T> tryNext() {
+		lock.lock();
+		try {
+			OpController<T> w = work;
+			if (w != null) {
+				work = null;
+				return w;
+			}
+			OpController<T> op = null;
+			if (front != null) {
+				op = front.operation;
+				front = front.next;
+			}
+			return op;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Do something to each operation in the queue */
+	public boolean forEach(OpHandler<T> handler) {
+		lock.lock();
+		try {
+			OpController<T> w = work;
+			boolean flag = (w != null) ? handler.handle(w) : true;
+			Node<T> node = front;
+			while (node != null) {
+				flag &= handler.handle(node.operation);
+				node = node.next;
+			}
+			return flag;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Drain the operation queue */
+	public void drain() {
+		forEach(new OpHandler<T>() {
+			public boolean handle(OpController<T> o) {
+				o.handleCommError(EventType.QUEUE_DRAINED);
+				o.cleanup();
+				return true;
+			}
+		});
+	}
+}
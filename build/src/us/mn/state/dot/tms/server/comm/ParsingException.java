@@ -0,0 +1,35 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2000-2024  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.io.IOException;
+
+/**
+ * This exception gets thrown on errors when parsing received data.
+ *
+ * @author Douglas Lau
+ */
+public class ParsingException extends IOException {
+
+	/** Create a new I/O parsing exception */
+	public ParsingException(String d) {
+		super(d);
+	}
+
+	/** Create a new I/O parsing exception */
+	public ParsingException(Exception cause) {
+		super(cause);
+	}
+}
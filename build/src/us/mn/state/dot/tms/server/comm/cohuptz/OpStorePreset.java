@@ -0,0 +1,47 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2014-2015  AHMCT, University of California
+ * Copyright (C) 2016-2017  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.cohuptz;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import us.mn.state.dot.tms.server.comm.Operation;
+import us.mn.state.dot.tms.server.comm.OpStep;
+
+/**
+ * Cohu PTZ operation to store a camera preset.
+ *
+ * @author Travis Swanston
+ * @author Douglas Lau
+ */
+public class OpStorePreset extends OpStep {
+
+	/** Store preset property */
+	private final StorePresetProp preset;
+
+	/**
+	 * Create a new operation to store a camera preset.
+	 * @param p the preset number to store
+	 */
+	public OpStorePreset(int p) {
+		preset = new StorePresetProp(p);
+	}
+
+	/** Poll the controller */
+	@Override
+	public void poll(Operation op, ByteBuffer tx_buf) throws IOException {
+		preset.encodeStore(op, tx_buf);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2025  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.mndot;
+
+import java.io.IOException;
+import static us.mn.state.dot.tms.units.Interval.Units.MINUTES;
+import us.mn.state.dot.tms.RampMeter;
+import us.mn.state.dot.tms.RampMeterHelper;
+import us.mn.state.dot.tms.server.DeviceImpl;
+import static us.mn.state.dot.tms.server.RampMeterImpl.COMM_LOSS_THRESHOLD;
+import us.mn.state.dot.tms.server.comm.CommMessage;
+import us.mn.state.dot.tms.server.comm.PriorityLevel;
+
+/**
+ * Send device settings to a 170 controller
+ *
+ * @author Douglas Lau
+ */
+public class OpSendDeviceSettings extends Op170Device {
+
+	/** Check if cabinet style is configured */
+	static private boolean isCabinetConfigured(DeviceImpl d) {
+		if (d instanceof RampMeter) {
+			RampMeter rm = (RampMeter) d;
+			Integer pin =
+				RampMeterHelper.lookupWatchdogResetPin(rm);
+			return pin != null;
+		}
+		return true;
+	}
+
+	/** Set the controller firmware version */
+	static private String formatVersion(int major, int minor) {
+		return Integer.toString(major) + "." + Integer.toString(minor);
+	}
+
+	/** Create a new device settings operation */
+	public OpSendDeviceSettings(PriorityLevel p, DeviceImpl d) {
+		super(p, d);
+		if (isCabinetConfigured(d))
+			putCtrlFaults(null, null);
+		else
+			putCtrlFaults("other", "Cabinet style not set");
+	}
+
+	/** Create a new device settings operation */
+	public OpSendDeviceSettings(DeviceImpl d) {
+		this(PriorityLevel.SETTINGS, d);
+	}
+
+	/** Create the second phase of the operation */
+	@Override
+	protected Phase<MndotProperty> phaseTwo() {
+		return new QueryPromVersion();
+	}
+
+	/** Phase to query the prom version */
+	private class QueryPromVersion extends Phase<MndotProperty> {
+
+		/** Query the prom version */
+		protected Phase<MndotProperty> poll(
+			CommMessage<MndotProperty> mess) throws IOException
+		{
+			byte[] data = new byte[2];
+			MemoryProperty ver_mem = new MemoryProperty(
+				Address.PROM_VERSION, data);
+			mess.add(ver_mem);
+			mess.queryProps();
+			String v = formatVersion(data[0], data[1]);
+			controller.setVersionNotify(v);
+			if (OpSendSampleSettings.isVersionBuggy(data[0], data[1]))
+				putCtrlFaults("prom", "BUGGY firmware");
+			return new ResetWatchdogMonitor();
+		}
+	}
+
+	/** Phase to reset the watchdog monitor */
+	private class ResetWatchdogMonitor extends Phase<MndotProperty> {
+
+		/** Reset the watchdog monitor */
+		protected Phase<MndotProperty> poll(
+			CommMessage<MndotProperty> mess) throws IOException
+		{
+			// FIXME: use cabinet style pins
+			byte[] data = {Address.WATCHDOG_BITS};
+			mess.add(new MemoryProperty(
+				Address.SPECIAL_FUNCTION_OUTPUTS + 2, data));
+			mess.storeProps();
+			return new ClearWatchdogMonitor();
+		}
+	}
+
+	/** Phase to clear the watchdog monitor */
+	private class ClearWatchdogMonitor extends Phase<MndotProperty> {
+
+		/** Clear the watchdog monitor */
+		protected Phase<MndotProperty> poll(
+			CommMessage<MndotProperty> mess) throws IOException
+		{
+			// FIXME: use cabinet style pins
+			byte[] data = new byte[1];
+			mess.add(new MemoryProperty(
+				Address.SPECIAL_FUNCTION_OUTPUTS + 2, data));
+			mess.storeProps();
+			return new SetCommFail();
+		}
+	}
+
+	/** Phase to set the comm fail time */
+	private class SetCommFail extends Phase<MndotProperty> {
+
+		/** Set the comm fail time */
+		protected Phase<MndotProperty> poll(
+			CommMessage<MndotProperty> mess) throws IOException
+		{
+			byte[] data = {
+				(byte) COMM_LOSS_THRESHOLD.round(MINUTES)
+			};
+			mess.add(new MemoryProperty(Address.COMM_FAIL, data));
+			mess.storeProps();
+			return null;
+		}
+	}
+}
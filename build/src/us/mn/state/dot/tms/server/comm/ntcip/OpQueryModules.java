@@ -0,0 +1,103 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2022-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.ntcip;
+
+import java.io.IOException;
+import us.mn.state.dot.tms.server.DeviceImpl;
+import us.mn.state.dot.tms.server.comm.CommMessage;
+import us.mn.state.dot.tms.server.comm.PriorityLevel;
+import us.mn.state.dot.tms.server.comm.ntcip.mib1201.*;
+import static us.mn.state.dot.tms.server.comm.ntcip.mib1201.MIB1201.*;
+import us.mn.state.dot.tms.server.comm.snmp.ASN1Object;
+
+/**
+ * Operation to query the hardware/software modules.
+ *
+ * @author Douglas Lau
+ */
+public class OpQueryModules extends OpNtcip {
+
+	/** Module table */
+	private final ModuleTable mod_table = new ModuleTable();
+
+	/** Create a new module query operation */
+	public OpQueryModules(DeviceImpl d) {
+		super(PriorityLevel.CONFIGURE, d);
+	}
+
+	/** Create the second phase of the operation */
+	@Override
+	protected Phase phaseTwo() {
+		return new QueryModuleCount();
+	}
+
+	/** Phase to query the number of modules */
+	protected class QueryModuleCount extends Phase {
+
+		/** Query the number of modules */
+		@SuppressWarnings("unchecked")
+		protected Phase poll(CommMessage mess) throws IOException {
+			mess.add(mod_table.modules);
+			mess.queryProps();
+			logQuery(mod_table.modules);
+			return queryModules();
+		}
+	}
+
+	/** Get phase to query all module rows */
+	private QueryModules queryModules() {
+		return (mod_table.size() > 0) ? new QueryModules() : null;
+	}
+
+	/** Phase to query the module make, model, version and type */
+	protected class QueryModules extends QueryRows<ModuleTable.Row> {
+
+		/** Create a new phase to query modules */
+		private QueryModules() {
+			// estimate 3 strings of 40 bytes, plus type
+			super(1, mod_table.size(), 3 * 40 + 1);
+		}
+
+		/** Create one module row */
+		protected ModuleTable.Row createRow(int r) {
+			return mod_table.createRow(r);
+		}
+
+		/** Get the objects to query for a row */
+		protected ASN1Object[] rowObjects(ModuleTable.Row tr) {
+			return new ASN1Object[] {
+				tr.make, tr.model, tr.version, tr.m_type
+			};
+		}
+
+		/** Add a module row to the table */
+		protected void rowQueried(int r, ModuleTable.Row tr) {
+			mod_table.addRow(tr);
+		}
+
+		/** Get the phase after all modules have been queried */
+		protected Phase nextPhase() {
+			return null;
+		}
+	}
+
+	/** Cleanup the operation */
+	@Override
+	public void cleanup() {
+		if (isSuccess())
+			controller.setSetupNotify(mod_table.toJson());
+		super.cleanup();
+	}
+}
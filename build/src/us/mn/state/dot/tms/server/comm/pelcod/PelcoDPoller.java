@@ -0,0 +1,70 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2007-2020  Minnesota Department of Transportation
+ * Copyright (C) 2014  AHMCT, University of California
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.pelcod;
+
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.tms.CommLink;
+import us.mn.state.dot.tms.DeviceRequest;
+import us.mn.state.dot.tms.server.CameraImpl;
+import us.mn.state.dot.tms.server.comm.CameraPoller;
+import us.mn.state.dot.tms.server.comm.TransientPoller;
+import static us.mn.state.dot.tms.utils.URIUtil.UDP;
+
+/**
+ * PelcoDPoller is a java implementation of the Pelco D camera control
+ * communication protocol
+ *
+ * @author Douglas Lau
+ * @author Travis Swanston
+ */
+public class PelcoDPoller extends TransientPoller<PelcoDProperty>
+	implements CameraPoller
+{
+	/** Pelco D debug log */
+	static private final DebugLog PELCOD_LOG = new DebugLog("pelcod");
+
+	/** Create a new Pelco poller */
+	public PelcoDPoller(CommLink link) {
+		super(link, UDP, PELCOD_LOG);
+	}
+
+	/** Send a PTZ camera move command */
+	@Override
+	public void sendPTZ(CameraImpl c, float p, float t, float z) {
+		addOp(new OpMoveCamera(c, p, t, z));
+	}
+
+	/** Send a store camera preset command */
+	@Override
+	public void sendStorePreset(CameraImpl c, int preset) {
+		addOp(new OpPreset(c, true, preset));
+	}
+
+	/** Send a recall camera preset command */
+	@Override
+	public void sendRecallPreset(CameraImpl c, int preset) {
+		addOp(new OpPreset(c, false, preset));
+	}
+
+	/** Send a device request
+	 * @param c The CameraImpl object.
+	 * @param dr The desired DeviceRequest. */
+	@Override
+	public void sendRequest(CameraImpl c, DeviceRequest dr) {
+		if (DeviceRequest.QUERY_STATUS != dr)
+			addOp(new OpDeviceRequest(c, dr));
+	}
+}
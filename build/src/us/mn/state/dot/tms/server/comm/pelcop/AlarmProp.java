@@ -0,0 +1,51 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2017  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.pelcop;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import us.mn.state.dot.tms.server.comm.Operation;
+import us.mn.state.dot.tms.server.comm.ParsingException;
+
+/**
+ * Alarm property.
+ *
+ * @author Douglas Lau
+ */
+public class AlarmProp extends PelcoPProp {
+
+	/** Alarm request code */
+	static public final int REQ_CODE = 0xD6;
+
+	/** Alarm response code */
+	static public final int RESP_CODE = 0xD0;
+
+	/** Decode a QUERY request from keyboard */
+	@Override
+	public void decodeQuery(Operation op, ByteBuffer rx_buf)
+		throws ParsingException
+	{
+		int alm = parseBCD4(rx_buf);
+	}
+
+	/** Encode a QUERY response to keyboard */
+	@Override
+	public void encodeQuery(Operation op, ByteBuffer tx_buf)
+		throws IOException
+	{
+		format8(tx_buf, RESP_CODE);
+		format16(tx_buf, 0);
+	}
+}
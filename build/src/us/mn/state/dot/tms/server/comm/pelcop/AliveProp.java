@@ -0,0 +1,43 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2016  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.pelcop;
+
+import java.nio.ByteBuffer;
+import us.mn.state.dot.tms.server.comm.Operation;
+
+/**
+ * Alive property.  This message is sent after logging in but before selecting
+ * a monitor.
+ *
+ * @author Douglas Lau
+ */
+public class AliveProp extends PelcoPProp {
+
+	/** Alive request / response code */
+	static public final int REQ_CODE = 0xDE;
+
+	/** Decode a QUERY request from keyboard */
+	@Override
+	public void decodeQuery(Operation op, ByteBuffer rx_buf) {
+		// no data to decode
+	}
+
+	/** Encode a QUERY response to keyboard */
+	@Override
+	public void encodeQuery(Operation op, ByteBuffer tx_buf) {
+		format8(tx_buf, REQ_CODE);
+		format8(tx_buf, 1);
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2016  Minnesota Department of Transportation
+ * Copyright (C) 2009-2024  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -12,31 +12,32 @@
  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
  * GNU General Public License for more details.
  */
-package us.mn.state.dot.tms.client.map;
+package us.mn.state.dot.tms.server.comm.snmp;
 
-import java.awt.image.BufferedImage;
 import java.io.InputStream;
 import java.io.IOException;
-import javax.imageio.ImageIO;
 
 /**
- * A temporary image file.
+ * Counter from RFC1155-SMI.
  *
  * @author Douglas Lau
  */
-public class TempImageFile {
+public class Counter extends ASN1Integer {
 
-	/** Temporary image input stream */
-	protected final TempImageInputStream t_stream;
+	/** Create a new counter */
+	public Counter(MIBNode n) {
+		super(n);
+	}
 
-	/** Create a new temporary image file */
-	public TempImageFile(InputStream is) throws IOException {
-		t_stream = new TempImageInputStream(is);
+	/** Encode a counter */
+	@Override
+	public void encode(BER er) throws IOException {
+		er.encodeCounter(getInteger());
 	}
 
-	/** Get image from the file */
-	public BufferedImage getImage() throws IOException {
-		t_stream.seek(0);
-		return ImageIO.read(t_stream);
+	/** Decode a counter */
+	@Override
+	public void decode(InputStream is, BER er) throws IOException {
+		setInteger(er.decodeCounter(is));
 	}
 }
@@ -0,0 +1,48 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2005-2012  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.ss105;
+
+import java.io.IOException;
+
+/**
+ * Event Data Property
+ *
+ * @author Douglas Lau
+ */
+public class EventProperty extends SS105Property {
+
+	/** Event data */
+	protected String events;
+
+	/** Check if the request has a checksum */
+	protected boolean hasChecksum() {
+		return false;
+	}
+
+	/** Format a basic "GET" request */
+	protected String formatGetRequest() {
+		return "XA";
+	}
+
+	/** Set the response to the request */
+	protected void parseQuery(String r) {
+		events = r;
+	}
+
+	/** Get the event data */
+	public String getEvents() {
+		return events;
+	}
+}
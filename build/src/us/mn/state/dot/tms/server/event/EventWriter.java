@@ -0,0 +1,174 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.server.SQLConnection;
+
+/**
+ * Event writer buffers events and stores them in batches, using multi-row
+ * INSERT statements.  Events are grouped by table and columns.  When too
+ * many events are queued, new events are dropped (and counted) rather than
+ * blocking the thread which logged them.
+ *
+ * @author Douglas Lau
+ */
+public class EventWriter {
+
+	/** Event writer debug log */
+	static private final DebugLog EVENT_LOG = new DebugLog("event_writer");
+
+	/** Maximum number of queued events */
+	static private final int MAX_QUEUED = 10000;
+
+	/** Maximum number of rows in one INSERT statement.  Batches are split
+	 * into power-of-two sizes, so only a few distinct statements need to
+	 * be prepared for each table. */
+	static private final int MAX_ROWS = 64;
+
+	/** Delay before writing queued events (ms) */
+	static private final int WRITE_DELAY_MS = 1000;
+
+	/** Scheduler for writing events */
+	private final Scheduler sched;
+
+	/** SQL connection */
+	private final SQLConnection store;
+
+	/** Queued events, grouped by table and columns */
+	private LinkedHashMap<String, ArrayList<BaseEvent>> queued =
+		new LinkedHashMap<String, ArrayList<BaseEvent>>();
+
+	/** Number of queued events */
+	private int n_queued = 0;
+
+	/** Flag indicating a write job is scheduled */
+	private boolean scheduled = false;
+
+	/** Count of events written */
+	private int n_written = 0;
+
+	/** Count of events dropped */
+	private int n_dropped = 0;
+
+	/** Create a new event writer */
+	public EventWriter(Scheduler s, SQLConnection st) {
+		sched = s;
+		store = st;
+	}
+
+	/** Queue an event to be written.
+	 * @param ev Event to write.
+	 * @return true if queued, false if dropped. */
+	public synchronized boolean queue(BaseEvent ev) {
+		if (n_queued >= MAX_QUEUED) {
+			n_dropped++;
+			return false;
+		}
+		String key = ev.getTable() + " " +
+			SQLConnection.nonNullColumns(ev).keySet();
+		ArrayList<BaseEvent> evs = queued.get(key);
+		if (evs == null) {
+			evs = new ArrayList<BaseEvent>();
+			queued.put(key, evs);
+		}
+		evs.add(ev);
+		n_queued++;
+		if (!scheduled) {
+			scheduled = true;
+			sched.addJob(new Job(WRITE_DELAY_MS) {
+				public void perform() {
+					writeQueued();
+				}
+			});
+		}
+		return true;
+	}
+
+	/** Take all queued events */
+	private synchronized LinkedHashMap<String, ArrayList<BaseEvent>>
+		takeQueued()
+	{
+		LinkedHashMap<String, ArrayList<BaseEvent>> q = queued;
+		queued = new LinkedHashMap<String, ArrayList<BaseEvent>>();
+		n_queued = 0;
+		scheduled = false;
+		return q;
+	}
+
+	/** Add to the count of events written */
+	private synchronized void addWritten(int n) {
+		n_written += n;
+	}
+
+	/** Write all queued events */
+	private void writeQueued() {
+		for (ArrayList<BaseEvent> evs: takeQueued().values()) {
+			int i = 0;
+			while (i < evs.size()) {
+				int n = Integer.highestOneBit(Math.min(MAX_ROWS,
+					evs.size() - i));
+				writeRows(evs.subList(i, i + n));
+				i += n;
+			}
+		}
+	}
+
+	/** Write rows with one INSERT statement.  If that fails, write each
+	 * row separately, so that one bad row does not lose the others. */
+	private void writeRows(List<BaseEvent> rows) {
+		try {
+			store.createAll(rows);
+			addWritten(rows.size());
+		}
+		catch (TMSException e) {
+			EVENT_LOG.log("createAll -> " + e.getMessage());
+			if (rows.size() > 1) {
+				for (BaseEvent ev: rows)
+					writeRow(ev);
+			}
+		}
+	}
+
+	/** Write one row */
+	private void writeRow(BaseEvent ev) {
+		try {
+			store.create(ev);
+			addWritten(1);
+		}
+		catch (TMSException e) {
+			EVENT_LOG.log("create -> " + e.getMessage());
+		}
+	}
+
+	/** Log event writer statistics */
+	public void logStats() {
+		if (EVENT_LOG.isOpen()) {
+			synchronized (this) {
+				EVENT_LOG.log("queued: " + n_queued +
+					", written: " + n_written +
+					", dropped: " + n_dropped);
+				n_written = 0;
+				n_dropped = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2019-2020  SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+package us.mn.state.dot.tms.utils.wysiwyg.token;
+
+import us.mn.state.dot.tms.utils.Multi;
+import us.mn.state.dot.tms.utils.wysiwyg.WRenderer;
+import us.mn.state.dot.tms.utils.wysiwyg.WToken;
+import us.mn.state.dot.tms.utils.wysiwyg.WTokenType;
+
+/** Message-feed token for WYSIWYG editor.
+ * 
+ * @author John L. Stanley - SRF Consulting
+ *
+ */
+public class WtFeedMsg extends WToken {
+
+	String fid;
+
+	/**
+	 * @param fid
+	 */
+	public WtFeedMsg(String fid) {
+		super(WTokenType.feedMsg, "[feed");
+		this.fid = fid;
+		updateString();
+	}
+
+	/** Get feed ID */
+	public String getFeedID() {
+		// TODO Auto-generated method stub
+		return fid;
+	}
+
+	/* (non-Javadoc)
+	 * @see us.mn.state.dot.tms.utils.wysiwyg.WToken#doMulti(us.mn.state.dot.tms.utils.Multi)
+	 */
+	@Override
+	public void doMulti(Multi cb) {
+		cb.addFeed(fid);
+	}
+
+	/* (non-Javadoc)
+	 * @see us.mn.state.dot.tms.utils.wysiwyg.WToken#doRender(us.mn.state.dot.tms.utils.wysiwyg.WRenderer)
+	 */
+	@Override
+	public void doRender(WRenderer wr) {
+		wr.renderFeed(this);
+	}
+
+	/* (non-Javadoc)
+	 * @see us.mn.state.dot.tms.utils.wysiwyg.WToken#appendParameters(java.lang.StringBuilder)
+	 */
+	@Override
+	public void appendParameters(StringBuilder sb) {
+		sb.append(fid);
+	}
+}
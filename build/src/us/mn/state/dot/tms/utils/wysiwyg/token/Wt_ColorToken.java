@@ -0,0 +1,34 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2020  SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+package us.mn.state.dot.tms.utils.wysiwyg.token;
+
+/** Interface for tokens that contain color values.
+ *  
+ *  @author Gordon Parikh - SRF Consulting
+ */
+public interface Wt_ColorToken {
+	
+	public Integer getZValue();
+	
+	public Integer getRValue();
+	
+	public int getGValue();
+	
+	public int getBValue();
+}
+
+
+
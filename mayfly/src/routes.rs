@@ -1,6 +1,6 @@
 // routes.rs
 //
-// Copyright (c) 2019-2024  Minnesota Department of Transportation
+// Copyright (c) 2019-2026  Minnesota Department of Transportation
 //
 // This program is free software; you can redistribute it and/or modify
 // it under the terms of the GNU General Public License as published by
@@ -16,6 +16,7 @@ use crate::binned::{
     CountData, HeadwayData, LengthData, OccupancyData, SpeedData, TrafficData,
 };
 use crate::error::{Error, Result};
+use crate::smap::{self, SampleMap};
 use crate::traffic::Traffic;
 use crate::vehicle::{VehLog, VehicleFilter};
 use axum::extract::Query;
@@ -218,6 +219,18 @@ fn file_stem(nm: &str) -> Option<&str> {
 
 /// Scan entries in a directory
 async fn scan_dir<P>(path: &P, check: fn(&str, bool) -> bool) -> Result<String>
+where
+    P: AsRef<Path>,
+{
+    let names = scan_dir_names(path, check).await?;
+    Ok(json_names(names))
+}
+
+/// Scan entry names in a directory
+async fn scan_dir_names<P>(
+    path: &P,
+    check: fn(&str, bool) -> bool,
+) -> Result<HashSet<String>>
 where
     P: AsRef<Path>,
 {
@@ -235,11 +248,16 @@ where
             }
         }
     }
+    Ok(names)
+}
+
+/// Make a JSON array of names
+fn json_names(names: HashSet<String>) -> String {
     let mut json = JsonVec::new();
     for name in names {
         json.write_quoted(name);
     }
-    Ok(String::from(json))
+    String::from(json)
 }
 
 /// Scan entries in a zip file
@@ -265,11 +283,7 @@ fn scan_zip_blocking(
             }
         }
     }
-    let mut json = JsonVec::new();
-    for name in names {
-        json.write_quoted(name);
-    }
-    Ok(String::from(json))
+    Ok(json_names(names))
 }
 
 /// Parse year parameter
@@ -419,7 +433,7 @@ pub fn detectors_get() -> Router {
         match scan_zip(&path, check_detector).await {
             Err(Error::Io(e)) if e.kind() == ErrorKind::NotFound => {
                 let path = detectors.0.path()?;
-                scan_dir(&path, check_detector).await
+                scan_detectors_dir(path).await
             }
             res => res,
         }
@@ -427,6 +441,17 @@ pub fn detectors_get() -> Router {
     Router::new().route("/detectors", get(handler))
 }
 
+/// Scan detectors in a date directory, including mapped sample files
+async fn scan_detectors_dir(path: PathBuf) -> Result<String> {
+    let mut names = scan_dir_names(&path, check_detector).await?;
+    let ids = task::spawn_blocking(move || {
+        smap::scan_detectors(&path, is_ext_valid)
+    })
+    .await??;
+    names.extend(ids);
+    Ok(json_names(names))
+}
+
 /// Check for detector IDs
 fn check_detector(nm: &str, is_dir: bool) -> bool {
     !is_dir && {
@@ -489,6 +514,10 @@ where
                 Err(Error::Io(e)) if e.kind() == ErrorKind::NotFound => (),
                 res => return res,
             }
+            match self.lookup_smap_bin().await {
+                Err(Error::Io(e)) if e.kind() == ErrorKind::NotFound => (),
+                res => return res,
+            }
         }
         self.lookup_unzipped_vlog().await
     }
@@ -505,6 +534,23 @@ where
         Ok(self.make_binned_body(buf))
     }
 
+    /// Lookup unzipped data from a mapped sample file
+    async fn lookup_smap_bin(&self) -> Result<String> {
+        let mut path = self.date_path()?;
+        path.push(self.smap_file_name());
+        let detector = self.detector.clone();
+        let buf = task::spawn_blocking(move || -> Result<Vec<u8>> {
+            let mut smap = SampleMap::new(&path)?;
+            log::info!("opened {path:?}");
+            smap.read(&detector)
+        })
+        .await??;
+        if buf.len() != 2880 * T::bin_bytes() {
+            return Err(Error::InvalidData("bin"));
+        }
+        Ok(self.make_binned_body(buf))
+    }
+
     /// Lookup unzipped data from vehicle log file
     async fn lookup_unzipped_vlog(&self) -> Result<String> {
         let mut path = self.date_path()?;
@@ -569,6 +615,11 @@ where
         format!("{}.{}", self.detector, T::binned_ext())
     }
 
+    /// Get mapped sample file name
+    fn smap_file_name(&self) -> String {
+        format!("{}.{}", T::binned_ext(), smap::EXT)
+    }
+
     /// Get path containing archive data for one date
     fn date_path(&self) -> Result<PathBuf> {
         date_path(&self.district, &self.date)
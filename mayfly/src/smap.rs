@@ -0,0 +1,134 @@
+// smap.rs
+//
+// Copyright (c) 2026  Minnesota Department of Transportation
+//
+// This program is free software; you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation; either version 2 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+use crate::error::{Error, Result};
+use std::collections::HashSet;
+use std::fs::{read_dir, File};
+use std::io::{self, ErrorKind, Read, Seek, SeekFrom};
+use std::path::Path;
+
+/// Mapped sample file extension without dot
+pub const EXT: &str = "smap";
+
+/// Magic number at start of file ("ISM1")
+const MAGIC: u32 = 0x4953_4d31;
+
+/// Number of bytes in header
+const HEADER_BYTES: usize = 32;
+
+/// Maximum number of bytes in a detector ID
+const ID_BYTES: usize = 20;
+
+/// Mapped sample file, written by the IRIS server for the current day.
+///
+/// Each file contains one sample type (for example, `v30.smap`) for all
+/// detectors, with a fixed slot for each detector.  The file has a header,
+/// followed by an index of detector IDs and the sample data for each slot.
+pub struct SampleMap {
+    /// Open file
+    file: File,
+
+    /// Number of bytes per sample
+    sample_bytes: usize,
+
+    /// Number of samples per day
+    samples: usize,
+
+    /// Number of slots available
+    capacity: usize,
+
+    /// Detector IDs in slot order
+    ids: Vec<String>,
+}
+
+/// Read a big-endian u32 from a buffer
+fn read_u32(buf: &[u8], pos: usize) -> u32 {
+    let mut val = [0; 4];
+    val.copy_from_slice(&buf[pos..pos + 4]);
+    u32::from_be_bytes(val)
+}
+
+impl SampleMap {
+    /// Open a mapped sample file and read the index
+    pub fn new(path: &impl AsRef<Path>) -> Result<Self> {
+        let mut file = File::open(path)?;
+        let mut header = [0; HEADER_BYTES];
+        file.read_exact(&mut header)?;
+        if read_u32(&header, 0) != MAGIC {
+            return Err(Error::InvalidData("smap"));
+        }
+        let sample_bytes = read_u32(&header, 4) as usize;
+        let samples = read_u32(&header, 8) as usize;
+        let capacity = read_u32(&header, 12) as usize;
+        let n_slots = read_u32(&header, 16) as usize;
+        if n_slots > capacity {
+            return Err(Error::InvalidData("smap"));
+        }
+        let mut index = vec![0; n_slots * ID_BYTES];
+        file.read_exact(&mut index)?;
+        let ids = index
+            .chunks_exact(ID_BYTES)
+            .map(|id| {
+                let len = id.iter().position(|b| *b == 0).unwrap_or(ID_BYTES);
+                String::from_utf8_lossy(&id[..len]).into_owned()
+            })
+            .collect();
+        Ok(SampleMap {
+            file,
+            sample_bytes,
+            samples,
+            capacity,
+            ids,
+        })
+    }
+
+    /// Get the number of bytes for one slot
+    fn slot_bytes(&self) -> usize {
+        self.samples * self.sample_bytes
+    }
+
+    /// Read all samples for one detector
+    pub fn read(&mut self, det: &str) -> Result<Vec<u8>> {
+        let slot = self
+            .ids
+            .iter()
+            .position(|id| id == det)
+            .ok_or_else(|| io::Error::from(ErrorKind::NotFound))?;
+        let pos = HEADER_BYTES
+            + self.capacity * ID_BYTES
+            + slot * self.slot_bytes();
+        self.file.seek(SeekFrom::Start(pos as u64))?;
+        let mut buf = vec![0; self.slot_bytes()];
+        self.file.read_exact(&mut buf)?;
+        Ok(buf)
+    }
+}
+
+/// Scan mapped sample files in a directory for detector IDs
+pub fn scan_detectors(
+    path: &Path,
+    check: fn(&str) -> bool,
+) -> Result<HashSet<String>> {
+    let mut ids = HashSet::new();
+    for entry in read_dir(path)? {
+        let path = entry?.path();
+        let stem = path.file_stem().and_then(|st| st.to_str());
+        if path.extension().is_some_and(|ext| ext == EXT)
+            && stem.is_some_and(check)
+        {
+            ids.extend(SampleMap::new(&path)?.ids);
+        }
+    }
+    Ok(ids)
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2021  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -68,6 +68,9 @@ public final class Scheduler {
 	/** Flag to indicate disposing */
 	private boolean disposing = false;
 
+	/** Maximum lag (ms) of performed jobs since last check */
+	private long max_lag = 0;
+
 	/** Create a new job scheduler */
 	public Scheduler() {
 		this("sched");
@@ -136,6 +139,7 @@ public final class Scheduler {
 
 	/** Perform a job */
 	private void performJob(Job job) {
+		recordLag(-job.delay());
 		boolean op = slog.isOpen();
 		try {
 			if (op)
@@ -157,6 +161,18 @@ public final class Scheduler {
 		}
 	}
 
+	/** Record the lag of a job being performed */
+	private synchronized void recordLag(long lag) {
+		max_lag = Math.max(max_lag, lag);
+	}
+
+	/** Get the maximum lag (ms) of jobs performed since the last call */
+	public synchronized long takeMaxLag() {
+		long lag = max_lag;
+		max_lag = 0;
+		return lag;
+	}
+
 	/** Add a job to be repeated */
 	private synchronized void repeatJob(Job job) {
 		job.computeNextTime();
@@ -188,6 +204,11 @@ public final class Scheduler {
 		toremove.clear();
 	}
 
+	/** Get the count of jobs in the queue */
+	public synchronized int size() {
+		return todo.size();
+	}
+
 	/** Test if the current thread is the scheduler thread */
 	public boolean isCurrentThread() {
 		return Thread.currentThread() == thread;
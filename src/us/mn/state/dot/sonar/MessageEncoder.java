@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2013  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -36,6 +36,40 @@ public class MessageEncoder {
 		return s.replace(Message.RECORD_SEP.code, ' ');
 	}
 
+	/** Append one message with the given code, name and parameters */
+	static private void append(Appendable a, Message m, String name,
+		String[] params) throws IOException
+	{
+		a.append(m.code);
+		if(name != null) {
+			a.append(Message.UNIT_SEP.code);
+			a.append(name);
+			if(params != null) {
+				for(String p: params) {
+					a.append(Message.UNIT_SEP.code);
+					a.append(stripString(p));
+				}
+			}
+		}
+		a.append(Message.RECORD_SEP.code);
+	}
+
+	/** Encode one message to a byte array.  This allows a message to be
+	 * encoded once and sent to many connections. */
+	static public byte[] encodeBytes(Message m, String name,
+		String[] params)
+	{
+		StringBuilder sb = new StringBuilder();
+		try {
+			append(sb, m, name, params);
+		}
+		catch (IOException e) {
+			// StringBuilder does not throw IOException
+			throw new IllegalStateException(e);
+		}
+		return sb.toString().getBytes(UTF8);
+	}
+
 	/** Byte buffer output stream */
 	protected final ByteBufferOutputStream out_buf;
 
@@ -65,18 +99,14 @@ public class MessageEncoder {
 	public void encode(Message m, String name, String[] params)
 		throws IOException
 	{
-		writer.write(m.code);
-		if(name != null) {
-			writer.write(Message.UNIT_SEP.code);
-			writer.write(name);
-			if(params != null) {
-				for(String p: params) {
-					writer.write(Message.UNIT_SEP.code);
-					writer.write(stripString(p));
-				}
-			}
-		}
-		writer.write(Message.RECORD_SEP.code);
+		append(writer, m, name, params);
+	}
+
+	/** Encode one message which was encoded with encodeBytes.
+	 * This may only be called on the Task Processor thread. */
+	public void encode(byte[] msg) throws IOException {
+		writer.flush();
+		out_buf.write(msg, 0, msg.length);
 	}
 
 	/** Flush the encoded data */
@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -24,10 +24,13 @@ import java.nio.channels.SocketChannel;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import javax.net.ssl.SSLException;
+import us.mn.state.dot.sched.DebugLog;
 import static us.mn.state.dot.sched.TimeSteward.currentTimeMillis;
 import us.mn.state.dot.sonar.Conduit;
 import us.mn.state.dot.sonar.Connection;
@@ -50,6 +53,17 @@ import us.mn.state.dot.tms.server.UserImpl;
  */
 public class ConnectionImpl extends Conduit implements Connection {
 
+	/** SONAR notification queue debug log */
+	static private final DebugLog DEBUG_QUEUE =
+		new DebugLog("sonar_queue");
+
+	/** Size of encoded data (bytes) above which attribute notifications
+	 * are queued instead of encoded */
+	static private final int HIGH_WATER_BYTES = 64 * 1024;
+
+	/** Maximum number of queued attribute notifications */
+	static private final int MAX_QUEUED = 100000;
+
 	/** Check if a name is watch positive. This means that the name can be
 	 * used as a positive entry in the watching set. */
 	static protected boolean isWatchPositive(Name name) {
@@ -156,6 +170,21 @@ public class ConnectionImpl extends Conduit implements Connection {
 	 * in the database. */
 	protected SonarObject phantom;
 
+	/** Queued attribute notifications (encoded), mapped by name.  When the
+	 * client is not reading fast enough, only the latest value for each
+	 * name is kept.  This may only be accessed on the Task Processor
+	 * thread. */
+	private final LinkedHashMap<String, byte[]> queued =
+		new LinkedHashMap<String, byte[]>();
+
+	/** Maximum number of queued attribute notifications (since queue
+	 * was last empty) */
+	private int max_queued = 0;
+
+	/** Count of coalesced attribute notifications (since queue was last
+	 * empty) */
+	private int n_coalesced = 0;
+
 	/** Create a new connection */
 	public ConnectionImpl(TaskProcessor p, SelectionKey k, SocketChannel c)
 		throws SSLException, IOException
@@ -223,6 +252,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	 * This may only be called on the Task Processor thread. */
 	protected void disconnect() {
 		super.disconnect();
+		queued.clear();
 		synchronized (watching) {
 			watching.clear();
 		}
@@ -290,6 +320,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	 * This may only be called on the Task Processor thread. */
 	protected void notifyObject(SonarObject o) {
 		try {
+			encodeQueued(false);
 			namespace.enumerateObject(state.encoder, o);
 			flush();
 		}
@@ -308,23 +339,27 @@ public class ConnectionImpl extends Conduit implements Connection {
 			notifyObject(o);
 	}
 
-	/** Notify the client of an attribute change.
+	/** Check if the client should be notified of an attribute change.
 	 * This may only be called on the Task Processor thread. */
-	void notifyAttribute(Name name, String[] params) {
+	boolean shouldNotify(Name name) {
 		User u = user;
-		if (u != null &&
-		    isWatching(name) &&
-		    namespace.accessLevel(name, u) >= AccessLevel.VIEW.ordinal())
-		{
-			notifyAttribute(name.toString(), params);
-		}
+		return u != null &&
+		       isWatching(name) &&
+		       namespace.accessLevel(name, u) >=
+		       AccessLevel.VIEW.ordinal();
 	}
 
 	/** Notify the client of an attribute change.
-	 * This may only be called on the Task Processor thread. */
-	private void notifyAttribute(String name, String[] params) {
+	 * This may only be called on the Task Processor thread.
+	 * @param name Attribute name.
+	 * @param msg Encoded ATTRIBUTE message. */
+	void notifyAttribute(String name, byte[] msg) {
+		if (!queued.isEmpty() || isBackedUp()) {
+			queueAttribute(name, msg);
+			return;
+		}
 		try {
-			state.encoder.encode(Message.ATTRIBUTE, name, params);
+			state.encoder.encode(msg);
 			flush();
 		}
 		catch (IOException e) {
@@ -332,6 +367,47 @@ public class ConnectionImpl extends Conduit implements Connection {
 		}
 	}
 
+	/** Check if encoded data is backed up (client not reading) */
+	private boolean isBackedUp() {
+		return state.encoder.getBuffer().position() > HIGH_WATER_BYTES;
+	}
+
+	/** Queue an attribute notification, replacing any queued value for
+	 * the same name.
+	 * This may only be called on the Task Processor thread. */
+	private void queueAttribute(String name, byte[] msg) {
+		if (queued.put(name, msg) != null)
+			n_coalesced++;
+		else if (queued.size() > MAX_QUEUED) {
+			DEBUG_QUEUE.log(getName() + " queue full");
+			disconnect("Notification queue full");
+			return;
+		}
+		max_queued = Math.max(max_queued, queued.size());
+	}
+
+	/** Encode queued attribute notifications.
+	 * This may only be called on the Task Processor thread.
+	 * @param limit If true, stop when encoded data is backed up. */
+	private void encodeQueued(boolean limit) throws IOException {
+		if (queued.isEmpty())
+			return;
+		Iterator<byte[]> it = queued.values().iterator();
+		while (it.hasNext() && !(limit && isBackedUp())) {
+			state.encoder.encode(it.next());
+			it.remove();
+		}
+		if (queued.isEmpty()) {
+			if (DEBUG_QUEUE.isOpen()) {
+				DEBUG_QUEUE.log(getName() + " drained, max: " +
+					max_queued + ", coalesced: " +
+					n_coalesced);
+			}
+			max_queued = 0;
+			n_coalesced = 0;
+		}
+	}
+
 	/** Notify the client of a name being removed.
 	 * This may only be called on the Task Processor thread. */
 	void notifyRemove(Name name) {
@@ -345,6 +421,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	 * This may only be called on the Task Processor thread. */
 	protected void notifyRemove(String name) {
 		try {
+			encodeQueued(false);
 			state.encoder.encode(Message.REMOVE, name);
 			flush();
 		}
@@ -445,6 +522,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	@Override
 	public void flush() {
 		try {
+			encodeQueued(true);
 			state.encoder.flush();
 			if (isConnected())
 				startWrite();
@@ -62,6 +62,11 @@ public final class Server {
 		processor.storeObject(o);
 	}
 
+	/** Schedule a task to run on the task processor thread */
+	public void scheduleTask(String name, Runnable r) {
+		processor.scheduleTask(name, r);
+	}
+
 	/** Remove the specified object from the server's namespace */
 	public void removeObject(SonarObject o) {
 		processor.scheduleRemoveObject(o);
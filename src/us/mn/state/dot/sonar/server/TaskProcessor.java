@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -34,6 +34,8 @@ import us.mn.state.dot.sched.Work;
 import us.mn.state.dot.sched.Worker;
 import static us.mn.state.dot.sched.TimeSteward.currentTimeMillis;
 import us.mn.state.dot.sonar.ConfigurationError;
+import us.mn.state.dot.sonar.Message;
+import us.mn.state.dot.sonar.MessageEncoder;
 import us.mn.state.dot.sonar.Name;
 import us.mn.state.dot.sonar.Namespace;
 import us.mn.state.dot.sonar.NamespaceError;
@@ -434,15 +436,27 @@ public class TaskProcessor {
 			c.notifyObject(name, o);
 	}
 
-	/** Notify all connections watching a name of an attribute change. */
+	/** Notify all connections watching a name of an attribute change.
+	 * The message is encoded once, and only if some connection is
+	 * watching. */
 	void notifyAttribute(Name name, String[] params) {
 		if (DEBUG_TASK.isOpen()) {
 			debugTask("Notify attribute", name.toString() + " (" +
 				processor.size() + ")");
 		}
 		if (namespace.isGettable(name)) {
-			for (ConnectionImpl c: getConnectionList())
-				c.notifyAttribute(name, params);
+			String n = name.toString();
+			byte[] msg = null;
+			for (ConnectionImpl c: getConnectionList()) {
+				if (c.shouldNotify(name)) {
+					if (msg == null) {
+						msg = MessageEncoder.encodeBytes(
+							Message.ATTRIBUTE, n,
+							params);
+					}
+					c.notifyAttribute(n, msg);
+				}
+			}
 		}
 	}
 
@@ -508,6 +522,17 @@ public class TaskProcessor {
 		notifyObject(o);
 	}
 
+	/** Schedule a task to run on the task processor thread.  Tasks are
+	 * performed in order, so a task scheduled while an object is being
+	 * stored will run after it has been added to the namespace. */
+	public void scheduleTask(String name, final Runnable r) {
+		processor.addWork(new TaskWork(name) {
+			protected void doPerform() {
+				r.run();
+			}
+		});
+	}
+
 	/** Remove the specified object from the server's namespace */
 	public void scheduleRemoveObject(final SonarObject o) {
 		processor.addWork(new TaskWork("Remove object") {
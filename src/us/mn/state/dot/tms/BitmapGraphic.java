@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2006-2022  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -78,6 +78,44 @@ public class BitmapGraphic extends RasterGraphic {
 			pixels[by] &= bi ^ 0xff;
 	}
 
+	/** Blit a packed glyph onto the bitmap, one row at a time */
+	@Override
+	public void blit(PackedGlyph pg, int x0, int y0, DmsColor fg) {
+		if (!fg.isLit()) {
+			super.blit(pg, x0, y0, fg);
+			return;
+		}
+		checkBlit(pg, x0, y0);
+		for (int y = 0; y < pg.height; y++) {
+			long row = pg.getRow(y);
+			if (row != 0)
+				orRow(row, x0, y0 + y);
+		}
+	}
+
+	/** OR one packed row into the bitmap.  All lit pixels must be on the
+	 * bitmap (see checkBlit). */
+	private void orRow(long row, int x, int y) {
+		if (x < 0) {
+			row <<= -x;
+			x = 0;
+		}
+		int p = y * width + x;
+		int by = p >> 3;
+		int s = p & 7;
+		long v = row >>> s;
+		for (int i = 0; i < 8; i++) {
+			byte b = (byte) (v >>> (56 - 8 * i));
+			if (b != 0)
+				pixels[by + i] |= b;
+		}
+		if (s > 0) {
+			byte b = (byte) (row << (8 - s));
+			if (b != 0)
+				pixels[by + 8] |= b;
+		}
+	}
+
 	/** Set all pixels adjacent to lit pixels (clearing lit pixels) */
 	public void outlineLitPixels() {
 		BitmapGraphic bg = createBlankCopy();
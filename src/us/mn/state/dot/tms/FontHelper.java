@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2023  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -90,6 +90,8 @@ public class FontHelper extends BaseHelper {
 
 	/** Lookup a glyph in the specified font */
 	static public Glyph lookupGlyph(Font font, int cp) {
+		if (RasterCache.isEnabled())
+			return RasterCache.glyphIndex(font).get(cp);
 		Iterator<Glyph> it = GlyphHelper.iterator();
 		while (it.hasNext()) {
 			Glyph g = it.next();
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2013-2018  Minnesota Department of Transportation
+ * Copyright (C) 2013-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,7 +15,10 @@
 package us.mn.state.dot.tms;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
 import us.mn.state.dot.tms.utils.Base64;
 
 /**
@@ -25,6 +28,10 @@ import us.mn.state.dot.tms.utils.Base64;
  */
 public class GlyphHelper extends BaseHelper {
 
+	/** Packed glyphs, decoded once for each glyph */
+	static private final Map<Glyph, PackedGlyph> PACKED =
+		Collections.synchronizedMap(new WeakHashMap<Glyph, PackedGlyph>());
+
 	/** Don't allow instances to be created */
 	private GlyphHelper() {
 		assert false;
@@ -41,6 +48,25 @@ public class GlyphHelper extends BaseHelper {
 			Glyph.SONAR_TYPE));
 	}
 
+	/** Lookup the packed glyph for a glyph.  The packed glyph is decoded
+	 * again if the glyph pixels, width or font height have changed.
+	 * @return Packed glyph, or null if invalid or too wide. */
+	static public PackedGlyph lookupPacked(Glyph g) {
+		Font f = g.getFont();
+		if (f == null)
+			return null;
+		String p = g.getPixels();
+		int w = g.getWidth();
+		int h = f.getHeight();
+		PackedGlyph pg = PACKED.get(g);
+		if (pg == null || !pg.matches(p, w, h)) {
+			pg = PackedGlyph.decode(p, w, h);
+			if (pg != null)
+				PACKED.put(g, pg);
+		}
+		return pg;
+	}
+
 	/** Create a bitmap graphic of a glyph */
 	static public BitmapGraphic createBitmap(Glyph g) {
 		try {
@@ -0,0 +1,105 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.IOException;
+import us.mn.state.dot.tms.utils.Base64;
+
+/**
+ * A packed glyph is a pre-decoded glyph bitmap, with each row packed into a
+ * long.  The leftmost pixel of a row is the most significant bit.  This
+ * allows a whole row to be tested or blitted at once.
+ *
+ * @author Douglas Lau
+ */
+public final class PackedGlyph {
+
+	/** Maximum width of a packed glyph (pixels) */
+	static public final int MAX_WIDTH = 64;
+
+	/** Decode a packed glyph from Base64 bitmap data.
+	 * @param p Base64 pixel data (as BitmapGraphic).
+	 * @param w Glyph width.
+	 * @param h Glyph height.
+	 * @return Packed glyph, or null if data is invalid or too wide. */
+	static public PackedGlyph decode(String p, int w, int h) {
+		if (p == null || w < 0 || w > MAX_WIDTH || h < 0)
+			return null;
+		try {
+			byte[] bits = Base64.decode(p);
+			if (bits.length != (w * h + 7) / 8)
+				return null;
+			long[] rows = new long[h];
+			for (int y = 0; y < h; y++) {
+				long row = 0;
+				for (int x = 0; x < w; x++) {
+					int b = y * w + x;
+					if (((bits[b >> 3] >> (7 - (b & 7))) & 1)
+					    != 0)
+						row |= Long.MIN_VALUE >>> x;
+				}
+				rows[y] = row;
+			}
+			return new PackedGlyph(p, w, rows);
+		}
+		catch (IOException e) {
+			// pixel data Base64 decode failed
+			return null;
+		}
+	}
+
+	/** Get a mask of columns from a to b (exclusive) */
+	static long columnMask(int a, int b) {
+		a = Math.max(a, 0);
+		b = Math.min(b, MAX_WIDTH);
+		return (a < b) ? (fromColumn(a) & ~fromColumn(b)) : 0;
+	}
+
+	/** Get a mask of all columns starting at c */
+	static private long fromColumn(int c) {
+		return (c < MAX_WIDTH) ? (-1L >>> c) : 0;
+	}
+
+	/** Base64 pixel data which was decoded */
+	private final String pixels;
+
+	/** Glyph width (pixels) */
+	public final int width;
+
+	/** Glyph height (pixels) */
+	public final int height;
+
+	/** Packed rows */
+	private final long[] rows;
+
+	/** Create a new packed glyph */
+	private PackedGlyph(String p, int w, long[] r) {
+		pixels = p;
+		width = w;
+		height = r.length;
+		rows = r;
+	}
+
+	/** Check if the glyph was decoded from the given data */
+	public boolean matches(String p, int w, int h) {
+		return (pixels == p || pixels.equals(p)) && width == w &&
+		       height == h;
+	}
+
+	/** Get one packed row */
+	public long getRow(int y) {
+		return rows[y];
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2022  Minnesota Department of Transportation
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -79,6 +79,28 @@ public class PixmapGraphic extends RasterGraphic {
 		return new DmsColor(red, green, blue);
 	}
 
+	/** Blit a packed glyph onto the pixmap, skipping unlit pixels a row
+	 * at a time */
+	@Override
+	public void blit(PackedGlyph pg, int x0, int y0, DmsColor fg) {
+		checkBlit(pg, x0, y0);
+		byte blue = (byte) fg.blue;
+		byte green = (byte) fg.green;
+		byte red = (byte) fg.red;
+		for (int y = 0; y < pg.height; y++) {
+			long row = pg.getRow(y);
+			int base = (y0 + y) * width + x0;
+			while (row != 0) {
+				int x = Long.numberOfLeadingZeros(row);
+				row &= ~(Long.MIN_VALUE >>> x);
+				int p = (base + x) * 3;
+				pixels[p + 0] = blue;
+				pixels[p + 1] = green;
+				pixels[p + 2] = red;
+			}
+		}
+	}
+
 	/** Set the pixel color at the specified location */
 	@Override
 	public void setPixel(int x, int y, DmsColor clr) {
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2024  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  * Copyright (C) 2009-2010  AHMCT, University of California
  *
  * This program is free software; you can redistribute it and/or modify
@@ -123,22 +123,57 @@ public class RasterBuilder {
 	public boolean isRasterizable(String ms) {
 		if (ms == null)
 			return false;
-		try {
-			return createPixmaps(new MultiString(ms)) != null;
-		}
-		catch (IndexOutOfBoundsException e) {
-			// dimensions too small for message
-			return false;
-		}
-		catch (InvalidMsgException e) {
-			// probably MultiSyntaxError or something
-			return false;
-		}
+		return (RasterCache.isEnabled())
+		      ? lookupPixmaps(ms) != null
+		      : renderPixmaps(ms) != null;
 	}
 
 	/** Create raster graphics from a multi string.
 	 * @return Array of RasterGraphic, or null on error. */
 	public RasterGraphic[] createRasters(String multi) {
+		if (multi != null && RasterCache.isEnabled())
+			return copyPixmaps(lookupPixmaps(multi));
+		else
+			return renderPixmaps(multi);
+	}
+
+	/** Get the raster cache key for a MULTI string */
+	private String cacheKey(String multi) {
+		return width + "," + height + "," + c_width + "," + c_height +
+			"," + default_font + "," + scheme + ":" + multi;
+	}
+
+	/** Lookup pixmaps for a MULTI string in the raster cache, rendering
+	 * them on a miss.  The returned rasters are shared, and must not be
+	 * modified.
+	 * @return Array of RasterGraphic, or null on error. */
+	private RasterGraphic[] lookupPixmaps(String multi) {
+		String key = cacheKey(multi);
+		RasterGraphic[][] cached = RasterCache.lookup(key);
+		if (cached != null)
+			return cached[0];
+		long gen = RasterCache.getGeneration();
+		RasterGraphic[] rasters = renderPixmaps(multi);
+		RasterCache.store(key, gen, rasters);
+		return rasters;
+	}
+
+	/** Copy an array of pixmaps */
+	private RasterGraphic[] copyPixmaps(RasterGraphic[] rasters) {
+		if (rasters == null)
+			return null;
+		RasterGraphic[] copy = new RasterGraphic[rasters.length];
+		for (int i = 0; i < rasters.length; i++) {
+			PixmapGraphic pg = new PixmapGraphic(width, height);
+			pg.setPixelData(rasters[i].getPixelData());
+			copy[i] = pg;
+		}
+		return copy;
+	}
+
+	/** Render pixmaps for a MULTI string.
+	 * @return Array of RasterGraphic, or null on error. */
+	private RasterGraphic[] renderPixmaps(String multi) {
 		try {
 			return createPixmaps(new MultiString(multi));
 		}
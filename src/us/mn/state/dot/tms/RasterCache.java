@@ -0,0 +1,211 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Raster cache holds the results of rendering MULTI strings with a
+ * RasterBuilder.  Entries are keyed by the builder configuration (sign
+ * dimensions, character size, default font and color scheme) and the MULTI
+ * string.  A MULTI string which could not be rendered is cached as invalid.
+ * An index of glyphs by code point is also cached for each font.
+ *
+ * Rendering also depends on fonts, glyphs and graphics, so the cache must be
+ * invalidated whenever any of those change.  Since only the server can do
+ * that reliably, the cache is disabled until setEnabled is called.  New
+ * objects are added to the namespace just after they are stored, so the
+ * server invalidates the cache after they have been added.
+ *
+ * @author Douglas Lau
+ */
+public final class RasterCache {
+
+	/** Maximum total size of cached pixel data (bytes) */
+	static private final long MAX_BYTES = 16 * 1024 * 1024;
+
+	/** Cached rendering result */
+	static private final class Entry {
+
+		/** Rendered rasters (null for an invalid MULTI string) */
+		private final RasterGraphic[] rasters;
+
+		/** Approximate size of entry (bytes) */
+		private final long size;
+
+		/** Create a new cache entry */
+		private Entry(RasterGraphic[] r) {
+			rasters = r;
+			long n = 64;
+			if (r != null) {
+				for (RasterGraphic rg: r)
+					n += rg.length() + 32;
+			}
+			size = n;
+		}
+	}
+
+	/** Cached entries, in access order */
+	static private final LinkedHashMap<String, Entry> entries =
+		new LinkedHashMap<String, Entry>(256, 0.75f, true);
+
+	/** Glyph index for each font */
+	static private final HashMap<Font, Map<Integer, Glyph>> glyphs =
+		new HashMap<Font, Map<Integer, Glyph>>();
+
+	/** Flag to enable the cache */
+	static private boolean enabled = false;
+
+	/** Cache generation, incremented on invalidation */
+	static private long generation = 0;
+
+	/** Total size of cached entries (bytes) */
+	static private long n_bytes = 0;
+
+	/** Count of cache hits */
+	static private long n_hits = 0;
+
+	/** Count of cache misses */
+	static private long n_misses = 0;
+
+	/** Count of invalidations */
+	static private long n_invalidated = 0;
+
+	/** Don't allow instantiation */
+	private RasterCache() { }
+
+	/** Enable or disable the cache */
+	static public synchronized void setEnabled(boolean e) {
+		enabled = e;
+		clear();
+	}
+
+	/** Check if the cache is enabled */
+	static public synchronized boolean isEnabled() {
+		return enabled;
+	}
+
+	/** Invalidate all cached entries.  This must be called whenever a
+	 * font, glyph or graphic changes. */
+	static public synchronized void invalidate() {
+		if (enabled) {
+			generation++;
+			n_invalidated++;
+			clear();
+		}
+	}
+
+	/** Task to invalidate the cache */
+	static public final Runnable INVALIDATE = new Runnable() {
+		public void run() {
+			invalidate();
+		}
+	};
+
+	/** Clear all entries */
+	static private void clear() {
+		entries.clear();
+		glyphs.clear();
+		n_bytes = 0;
+	}
+
+	/** Get the current generation */
+	static synchronized long getGeneration() {
+		return generation;
+	}
+
+	/** Lookup an entry.
+	 * @param key Cache key.
+	 * @return Array containing the cached rasters (null for an invalid
+	 *         MULTI string), or null on a cache miss. */
+	static synchronized RasterGraphic[][] lookup(String key) {
+		if (!enabled)
+			return null;
+		Entry e = entries.get(key);
+		if (e != null) {
+			n_hits++;
+			return new RasterGraphic[][] { e.rasters };
+		} else {
+			n_misses++;
+			return null;
+		}
+	}
+
+	/** Store an entry, unless the cache was invalidated since rendering
+	 * started.
+	 * @param key Cache key.
+	 * @param gen Generation when rendering started.
+	 * @param rasters Rendered rasters (null for an invalid string). */
+	static synchronized void store(String key, long gen,
+		RasterGraphic[] rasters)
+	{
+		if (!enabled || gen != generation)
+			return;
+		Entry e = new Entry(rasters);
+		Entry old = entries.put(key, e);
+		if (old != null)
+			n_bytes -= old.size;
+		n_bytes += e.size;
+		Iterator<Map.Entry<String, Entry>> it =
+			entries.entrySet().iterator();
+		while (n_bytes > MAX_BYTES && it.hasNext()) {
+			n_bytes -= it.next().getValue().size;
+			it.remove();
+		}
+	}
+
+	/** Get the glyph index for a font, building it on a miss.
+	 * @param font Font to index.
+	 * @return Mapping of code points to glyphs. */
+	static Map<Integer, Glyph> glyphIndex(Font font) {
+		long gen;
+		synchronized (RasterCache.class) {
+			Map<Integer, Glyph> idx = glyphs.get(font);
+			if (idx != null)
+				return idx;
+			gen = generation;
+		}
+		Map<Integer, Glyph> idx = FontHelper.lookupGlyphs(font);
+		synchronized (RasterCache.class) {
+			if (enabled && gen == generation)
+				glyphs.put(font, idx);
+		}
+		return idx;
+	}
+
+	/** Get the number of cached entries */
+	static public synchronized int size() {
+		return entries.size();
+	}
+
+	/** Get statistics, and reset counters.
+	 * @return Statistics string. */
+	static public synchronized String takeStats() {
+		long n = n_hits + n_misses;
+		String s = "entries: " + entries.size() +
+			", bytes: " + n_bytes +
+			", hits: " + n_hits +
+			", misses: " + n_misses +
+			", hit rate: " + ((n > 0) ? (100 * n_hits / n) : 0) +
+			"%, invalidated: " + n_invalidated;
+		n_hits = 0;
+		n_misses = 0;
+		n_invalidated = 0;
+		return s;
+	}
+}
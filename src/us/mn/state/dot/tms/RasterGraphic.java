@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2022  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -122,6 +122,44 @@ abstract public class RasterGraphic {
 		}
 	}
 
+	/** Check that all lit pixels of a packed glyph fit on the raster.
+	 * @throws IndexOutOfBoundsException if any lit pixel does not. */
+	protected void checkBlit(PackedGlyph pg, int x0, int y0) {
+		long cols = PackedGlyph.columnMask(-x0, width - x0);
+		for (int y = 0; y < pg.height; y++) {
+			long row = pg.getRow(y);
+			if (row != 0) {
+				int yy = y0 + y;
+				if (yy < 0 || yy >= height) {
+					throw new IndexOutOfBoundsException(
+						"y=" + yy + ", height=" + height);
+				}
+				if ((row & ~cols) != 0) {
+					throw new IndexOutOfBoundsException(
+						"x=" + x0 + ", width=" + width);
+				}
+			}
+		}
+	}
+
+	/** Blit a packed glyph onto the raster.  Lit glyph pixels are set to
+	 * the foreground color; other pixels are not changed.
+	 * @param pg Packed glyph.
+	 * @param x0 X-position on raster (0-based).
+	 * @param y0 Y-position on raster (0-based).
+	 * @param fg Foreground color. */
+	public void blit(PackedGlyph pg, int x0, int y0, DmsColor fg) {
+		checkBlit(pg, x0, y0);
+		for (int y = 0; y < pg.height; y++) {
+			long row = pg.getRow(y);
+			while (row != 0) {
+				int x = Long.numberOfLeadingZeros(row);
+				row &= ~(Long.MIN_VALUE >>> x);
+				setPixel(x0 + x, y0 + y, fg);
+			}
+		}
+	}
+
 	/** Copy another raster graphic onto the raster.
 	 * @param rg RasterGraphic to copy.
 	 * @param x0 X-position on raster (0-based).
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2014  AHMCT, University of California
  * Copyright (C) 2019  SRF Consulting Group
  *
@@ -16,6 +16,7 @@
  */
 package us.mn.state.dot.tms.client;
 
+import java.io.File;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.ArrayList;
@@ -232,7 +233,8 @@ public class Session {
 	/** Create the tile layer */
 	private TileLayer createTileLayer(String url) {
 		if (url != null)
-			return new TileLayer("Base map", url, 1000);
+			return new TileLayer("Base map", url, new File(
+				UserProperty.getDir(), "tiles"));
 		else
 			return null;
 	}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2019  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,6 +15,7 @@
 package us.mn.state.dot.tms.client.map;
 
 import java.awt.Graphics2D;
+import java.awt.Shape;
 import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
@@ -38,6 +39,10 @@ abstract public class LayerState {
 	/** Empty selection special case (for equality comparisons) */
 	static private final MapObject[] NO_SELECTION = new MapObject[0];
 
+	/** Margin around a region for map objects which may be drawn within
+	 * it (pixels) */
+	static private final int REGION_MARGIN = 64;
+
 	/** Map bean for rendering */
 	protected final MapBean map;
 
@@ -196,18 +201,38 @@ abstract public class LayerState {
 	/** Call the specified callback for each map object in the layer */
 	abstract public MapObject forEach(MapSearcher s);
 
+	/** Call the specified callback for each map object which may be
+	 * drawn within a region.  Layers with a spatial index can override
+	 * this to skip objects outside the region.
+	 * @param s Map searcher callback.
+	 * @param r Region in world coordinates (null for all). */
+	public MapObject forEach(MapSearcher s, Rectangle2D r) {
+		return forEach(s);
+	}
+
+	/** Get a region expanded by the margin for drawing map objects */
+	private Rectangle2D expandRegion(Rectangle2D r) {
+		double m = REGION_MARGIN * getScale();
+		return new Rectangle2D.Double(r.getX() - m, r.getY() - m,
+			r.getWidth() + 2 * m, r.getHeight() + 2 * m);
+	}
+
 	/** Paint the layer */
 	public void paint(final Graphics2D g) {
 		if (isVisible()) {
 			final AffineTransform t = g.getTransform();
 			theme.setScale(getScale());
+			Shape clip = g.getClip();
+			Rectangle2D r = (clip != null)
+			      ? expandRegion(clip.getBounds2D())
+			      : null;
 			forEach(new MapSearcher() {
 				public boolean next(MapObject mo) {
 					theme.draw(g, mo);
 					g.setTransform(t);
 					return false;
 				}
-			});
+			}, r);
 		}
 	}
 
@@ -293,11 +318,13 @@ abstract public class LayerState {
 	/** Search the layer for a map object containing the given point */
 	public MapObject search(final Point2D p) {
 		theme.setScale(getScale());
+		Rectangle2D r = expandRegion(new Rectangle2D.Double(p.getX(),
+			p.getY(), 0, 0));
 		return forEach(new MapSearcher() {
 			public boolean next(MapObject mo) {
 				return theme.hit(p, mo);
 			}
-		});
+		}, r);
 	}
 
 	/** Process a mouse click for the layer */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2016  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -126,6 +126,8 @@ public class MapPane implements LayerChangeListener {
 		Graphics2D g = bi.createGraphics();
 		g.setBackground(background);
 		g.clearRect(0, 0, bi.getWidth(), bi.getHeight());
+		// clip is used by layers to skip objects outside the map
+		g.clipRect(0, 0, bi.getWidth(), bi.getHeight());
 		g.transform(transform);
 		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
 			RenderingHints.VALUE_ANTIALIAS_ON);
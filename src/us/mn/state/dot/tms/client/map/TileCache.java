@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2016  Minnesota Department of Transportation
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,98 +15,462 @@
 package us.mn.state.dot.tms.client.map;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+import us.mn.state.dot.tms.geo.ZoomLevel;
 
 /**
- * A cache of image tiles.
+ * A cache of image tiles.  Decoded images are held in a memory tier, and
+ * encoded image files in a disk tier.  Each tier is bounded by size, evicting
+ * the least recently used tiles.  Tiles are fetched by a pool of background
+ * threads, so lookups never block.  Concurrent requests for the same tile are
+ * combined into one fetch.  Tiles neighboring the visible area can be
+ * prefetched at a lower priority.
  *
  * @author Douglas Lau
  */
 public class TileCache {
 
-	/** FIFO of tile names in cache */
-	protected final LinkedList<String> tiles = new LinkedList<String>();
+	/** Number of fetch threads */
+	static private final int FETCH_THREADS = 4;
 
-	/** Hash of tile names to image files */
-	protected final HashMap<String, TempImageFile> tile_hash =
-		new HashMap<String, TempImageFile>();
+	/** Maximum number of queued prefetch requests */
+	static private final int MAX_PREFETCH = 64;
 
-	/** Image fetcher */
-	protected final ImageFetcher fetcher;
+	/** Maximum size of an encoded tile (bytes) */
+	static private final int MAX_TILE_BYTES = 256 * 1024;
+
+	/** Maximum age of a tile in the disk tier (ms) */
+	static private final long MAX_DISK_AGE_MS = 7 * 24 * 60 * 60 * 1000L;
+
+	/** Get the name of a tile */
+	static public String tileName(ZoomLevel zoom, int tx, int ty) {
+		int gy = zoom.n_tiles - 1 - ty;
+		return "" + zoom.ordinal() + '/' + tx + '/' + gy;
+	}
+
+	/** Get the size of a decoded image (bytes) */
+	static private long imageSize(BufferedImage img) {
+		DataBuffer db = img.getRaster().getDataBuffer();
+		long bits = (long) db.getSize() * db.getNumBanks() *
+			DataBuffer.getDataTypeSize(db.getDataType());
+		return bits / 8;
+	}
+
+	/** Read an input stream.
+	 * @throws IOException if larger than the maximum tile size. */
+	static byte[] readStream(InputStream is) throws IOException {
+		try {
+			byte[] buf = new byte[4096];
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			while (true) {
+				int n_bytes = is.read(buf);
+				if (n_bytes < 0)
+					break;
+				bos.write(buf, 0, n_bytes);
+				if (bos.size() > MAX_TILE_BYTES)
+					throw new IOException("Tile too large");
+			}
+			return bos.toByteArray();
+		}
+		finally {
+			is.close();
+		}
+	}
 
-	/** Size of cache (number of tiles) */
-	protected final int size;
+	/** Decode a tile image */
+	static private BufferedImage decodeImage(byte[] data)
+		throws IOException
+	{
+		BufferedImage img = ImageIO.read(new ByteArrayInputStream(
+			data));
+		if (img != null)
+			return img;
+		else
+			throw new IOException("Invalid image");
+	}
 
-	/** Get the size of cache */
-	public int getSize() {
-		return size;
+	/** Scan a directory for tile files */
+	static private void scanDir(File d, ArrayList<File> found) {
+		File[] fs = d.listFiles();
+		if (fs != null) {
+			for (File f: fs) {
+				if (f.isDirectory())
+					scanDir(f, found);
+				else if (f.getName().endsWith(".png"))
+					found.add(f);
+			}
+		}
 	}
 
-	/** Create a new tile cache */
-	public TileCache(ImageFetcher f, int sz) {
+	/** Image fetcher */
+	private final ImageFetcher fetcher;
+
+	/** Maximum size of memory tier (bytes) */
+	private final long mem_max;
+
+	/** Memory tier of decoded images, in access order */
+	private final LinkedHashMap<String, BufferedImage> images =
+		new LinkedHashMap<String, BufferedImage>(256, 0.75f, true);
+
+	/** Total size of memory tier (bytes) */
+	private long mem_bytes = 0;
+
+	/** Disk tier directory (null for none) */
+	private final File dir;
+
+	/** Maximum size of disk tier (bytes) */
+	private final long disk_max;
+
+	/** Disk tier file sizes, in access order.  Access to this map is
+	 * synchronized, but files are read and written without the lock. */
+	private final LinkedHashMap<String, Long> files =
+		new LinkedHashMap<String, Long>(1024, 0.75f, true);
+
+	/** Total size of disk tier (bytes) */
+	private long disk_bytes = 0;
+
+	/** Pending requests (queued or being fetched), with callbacks */
+	private final HashMap<String, ArrayList<Runnable>> pending =
+		new HashMap<String, ArrayList<Runnable>>();
+
+	/** Queue of requested tiles */
+	private final LinkedList<String> requested = new LinkedList<String>();
+
+	/** Queue of tiles to prefetch */
+	private final LinkedList<String> prefetched = new LinkedList<String>();
+
+	/** Set of missing tiles */
+	private final HashSet<String> missing = new HashSet<String>();
+
+	/** Fetch threads */
+	private final Thread[] threads = new Thread[FETCH_THREADS];
+
+	/** Flag to indicate cache destroyed */
+	private boolean destroyed = false;
+
+	/** Create a new tile cache.
+	 * @param f Image fetcher.
+	 * @param mm Maximum size of memory tier (bytes).
+	 * @param d Disk tier directory (null for none).
+	 * @param dm Maximum size of disk tier (bytes). */
+	public TileCache(ImageFetcher f, long mm, File d, long dm) {
 		fetcher = f;
-		size = sz;
+		mem_max = mm;
+		dir = d;
+		disk_max = dm;
+		if (dir != null)
+			scanDisk();
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread("tile_fetch_" + i) {
+				@Override
+				public void run() {
+					runFetcher();
+				}
+			};
+			threads[i].setDaemon(true);
+			threads[i].start();
+		}
 	}
 
-	/** Purge the oldest image from the cache */
-	protected void purgeOldestImage() {
-		removeFirst();
+	/** Get a tile image from the memory tier.  If the tile is not there,
+	 * it is requested from a fetch thread.
+	 * @param n Tile name.
+	 * @param done Callback to run on the Swing thread after the tile is
+	 *             loaded (may be null).
+	 * @return Tile image, or null if not loaded. */
+	public synchronized BufferedImage getTile(String n, Runnable done) {
+		BufferedImage img = images.get(n);
+		if (img != null || destroyed || missing.contains(n))
+			return img;
+		ArrayList<Runnable> cbs = pending.get(n);
+		if (cbs == null) {
+			cbs = new ArrayList<Runnable>(1);
+			pending.put(n, cbs);
+			requested.add(n);
+			notify();
+		} else if (prefetched.remove(n))
+			requested.add(n);
+		if (done != null && !cbs.contains(done))
+			cbs.add(done);
+		return null;
 	}
 
-	/** Remove a tile from the cache */
-	protected TempImageFile removeFirst() {
-		synchronized(tile_hash) {
-			String name = tiles.removeFirst();
-			return tile_hash.remove(name);
+	/** Prefetch tiles neighboring a visible area.  Any previously queued
+	 * prefetch requests are dropped.
+	 * @param zoom Zoom level.
+	 * @param x0 Left visible tile.
+	 * @param x1 Right visible tile.
+	 * @param y0 Bottom visible tile.
+	 * @param y1 Top visible tile. */
+	public synchronized void prefetch(ZoomLevel zoom, int x0, int x1,
+		int y0, int y1)
+	{
+		for (String n: prefetched)
+			pending.remove(n);
+		prefetched.clear();
+		if (destroyed)
+			return;
+		int xa = Math.max(0, x0 - 1);
+		int xb = Math.min(zoom.n_tiles - 1, x1 + 1);
+		int ya = Math.max(0, y0 - 1);
+		int yb = Math.min(zoom.n_tiles - 1, y1 + 1);
+		for (int x = xa; x <= xb; x++) {
+			for (int y = ya; y <= yb; y++) {
+				if (prefetched.size() >= MAX_PREFETCH)
+					break;
+				String n = tileName(zoom, x, y);
+				if (!images.containsKey(n) &&
+				    !pending.containsKey(n) &&
+				    !missing.contains(n))
+				{
+					pending.put(n,
+						new ArrayList<Runnable>(0));
+					prefetched.add(n);
+				}
+			}
 		}
+		if (prefetched.size() > 0)
+			notifyAll();
 	}
 
-	/** Get the named tile from the cache */
-	public BufferedImage getTile(String n) throws IOException {
-		TempImageFile tif = getTempImageFile(n);
-		if(tif != null)
-			return tif.getImage();
-		else
-			return null;
+	/** Run a fetch thread */
+	private void runFetcher() {
+		try {
+			while (true)
+				fetchTile(waitRequest());
+		}
+		catch (InterruptedException e) {
+			// cache destroyed
+		}
+	}
+
+	/** Wait for a tile request.
+	 * @return Name of tile to fetch. */
+	private synchronized String waitRequest() throws InterruptedException {
+		while (requested.isEmpty() && prefetched.isEmpty()) {
+			if (destroyed)
+				throw new InterruptedException();
+			wait();
+		}
+		return requested.isEmpty()
+		      ? prefetched.removeFirst()
+		      : requested.removeFirst();
+	}
+
+	/** Fetch one tile and complete its request */
+	private void fetchTile(String n) {
+		BufferedImage img = null;
+		try {
+			img = loadTile(n);
+		}
+		catch (FileNotFoundException e) {
+			synchronized (this) {
+				missing.add(n);
+			}
+		}
+		catch (IOException e) {
+			System.err.print("I/O Error ");
+			System.err.print(e.getMessage());
+			System.err.println(" loading tile: " + n);
+		}
+		ArrayList<Runnable> cbs;
+		synchronized (this) {
+			cbs = pending.remove(n);
+			if (img == null || destroyed)
+				return;
+			putImage(n, img);
+		}
+		if (cbs != null) {
+			for (Runnable r: cbs)
+				SwingUtilities.invokeLater(r);
+		}
+	}
+
+	/** Load one tile from the disk tier, or fetch it remotely */
+	private BufferedImage loadTile(String n) throws IOException {
+		byte[] data = readDisk(n);
+		if (data != null) {
+			try {
+				return decodeImage(data);
+			}
+			catch (IOException e) {
+				removeDisk(n);
+			}
+		}
+		data = readStream(fetcher.fetchImage(n));
+		BufferedImage img = decodeImage(data);
+		writeDisk(n, data);
+		return img;
 	}
 
-	/** Get the named temp image file from the cache */
-	protected TempImageFile getTempImageFile(String n) {
-		synchronized(tile_hash) {
-			if(tile_hash.containsKey(n))
-				return tile_hash.get(n);
-			else
+	/** Put an image into the memory tier */
+	private void putImage(String n, BufferedImage img) {
+		BufferedImage old = images.put(n, img);
+		if (old != null)
+			mem_bytes -= imageSize(old);
+		mem_bytes += imageSize(img);
+		Iterator<BufferedImage> it = images.values().iterator();
+		while (mem_bytes > mem_max && it.hasNext()) {
+			mem_bytes -= imageSize(it.next());
+			it.remove();
+		}
+	}
+
+	/** Get the disk tier file for a tile */
+	private File tileFile(String n) {
+		return new File(dir, n + ".png");
+	}
+
+	/** Scan the disk tier for files from previous sessions */
+	private void scanDisk() {
+		ArrayList<File> found = new ArrayList<File>();
+		scanDir(dir, found);
+		File[] fs = found.toArray(new File[0]);
+		final HashMap<File, Long> mod = new HashMap<File, Long>();
+		for (File f: fs)
+			mod.put(f, f.lastModified());
+		// oldest first, to be evicted first
+		Arrays.sort(fs, new Comparator<File>() {
+			public int compare(File a, File b) {
+				return mod.get(a).compareTo(mod.get(b));
+			}
+		});
+		int len = dir.getPath().length() + 1;
+		ArrayList<String> trimmed;
+		synchronized (files) {
+			for (File f: fs) {
+				String p = f.getPath();
+				String n = p.substring(len, p.length() - 4)
+					.replace(File.separatorChar, '/');
+				files.put(n, f.length());
+				disk_bytes += f.length();
+			}
+			trimmed = trimDisk();
+		}
+		deleteFiles(trimmed);
+	}
+
+	/** Read a tile from the disk tier.
+	 * @return Encoded tile, or null if not found. */
+	private byte[] readDisk(String n) {
+		if (dir == null)
+			return null;
+		synchronized (files) {
+			if (!files.containsKey(n))
 				return null;
 		}
+		File f = tileFile(n);
+		long age = System.currentTimeMillis() - f.lastModified();
+		if (age < MAX_DISK_AGE_MS) {
+			try {
+				return Files.readAllBytes(f.toPath());
+			}
+			catch (IOException e) {
+				// fall through and remove it
+			}
+		}
+		removeDisk(n);
+		return null;
 	}
 
-	/** Lookup a tile and put it in the cache */
-	public void lookupTile(String n) throws IOException {
-		while(isFull())
-			purgeOldestImage();
-		TempImageFile tif = new TempImageFile(fetcher.fetchImage(n));
-		// Update the FIFO and hash map last so that exceptions cannot
-		// leave us in an inconsistent state
-		synchronized(tile_hash) {
-			tiles.addLast(n);
-			tile_hash.put(n, tif);
+	/** Write a tile to the disk tier */
+	private void writeDisk(String n, byte[] data) {
+		if (dir == null)
+			return;
+		File f = tileFile(n);
+		File tmp = new File(f.getPath() + ".tmp");
+		try {
+			f.getParentFile().mkdirs();
+			FileOutputStream fos = new FileOutputStream(tmp);
+			try {
+				fos.write(data);
+			}
+			finally {
+				fos.close();
+			}
+			if (!tmp.renameTo(f))
+				throw new IOException("Rename failed");
 		}
+		catch (IOException e) {
+			System.err.print("I/O Error ");
+			System.err.print(e.getMessage());
+			System.err.println(" writing tile: " + n);
+			tmp.delete();
+			return;
+		}
+		ArrayList<String> trimmed;
+		synchronized (files) {
+			Long old = files.put(n, (long) data.length);
+			if (old != null)
+				disk_bytes -= old;
+			disk_bytes += data.length;
+			trimmed = trimDisk();
+		}
+		deleteFiles(trimmed);
 	}
 
-	/** Check if the cache is full */
-	protected boolean isFull() {
-		synchronized(tile_hash) {
-			return tile_hash.size() >= size;
+	/** Remove a tile from the disk tier */
+	private void removeDisk(String n) {
+		synchronized (files) {
+			Long old = files.remove(n);
+			if (old != null)
+				disk_bytes -= old;
 		}
+		tileFile(n).delete();
+	}
+
+	/** Trim the disk tier index to its maximum size.
+	 * @return Names of tiles to delete. */
+	private ArrayList<String> trimDisk() {
+		ArrayList<String> trimmed = new ArrayList<String>();
+		Iterator<Map.Entry<String, Long>> it =
+			files.entrySet().iterator();
+		while (disk_bytes > disk_max && it.hasNext()) {
+			Map.Entry<String, Long> me = it.next();
+			disk_bytes -= me.getValue();
+			trimmed.add(me.getKey());
+			it.remove();
+		}
+		return trimmed;
+	}
+
+	/** Delete disk tier files */
+	private void deleteFiles(ArrayList<String> trimmed) {
+		for (String n: trimmed)
+			tileFile(n).delete();
 	}
 
 	/** Destroy the tile cache */
-	public void destroy() throws IOException {
-		synchronized(tile_hash) {
-			tiles.clear();
-			tile_hash.clear();
+	public void destroy() {
+		synchronized (this) {
+			destroyed = true;
+			requested.clear();
+			prefetched.clear();
+			pending.clear();
+			images.clear();
+			mem_bytes = 0;
+			notifyAll();
 		}
+		for (Thread t: threads)
+			t.interrupt();
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2016  Minnesota Department of Transportation
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,6 +14,7 @@
  */
 package us.mn.state.dot.tms.client.map;
 
+import java.io.File;
 import java.io.IOException;
 
 /**
@@ -23,26 +24,38 @@ import java.io.IOException;
  */
 public class TileLayer extends Layer {
 
+	/** Maximum size of decoded tiles in memory (bytes) */
+	static private final long MEM_BYTES = 64 * 1024 * 1024;
+
+	/** Maximum size of tile files on disk (bytes) */
+	static private final long DISK_BYTES = 256 * 1024 * 1024;
+
 	/** URL where tiles are hosted */
 	private final String url;
 
-	/** Number of tiles to cache */
-	private final int n_cached;
+	/** Directory to cache tile files (null for none) */
+	private final File dir;
 
 	/** Tile cache */
 	private TileCache cache;
 
-	/** Create a new tile layer */
-	public TileLayer(String n, String url, int n_cached) {
+	/** Create a new tile layer.
+	 * @param n Layer name.
+	 * @param url URL where tiles are hosted.
+	 * @param d Directory to cache tile files (null for none). */
+	public TileLayer(String n, String url, File d) {
 		super(n);
 		this.url = url;
-		this.n_cached = n_cached;
+		// separate directory for each tile URL
+		dir = (d != null)
+		    ? new File(d, Integer.toHexString(url.hashCode()))
+		    : null;
 	}
 
 	/** Initialize the tile layer */
 	public void initialize() throws IOException {
 		ImageFetcher f = new ImageFetcher(url);
-		cache = new TileCache(f, n_cached);
+		cache = new TileCache(f, MEM_BYTES, dir, DISK_BYTES);
 	}
 
 	/** Create a new layer state */
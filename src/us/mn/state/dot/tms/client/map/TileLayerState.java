@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2021  Minnesota Department of Transportation
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,10 +17,6 @@ package us.mn.state.dot.tms.client.map;
 import java.awt.Dimension;
 import java.awt.Image;
 import java.awt.geom.Point2D;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.util.HashSet;
-import javax.swing.SwingWorker;
 import us.mn.state.dot.tms.geo.ZoomLevel;
 
 /**
@@ -33,8 +29,12 @@ public class TileLayerState extends LayerState {
 	/** Cache of tiles */
 	private final TileCache cache;
 
-	/** Set of missing tiles */
-	private final HashSet<String> no_tile = new HashSet<String>();
+	/** Callback to redraw the layer after a tile is loaded */
+	private final Runnable loaded = new Runnable() {
+		public void run() {
+			fireLayerChanged(LayerChange.geometry);
+		}
+	};
 
 	/** Create a new tile layer state */
 	public TileLayerState(TileLayer layer, MapBean mb, TileCache c) {
@@ -64,16 +64,13 @@ public class TileLayerState extends LayerState {
 			int xp = (x - x0) * 256 - ox;
 			for (int y = y0; y <= y1; y++) {
 				int yp = (y1 - y) * 256 + oy;
-				String tile = getTileName(zoom, x, y);
-				Image img = getTile(tile);
+				String tile = TileCache.tileName(zoom, x, y);
+				Image img = cache.getTile(tile, loaded);
 				if (img != null)
 					s.next(new TileMapObject(img, xp, yp));
-				else {
-					if (!isTileMissing(tile))
-						createTileWorker(tile);
-				}
 			}
 		}
+		cache.prefetch(zoom, x0, x1, y0, y1);
 		return null;
 	}
 
@@ -81,75 +78,4 @@ public class TileLayerState extends LayerState {
 	private int zoomLimit(ZoomLevel zoom, int xory) {
 		return Math.max(0, Math.min(zoom.n_tiles - 1, xory));
 	}
-
-	/** Get a tile name */
-	private String getTileName(ZoomLevel zoom, int tx, int ty) {
-		int gy = zoom.n_tiles - 1 - ty;
-		return "" + zoom.ordinal() + '/' + tx + '/' + gy;
-	}
-
-	/** Is the given tile missing? */
-	private boolean isTileMissing(String tile) {
-		synchronized (no_tile) {
-			return no_tile.contains(tile);
-		}
-	}
-
-	/** Get a tile from the tile cache */
-	private Image getTile(String tile) {
-		try {
-			return cache.getTile(tile);
-		}
-		catch (IOException e) {
-			System.err.print("I/O Error ");
-			System.err.print(e.getMessage());
-			System.err.println(" reading tile: " + tile);
-			return null;
-		}
-	}
-
-	/** Create a worker to lookup one tile */
-	private void createTileWorker(final String tile) {
-		// FIXME: if tile lookup hangs, this ends up stalling all the
-		//        swing threads (10 by default, I think)
-		SwingWorker worker = new SwingWorker<String, Void>() {
-			@Override
-			public String doInBackground() {
-				return lookupTile(tile);
-			}
-			@Override
-			public void done() {
-				try {
-					String tile = get();
-					if (tile != null) {
-						fireLayerChanged(
-							LayerChange.geometry);
-					}
-				}
-				catch (Exception e) {
-					// ignore
-				}
-			}
-		};
-		worker.execute();
-	}
-
-	/** Lookup one tile */
-	private String lookupTile(String tile) {
-		try {
-			cache.lookupTile(tile);
-			return tile;
-		}
-		catch (FileNotFoundException e) {
-			synchronized (no_tile) {
-				no_tile.add(tile);
-			}
-		}
-		catch (IOException e) {
-			System.err.print("I/O Error ");
-			System.err.print(e.getMessage());
-			System.err.println(" loading tile: " + tile);
-		}
-		return null;
-	}
 }
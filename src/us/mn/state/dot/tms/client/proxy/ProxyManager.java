@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2019  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  * Copyright (C) 2010  AHMCT, University of California
  *
  * This program is free software; you can redistribute it and/or modify
@@ -18,6 +18,7 @@ package us.mn.state.dot.tms.client.proxy;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
 import java.util.Collection;
 import javax.swing.Icon;
 import javax.swing.JLabel;
@@ -42,6 +43,7 @@ import us.mn.state.dot.tms.client.widget.IAction;
 import us.mn.state.dot.tms.client.widget.Invokable;
 import static us.mn.state.dot.tms.client.widget.SwingRunner.runQueued;
 import us.mn.state.dot.tms.geo.MapVector;
+import us.mn.state.dot.tms.geo.QuadTree;
 
 /**
  * A proxy manager is a container for SONAR proxy objects. It places each
@@ -497,6 +499,24 @@ abstract public class ProxyManager<T extends SonarObject> {
 		return null;
 	}
 
+	/** Iterate through proxy objects which may be within a region.
+	 * @param s Map searcher callback.
+	 * @param r Region in world coordinates (null for all). */
+	public MapObject forEach(final MapSearcher s, Rectangle2D r) {
+		if (r == null)
+			return forEach(s);
+		return map_cache.search(r, new QuadTree.Searcher<MapGeoLoc>() {
+			public boolean next(MapGeoLoc loc) {
+				return isVisible(loc) && s.next(loc);
+			}
+		});
+	}
+
+	/** Update the position of a map object in the spatial index */
+	void updatePosition(MapGeoLoc loc) {
+		map_cache.move(loc);
+	}
+
 	/** Check if a MapGeoLoc is visible */
 	private boolean isVisible(MapGeoLoc loc) {
 		return isLocationSet(loc) && isStyleVisible(loc);
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2019  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,14 +14,20 @@
  */
 package us.mn.state.dot.tms.client.proxy;
 
+import java.awt.geom.Rectangle2D;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.tms.GeoLocHelper;
+import us.mn.state.dot.tms.geo.QuadTree;
+import us.mn.state.dot.tms.geo.SphericalMercatorPosition;
 
 /**
  * A cache mapping from MapGeoLoc to proxy objects.  This cache
- * is an optimization to help ProxyManager.findProxy run fast.
+ * is an optimization to help ProxyManager.findProxy run fast.  It also
+ * maintains a spatial index of the MapGeoLoc positions, so that only
+ * objects within a region need to be searched.
  *
  * @author Douglas Lau
  */
@@ -33,9 +39,14 @@ public final class ProxyMapCache<T extends SonarObject>
 	private final HashMap<MapGeoLoc, T> map_proxies =
 		new HashMap<MapGeoLoc, T>();
 
+	/** Spatial index of MapGeoLoc positions */
+	private final QuadTree<MapGeoLoc> index =
+		QuadTree.createSphericalMercator();
+
 	/** Dispose of the proxy map cache */
 	public synchronized void dispose() {
 		map_proxies.clear();
+		index.clear();
 	}
 
 	/** Put an entry into cache.
@@ -43,6 +54,24 @@ public final class ProxyMapCache<T extends SonarObject>
 	 * @param proxy Proxy to associate with map object. */
 	public synchronized void put(MapGeoLoc loc, T proxy) {
 		map_proxies.put(loc, proxy);
+		updateIndex(loc);
+	}
+
+	/** Update the position of a map object in the spatial index */
+	private void updateIndex(MapGeoLoc loc) {
+		SphericalMercatorPosition pos = GeoLocHelper.getPosition(
+			loc.getGeoLoc());
+		if (pos != null)
+			index.put(loc, pos.getX(), pos.getY());
+		else
+			index.remove(loc);
+	}
+
+	/** Update the position of a cached map object.
+	 * @param loc Map object which may have moved. */
+	public synchronized void move(MapGeoLoc loc) {
+		if (map_proxies.containsKey(loc))
+			updateIndex(loc);
 	}
 
 	/** Remove an entry from cache.
@@ -53,6 +82,7 @@ public final class ProxyMapCache<T extends SonarObject>
 		while (it.hasNext()) {
 			Map.Entry<MapGeoLoc, T> ent = it.next();
 			if (ent.getValue() == proxy) {
+				index.remove(ent.getKey());
 				it.remove();
 				break;
 			}
@@ -66,6 +96,19 @@ public final class ProxyMapCache<T extends SonarObject>
 		return map_proxies.get(loc);
 	}
 
+	/** Search for map objects within a region.  Objects without a
+	 * position are not included.
+	 * @param r Region to search (world coordinates).
+	 * @param s Searcher to call for each map object.
+	 * @return First map object for which the searcher returned true, or
+	 *         null. */
+	public synchronized MapGeoLoc search(Rectangle2D r,
+		QuadTree.Searcher<MapGeoLoc> s)
+	{
+		return index.search(r.getMinX(), r.getMinY(), r.getMaxX(),
+			r.getMaxY(), s);
+	}
+
 	/** Get an iterator over the MapGeoLoc keys */
 	public Iterator<MapGeoLoc> iterator() {
 		return map_proxies.keySet().iterator();
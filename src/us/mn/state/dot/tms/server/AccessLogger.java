@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2012-2024  Minnesota Department of Transportation
+ * Copyright (C) 2012-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,10 +14,7 @@
  */
 package us.mn.state.dot.tms.server;
 
-import us.mn.state.dot.sched.Job;
-import us.mn.state.dot.sched.Scheduler;
 import us.mn.state.dot.tms.EventType;
-import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.server.event.ClientEvent;
 
 /**
@@ -27,14 +24,6 @@ import us.mn.state.dot.tms.server.event.ClientEvent;
  */
 public class AccessLogger {
 
-	/** FLUSH Scheduler for I/O jobs */
-	private final Scheduler flush;
-
-	/** Create a new access logger */
-	public AccessLogger(Scheduler f) {
-		flush = f;
-	}
-
 	/** Log a connect event */
 	public void connect(String hostport) {
 		log_event(EventType.CLIENT_CONNECT, hostport, null);
@@ -77,11 +66,6 @@ public class AccessLogger {
 
 	/** Log an event */
 	private void log_event(EventType event, String hostport, String user) {
-		final ClientEvent ev = new ClientEvent(event, hostport, user);
-		flush.addJob(new Job() {
-			public void perform() throws TMSException {
-				ev.doStore();
-			}
-		});
+		new ClientEvent(event, hostport, user).queueStore();
 	}
 }
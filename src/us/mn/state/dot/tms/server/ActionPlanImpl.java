@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  * Copyright (C) 2018  Iteris Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -61,6 +61,13 @@ import us.mn.state.dot.tms.utils.UniqueNameCreator;
  */
 public class ActionPlanImpl extends BaseObjectImpl implements ActionPlan {
 
+	/** Delay before retrying a failed phase update (ms) */
+	static private final long RETRY_MS = 5 * 1000;
+
+	/** Minimum time in a phase before it is updated automatically (ms).
+	 * This prevents phases with zero hold time from cycling rapidly. */
+	static private final long MIN_PHASE_MS = 5 * 1000;
+
 	/** Allow list of CIDR blocks */
 	static private final List<CidrBlock> ALLOWLIST =
 		new ArrayList<CidrBlock>();
@@ -92,6 +99,18 @@ public class ActionPlanImpl extends BaseObjectImpl implements ActionPlan {
 		return unc.createUniqueName();
 	}
 
+	/** Schedule phase updates for all plans in a phase.  This must be
+	 * called when the hold time or next phase is changed.
+	 * @param p Plan phase which was changed. */
+	static public void schedulePhaseUpdates(PlanPhase p) {
+		Iterator<ActionPlan> it = ActionPlanHelper.iterator();
+		while (it.hasNext()) {
+			ActionPlan ap = it.next();
+			if (ap instanceof ActionPlanImpl && ap.getPhase() == p)
+				((ActionPlanImpl) ap).schedulePhaseUpdate();
+		}
+	}
+
 	/** Load all the action plans */
 	static protected void loadAll() throws TMSException {
 		store.query("SELECT name, notes, sync_actions, sticky, " +
@@ -151,6 +170,7 @@ public class ActionPlanImpl extends BaseObjectImpl implements ActionPlan {
 		active = a;
 		default_phase = lookupPlanPhase(dp);
 		phase = lookupPlanPhase(p);
+		schedulePhaseUpdate();
 	}
 
 	/** Test whether gate arm system should be disabled.
@@ -264,6 +284,7 @@ public class ActionPlanImpl extends BaseObjectImpl implements ActionPlan {
 	public void setActive(boolean a) {
 		testGateArmDisable(name, "set active");
 		active = a;
+		schedulePhaseUpdate();
 		EventType et = (a ? EventType.ACTION_PLAN_ACTIVATED :
 			EventType.ACTION_PLAN_DEACTIVATED);
 		String un = getProcUser();
@@ -347,6 +368,7 @@ public class ActionPlanImpl extends BaseObjectImpl implements ActionPlan {
 	public void setPhase(PlanPhase p) {
 		phase = p;
 		phase_time = TimeSteward.currentTimeMillis();
+		schedulePhaseUpdate();
 		if (active)
 			TIMER.addJob(new DeviceActionJob(this));
 	}
@@ -565,14 +587,72 @@ public class ActionPlanImpl extends BaseObjectImpl implements ActionPlan {
 		return true;
 	}
 
+	/** Destroy an action plan */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		schedulePhaseJob(-1);
+	}
+
+	/** Job to update the phase when its hold time expires */
+	private transient ActionPlanPhaseJob phase_job;
+
+	/** Schedule a job to update the phase when its hold time expires */
+	private void schedulePhaseUpdate() {
+		schedulePhaseJob(phaseDelay());
+	}
+
+	/** Get the delay until the phase hold time expires.
+	 * @return Delay (ms), or -1 if the phase will not be updated. */
+	private long phaseDelay() {
+		PlanPhase p = phase;
+		if (p != null && active) {
+			Integer ht = p.getHoldTime();
+			PlanPhase np = p.getNextPhase();
+			if (ht != null && np != null && np != p) {
+				long t = phase_time + Math.max(ht * 1000L,
+					MIN_PHASE_MS);
+				return Math.max(0, t -
+					TimeSteward.currentTimeMillis());
+			}
+		}
+		return -1;
+	}
+
+	/** Schedule a job to update the phase, replacing any previous job.
+	 * @param ms Delay (ms), or -1 to cancel the job. */
+	private synchronized void schedulePhaseJob(long ms) {
+		TIMER.removeJob(phase_job);
+		if (ms >= 0) {
+			phase_job = new ActionPlanPhaseJob(this, ms);
+			TIMER.addJob(phase_job);
+		} else
+			phase_job = null;
+	}
+
+	/** Perform a phase update job */
+	public void performPhaseJob(ActionPlanPhaseJob job) {
+		synchronized (this) {
+			// Ignore jobs which have been replaced
+			if (job != phase_job)
+				return;
+			phase_job = null;
+		}
+		updatePhase();
+	}
+
 	/** Update the plan phase */
-	public void updatePhase() {
+	private void updatePhase() {
 		PlanPhase p = getPhase();
 		if (p != null && getActive()) {
 			Integer ht = p.getHoldTime();
 			PlanPhase np = p.getNextPhase();
-			if (ht != null && np != null && phaseSecs() >= ht)
-				setPhaseNotify(np, null);
+			if (ht != null && np != null && np != p) {
+				if (phaseSecs() < ht)
+					schedulePhaseUpdate();
+				else if (!setPhaseNotify(np, null))
+					schedulePhaseJob(RETRY_MS);
+			}
 		}
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,39 +14,30 @@
  */
 package us.mn.state.dot.tms.server;
 
-import java.util.Calendar;
-import java.util.Iterator;
 import us.mn.state.dot.sched.Job;
-import us.mn.state.dot.tms.ActionPlan;
-import us.mn.state.dot.tms.ActionPlanHelper;
 
 /**
- * Job to automatically update action plan phases
+ * Job to update the phase of an action plan when the hold time of its
+ * current phase expires.
  *
  * @author Douglas Lau
  */
 public class ActionPlanPhaseJob extends Job {
 
-	/** Create a new action plan phase update job */
-	public ActionPlanPhaseJob() {
-		super(Calendar.SECOND, 5);
+	/** Action plan to update */
+	private final ActionPlanImpl plan;
+
+	/** Create a new action plan phase update job.
+	 * @param ap Action plan to update.
+	 * @param ms Delay before updating phase (milliseconds). */
+	public ActionPlanPhaseJob(ActionPlanImpl ap, long ms) {
+		super((int) Math.min(ms, Integer.MAX_VALUE));
+		plan = ap;
 	}
 
 	/** Perform the action plan job */
 	@Override
 	public void perform() {
-		updateActionPlanPhases();
-	}
-
-	/** Update the action plan phases */
-	private void updateActionPlanPhases() {
-		Iterator<ActionPlan> it = ActionPlanHelper.iterator();
-		while (it.hasNext()) {
-			ActionPlan ap = it.next();
-			if (ap instanceof ActionPlanImpl) {
-				ActionPlanImpl api = (ActionPlanImpl) ap;
-				api.updatePhase();
-			}
-		}
+		plan.performPhaseJob(this);
 	}
 }
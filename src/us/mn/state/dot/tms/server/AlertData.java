@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2021-2025  Minnesota Department of Transportation
+ * Copyright (C) 2021-2026  Minnesota Department of Transportation
  * Copyright (C) 2020  SRF Consulting Group, Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -30,7 +30,9 @@ import java.util.TreeSet;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.postgis.LinearRing;
 import org.postgis.MultiPolygon;
+import org.postgis.Point;
 import org.postgis.Polygon;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.tms.AlertConfig;
@@ -49,7 +51,6 @@ import us.mn.state.dot.tms.CapSeverity;
 import us.mn.state.dot.tms.CapUrgency;
 import us.mn.state.dot.tms.DMS;
 import us.mn.state.dot.tms.DMSHelper;
-import us.mn.state.dot.tms.GeoLoc;
 import us.mn.state.dot.tms.Hashtags;
 import us.mn.state.dot.tms.MsgPattern;
 import us.mn.state.dot.tms.PlanPhase;
@@ -309,14 +310,26 @@ public class AlertData {
 			new PolygonFactory(polys));
 	}
 
-	/** Build query to find DMS within a MultiPolygon */
-	static private String buildDMSQuery(MultiPolygon mp, int th) {
-		return "SELECT d.name " +
-			"FROM iris." + DMS.SONAR_TYPE + " d " +
-			"JOIN iris." + GeoLoc.SONAR_TYPE + " g " +
-			"ON d.geo_loc=g.name " +
-			"WHERE ST_DWithin('" + mp + "'," +
-				"ST_Point(g.lon,g.lat)::geography," + th + ")";
+	/** Get the rings of a MultiPolygon as longitude / latitude arrays,
+	 * as used by GeoLocIndex */
+	static private double[][][] polygonRings(MultiPolygon mp) {
+		Polygon[] pgs = mp.getPolygons();
+		double[][][] polys = new double[pgs.length][][];
+		for (int i = 0; i < pgs.length; i++) {
+			Polygon pg = pgs[i];
+			polys[i] = new double[pg.numRings()][];
+			for (int r = 0; r < pg.numRings(); r++) {
+				LinearRing ring = pg.getRing(r);
+				double[] ll = new double[ring.numPoints() * 2];
+				for (int p = 0; p < ring.numPoints(); p++) {
+					Point pt = ring.getPoint(p);
+					ll[p * 2] = pt.x;
+					ll[p * 2 + 1] = pt.y;
+				}
+				polys[i][r] = ll;
+			}
+		}
+		return polys;
 	}
 
 	/** Format a UGC code containing an NWS forecast zone ID.
@@ -515,7 +528,7 @@ public class AlertData {
 	}
 
 	/** Find signs within the alert area */
-	private boolean findSigns() throws TMSException {
+	private boolean findSigns() {
 		log("searching for DMS");
 		findSigns(all_dms, optionalDmsMeters());
 		if (all_dms.size() > 0) {
@@ -530,23 +543,19 @@ public class AlertData {
 	}
 
 	/** Find all signs within given alert area threshold */
-	private void findSigns(TreeSet<DMS> signs, int th) throws TMSException {
-		BaseObjectImpl.store.query(buildDMSQuery(geo_poly, th),
-			new ResultFactory()
-		{
-			@Override public void create(ResultSet row) {
-				try {
-					String nm = row.getString(1);
-					log("found DMS, " + nm);
-					DMS d = DMSHelper.lookup(nm);
-					if (d != null)
-						signs.add(d);
-				}
-				catch (SQLException e) {
-					log("finding DMS, " + e.getMessage());
-				}
+	private void findSigns(TreeSet<DMS> signs, int th) {
+		if (geo_poly == null)
+			return;
+		List<GeoLocImpl> locs = GeoLocIndex.findNear(DMS.SONAR_TYPE,
+			polygonRings(geo_poly), th);
+		for (GeoLocImpl loc: locs) {
+			String nm = loc.getName();
+			DMS d = DMSHelper.lookup(nm);
+			if (d != null && d.getGeoLoc() == loc) {
+				log("found DMS, " + nm);
+				signs.add(d);
 			}
-		});
+		}
 	}
 
 	/** Create alert info for one configuration */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2025  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -20,7 +20,6 @@ import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.Arrays;
 import java.util.Date;
-import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sonar.Name;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.sonar.SonarObject;
@@ -28,7 +27,6 @@ import us.mn.state.dot.sonar.server.Server;
 import us.mn.state.dot.sonar.server.ServerNamespace;
 import us.mn.state.dot.tms.BaseHelper;
 import us.mn.state.dot.tms.TMSException;
-import static us.mn.state.dot.tms.server.MainServer.FLUSH;
 import us.mn.state.dot.tms.server.event.BaseEvent;
 
 /**
@@ -47,79 +45,111 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 	/** Corridor manager */
 	static public final CorridorManager corridors = new CorridorManager();
 
-	/** Load all objects from the database into the SONAR Namespace */
+	/** Load all objects from the database into the SONAR Namespace.
+	 * Table queries run concurrently, but objects are created in the
+	 * order listed, so that references can be resolved. */
 	static void loadAll(SQLConnection s, ServerNamespace ns)
 		throws TMSException
 	{
 		store = s;
 		namespace = ns;
-		DomainImpl.loadAll();
-		RoleImpl.loadAll();
-		PermissionImpl.loadAll();
-		UserImpl.loadAll();
-		SystemAttributeImpl.loadAll();
-		EventConfigImpl.loadAll();
-		GraphicImpl.loadAll();
-		FontImpl.loadAll();
-		GlyphImpl.loadAll();
-		RoadImpl.loadAll();
-		RoadAffixImpl.loadAll();
-		GeoLocImpl.loadAll();
-		MapExtentImpl.loadAll();
-		IncidentDetailImpl.loadAll();
-		CommConfigImpl.loadAll();
-		CommLinkImpl.loadAll();
-		ModemImpl.loadAll();
-		CabinetStyleImpl.loadAll();
-		ControllerImpl.loadAll();
-		SignConfigImpl.loadAll();
-		SignDetailImpl.loadAll();
-		DayPlanImpl.loadAll();
-		DayMatcherImpl.loadAll();
-		PlanPhaseImpl.loadAll();
-		ActionPlanImpl.loadAll();
-		R_NodeImpl.loadAll();
+		StartupLoader loader = new StartupLoader(
+			s.getMaxConnections());
+		loader.addTable(DomainImpl.class, DomainImpl::loadAll);
+		loader.addTable(RoleImpl.class, RoleImpl::loadAll);
+		loader.addTable(PermissionImpl.class, PermissionImpl::loadAll);
+		loader.addTable(UserImpl.class, UserImpl::loadAll);
+		loader.addTable(SystemAttributeImpl.class,
+			SystemAttributeImpl::loadAll);
+		loader.addTable(EventConfigImpl.class,
+			EventConfigImpl::loadAll);
+		loader.addTable(GraphicImpl.class, GraphicImpl::loadAll);
+		loader.addTable(FontImpl.class, FontImpl::loadAll);
+		loader.addTable(GlyphImpl.class, GlyphImpl::loadAll);
+		loader.addTable(RoadImpl.class, RoadImpl::loadAll);
+		loader.addTable(RoadAffixImpl.class, RoadAffixImpl::loadAll);
+		loader.addTable(GeoLocImpl.class, GeoLocImpl::loadAll);
+		loader.addTable(MapExtentImpl.class, MapExtentImpl::loadAll);
+		loader.addTable(IncidentDetailImpl.class,
+			IncidentDetailImpl::loadAll);
+		loader.addTable(CommConfigImpl.class, CommConfigImpl::loadAll);
+		loader.addTable(CommLinkImpl.class, CommLinkImpl::loadAll);
+		loader.addTable(ModemImpl.class, ModemImpl::loadAll);
+		loader.addTable(CabinetStyleImpl.class,
+			CabinetStyleImpl::loadAll);
+		loader.addTable(ControllerImpl.class, ControllerImpl::loadAll);
+		loader.addTable(SignConfigImpl.class, SignConfigImpl::loadAll);
+		loader.addTable(SignDetailImpl.class, SignDetailImpl::loadAll);
+		loader.addTable(DayPlanImpl.class, DayPlanImpl::loadAll);
+		loader.addTable(DayMatcherImpl.class, DayMatcherImpl::loadAll);
+		loader.addTable(PlanPhaseImpl.class, PlanPhaseImpl::loadAll);
+		loader.addTable(ActionPlanImpl.class, ActionPlanImpl::loadAll);
+		loader.addTable(R_NodeImpl.class, R_NodeImpl::loadAll);
 		/* NOTE: must happen after r_nodes are loaded */
-		corridors.createCorridors();
-		AlarmImpl.loadAll();
-		GpsImpl.loadAll();
-		CameraTemplateImpl.loadAll();
-		VidSourceTemplateImpl.loadAll();
-		CameraVidSourceOrderImpl.loadAll();
-		DetectorImpl.loadAll();
-		TollZoneImpl.loadAll();
-		EncoderTypeImpl.loadAll();
-		EncoderStreamImpl.loadAll();
-		CameraImpl.loadAll();
-		CameraPresetImpl.loadAll();
-		PlayListImpl.loadAll();
-		MonitorStyleImpl.loadAll();
-		VideoMonitorImpl.loadAll();
-		FlowStreamImpl.loadAll();
-		BeaconImpl.loadAll();
-		WeatherSensorImpl.loadAll();
-		RampMeterImpl.loadAll();
-		SignMessageImpl.loadAll();
-		DMSImpl.loadAll();
-		MsgPatternImpl.loadAll();
-		MsgLineImpl.loadAll();
-		GateArmImpl.loadAll();
-		TagReaderImpl.loadAll();
-		LcsImpl.loadAll();
-		LcsStateImpl.loadAll();
-		ParkingAreaImpl.loadAll();
-		IncidentImpl.loadAll();
-		IncDescriptorImpl.loadAll();
-		IncLocatorImpl.loadAll();
-		IncAdviceImpl.loadAll();
-		TimeActionImpl.loadAll();
-		DeviceActionImpl.loadAll();
-		WordImpl.loadAll();
-		DMSImpl.updateAllStyles();
-		RptConduitImpl.loadAll();
-		AlertConfigImpl.loadAll();
-		AlertMessageImpl.loadAll();
-		AlertInfoImpl.loadAll();
+		loader.addStep("corridors", new StartupLoader.Step() {
+			public void load() {
+				corridors.createCorridors();
+			}
+		});
+		loader.addTable(AlarmImpl.class, AlarmImpl::loadAll);
+		loader.addTable(GpsImpl.class, GpsImpl::loadAll);
+		loader.addTable(CameraTemplateImpl.class,
+			CameraTemplateImpl::loadAll);
+		loader.addTable(VidSourceTemplateImpl.class,
+			VidSourceTemplateImpl::loadAll);
+		loader.addTable(CameraVidSourceOrderImpl.class,
+			CameraVidSourceOrderImpl::loadAll);
+		loader.addTable(DetectorImpl.class, DetectorImpl::loadAll);
+		loader.addTable(TollZoneImpl.class, TollZoneImpl::loadAll);
+		loader.addTable(EncoderTypeImpl.class,
+			EncoderTypeImpl::loadAll);
+		loader.addTable(EncoderStreamImpl.class,
+			EncoderStreamImpl::loadAll);
+		loader.addTable(CameraImpl.class, CameraImpl::loadAll);
+		loader.addTable(CameraPresetImpl.class,
+			CameraPresetImpl::loadAll);
+		loader.addTable(PlayListImpl.class, PlayListImpl::loadAll);
+		loader.addTable(MonitorStyleImpl.class,
+			MonitorStyleImpl::loadAll);
+		loader.addTable(VideoMonitorImpl.class,
+			VideoMonitorImpl::loadAll);
+		loader.addTable(FlowStreamImpl.class, FlowStreamImpl::loadAll);
+		loader.addTable(BeaconImpl.class, BeaconImpl::loadAll);
+		loader.addTable(WeatherSensorImpl.class,
+			WeatherSensorImpl::loadAll);
+		loader.addTable(RampMeterImpl.class, RampMeterImpl::loadAll);
+		loader.addTable(SignMessageImpl.class,
+			SignMessageImpl::loadAll);
+		loader.addTable(DMSImpl.class, DMSImpl::loadAll);
+		loader.addTable(MsgPatternImpl.class, MsgPatternImpl::loadAll);
+		loader.addTable(MsgLineImpl.class, MsgLineImpl::loadAll);
+		loader.addTable(GateArmImpl.class, GateArmImpl::loadAll);
+		loader.addTable(TagReaderImpl.class, TagReaderImpl::loadAll);
+		loader.addTable(LcsImpl.class, LcsImpl::loadAll);
+		loader.addTable(LcsStateImpl.class, LcsStateImpl::loadAll);
+		loader.addTable(ParkingAreaImpl.class,
+			ParkingAreaImpl::loadAll);
+		loader.addTable(IncidentImpl.class, IncidentImpl::loadAll);
+		loader.addTable(IncDescriptorImpl.class,
+			IncDescriptorImpl::loadAll);
+		loader.addTable(IncLocatorImpl.class, IncLocatorImpl::loadAll);
+		loader.addTable(IncAdviceImpl.class, IncAdviceImpl::loadAll);
+		loader.addTable(TimeActionImpl.class, TimeActionImpl::loadAll);
+		loader.addTable(DeviceActionImpl.class,
+			DeviceActionImpl::loadAll);
+		loader.addTable(WordImpl.class, WordImpl::loadAll);
+		loader.addStep("dms_styles", new StartupLoader.Step() {
+			public void load() {
+				DMSImpl.updateAllStyles();
+			}
+		});
+		loader.addTable(RptConduitImpl.class, RptConduitImpl::loadAll);
+		loader.addTable(AlertConfigImpl.class,
+			AlertConfigImpl::loadAll);
+		loader.addTable(AlertMessageImpl.class,
+			AlertMessageImpl::loadAll);
+		loader.addTable(AlertInfoImpl.class, AlertInfoImpl::loadAll);
+		loader.run();
 	}
 
 	/** Get the time as a time stamp */
@@ -505,6 +535,17 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 			namespace.storeObject(this);
 	}
 
+	/** Run a task after a new object has been added to the namespace.
+	 * This must be called from doStore, since objects are stored before
+	 * they are added to the namespace. */
+	static protected void runAfterStore(String name, Runnable r) {
+		Server s = MainServer.server;
+		if (s != null)
+			s.scheduleTask(name, r);
+		else
+			r.run();
+	}
+
 	/** Notify SONAR clients of an object removed */
 	public void notifyRemove() {
 		Server s = MainServer.server;
@@ -522,18 +563,27 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 			s.setAttribute(this, aname);
 	}
 
+	/** Number format for each thread (creating one is expensive) */
+	static private final ThreadLocal<NumberFormat> NUM_FORMAT =
+		new ThreadLocal<NumberFormat>()
+	{
+		@Override protected NumberFormat initialValue() {
+			NumberFormat nf = NumberFormat.getNumberInstance();
+			nf.setGroupingUsed(false);
+			return nf;
+		}
+	};
+
 	/** Format a float value */
 	static String formatFloat(float value, int digits) {
-		NumberFormat nf = NumberFormat.getNumberInstance();
-		nf.setGroupingUsed(false);
+		NumberFormat nf = NUM_FORMAT.get();
 		nf.setMaximumFractionDigits(digits);
 		return nf.format(value);
 	}
 
 	/** Format a double value */
 	static String formatDouble(double value) {
-		NumberFormat nf = NumberFormat.getNumberInstance();
-		nf.setGroupingUsed(false);
+		NumberFormat nf = NUM_FORMAT.get();
 		nf.setMaximumFractionDigits(5);
 		return nf.format(value);
 	}
@@ -573,11 +623,7 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 	}
 
 	/** Log an event */
-	static public void logEvent(final BaseEvent ev) {
-		FLUSH.addJob(new Job() {
-			public void perform() throws TMSException {
-				ev.doStore();
-			}
-		});
+	static public void logEvent(BaseEvent ev) {
+		ev.queueStore();
 	}
 }
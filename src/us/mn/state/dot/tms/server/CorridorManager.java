@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2022  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,6 +16,7 @@ package us.mn.state.dot.tms.server;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
@@ -39,6 +40,36 @@ public class CorridorManager {
 	private final Map<String, Corridor> corridors =
 		new TreeMap<String, Corridor>();
 
+	/** Bounding boxes of corridors (spherical mercator: x0, y0, x1, y1),
+	 * used to skip corridors when snapping */
+	private final HashMap<Corridor, double[]> bounds =
+		new HashMap<Corridor, double[]>();
+
+	/** Calculate the bounding box of a corridor */
+	static private double[] calculateBounds(Corridor c) {
+		double[] b = null;
+		for (R_NodeImpl n: c) {
+			SphericalMercatorPosition smp =
+				GeoLocHelper.getPosition(n.getGeoLoc());
+			if (smp == null)
+				continue;
+			double x = smp.getX();
+			double y = smp.getY();
+			if (b == null)
+				b = new double[] { x, y, x, y };
+			else {
+				b[0] = Math.min(b[0], x);
+				b[1] = Math.min(b[1], y);
+				b[2] = Math.max(b[2], x);
+				b[3] = Math.max(b[3], y);
+			}
+		}
+		return b;
+	}
+
+	/** Cache of routes between locations */
+	private final RouteCache routes = new RouteCache();
+
 	/** Create all corridors from the existing r_nodes */
 	public synchronized void createCorridors() {
 		corridors.clear();
@@ -51,8 +82,39 @@ public class CorridorManager {
 				addCorridorNode(n);
 			}
 		}
-		for (Corridor c: corridors.values())
+		bounds.clear();
+		for (Corridor c: corridors.values()) {
 			c.arrangeNodes();
+			double[] b = calculateBounds(c);
+			if (b != null)
+				bounds.put(c, b);
+		}
+		routes.clear();
+	}
+
+	/** Find the best route from an origin to a destination.  Routes are
+	 * cached until corridors are created again, or an r_node changes.
+	 * @param orig Route origin.
+	 * @param dest Route destination.
+	 * @return Best route found, or null. */
+	public Route findRoute(GeoLoc orig, GeoLoc dest) {
+		return routes.findRoute(new RouteFinder(this), orig, dest);
+	}
+
+	/** Check if a point is near the bounding box of a corridor.
+	 * @param c Corridor to check.
+	 * @param smp Point to check.
+	 * @param m Maximum distance (spherical mercator units). */
+	private boolean isNearBounds(Corridor c, SphericalMercatorPosition smp,
+		double m)
+	{
+		double[] b = bounds.get(c);
+		if (b == null)
+			return false;
+		double x = smp.getX();
+		double y = smp.getY();
+		return x >= b[0] - m && x <= b[2] + m &&
+		       y >= b[1] - m && y <= b[3] + m;
 	}
 
 	/** Add an r_node to the proper corridor */
@@ -104,10 +166,16 @@ public class CorridorManager {
 	{
 		GeoLoc loc = null;
 		Distance dist = max_dist;
+		// Mercator units are stretched by 1 / cos(latitude), plus a
+		// little for the difference between equatorial / mean radius
+		double lat = smp.getPosition().getLatitude();
+		double m = max_dist.m() * 1.01 / Math.cos(Math.toRadians(lat));
 		for (Corridor c: corridors.values()) {
 			if (dir != Direction.UNKNOWN &&
 			    dir.ordinal() != c.getRoadDir())
 				continue;
+			if (!isNearBounds(c, smp, m))
+				continue;
 			Corridor.GeoLocDist ld = c.snapGeoLoc(smp, lc, dist);
 			if (ld != null && ld.dist.m() < dist.m()) {
 				loc = ld.loc;
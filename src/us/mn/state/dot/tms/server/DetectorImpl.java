@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2011  Berkeley Transportation Systems Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -45,6 +45,7 @@ import static us.mn.state.dot.tms.units.Interval.Units.MILLISECONDS;
 import static us.mn.state.dot.tms.units.Interval.Units.SECONDS;
 import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
 import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
+import static us.mn.state.dot.tms.server.XmlWriter.writeAttribute;
 import us.mn.state.dot.tms.units.Distance;
 import static us.mn.state.dot.tms.units.Distance.Units.FEET;
 import static us.mn.state.dot.tms.units.Distance.Units.MILES;
@@ -55,7 +56,9 @@ import us.mn.state.dot.tms.server.event.DetAutoFailEvent;
  *
  * @author Douglas Lau
  */
-public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
+public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler,
+	SampleSensor
+{
 
 	/** Reversible lane name */
 	static private final String REV = "I-394 Rev";
@@ -972,6 +975,7 @@ public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
 				l_count_cache.add(v, name);
 				break;
 			}
+			FlushSamplesJob.queueFlush(this);
 		}
 	}
 
@@ -984,6 +988,7 @@ public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
 			    v.per_sec == BIN_PERIOD_SEC)
 				testVehCount(v);
 			veh_cache.add(v, name);
+			FlushSamplesJob.queueFlush(this);
 		}
 	}
 
@@ -1022,6 +1027,7 @@ public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
 			}
 			scn_cache.add(new PeriodicSample(occ.stamp, occ.per_sec,
 				n_scans), name);
+			FlushSamplesJob.queueFlush(this);
 		} else
 			prev_value = MISSING_DATA;
 	}
@@ -1053,11 +1059,14 @@ public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
 	 * @param speed PeriodicSample containing speed data. */
 	public void storeSpeed(PeriodicSample speed, boolean logging) {
 		is_logging_events = logging;
-		if (speed != null)
+		if (speed != null) {
 			spd_cache.add(speed, name);
+			FlushSamplesJob.queueFlush(this);
+		}
 	}
 
 	/** Flush buffered data to disk */
+	@Override
 	public void flush(PeriodicSampleWriter writer) {
 		// Only flush periodic binned data if not logging events
 		if (!is_logging_events) {
@@ -1072,6 +1081,7 @@ public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
 	}
 
 	/** Purge all binned data before a given stamp. */
+	@Override
 	public void purge(long before) {
 		veh_cache.purge(before);
 		scn_cache.purge(before);
@@ -1146,16 +1156,31 @@ public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
 		int speed = Math.round(getSpeed(stamp, per_ms));
 		float occ = getOccupancy(stamp, per_ms);
 		w.write("\t<sample");
-		w.write(createAttribute("sensor", name));
+		writeAttribute(w, "sensor", name);
 		if (flow != MISSING_DATA)
-			w.write(createAttribute("flow", flow));
+			writeAttribute(w, "flow", flow);
 		if (isMainline() && speed > 0)
-			w.write(createAttribute("speed", speed));
+			writeAttribute(w, "speed", speed);
 		if (occ >= 0)
-			w.write(createAttribute("occ", formatFloat(occ, 2)));
+			writeAttribute(w, "occ", formatFloat(occ, 2));
 		w.write("/>\n");
 	}
 
+	/** Get binned data as JSON text (or null if not sampling) */
+	public String getSampleJson(long stamp, int per_ms) {
+		if (abandoned || !isSampling())
+			return null;
+		int flow = getFlowRaw(stamp, per_ms);
+		int speed = Math.round(getSpeed(stamp, per_ms));
+		float occ = getOccupancy(stamp, per_ms);
+		boolean has_speed = isMainline() && speed > 0;
+		if (flow == MISSING_DATA && !has_speed && occ < 0)
+			return null;
+		return "[" + ((flow != MISSING_DATA) ? flow : "null") + "," +
+			(has_speed ? speed : "null") + "," +
+			((occ >= 0) ? formatFloat(occ, 2) : "null") + "]";
+	}
+
 	/** Send a device request operation */
 	@Override
 	protected void sendDeviceRequest(DeviceRequest dr) {
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -30,7 +30,6 @@ import us.mn.state.dot.tms.DeviceActionHelper;
 import us.mn.state.dot.tms.GateArm;
 import us.mn.state.dot.tms.GateArmHelper;
 import us.mn.state.dot.tms.GeoLoc;
-import us.mn.state.dot.tms.Hashtags;
 import us.mn.state.dot.tms.RampMeter;
 import us.mn.state.dot.tms.RampMeterHelper;
 
@@ -113,73 +112,31 @@ public class DeviceActionJob extends Job {
 		while (it.hasNext()) {
 			DeviceAction da = it.next();
 			ActionPlan ap = da.getActionPlan();
-			if (ap.getActive() && (plan == null || plan == ap)) {
-				processActionBeacon(da);
-				processActionCamera(da);
-				processActionDms(da);
-				processActionGateArm(da);
-				processActionMeter(da);
-			}
+			if (ap.getActive() && (plan == null || plan == ap))
+				processAction(da);
 		}
 	}
 
-	/** Process an action for beacons */
-	private void processActionBeacon(DeviceAction da) {
+	/** Process an action for all devices with its hashtag */
+	private void processAction(DeviceAction da) {
 		String ht = da.getHashtag();
-		Iterator<Beacon> it = BeaconHelper.iterator();
-		while (it.hasNext()) {
-			Beacon b = it.next();
-			Hashtags tags = new Hashtags(b.getNotes());
-			if (tags.contains(ht))
+		for (DeviceImpl dev: DeviceImpl.lookupHashtag(ht)) {
+			if (dev instanceof Beacon) {
+				Beacon b = (Beacon) dev;
 				checkAction(da, b, b.getGeoLoc());
-		}
-	}
-
-	/** Process an action for cameras */
-	private void processActionCamera(DeviceAction da) {
-		String ht = da.getHashtag();
-		Iterator<Camera> it = CameraHelper.iterator();
-		while (it.hasNext()) {
-			Camera c = it.next();
-			Hashtags tags = new Hashtags(c.getNotes());
-			if (tags.contains(ht))
+			} else if (dev instanceof Camera) {
+				Camera c = (Camera) dev;
 				checkAction(da, c, c.getGeoLoc());
-		}
-	}
-
-	/** Process an action for DMS */
-	private void processActionDms(DeviceAction da) {
-		String ht = da.getHashtag();
-		Iterator<DMS> it = DMSHelper.iterator();
-		while (it.hasNext()) {
-			DMS d = it.next();
-			Hashtags tags = new Hashtags(d.getNotes());
-			if (tags.contains(ht))
+			} else if (dev instanceof DMS) {
+				DMS d = (DMS) dev;
 				checkAction(da, d, d.getGeoLoc());
-		}
-	}
-
-	/** Process an action for gate arms */
-	private void processActionGateArm(DeviceAction da) {
-		String ht = da.getHashtag();
-		Iterator<GateArm> it = GateArmHelper.iterator();
-		while (it.hasNext()) {
-			GateArm g = it.next();
-			Hashtags tags = new Hashtags(g.getNotes());
-			if (tags.contains(ht))
+			} else if (dev instanceof GateArm) {
+				GateArm g = (GateArm) dev;
 				checkAction(da, g, g.getGeoLoc());
-		}
-	}
-
-	/** Process an action for ramp meters */
-	private void processActionMeter(DeviceAction da) {
-		String ht = da.getHashtag();
-		Iterator<RampMeter> it = RampMeterHelper.iterator();
-		while (it.hasNext()) {
-			RampMeter rm = it.next();
-			Hashtags tags = new Hashtags(rm.getNotes());
-			if (tags.contains(ht))
+			} else if (dev instanceof RampMeter) {
+				RampMeter rm = (RampMeter) dev;
 				checkAction(da, rm, rm.getGeoLoc());
+			}
 		}
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2015-2017  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -16,6 +16,7 @@
 package us.mn.state.dot.tms.server;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.TreeSet;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sonar.SonarException;
@@ -48,10 +49,20 @@ abstract public class DeviceImpl extends ControllerIoImpl implements Device {
 			DEVICE_LOG.log(getName() + ": " + msg);
 	}
 
+	/** Index of devices by hashtag */
+	static private final HashtagIndex<DeviceImpl> HASHTAGS =
+		new HashtagIndex<DeviceImpl>();
+
+	/** Lookup all devices with a hashtag in their notes */
+	static public List<DeviceImpl> lookupHashtag(String ht) {
+		return HASHTAGS.lookup(ht);
+	}
+
 	/** Create a device */
 	protected DeviceImpl(String n, ControllerImpl c, int p, String nt) {
 		super(n, c, p);
 		notes = nt;
+		HASHTAGS.update(this, nt);
 	}
 
 	/** Create a new device */
@@ -81,6 +92,7 @@ abstract public class DeviceImpl extends ControllerIoImpl implements Device {
 		if (this instanceof GateArmImpl)
 			GateArmSystem.disable(name, "set notes");
 		notes = n;
+		HASHTAGS.update(this, n);
 	}
 
 	/** Set notes (including hashtags) */
@@ -97,6 +109,13 @@ abstract public class DeviceImpl extends ControllerIoImpl implements Device {
 		return notes;
 	}
 
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		HASHTAGS.remove(this);
+	}
+
 	/** Operation which owns the device */
 	private transient OpDevice owner;
 
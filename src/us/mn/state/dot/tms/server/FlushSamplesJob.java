@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2024  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,8 +14,12 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.Detector;
@@ -26,12 +30,27 @@ import us.mn.state.dot.tms.WeatherSensorHelper;
 import us.mn.state.dot.tms.units.Interval;
 
 /**
- * Job to flush sample data to disk.
+ * Job to flush sample data to disk.  Only sensors which have been queued
+ * (by storing new samples) since the previous run are flushed.  Sensors
+ * which fail to flush are queued again for the next run.
  *
  * @author Douglas Lau
  */
 public class FlushSamplesJob extends Job {
 
+	/** Sample flush debug log */
+	static private final DebugLog SAMPLE_FLUSH_LOG =
+		new DebugLog("sample_flush");
+
+	/** Queue of sensors with samples which have not been flushed */
+	static private final Set<SampleSensor> FLUSH_QUEUE =
+		ConcurrentHashMap.newKeySet();
+
+	/** Queue a sensor to be flushed on the next run */
+	static public void queueFlush(SampleSensor ss) {
+		FLUSH_QUEUE.add(ss);
+	}
+
 	/** Is archiving enabled? */
 	static private boolean isArchiveEnabled() {
 		return SystemAttrEnum.DETECTOR_DATA_ARCHIVE_ENABLE.getBoolean();
@@ -57,38 +76,62 @@ public class FlushSamplesJob extends Job {
 
 	/** Perform the flush samples job */
 	public void perform() {
+		long start = TimeSteward.currentTimeMillis();
 		long before = calculatePurgeStamp();
-		flushDetectorSamples(before);
-		flushWeatherSamples(before);
+		writer.resetCounts();
+		int n_sensors = flushQueuedSamples(isArchiveEnabled());
+		purgeDetectorSamples(before);
+		purgeWeatherSamples(before);
+		if (SAMPLE_FLUSH_LOG.isOpen()) {
+			long ms = TimeSteward.currentTimeMillis() - start;
+			SAMPLE_FLUSH_LOG.log("sensors: " + n_sensors +
+				", caches: " + writer.getFlushed() +
+				", failed: " + writer.getFailed() +
+				", bytes: " + writer.getBytesWritten() +
+				", " + ms + " ms");
+		}
+	}
+
+	/** Flush queued sample data to disk.
+	 * @param do_flush Flag to write samples (false to discard queue).
+	 * @return Number of sensors flushed. */
+	int flushQueuedSamples(boolean do_flush) {
+		ArrayList<SampleSensor> failed = new ArrayList<SampleSensor>();
+		int n_sensors = 0;
+		Iterator<SampleSensor> it = FLUSH_QUEUE.iterator();
+		while (it.hasNext()) {
+			SampleSensor ss = it.next();
+			it.remove();
+			if (do_flush) {
+				int n_failed = writer.getFailed();
+				ss.flush(writer);
+				if (writer.getFailed() > n_failed)
+					failed.add(ss);
+				n_sensors++;
+			}
+		}
+		// queue after iterating, so they are not flushed twice
+		FLUSH_QUEUE.addAll(failed);
+		return n_sensors;
 	}
 
-	/** Flush detector sample data to disk */
-	private void flushDetectorSamples(long before) {
-		boolean do_flush = isArchiveEnabled();
+	/** Purge old detector sample data */
+	private void purgeDetectorSamples(long before) {
 		Iterator<Detector> it = DetectorHelper.iterator();
 		while (it.hasNext()) {
 			Detector d = it.next();
-			if (d instanceof DetectorImpl) {
-				DetectorImpl det = (DetectorImpl) d;
-				if (do_flush)
-					det.flush(writer);
-				det.purge(before);
-			}
+			if (d instanceof DetectorImpl)
+				((DetectorImpl) d).purge(before);
 		}
 	}
 
-	/** Flush weather sample data to disk */
-	private void flushWeatherSamples(long before) {
-		boolean do_flush = isArchiveEnabled();
+	/** Purge old weather sample data */
+	private void purgeWeatherSamples(long before) {
 		Iterator<WeatherSensor> it = WeatherSensorHelper.iterator();
 		while (it.hasNext()) {
 			WeatherSensor w = it.next();
-			if (w instanceof WeatherSensorImpl) {
-				WeatherSensorImpl ws = (WeatherSensorImpl) w;
-				if (do_flush)
-					ws.flush(writer);
-				ws.purge(before);
-			}
+			if (w instanceof WeatherSensorImpl)
+				((WeatherSensorImpl) w).purge(before);
 		}
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2024  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,10 +14,12 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.tms.Detector;
 import us.mn.state.dot.tms.DetectorHelper;
@@ -33,32 +35,93 @@ public class FlushXmlJob extends Job {
 	/** Detector data file */
 	static private final String SAMPLE_XML = "det_sample.xml";
 
+	/** Name of station delta JSON file */
+	static private final String STATION_DELTA = "station_sample_delta";
+
+	/** Name of detector delta JSON file */
+	static private final String DET_DELTA = "det_sample_delta";
+
 	/** Station manager */
 	private final StationManager station_manager;
 
-	/** Create a new flush XML samples job */
-	public FlushXmlJob(StationManager sm) {
+	/** Station delta feed (null if disabled) */
+	private final DeltaFeed station_delta;
+
+	/** Detector delta feed (null if disabled) */
+	private final DeltaFeed det_delta;
+
+	/** Create a new flush XML samples job.
+	 * @param sm Station manager.
+	 * @param key_intervals Intervals between delta feed keyframes, or 0
+	 *                      to disable delta feeds. */
+	public FlushXmlJob(StationManager sm, int key_intervals) {
 		station_manager = sm;
+		station_delta = (key_intervals > 0)
+			? new DeltaFeed(new File(StationManager
+				.JSON_OUTPUT_DIRECTORY, STATION_DELTA),
+				key_intervals)
+			: null;
+		det_delta = (key_intervals > 0)
+			? new DeltaFeed(new File(StationManager
+				.JSON_OUTPUT_DIRECTORY, DET_DELTA), key_intervals)
+			: null;
 	}
 
 	/** Perform flush XML data to disk */
 	@Override
 	public void perform() throws IOException {
+		StationSnapshot snap = station_manager.getSnapshot();
 		if (SystemAttrEnum.LEGACY_XML_DETECTOR_ENABLE.getBoolean()) {
-			writeSampleXml();
-			station_manager.writeSampleXml();
+			writeSampleXml(snap.stamp);
+			station_manager.writeSampleXml(snap);
+		}
+		station_manager.writeSampleJson(snap);
+		if (station_delta != null)
+			station_delta.write(snap.stamp, stationValues(snap));
+		if (det_delta != null)
+			det_delta.write(snap.stamp, detectorValues(snap.stamp));
+	}
+
+	/** Get station values for the delta feed */
+	private LinkedHashMap<String, String> stationValues(
+		StationSnapshot snap)
+	{
+		LinkedHashMap<String, String> values =
+			new LinkedHashMap<String, String>();
+		for (StationSnapshot.Sample smp: snap.samples) {
+			String v = smp.jsonValue();
+			if (v != null)
+				values.put(smp.name, v);
+		}
+		return values;
+	}
+
+	/** Get detector values for the delta feed */
+	private LinkedHashMap<String, String> detectorValues(long stamp) {
+		int per_ms = DetectorImpl.BIN_PERIOD_MS;
+		LinkedHashMap<String, String> values =
+			new LinkedHashMap<String, String>();
+		Iterator<Detector> it = DetectorHelper.iterator();
+		while (it.hasNext()) {
+			Detector d = it.next();
+			if (d instanceof DetectorImpl) {
+				DetectorImpl det = (DetectorImpl) d;
+				String v = det.getSampleJson(stamp, per_ms);
+				if (v != null)
+					values.put(det.getName(), v);
+			}
 		}
-		station_manager.writeSampleJson();
+		return values;
 	}
 
 	/** Write the detector data out as XML */
-	private void writeSampleXml() throws IOException {
+	private void writeSampleXml(final long stamp) throws IOException {
 		XmlWriter w = new XmlWriter(SAMPLE_XML, true) {
 			@Override protected void write(Writer w)
 				throws IOException
 			{
-				writeSampleXmlHead(w);
-				writeSampleXmlBody(w);
+				writeSampleXmlHead(w, stamp);
+				writeSampleXmlBody(w, stamp);
 				writeSampleXmlTail(w);
 			}
 		};
@@ -66,8 +129,9 @@ public class FlushXmlJob extends Job {
 	}
 
 	/** Write the header of the detector XML file */
-	private void writeSampleXmlHead(Writer w) throws IOException {
-		long stamp = station_manager.getStamp();
+	private void writeSampleXmlHead(Writer w, long stamp)
+		throws IOException
+	{
 		w.write(XmlWriter.XML_DECLARATION);
 		writeDtd(w);
 		w.write("<traffic_sample time_stamp='" + new Date(stamp) +
@@ -90,8 +154,9 @@ public class FlushXmlJob extends Job {
 	}
 
 	/** Write the body of the detector XML file */
-	private void writeSampleXmlBody(Writer w) throws IOException {
-		long stamp = station_manager.getStamp();
+	private void writeSampleXmlBody(Writer w, long stamp)
+		throws IOException
+	{
 		int per_ms = DetectorImpl.BIN_PERIOD_MS;
 		Iterator<Detector> it = DetectorHelper.iterator();
 		while (it.hasNext()) {
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2024  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -21,6 +21,7 @@ import java.util.Map;
 import us.mn.state.dot.tms.ChangeVetoException;
 import us.mn.state.dot.tms.Font;
 import us.mn.state.dot.tms.FontHelper;
+import us.mn.state.dot.tms.RasterCache;
 import us.mn.state.dot.tms.TMSException;
 
 /**
@@ -80,6 +81,20 @@ public class FontImpl extends BaseObjectImpl implements Font {
 		charSpacing = cs;
 	}
 
+	/** Store an object */
+	@Override
+	public void doStore() throws TMSException {
+		super.doStore();
+		runAfterStore("Invalidate rasters", RasterCache.INVALIDATE);
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		RasterCache.invalidate();
+	}
+
 	/** Font number */
 	private int f_number;
 
@@ -87,6 +102,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setNumber(int n) {
 		f_number = n;
+		RasterCache.invalidate();
 	}
 
 	/** Set the font number */
@@ -110,6 +126,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setHeight(int h) {
 		height = h;
+		RasterCache.invalidate();
 	}
 
 	/** Set the font height (pixels) */
@@ -133,6 +150,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setWidth(int w) {
 		width = w;
+		RasterCache.invalidate();
 	}
 
 	/** Set the font width (pixels) */
@@ -156,6 +174,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setCharSpacing(int s) {
 		charSpacing = s;
+		RasterCache.invalidate();
 	}
 
 	/** Set the default horizontal spacing between characters (pixels) */
@@ -179,6 +198,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setLineSpacing(int s) {
 		lineSpacing = s;
+		RasterCache.invalidate();
 	}
 
 	/** Set the default vertical spacing between lines (pixels) */
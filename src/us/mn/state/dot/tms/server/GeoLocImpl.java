@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2024  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  * Copyright (C) 2014       AHMCT, University of California
  * Copyright (C) 2016-2017  SRF Consulting Group
  *
@@ -87,7 +87,9 @@ public class GeoLocImpl extends BaseObjectImpl implements GeoLoc {
 			new ResultFactory()
 		{
 			public void create(ResultSet row) throws Exception {
-				namespace.addObject(new GeoLocImpl(row));
+				GeoLocImpl loc = new GeoLocImpl(row);
+				namespace.addObject(loc);
+				loc.updateIndex();
 			}
 		});
 	}
@@ -167,6 +169,26 @@ public class GeoLocImpl extends BaseObjectImpl implements GeoLoc {
 		     lt, ln);
 	}
 
+	/** Destroy a geo location */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		GeoLocIndex.remove(this, resource_n);
+	}
+
+	/** Notify SONAR clients of a geo location removed.  Device locations
+	 * are removed this way, after the database cascades the delete. */
+	@Override
+	public void notifyRemove() {
+		super.notifyRemove();
+		GeoLocIndex.remove(this, resource_n);
+	}
+
+	/** Update the location in the spatial index */
+	private void updateIndex() {
+		GeoLocIndex.update(this, resource_n, lat, lon);
+	}
+
 	/** Tag for pg_notify trigger on update */
 	private String resource_n;
 
@@ -356,6 +378,7 @@ public class GeoLocImpl extends BaseObjectImpl implements GeoLoc {
 	@Override
 	public void setLat(Double lt) {
 		lat = lt;
+		updateIndex();
 	}
 
 	/** Set the latitude */
@@ -386,6 +409,7 @@ public class GeoLocImpl extends BaseObjectImpl implements GeoLoc {
 	@Override
 	public void setLon(Double ln) {
 		lon = ln;
+		updateIndex();
 	}
 
 	/** Set the longitude */
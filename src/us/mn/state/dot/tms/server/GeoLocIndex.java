@@ -0,0 +1,305 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import us.mn.state.dot.tms.geo.GeodeticDatum;
+import us.mn.state.dot.tms.geo.Position;
+import us.mn.state.dot.tms.geo.QuadTree;
+import us.mn.state.dot.tms.geo.SphericalMercatorPosition;
+
+/**
+ * GeoLoc index is an in-memory spatial index of geo locations, grouped by
+ * resource type (dms, camera, r_node, etc).  Locations are indexed by their
+ * spherical mercator position, and updated whenever they are loaded, moved
+ * or destroyed.  This allows nearby locations to be found without scanning
+ * every location or querying the database.
+ *
+ * @author Douglas Lau
+ */
+public class GeoLocIndex {
+
+	/** Meters per degree of latitude */
+	static private final double M_PER_DEG =
+		Math.toRadians(GeodeticDatum.WGS_84.getMeanRadius());
+
+	/** Maximum latitude for spherical mercator */
+	static private final double MAX_LAT = 85;
+
+	/** Quad trees for each resource type */
+	static private final HashMap<String, QuadTree<GeoLocImpl>> trees =
+		new HashMap<String, QuadTree<GeoLocImpl>>();
+
+	/** Don't allow instantiation */
+	private GeoLocIndex() { }
+
+	/** Get the quad tree for a resource type */
+	static private QuadTree<GeoLocImpl> lookupTree(String rt) {
+		String k = (rt != null) ? rt : "";
+		QuadTree<GeoLocImpl> qt = trees.get(k);
+		if (qt == null) {
+			qt = QuadTree.createSphericalMercator();
+			trees.put(k, qt);
+		}
+		return qt;
+	}
+
+	/** Convert a latitude / longitude to spherical mercator */
+	static private SphericalMercatorPosition convert(double lat,
+		double lon)
+	{
+		lat = Math.max(-MAX_LAT, Math.min(MAX_LAT, lat));
+		lon = Math.max(-180, Math.min(180, lon));
+		Position pos = new Position(lat, lon);
+		return SphericalMercatorPosition.convert(pos);
+	}
+
+	/** Update the position of a location.
+	 * @param loc Location to update.
+	 * @param rt Resource type of location.
+	 * @param lat Latitude (null if not set).
+	 * @param lon Longitude (null if not set). */
+	static synchronized void update(GeoLocImpl loc, String rt, Double lat,
+		Double lon)
+	{
+		QuadTree<GeoLocImpl> qt = lookupTree(rt);
+		if (lat != null && lon != null) {
+			SphericalMercatorPosition smp = convert(lat, lon);
+			qt.put(loc, smp.getX(), smp.getY());
+		} else
+			qt.remove(loc);
+	}
+
+	/** Remove a location from the index.
+	 * @param loc Location to remove.
+	 * @param rt Resource type of location. */
+	static synchronized void remove(GeoLocImpl loc, String rt) {
+		lookupTree(rt).remove(loc);
+	}
+
+	/** Find locations within a latitude / longitude box.
+	 * @param rt Resource type.
+	 * @param lat0 Minimum latitude.
+	 * @param lon0 Minimum longitude.
+	 * @param lat1 Maximum latitude.
+	 * @param lon1 Maximum longitude.
+	 * @return List of locations within the box. */
+	static public synchronized List<GeoLocImpl> findWithin(String rt,
+		double lat0, double lon0, double lat1, double lon1)
+	{
+		final ArrayList<GeoLocImpl> found = new ArrayList<GeoLocImpl>();
+		SphericalMercatorPosition p0 = convert(lat0, lon0);
+		SphericalMercatorPosition p1 = convert(lat1, lon1);
+		lookupTree(rt).search(p0.getX(), p0.getY(), p1.getX(),
+			p1.getY(), new QuadTree.Searcher<GeoLocImpl>()
+		{
+			public boolean next(GeoLocImpl loc) {
+				found.add(loc);
+				return false;
+			}
+		});
+		return found;
+	}
+
+	/** Find locations within a latitude / longitude box, expanded by a
+	 * distance on every side.
+	 * @param rt Resource type.
+	 * @param lat0 Minimum latitude.
+	 * @param lon0 Minimum longitude.
+	 * @param lat1 Maximum latitude.
+	 * @param lon1 Maximum longitude.
+	 * @param m Distance to expand box (meters).
+	 * @return List of locations within the expanded box. */
+	static private List<GeoLocImpl> findWithin(String rt, double lat0,
+		double lon0, double lat1, double lon1, double m)
+	{
+		double dlat = m / M_PER_DEG;
+		double lat = Math.min(MAX_LAT, Math.max(Math.abs(lat0),
+			Math.abs(lat1)) + dlat);
+		double dlon = dlat / Math.cos(Math.toRadians(lat));
+		return findWithin(rt, lat0 - dlat, lon0 - dlon, lat1 + dlat,
+			lon1 + dlon);
+	}
+
+	/** Get the position of a location */
+	static private Position getPosition(GeoLocImpl loc) {
+		Double lat = loc.getLat();
+		Double lon = loc.getLon();
+		return (lat != null && lon != null)
+		      ? new Position(lat, lon)
+		      : null;
+	}
+
+	/** Find locations within a distance of a position.
+	 * @param rt Resource type.
+	 * @param pos Position to search around.
+	 * @param m Maximum distance (meters).
+	 * @return List of locations within the distance. */
+	static public List<GeoLocImpl> findNear(String rt, Position pos,
+		double m)
+	{
+		double lat = pos.getLatitude();
+		double lon = pos.getLongitude();
+		ArrayList<GeoLocImpl> near = new ArrayList<GeoLocImpl>();
+		for (GeoLocImpl loc: findWithin(rt, lat, lon, lat, lon, m)) {
+			Position p = getPosition(loc);
+			if (p != null && pos.distanceHaversine(p) <= m)
+				near.add(loc);
+		}
+		return near;
+	}
+
+	/** Find the nearest location to a position.
+	 * @param rt Resource type.
+	 * @param pos Position to search around.
+	 * @param m Maximum distance (meters).
+	 * @return Nearest location, or null if none within distance. */
+	static public GeoLocImpl findNearest(String rt, Position pos,
+		double m)
+	{
+		double lat = pos.getLatitude();
+		double lon = pos.getLongitude();
+		GeoLocImpl nearest = null;
+		double dist = m;
+		for (GeoLocImpl loc: findWithin(rt, lat, lon, lat, lon, m)) {
+			// location may have been moved since it was found
+			Position p = getPosition(loc);
+			if (p == null)
+				continue;
+			double d = pos.distanceHaversine(p);
+			if (d <= dist && (nearest == null || d < dist)) {
+				nearest = loc;
+				dist = d;
+			}
+		}
+		return nearest;
+	}
+
+	/** Find locations within a distance of an area.
+	 * @param rt Resource type.
+	 * @param polys Polygons in the area.  Each polygon is an array of
+	 *              rings, with the outer boundary first, followed by any
+	 *              holes.  Each ring is an array of longitude / latitude
+	 *              pairs: {lon0, lat0, lon1, lat1, ...}.
+	 * @param m Maximum distance outside area (meters).
+	 * @return List of locations within the distance. */
+	static public List<GeoLocImpl> findNear(String rt, double[][][] polys,
+		double m)
+	{
+		double lat0 = MAX_LAT;
+		double lon0 = 180;
+		double lat1 = -MAX_LAT;
+		double lon1 = -180;
+		for (double[][] poly: polys) {
+			for (double[] ring: poly) {
+				for (int i = 0; i + 1 < ring.length; i += 2) {
+					lon0 = Math.min(lon0, ring[i]);
+					lon1 = Math.max(lon1, ring[i]);
+					lat0 = Math.min(lat0, ring[i + 1]);
+					lat1 = Math.max(lat1, ring[i + 1]);
+				}
+			}
+		}
+		ArrayList<GeoLocImpl> near = new ArrayList<GeoLocImpl>();
+		if (lat0 > lat1 || lon0 > lon1)
+			return near;
+		List<GeoLocImpl> locs = findWithin(rt, lat0, lon0, lat1, lon1,
+			m);
+		for (GeoLocImpl loc: locs) {
+			Position p = getPosition(loc);
+			if (p != null && isNear(polys, p, m))
+				near.add(loc);
+		}
+		return near;
+	}
+
+	/** Check if a position is within a distance of any polygon */
+	static private boolean isNear(double[][][] polys, Position p,
+		double m)
+	{
+		for (double[][] poly: polys) {
+			if (isInside(poly, p) || ringDistance(poly, p) <= m)
+				return true;
+		}
+		return false;
+	}
+
+	/** Check if a position is inside a polygon (but not in a hole) */
+	static private boolean isInside(double[][] poly, Position p) {
+		if (poly.length == 0 || !isInside(poly[0], p))
+			return false;
+		for (int r = 1; r < poly.length; r++) {
+			if (isInside(poly[r], p))
+				return false;
+		}
+		return true;
+	}
+
+	/** Check if a position is inside a ring (by ray casting) */
+	static private boolean isInside(double[] ring, Position p) {
+		double x = p.getLongitude();
+		double y = p.getLatitude();
+		boolean inside = false;
+		int n = ring.length / 2;
+		for (int i = 0, j = n - 1; i < n; j = i++) {
+			double xi = ring[i * 2];
+			double yi = ring[i * 2 + 1];
+			double xj = ring[j * 2];
+			double yj = ring[j * 2 + 1];
+			if ((yi > y) != (yj > y) &&
+			    x < (xj - xi) * (y - yi) / (yj - yi) + xi)
+				inside = !inside;
+		}
+		return inside;
+	}
+
+	/** Get the distance from a position to the nearest edge of any ring
+	 * in a polygon.  Edges are projected onto a plane tangent at the
+	 * position, which is accurate for distances of a few km.
+	 * @return Distance (meters). */
+	static private double ringDistance(double[][] poly, Position p) {
+		double lat = p.getLatitude();
+		double lon = p.getLongitude();
+		double kx = M_PER_DEG * Math.cos(Math.toRadians(lat));
+		double dist = Double.POSITIVE_INFINITY;
+		for (double[] ring: poly) {
+			int n = ring.length / 2;
+			for (int i = 0; i < n; i++) {
+				int j = (i + 1) % n;
+				double x0 = (ring[i * 2] - lon) * kx;
+				double y0 = (ring[i * 2 + 1] - lat) * M_PER_DEG;
+				double x1 = (ring[j * 2] - lon) * kx;
+				double y1 = (ring[j * 2 + 1] - lat) * M_PER_DEG;
+				dist = Math.min(dist, segmentDistance(x0, y0,
+					x1, y1));
+			}
+		}
+		return dist;
+	}
+
+	/** Get the distance from the origin to a line segment */
+	static private double segmentDistance(double x0, double y0, double x1,
+		double y1)
+	{
+		double dx = x1 - x0;
+		double dy = y1 - y0;
+		double len2 = dx * dx + dy * dy;
+		double t = (len2 > 0) ? -(x0 * dx + y0 * dy) / len2 : 0;
+		t = Math.max(0, Math.min(1, t));
+		return Math.hypot(x0 + t * dx, y0 + t * dy);
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2024  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -22,6 +22,7 @@ import java.util.Map;
 import us.mn.state.dot.tms.ColorScheme;
 import us.mn.state.dot.tms.ChangeVetoException;
 import us.mn.state.dot.tms.Graphic;
+import us.mn.state.dot.tms.RasterCache;
 import us.mn.state.dot.tms.TMSException;
 
 /**
@@ -93,6 +94,20 @@ public class GraphicImpl extends BaseObjectImpl implements Graphic {
 		pixels = p;
 	}
 
+	/** Store an object */
+	@Override
+	public void doStore() throws TMSException {
+		super.doStore();
+		runAfterStore("Invalidate rasters", RasterCache.INVALIDATE);
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		RasterCache.invalidate();
+	}
+
 	/** Graphic number */
 	private int g_number;
 
@@ -100,6 +115,7 @@ public class GraphicImpl extends BaseObjectImpl implements Graphic {
 	@Override
 	public void setGNumber(int g) {
 		g_number = g;
+		RasterCache.invalidate();
 	}
 
 	/** Set the graphic number */
@@ -152,6 +168,7 @@ public class GraphicImpl extends BaseObjectImpl implements Graphic {
 	@Override
 	public void setTransparentColor(Integer tc) {
 		transparent_color = tc;
+		RasterCache.invalidate();
 	}
 
 	/** Set the transparent color */
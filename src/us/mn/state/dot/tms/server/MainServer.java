@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2017  Iteris Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -30,10 +30,14 @@ import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.sonar.server.Server;
 import us.mn.state.dot.sonar.server.ServerNamespace;
 import us.mn.state.dot.tms.BaseHelper;
+import us.mn.state.dot.tms.RasterCache;
 import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.server.event.BaseEvent;
+import us.mn.state.dot.tms.server.event.EventWriter;
+import us.mn.state.dot.tms.server.comm.CommScheduler;
+import us.mn.state.dot.tms.server.comm.CommThreadFactory;
 import us.mn.state.dot.tms.server.comm.cux50.CUx50;
 import us.mn.state.dot.tms.server.comm.cux50.PrServer;
 import us.mn.state.dot.tms.utils.DevelCfg;
@@ -71,7 +75,7 @@ public class MainServer {
 	static public final Scheduler FLUSH = new Scheduler("flush");
 
 	/** Sample archive factory */
-	static public final SampleArchiveFactoryImpl a_factory =
+	static public SampleArchiveFactoryImpl a_factory =
 		new SampleArchiveFactoryImpl();
 
 	/** SONAR server */
@@ -100,15 +104,20 @@ public class MainServer {
 			initProxySelector(props);
 			store = createStore(props);
 			BaseEvent.store = store;
+			BaseEvent.writer = new EventWriter(FLUSH, store);
 			I18N.initialize(props);
 			ActionPlanImpl.initAllowList(props);
+			CommScheduler.init(props);
+			CommThreadFactory.init(props);
+			a_factory = createArchiveFactory(props);
 			ServerNamespace ns = createNamespace();
 			BaseObjectImpl.loadAll(store, ns);
-			scheduleTimerJobs();
+			RasterCache.setEnabled(true);
+			scheduleTimerJobs(deltaKeyframe(props));
 			scheduleFlushJobs();
 			startProtocolServer();
 			hash_provider = new HashProvider();
-			server = new Server(ns, props, new AccessLogger(FLUSH),
+			server = new Server(ns, props, new AccessLogger(),
 				hash_provider);
 			System.err.println("IRIS Server active");
 			server.join();
@@ -183,10 +192,55 @@ public class MainServer {
 		return new SQLConnection(
 			props.getProperty("db.url"),
 			props.getProperty("db.user"),
-			props.getProperty("db.password")
+			props.getProperty("db.password"),
+			dbConnections(props)
 		);
 	}
 
+	/** Get the maximum number of database connections */
+	static private int dbConnections(Properties props)
+		throws IllegalArgumentException
+	{
+		String c = props.getProperty("db.connections", "4");
+		try {
+			int n = Integer.parseInt(c.trim());
+			if (n < 1 || n > SQLConnection.MAX_CONNECTIONS)
+				throw new NumberFormatException();
+			return n;
+		}
+		catch (NumberFormatException e) {
+			throw new IllegalArgumentException(
+				"Invalid db.connections: " + c);
+		}
+	}
+
+	/** Get the number of intervals between delta feed keyframes */
+	static private int deltaKeyframe(Properties props)
+		throws IllegalArgumentException
+	{
+		String k = props.getProperty("sample.delta.keyframe", "0");
+		try {
+			int n = Integer.parseInt(k.trim());
+			if (n < 0)
+				throw new NumberFormatException();
+			return n;
+		}
+		catch (NumberFormatException e) {
+			throw new IllegalArgumentException(
+				"Invalid sample.delta.keyframe: " + k);
+		}
+	}
+
+	/** Create the sample archive factory */
+	static private SampleArchiveFactoryImpl createArchiveFactory(
+		Properties props)
+	{
+		return Boolean.parseBoolean(props.getProperty(
+			"sample.archive.mapped"))
+		      ? new MappedSampleArchiveFactory()
+		      : new SampleArchiveFactoryImpl();
+	}
+
 	/** Create the server namespace */
 	static private ServerNamespace createNamespace() throws SonarException {
 		ServerNamespace ns = new ServerNamespace();
@@ -260,15 +314,14 @@ public class MainServer {
 	}
 
 	/** Schedule jobs on TIMER thread */
-	static private void scheduleTimerJobs() {
-		TIMER.addJob(new MeteringJob(FLUSH));
+	static private void scheduleTimerJobs(int key_intervals) {
+		TIMER.addJob(new MeteringJob(FLUSH, key_intervals));
 		TIMER.addJob(new LockExpireJob());
 		TIMER.addJob(new SendSettingsJob());
 		TIMER.addJob(new SendSettingsJob(500));
 		TIMER.addJob(new TollZoneJob());
 		TIMER.addJob(new ParkingAreaJob());
 		TIMER.addJob(new TimeActionJob(TIMER));
-		TIMER.addJob(new ActionPlanPhaseJob());
 		TIMER.addJob(new ReaperJob());
 	}
 
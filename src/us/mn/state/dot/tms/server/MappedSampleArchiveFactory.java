@@ -0,0 +1,125 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.mn.state.dot.tms.units.Interval;
+
+/**
+ * Factory for sample archive files, where periodic samples are stored in
+ * memory-mapped files (one per day per sample type, with a slot for each
+ * sensor).  Other archive files, such as vehicle event logs, are still
+ * created per sensor.
+ *
+ * @author Douglas Lau
+ */
+public class MappedSampleArchiveFactory extends SampleArchiveFactoryImpl {
+
+	/** Maximum number of mapped files to keep open */
+	static private final int MAX_OPEN = 64;
+
+	/** Open mapped sample files */
+	private final LinkedHashMap<File, MappedSampleFile> files =
+		new LinkedHashMap<File, MappedSampleFile>(16, 0.75f, true)
+	{
+		@Override protected boolean removeEldestEntry(
+			Map.Entry<File, MappedSampleFile> e)
+		{
+			if (size() > MAX_OPEN) {
+				evict(e.getValue());
+				return true;
+			} else
+				return false;
+		}
+	};
+
+	/** Current mapped file for one sample type and period */
+	static private class Current {
+		private final MappedSampleFile file;
+		private final long start;
+		private final long end;
+		private Current(MappedSampleFile f, long stamp) {
+			file = f;
+			Calendar cal = Calendar.getInstance();
+			cal.setTimeInMillis(stamp);
+			cal.set(Calendar.HOUR_OF_DAY, 0);
+			cal.set(Calendar.MINUTE, 0);
+			cal.set(Calendar.SECOND, 0);
+			cal.set(Calendar.MILLISECOND, 0);
+			start = cal.getTimeInMillis();
+			cal.add(Calendar.DATE, 1);
+			end = cal.getTimeInMillis();
+		}
+		private boolean contains(long stamp) {
+			return stamp >= start && stamp < end;
+		}
+	}
+
+	/** Current files, mapped by extension (sample type and period).  This
+	 * avoids checking archive directories for every sample. */
+	private final HashMap<String, Current> current =
+		new HashMap<String, Current>();
+
+	/** Evict a mapped sample file which is no longer open */
+	private void evict(MappedSampleFile mf) {
+		Iterator<Current> it = current.values().iterator();
+		while (it.hasNext()) {
+			if (it.next().file == mf)
+				it.remove();
+		}
+		mf.close();
+	}
+
+	/** Get a mapped sample file.
+	 * @param s_type Periodic sample type.
+	 * @param ps Periodic sample to be archived.
+	 * @return Mapped file to archive periodic sample. */
+	public synchronized MappedSampleFile getMappedFile(
+		PeriodicSampleType s_type, PeriodicSample ps) throws IOException
+	{
+		String ext = s_type.extension + ps.per_sec;
+		Current c = current.get(ext);
+		if (c != null && c.contains(ps.start()))
+			return c.file;
+		// Per-sensor files with this extension can be archived too
+		addExtension("." + ext);
+		MappedSampleFile mf = openMappedFile(s_type, ps, ext);
+		current.put(ext, new Current(mf, ps.start()));
+		return mf;
+	}
+
+	/** Open a mapped sample file */
+	private MappedSampleFile openMappedFile(PeriodicSampleType s_type,
+		PeriodicSample ps, String ext) throws IOException
+	{
+		File f = new File(directory(ps.start()), ext +
+			MappedSampleFile.EXT);
+		MappedSampleFile mf = files.get(f);
+		if (mf == null) {
+			int n_samples = (int) new Interval(ps.per_sec).per(
+				Interval.DAY);
+			mf = MappedSampleFile.openWrite(f, s_type.sample_bytes,
+				n_samples);
+			files.put(f, mf);
+		}
+		return mf;
+	}
+}
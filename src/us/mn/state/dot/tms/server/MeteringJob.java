@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2023  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -43,12 +43,15 @@ public class MeteringJob extends Job {
 	/** Job to be performed after data has been processed */
 	private final FlushXmlJob flush_job;
 
-	/** Create a new metering job */
-	public MeteringJob(Scheduler f) {
+	/** Create a new metering job.
+	 * @param f FLUSH scheduler.
+	 * @param key_intervals Intervals between delta feed keyframes, or 0
+	 *                      to disable delta feeds. */
+	public MeteringJob(Scheduler f, int key_intervals) {
 		super(Calendar.SECOND, 30, Calendar.SECOND, OFFSET_SECS);
 		flush = f;
 		station_manager = new StationManager();
-		flush_job = new FlushXmlJob(station_manager);
+		flush_job = new FlushXmlJob(station_manager, key_intervals);
 	}
 
 	/** Perform the metering job */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2010-2021  Minnesota Department of Transportation
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,16 +14,19 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.NoSuchElementException;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.units.Interval;
 import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
 
 /**
- * A cache for periodic sample data.  
+ * A cache for periodic sample data.  Samples are stored in a ring buffer of
+ * primitive values, indexed by period number, to avoid allocating an object
+ * for each sample.
  *
  * @author Douglas Lau
  */
@@ -127,13 +130,40 @@ public class PeriodicSampleCache {
 		return vals;
 	}
 
+	/** Initial number of slots in ring buffer */
+	static private final int INITIAL_SLOTS = 32;
+
+	/** Create an array of slots filled with MISSING_DATA */
+	static private int[] createSlots(int n_slots) {
+		int[] vals = new int[n_slots];
+		Arrays.fill(vals, MISSING_DATA);
+		return vals;
+	}
+
 	/** Sample type */
 	public final PeriodicSampleType sample_type;
 
-	/** Collection of periodic samples.  Every sample is guaranteed to
-	 * have the same sampling period. */
-	private final ConcurrentSkipListSet<PeriodicSample> samples =
-		new ConcurrentSkipListSet<PeriodicSample>();
+	/** Ring buffer of sample values, indexed by period number.  The
+	 * length is always a power of two.  Slots without a sample contain
+	 * MISSING_DATA (cached samples are always valid).  All access must be
+	 * synchronized on the cache. */
+	private int[] values = createSlots(INITIAL_SLOTS);
+
+	/** Sampling period (seconds); 0 when cache is empty.  Every sample is
+	 * guaranteed to have the same sampling period. */
+	private int per_sec = 0;
+
+	/** Period number of first sample */
+	private long first = 0;
+
+	/** Period number of last sample */
+	private long last = -1;
+
+	/** Count of samples in the cache */
+	private int n_samples = 0;
+
+	/** Flag indicating samples were added since last flush */
+	private boolean dirty = false;
 
 	/** Create a new periodic sample cache.
 	 * @param tp Sample type. */
@@ -145,11 +175,11 @@ public class PeriodicSampleCache {
 	 * If the sampling period is incompatable with existing samples, the
 	 * cache is cleared first.
 	 * @param ps Sample to add to the cache. */
-	public void add(PeriodicSample ps, String name) {
+	public synchronized void add(PeriodicSample ps, String name) {
 		if (checkStamp(ps.stamp)) {
 			if (sample_type.isValid(ps)) {
 				if (!isPeriodOk(ps.per_sec))
-					samples.clear();
+					clear();
 				if (isPeriodSame(ps.per_sec))
 					addSample(ps);
 				else
@@ -163,6 +193,18 @@ public class PeriodicSampleCache {
 		}
 	}
 
+	/** Clear all samples from the cache */
+	private void clear() {
+		if (values.length > INITIAL_SLOTS)
+			values = createSlots(INITIAL_SLOTS);
+		else
+			Arrays.fill(values, MISSING_DATA);
+		per_sec = 0;
+		first = 0;
+		last = -1;
+		n_samples = 0;
+	}
+
 	/** Check if a period is OK to be cached.
 	 * @param per_sec Period to check (seconds).
 	 * @return true if period is OK to be cached. */
@@ -176,28 +218,77 @@ public class PeriodicSampleCache {
 	}
 
 	/** Get the sample period.
-	 * @param per_sec Default sample period.
+	 * @param p Default sample period.
 	 * @return Sample period (seconds). */
-	private int getPeriod(int per_sec) {
-		return samples.isEmpty()
-		      ? per_sec
-		      : samples.first().per_sec;
+	private int getPeriod(int p) {
+		return (n_samples > 0) ? per_sec : p;
+	}
+
+	/** Get the sampling period in milliseconds */
+	private long periodMillis() {
+		return per_sec * 1000L;
+	}
+
+	/** Get the ring buffer slot for a period number */
+	private int slot(long pn) {
+		return (int) (pn & (values.length - 1));
 	}
 
 	/** Add a sample */
 	private void addSample(PeriodicSample ps) {
 		assert ps.per_sec == getPeriod(ps.per_sec) : "Invalid period";
-		assert !exists(ps.start()) : "Duplicate start time";
-		samples.add(ps);
+		per_sec = ps.per_sec;
+		long pn = ps.start() / periodMillis();
+		if (n_samples > 0) {
+			long f = Math.min(first, pn);
+			long l = Math.max(last, pn);
+			ensureCapacity(f, l);
+			first = f;
+			last = l;
+		} else {
+			first = pn;
+			last = pn;
+		}
+		int s = slot(pn);
+		assert values[s] == MISSING_DATA : "Duplicate start time";
+		if (values[s] == MISSING_DATA) {
+			values[s] = ps.value;
+			n_samples++;
+			dirty = true;
+		}
+	}
+
+	/** Check if samples were added since the last call, and clear the
+	 * dirty flag.
+	 * @return true if cache needs to be flushed. */
+	public synchronized boolean takeDirty() {
+		boolean d = dirty;
+		dirty = false;
+		return d;
+	}
+
+	/** Mark the cache dirty again, after a failed flush */
+	public synchronized void markDirty() {
+		dirty = true;
 	}
 
-	/** Check if a sample exists with the given time stamp (start) */
-	private boolean exists(long stamp) {
-		for (PeriodicSample ps: samples) {
-			if (ps.start() == stamp)
-				return true;
+	/** Ensure the ring buffer can hold a range of period numbers */
+	private void ensureCapacity(long f, long l) {
+		long span = l - f + 1;
+		if (span > values.length) {
+			int n_slots = values.length;
+			while (n_slots < span)
+				n_slots *= 2;
+			resize(n_slots);
 		}
-		return false;
+	}
+
+	/** Resize the ring buffer */
+	private void resize(int n_slots) {
+		int[] vals = values;
+		values = createSlots(n_slots);
+		for (long pn = first; pn <= last; pn++)
+			values[slot(pn)] = vals[(int) (pn & (vals.length - 1))];
 	}
 
 	/** Interpolate sample data from a sample with a larger period.
@@ -205,18 +296,15 @@ public class PeriodicSampleCache {
 	 * @param ps Periodic sample (with a larger period). */
 	private void interpolate(PeriodicSample ps) {
 		long start = ps.start();
-		int per_sec = getPeriod(ps.per_sec);
-		int n_samples = ps.per_sec / per_sec;
-		assert n_samples > 1;
-		int[] values = getValues(start, ps.end(), n_samples, per_sec);
+		int n_vals = ps.per_sec / per_sec;
+		assert n_vals > 1;
+		int[] vals = getValues(start, ps.end(), n_vals);
 		switch (sample_type.aggregation) {
 		case SUM:
-			addSamples(start, per_sec, interpolateSum(values,
-				ps.value));
+			addSamples(start, interpolateSum(vals, ps.value));
 			return;
 		case AVERAGE:
-			addSamples(start, per_sec, interpolateAverage(values,
-				ps.value));
+			addSamples(start, interpolateAverage(vals, ps.value));
 			return;
 		default:
 			return;
@@ -226,28 +314,23 @@ public class PeriodicSampleCache {
 	/** Get an array of sample values from the cache.
 	 * @param start Time stamp at start of samples.
 	 * @param end Time stamp at end of samples.
-	 * @param n_samples Number of sample values.
-	 * @param per_sec Period used for samples.
+	 * @param n_vals Number of sample values.
 	 * @return Array of samples values. */
-	private int[] getValues(long start, long end, int n_samples,
-		int per_sec)
-	{
-		int per_ms = per_sec * 1000;
-		int[] values = new int[n_samples];
-		for (int i = 0; i < values.length; i++)
-			values[i] = MISSING_DATA;
-		for (PeriodicSample ps: samples) {
-			long stamp = ps.start();
+	private int[] getValues(long start, long end, int n_vals) {
+		long per_ms = periodMillis();
+		int[] vals = createSlots(n_vals);
+		for (long pn = first; pn <= last; pn++) {
+			long stamp = pn * per_ms;
 			if (stamp >= start && stamp < end) {
 				int i = (int) ((stamp - start) / per_ms);
-				values[i] = ps.value;
+				vals[i] = values[slot(pn)];
 			}
 		}
-		return values;
+		return vals;
 	}
 
 	/** Get aggregate of sampled values in a time interval */
-	public int getValue(long start, long end) {
+	public synchronized int getValue(long start, long end) {
 		switch (sample_type.aggregation) {
 		case SUM:
 			return getSum(start, end);
@@ -260,24 +343,21 @@ public class PeriodicSampleCache {
 
 	/** Get sum of sampled values in a time interval */
 	private int getSum(long start, long end) {
-		int per_sec = 0;
+		long per_ms = periodMillis();
 		int total = 0;
-		int n_samples = 0;
-		for (PeriodicSample ps: samples) {
-			if (0 == per_sec)
-				per_sec = ps.per_sec;
-			else if (per_sec != ps.per_sec)
-				break;
-			if (ps.value >= 0) {
-				long stamp = ps.start();
+		int n_sum = 0;
+		for (long pn = first; pn <= last; pn++) {
+			int value = values[slot(pn)];
+			if (value >= 0) {
+				long stamp = pn * per_ms;
 				if (stamp >= start && stamp < end) {
-					total += ps.value;
-					n_samples++;
+					total += value;
+					n_sum++;
 				}
 			}
 		}
-		long sam_ms = n_samples * per_sec * 1000; // sampled period
-		long full_ms = end - start;               // full period
+		long sam_ms = n_sum * per_ms;     // sampled period
+		long full_ms = end - start;       // full period
 		if (sam_ms == full_ms)
 			return total;
 		else if (2 * sam_ms >= full_ms) {  // at least half sampled
@@ -289,28 +369,29 @@ public class PeriodicSampleCache {
 
 	/** Get average of sampled values in a time interval */
 	private int getAverage(long start, long end) {
+		long per_ms = periodMillis();
 		int total = 0;
-		int n_samples = 0;
-		for (PeriodicSample ps: samples) {
-			if (ps.value >= 0) {
-				long stamp = ps.start();
+		int n_avg = 0;
+		for (long pn = first; pn <= last; pn++) {
+			int value = values[slot(pn)];
+			if (value >= 0) {
+				long stamp = pn * per_ms;
 				if (stamp >= start && stamp < end) {
-					total += ps.value;
-					n_samples++;
+					total += value;
+					n_avg++;
 				}
 			}
 		}
-		return (n_samples > 0)
-		      ? Math.round(total / (float) n_samples)
+		return (n_avg > 0)
+		      ? Math.round(total / (float) n_avg)
 		      : MISSING_DATA;
 	}
 
 	/** Add an array of samples.
 	 * @param start Start time of sample array.
-	 * @param per_sec Sampling period (seconds).
 	 * @param vals Array of sample values to add. */
-	private void addSamples(long start, int per_sec, int[] vals) {
-		int per_ms = per_sec * 1000;
+	private void addSamples(long start, int[] vals) {
+		long per_ms = periodMillis();
 		for (int i = 0; i < vals.length; i++) {
 			if (vals[i] >= 0) {
 				long stamp = start + per_ms * (i + 1);
@@ -320,21 +401,54 @@ public class PeriodicSampleCache {
 		}
 	}
 
-	/** Get a sample iterator. */
-	public Iterator<PeriodicSample> iterator() {
-		return samples.iterator();
+	/** Get a sample iterator.  The iterator is a snapshot of the cache,
+	 * and does not support removal. */
+	public synchronized Iterator<PeriodicSample> iterator() {
+		final int ps = per_sec;
+		final long per_ms = periodMillis();
+		final long pn0 = first;
+		final int[] vals = new int[(int) (last - first + 1)];
+		for (int i = 0; i < vals.length; i++)
+			vals[i] = values[slot(pn0 + i)];
+		return new Iterator<PeriodicSample>() {
+			private int i = skip(0);
+			private int skip(int n) {
+				while (n < vals.length && vals[n] < 0)
+					n++;
+				return n;
+			}
+			@Override public boolean hasNext() {
+				return i < vals.length;
+			}
+			@Override public PeriodicSample next() {
+				if (i >= vals.length)
+					throw new NoSuchElementException();
+				long stamp = (pn0 + i + 1) * per_ms;
+				PeriodicSample s = new PeriodicSample(stamp, ps,
+					vals[i]);
+				i = skip(i + 1);
+				return s;
+			}
+		};
 	}
 
 	/** Purge all samples before a specified time stamp.
 	 * @param before Time stamp to purge before. */
-	public void purge(long before) {
-		Iterator<PeriodicSample> it = iterator();
-		while (it.hasNext()) {
-			PeriodicSample ps = it.next();
-			if (ps.end() < before)
-				it.remove();
-			else
-				break;
+	public synchronized void purge(long before) {
+		long per_ms = periodMillis();
+		// Sample end time is start of next period
+		while (n_samples > 0 && (first + 1) * per_ms < before) {
+			int s = slot(first);
+			if (values[s] != MISSING_DATA) {
+				values[s] = MISSING_DATA;
+				n_samples--;
+			}
+			first++;
 		}
+		if (n_samples == 0)
+			clear();
+		else if (values.length > INITIAL_SLOTS &&
+		         4 * (last - first + 1) < values.length)
+			resize(values.length / 2);
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2010-2021  Minnesota Department of Transportation
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -35,6 +35,10 @@ import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
  * Each file contains one day of sample data.  For example, a vehicle count file
  * with a 30-second period would have 2880 bytes.
  *
+ * If the archive factory is a MappedSampleArchiveFactory, samples are written
+ * in place into memory-mapped files instead, with one file per day for each
+ * sample type (and period).
+ *
  * @author Douglas Lau
  */
 public class PeriodicSampleWriter {
@@ -53,6 +57,9 @@ public class PeriodicSampleWriter {
 	/** Sample archive factory */
 	private final SampleArchiveFactory factory;
 
+	/** Mapped sample archive factory (null for per-sensor files) */
+	private final MappedSampleArchiveFactory m_factory;
+
 	/** Byte buffer for flushing samples to file */
 	private final ByteBuffer buffer = ByteBuffer.allocate(
 		samplesPerDay(MIN_PERIOD) * PeriodicSampleType.MAX_BYTES);
@@ -66,21 +73,67 @@ public class PeriodicSampleWriter {
 	/** Current file channel */
 	private transient FileChannel channel;
 
+	/** Count of caches flushed */
+	private int n_flushed;
+
+	/** Count of bytes written */
+	private long n_bytes;
+
+	/** Count of caches which failed to flush */
+	private int n_failed;
+
 	/** Create a new periodic sample writer */
 	public PeriodicSampleWriter(SampleArchiveFactory f) {
 		factory = f;
+		m_factory = (f instanceof MappedSampleArchiveFactory)
+			? (MappedSampleArchiveFactory) f
+			: null;
+	}
+
+	/** Get the count of caches flushed since last reset */
+	public int getFlushed() {
+		return n_flushed;
+	}
+
+	/** Get the count of bytes written since last reset */
+	public long getBytesWritten() {
+		return n_bytes;
+	}
+
+	/** Get the count of caches which failed to flush since last reset */
+	public int getFailed() {
+		return n_failed;
 	}
 
-	/** Flush samples from a cache to files */
+	/** Reset the flushed cache, bytes written and failed counts */
+	public void resetCounts() {
+		n_flushed = 0;
+		n_bytes = 0;
+		n_failed = 0;
+	}
+
+	/** Flush samples from a cache to files, if any have been added since
+	 * the last flush */
 	public void flush(PeriodicSampleCache cache, String sensor_id) {
+		if (!cache.takeDirty())
+			return;
+		n_flushed++;
 		period = new Interval(0);
 		file = null;
 		channel = null;
 		buffer.clear();
 		try {
-			flush(cache.iterator(), sensor_id, cache.sample_type);
+			if (m_factory != null) {
+				flushMapped(cache.iterator(), sensor_id,
+					cache.sample_type);
+			} else
+				flush(cache.iterator(), sensor_id,
+					cache.sample_type);
 		}
 		catch (IOException e) {
+			// flush again next time
+			cache.markDirty();
+			n_failed++;
 			String name = (file != null)
 				? file.toString()
 				: cache.sample_type.toString();
@@ -115,6 +168,20 @@ public class PeriodicSampleWriter {
 		}
 	}
 
+	/** Flush an iterator of samples to mapped files */
+	private void flushMapped(Iterator<PeriodicSample> it, String sensor_id,
+		PeriodicSampleType s_type) throws IOException
+	{
+		while (it.hasNext()) {
+			PeriodicSample ps = it.next();
+			MappedSampleFile mf = m_factory.getMappedFile(s_type, ps);
+			file = mf.getFile();
+			mf.putValue(sensor_id, s_type, sampleNumber(ps),
+				ps.value);
+			n_bytes += s_type.sample_bytes;
+		}
+	}
+
 	/** Read next file (after writing current file buffer). */
 	private void readNextFile(PeriodicSampleType s_type) throws IOException{
 		writeBuffer(s_type.sample_bytes);
@@ -164,7 +231,7 @@ public class PeriodicSampleWriter {
 			buffer.position(0);
 			// Write sample data buffer to file
 			while (buffer.hasRemaining())
-				channel.write(buffer);
+				n_bytes += channel.write(buffer);
 			// Truncate file if it's larger than buffer
 			if (channel.size() > n_size)
 				channel.truncate(n_size);
@@ -187,4 +254,11 @@ public class PeriodicSampleWriter {
 		return TimeSteward.secondOfDayInt(ps.start()) *
 		       s_bytes / ps.per_sec;
 	}
+
+	/** Compute the sample number of a sample.
+	 * @param ps Periodic sample.
+	 * @return Sample number (0 is first sample of day). */
+	private int sampleNumber(PeriodicSample ps) {
+		return TimeSteward.secondOfDayInt(ps.start()) / ps.per_sec;
+	}
 }
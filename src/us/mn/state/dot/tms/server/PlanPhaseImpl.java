@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2025  Minnesota Department of Transportation
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -103,6 +103,7 @@ public class PlanPhaseImpl extends BaseObjectImpl
 	@Override
 	public void setHoldTime(Integer ht) {
 		hold_time = ht;
+		ActionPlanImpl.schedulePhaseUpdates(this);
 	}
 
 	/** Set hold time (s) before next phase */
@@ -126,6 +127,7 @@ public class PlanPhaseImpl extends BaseObjectImpl
 	@Override
 	public void setNextPhase(PlanPhase np) {
 		next_phase = (np != null) ? np.getName() : null;
+		ActionPlanImpl.schedulePhaseUpdates(this);
 	}
 
 	/** Set next phase after hold time expires */
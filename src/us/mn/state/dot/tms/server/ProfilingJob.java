@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,8 +16,12 @@ package us.mn.state.dot.tms.server;
 
 import java.io.IOException;
 import java.util.Calendar;
+import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.tms.RasterCache;
 import us.mn.state.dot.tms.SystemAttrEnum;
+import us.mn.state.dot.tms.server.comm.CommScheduler;
+import us.mn.state.dot.tms.server.event.BaseEvent;
 
 /**
  * Job to write out prifiling data.
@@ -26,6 +30,9 @@ import us.mn.state.dot.tms.SystemAttrEnum;
  */
 public class ProfilingJob extends Job {
 
+	/** Raster cache debug log */
+	static private final DebugLog RASTER_LOG = new DebugLog("raster_cache");
+
 	/** Seconds to offset each poll from start of interval */
 	static protected final int OFFSET_SECS = 1;
 
@@ -42,5 +49,12 @@ public class ProfilingJob extends Job {
 		profiler.debugMemory();
 		profiler.debugThreads();
 		profiler.appendUptimeLog();
+		CommScheduler.logMetrics();
+		if (BaseObjectImpl.store != null)
+			BaseObjectImpl.store.logStats();
+		if (BaseEvent.writer != null)
+			BaseEvent.writer.logStats();
+		if (RASTER_LOG.isOpen())
+			RASTER_LOG.log(RasterCache.takeStats());
 	}
 }
@@ -216,6 +216,7 @@ public class R_NodeImpl extends BaseObjectImpl implements R_Node {
 	@Override
 	public void setNodeType(int t) {
 		node_type = R_NodeType.fromOrdinal(t);
+		RouteCache.invalidate();
 	}
 
 	/** Set the node type */
@@ -241,6 +242,7 @@ public class R_NodeImpl extends BaseObjectImpl implements R_Node {
 	@Override
 	public void setPickable(boolean p) {
 		pickable = p;
+		RouteCache.invalidate();
 	}
 
 	/** Set the pickable flag */
@@ -264,6 +266,7 @@ public class R_NodeImpl extends BaseObjectImpl implements R_Node {
 	@Override
 	public void setAbove(boolean a) {
 		above = a;
+		RouteCache.invalidate();
 	}
 
 	/** Set the above flag */
@@ -287,6 +290,7 @@ public class R_NodeImpl extends BaseObjectImpl implements R_Node {
 	@Override
 	public void setTransition(int t) {
 		transition = R_NodeTransition.fromOrdinal(t);
+		RouteCache.invalidate();
 	}
 
 	/** Set the transition type */
@@ -404,6 +408,7 @@ public class R_NodeImpl extends BaseObjectImpl implements R_Node {
 	@Override
 	public void setActive(boolean a) {
 		active = a;
+		RouteCache.invalidate();
 	}
 
 	/** Set the active state */
@@ -430,6 +435,7 @@ public class R_NodeImpl extends BaseObjectImpl implements R_Node {
 	@Override
 	public void setStationID(String s) {
 		station_id = s;
+		RouteCache.invalidate();
 	}
 
 	/** Set the station ID */
@@ -0,0 +1,114 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import us.mn.state.dot.tms.GeoLoc;
+import us.mn.state.dot.tms.GeoLocHelper;
+import us.mn.state.dot.tms.SystemAttrEnum;
+
+/**
+ * A route cache remembers routes found between origins and destinations,
+ * including when no route was found.  Routes only depend on corridors and
+ * the locations of the origin and destination, so each entry records the
+ * corridor and position of both.  A location which has been moved will be
+ * routed again.  Each entry also records the r_node version, so any r_node
+ * change which affects routing invalidates it.  The cache must be cleared
+ * whenever corridors are created.
+ *
+ * @author Douglas Lau
+ */
+public class RouteCache {
+
+	/** Cached route entry */
+	static private class Entry {
+		private final String pos;
+		private final Route route;
+		private Entry(String p, Route r) {
+			pos = p;
+			route = r;
+		}
+	}
+
+	/** Version of r_node routing state */
+	static private final AtomicInteger R_NODE_VERSION = new AtomicInteger();
+
+	/** Invalidate cached routes after an r_node change which could
+	 * affect routing */
+	static public void invalidate() {
+		R_NODE_VERSION.incrementAndGet();
+	}
+
+	/** Get the position string for a location */
+	static private String position(GeoLoc loc) {
+		return GeoLocHelper.getCorridorName(loc) + ',' +
+			GeoLocHelper.getLat(loc) + ',' +
+			GeoLocHelper.getLon(loc);
+	}
+
+	/** Get the position string for an origin / destination pair, with
+	 * limits used to find routes and the r_node version */
+	static private String position(GeoLoc orig, GeoLoc dest) {
+		return position(orig) + ';' + position(dest) + ';' +
+			SystemAttrEnum.ROUTE_MAX_MILES.getInt() + ',' +
+			SystemAttrEnum.ROUTE_MAX_LEGS.getInt() + ';' +
+			R_NODE_VERSION.get();
+	}
+
+	/** Cached routes, mapped by origin / destination names */
+	private final HashMap<String, Entry> entries =
+		new HashMap<String, Entry>();
+
+	/** Generation, incremented whenever the cache is cleared */
+	private int generation = 0;
+
+	/** Clear all cached routes */
+	public synchronized void clear() {
+		entries.clear();
+		generation++;
+	}
+
+	/** Get the number of cached routes */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/** Find the best route from an origin to a destination.
+	 * @param rf Route finder to use if the route is not cached.
+	 * @param orig Route origin.
+	 * @param dest Route destination.
+	 * @return Best route found, or null. */
+	public Route findRoute(RouteFinder rf, GeoLoc orig, GeoLoc dest) {
+		if (orig == null || dest == null)
+			return rf.findRoute(orig, dest);
+		String key = orig.getName() + ' ' + dest.getName();
+		String pos = position(orig, dest);
+		int gen;
+		synchronized (this) {
+			Entry e = entries.get(key);
+			if (e != null && e.pos.equals(pos))
+				return e.route;
+			gen = generation;
+		}
+		Route r = rf.findRoute(orig, dest);
+		synchronized (this) {
+			// Don't cache a route found while corridors changed
+			if (gen == generation)
+				entries.put(key, new Entry(pos, r));
+		}
+		return r;
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2021  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,12 +17,20 @@ package us.mn.state.dot.tms.server;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 import org.postgis.MultiPolygon;
@@ -33,7 +41,13 @@ import us.mn.state.dot.tms.ChangeVetoException;
 import us.mn.state.dot.tms.TMSException;
 
 /**
- * Simple SQL database abstraction stuff
+ * Simple SQL database abstraction stuff.
+ *
+ * A small pool of database connections is kept, so that storage from
+ * different threads does not need to wait for a single connection.  A thread
+ * which makes nested calls (from a ResultFactory, for example) always uses
+ * the same connection.  Storable create, update and destroy statements are
+ * prepared once per connection, with values passed as parameters.
  *
  * @author Douglas Lau
  */
@@ -42,6 +56,12 @@ public class SQLConnection {
 	/** SQL debug log */
 	static private final DebugLog SQL_LOG = new DebugLog("sql");
 
+	/** Maximum number of prepared statements cached per connection */
+	static private final int MAX_PREPARED = 256;
+
+	/** Maximum number of pooled connections */
+	static public final int MAX_CONNECTIONS = 32;
+
 	/** Pattern to match for an invalid SONAR name */
 	static private final Pattern INVALID_NAME = Pattern.compile("[" +
 		Message.RECORD_SEP.code +
@@ -121,6 +141,29 @@ public class SQLConnection {
 		return null;
 	}
 
+	/** Barrier to pass after a query is executed, before results are
+	 * created (for each thread) */
+	static private final ThreadLocal<Runnable> barrier =
+		new ThreadLocal<Runnable>();
+
+	/** Set the query barrier for the current thread.
+	 * @param b Barrier to run after each query, or null to clear. */
+	static void setQueryBarrier(Runnable b) {
+		if (b != null)
+			barrier.set(b);
+		else
+			barrier.remove();
+	}
+
+	/** Pass the query barrier for the current thread.  The PostgreSQL
+	 * driver fetches all rows when a query is executed, so other threads
+	 * can run queries while this one waits. */
+	static void passQueryBarrier() {
+		Runnable b = barrier.get();
+		if (b != null)
+			b.run();
+	}
+
 	/** Location of database server */
 	private final String location;
 
@@ -130,15 +173,130 @@ public class SQLConnection {
 	/** Password to log into database server */
 	private final String password;
 
-	/** Connection to the SQL database */
-	private Connection connection = null;
+	/** Maximum number of open connections */
+	private final int max_conn;
+
+	/** Pooled database connection, with cached statements */
+	private class PooledConnection {
 
-	/** Available SQL statements */
-	private final ArrayDeque<Statement> statements =
-		new ArrayDeque<Statement>();
+		/** Connection to the SQL database */
+		private final Connection connection;
+
+		/** Available SQL statements */
+		private final ArrayDeque<Statement> statements =
+			new ArrayDeque<Statement>();
+
+		/** Cached prepared statements (LRU order) */
+		private final LinkedHashMap<String, PreparedStatement> prepared
+			= new LinkedHashMap<String, PreparedStatement>(16,
+			0.75f, true)
+		{
+			@Override protected boolean removeEldestEntry(
+				Map.Entry<String, PreparedStatement> e)
+			{
+				if (size() > MAX_PREPARED) {
+					closeStatement(e.getValue());
+					return true;
+				} else
+					return false;
+			}
+		};
 
-	/** Create a new SQL connection */
-	public SQLConnection(String url, String usr, String pswd)
+		/** Depth of nested use by the holding thread */
+		private int depth = 0;
+
+		/** Open a new pooled connection */
+		private PooledConnection() throws SQLException {
+			connection = DriverManager.getConnection(location, user,
+				password);
+			connection.setAutoCommit(true);
+		}
+
+		/** Get an available statement */
+		private Statement getStatement() throws SQLException {
+			return statements.isEmpty()
+			      ? connection.createStatement()
+			      : statements.removeLast();
+		}
+
+		/** Put a statement back after using it */
+		private void putStatement(Statement s) {
+			statements.add(s);
+		}
+
+		/** Get a prepared statement */
+		private PreparedStatement prepare(String sql)
+			throws SQLException
+		{
+			PreparedStatement ps = prepared.get(sql);
+			if (ps == null) {
+				ps = connection.prepareStatement(sql);
+				prepared.put(sql, ps);
+			}
+			return ps;
+		}
+
+		/** Check if the connection is still valid */
+		private boolean isValid() {
+			try {
+				return connection.isValid(2);
+			}
+			catch (SQLException e) {
+				return false;
+			}
+		}
+
+		/** Close the connection */
+		private void close() {
+			statements.clear();
+			prepared.clear();
+			try {
+				connection.close();
+			}
+			catch (SQLException e) {
+				SQL_LOG.log("close -> " + e);
+			}
+		}
+	}
+
+	/** Close a statement, ignoring errors */
+	static private void closeStatement(Statement s) {
+		try {
+			s.close();
+		}
+		catch (SQLException e) {
+			SQL_LOG.log("closeStatement -> " + e);
+		}
+	}
+
+	/** Idle pooled connections */
+	private final ArrayDeque<PooledConnection> idle =
+		new ArrayDeque<PooledConnection>();
+
+	/** Number of open connections */
+	private int n_open = 0;
+
+	/** Connection held by the current thread */
+	private final ThreadLocal<PooledConnection> held =
+		new ThreadLocal<PooledConnection>();
+
+	/** Timing statistics for one statement */
+	static private class StatementStats {
+		private int count;
+		private long total_ns;
+		private long max_ns;
+	}
+
+	/** Timing statistics, mapped by statement */
+	private final HashMap<String, StatementStats> stats =
+		new HashMap<String, StatementStats>();
+
+	/** Create a new SQL connection.
+	 * @param url Location of database server.
+	 * @param usr User to log into database server.
+	 * @param pswd Password to log into database server.
+	 * @param n_conn Maximum number of pooled connections. */
+	public SQLConnection(String url, String usr, String pswd, int n_conn)
 		throws TMSException
 	{
 		try {
@@ -150,98 +308,194 @@ public class SQLConnection {
 		location = url;
 		user = usr;
 		password = pswd;
+		max_conn = Math.max(1, Math.min(n_conn, MAX_CONNECTIONS));
 	}
 
-	/** Close the current database connection */
-	private void close() throws SQLException {
-		statements.clear();
-		if (connection != null) {
-			try {
-				connection.close();
-			}
-			finally {
-				connection = null;
-			}
-		}
-	}
-
-	/** Open a new database connection */
-	private void open() throws SQLException {
-		connection = DriverManager.getConnection(location, user,
-			password);
-		connection.setAutoCommit(true);
+	/** Get the maximum number of open connections */
+	public int getMaxConnections() {
+		return max_conn;
 	}
 
-	/** Create a database statement */
-	private Statement _createStatement() throws SQLException {
-		if (connection == null)
-			open();
-		return connection.createStatement();
+	/** Acquire a connection for the current thread */
+	private PooledConnection acquire() throws TMSException {
+		PooledConnection pc = held.get();
+		if (pc == null) {
+			pc = takeConnection();
+			held.set(pc);
+		}
+		pc.depth++;
+		return pc;
 	}
 
-	/** Create a database statement */
-	private Statement createStatement() throws TMSException {
+	/** Take an idle connection, or open a new one */
+	private PooledConnection takeConnection() throws TMSException {
+		synchronized (idle) {
+			while (idle.isEmpty() && n_open >= max_conn) {
+				try {
+					idle.wait();
+				}
+				catch (InterruptedException e) {
+					throw new TMSException(e);
+				}
+			}
+			if (!idle.isEmpty())
+				return idle.removeLast();
+			n_open++;
+		}
 		try {
-			return _createStatement();
+			return new PooledConnection();
 		}
 		catch (SQLException e) {
-			SQL_LOG.log("createStatement -> " + e);
-			try {
-				close();
-				return _createStatement();
-			}
-			catch (SQLException e2) {
-				SQL_LOG.log("createStatement.2 -> " + e2);
-				throw new TMSException(e2);
+			SQL_LOG.log("open -> " + e);
+			synchronized (idle) {
+				n_open--;
+				idle.notify();
 			}
+			throw new TMSException(e);
 		}
 	}
 
-	/** Get an available statement */
-	private synchronized Statement getStatement() throws TMSException {
-		if (statements.isEmpty())
-			return createStatement();
-		else
-			return statements.removeLast();
+	/** Release a connection for the current thread.
+	 * @param pc Pooled connection.
+	 * @param ok Flag indicating whether last statement succeeded. */
+	private void release(PooledConnection pc, boolean ok) {
+		pc.depth--;
+		if (pc.depth > 0)
+			return;
+		held.remove();
+		boolean valid = ok || pc.isValid();
+		if (!valid)
+			pc.close();
+		synchronized (idle) {
+			if (valid)
+				idle.add(pc);
+			else
+				n_open--;
+			idle.notify();
+		}
+	}
+
+	/** Record timing for one statement */
+	private void recordTiming(String key, long start) {
+		if (SQL_LOG.isOpen()) {
+			long ns = System.nanoTime() - start;
+			synchronized (stats) {
+				StatementStats st = stats.get(key);
+				if (st == null) {
+					st = new StatementStats();
+					stats.put(key, st);
+				}
+				st.count++;
+				st.total_ns += ns;
+				st.max_ns = Math.max(st.max_ns, ns);
+			}
+		}
 	}
 
-	/** Put a statement back after using it */
-	private synchronized void putStatement(Statement s) {
-		statements.add(s);
+	/** Log statement timing statistics and connection pool usage */
+	public void logStats() {
+		if (SQL_LOG.isOpen()) {
+			ArrayList<Map.Entry<String, StatementStats>> ents;
+			synchronized (stats) {
+				ents = new ArrayList<Map.Entry<String,
+					StatementStats>>(stats.entrySet());
+				stats.clear();
+			}
+			for (Map.Entry<String, StatementStats> ent: ents) {
+				StatementStats st = ent.getValue();
+				SQL_LOG.log(ent.getKey() + " count: " +
+					st.count + ", avg: " +
+					(st.total_ns / st.count / 1000) +
+					" us, max: " + (st.max_ns / 1000) +
+					" us");
+			}
+			synchronized (idle) {
+				SQL_LOG.log("pool open: " + n_open + ", idle: " +
+					idle.size());
+			}
+		}
 	}
 
 	/** Query the database and call a factory for each result */
 	public void query(String sql, ResultFactory factory)
 		throws TMSException
 	{
-		Statement s = getStatement();
+		long start = System.nanoTime();
+		PooledConnection pc = acquire();
+		boolean ok = false;
 		try {
+			Statement s = pc.getStatement();
 			ResultSet set = s.executeQuery(sql);
 			try {
+				// barrier wait is not counted as query time
+				long bar = System.nanoTime();
+				passQueryBarrier();
+				start += System.nanoTime() - bar;
 				while (set.next())
 					factory.create(set);
 			}
 			finally {
 				set.close();
 			}
-			putStatement(s);
+			pc.putStatement(s);
+			ok = true;
 		}
 		catch (Exception e) {
 			throw new TMSException(e);
 		}
+		finally {
+			release(pc, ok);
+			recordTiming("query", start);
+		}
 	}
 
 	/** Update the database with the given SQL command */
 	public void update(String sql) throws TMSException {
-		Statement s = getStatement();
+		long start = System.nanoTime();
+		PooledConnection pc = acquire();
+		boolean ok = false;
 		try {
+			Statement s = pc.getStatement();
 			s.executeUpdate(sql);
-			putStatement(s);
+			pc.putStatement(s);
+			ok = true;
 		}
 		catch (SQLException e) {
 			SQL_LOG.log(sql + " -> " + e);
 			throw new TMSException(e);
 		}
+		finally {
+			release(pc, ok);
+			recordTiming("update", start);
+		}
+	}
+
+	/** Update the database with a prepared statement.
+	 * @param sql SQL command, with a ? for each parameter.
+	 * @param params Parameter values, which are passed untyped so that
+	 *               the database can convert them to the column types. */
+	private void updatePrepared(String sql, String... params)
+		throws TMSException
+	{
+		long start = System.nanoTime();
+		PooledConnection pc = acquire();
+		boolean ok = false;
+		try {
+			PreparedStatement ps = pc.prepare(sql);
+			for (int i = 0; i < params.length; i++)
+				ps.setObject(i + 1, params[i], Types.OTHER);
+			ps.executeUpdate();
+			ok = true;
+		}
+		catch (SQLException e) {
+			SQL_LOG.log(sql + " " + Arrays.toString(params) +
+				" -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			release(pc, ok);
+			recordTiming(sql, start);
+		}
 	}
 
 	/** Update one field in a storable database table */
@@ -249,27 +503,26 @@ public class SQLConnection {
 		throws TMSException
 	{
 		validateIdentifier(field);
-		String key = escapeValue(s.getPKey());
+		String key = s.getPKey();
 		validateValue(key);
 		if (value == null) {
 			updateNull(s, field, key);
 			return;
 		}
 		String av = prepareArray(value);
-		String ev = escapeValue(av);
-		validateValue(ev);
-		update("UPDATE " + s.getTable() +
-		      " SET " + field + " = '" + ev + "'" +
-		      " WHERE " + s.getPKeyName() + " = '" + key + "';");
+		validateValue(av);
+		updatePrepared("UPDATE " + s.getTable() +
+		      " SET " + field + " = ?" +
+		      " WHERE " + s.getPKeyName() + " = ?;", av, key);
 	}
 
 	/** Update one field with a NULL value */
 	private void updateNull(Storable s, String field, String key)
 		throws TMSException
 	{
-		update("UPDATE " + s.getTable() +
+		updatePrepared("UPDATE " + s.getTable() +
 		      " SET " + field + " = NULL" +
-		      " WHERE " + s.getPKeyName() + " = '" + key + "';");
+		      " WHERE " + s.getPKeyName() + " = ?;", key);
 	}
 
 	/** Create one storable record */
@@ -277,7 +530,8 @@ public class SQLConnection {
 		validateName(s.getPKey());
 		Map<String, Object> columns = s.getColumns();
 		StringBuilder keys = new StringBuilder();
-		StringBuilder values = new StringBuilder();
+		StringBuilder marks = new StringBuilder();
+		ArrayList<String> values = new ArrayList<String>();
 		for (Map.Entry<String, Object> col: columns.entrySet()) {
 			Object value = col.getValue();
 			if (value != null) {
@@ -286,33 +540,90 @@ public class SQLConnection {
 				keys.append(field);
 				keys.append(",");
 				String av = prepareArray(value);
-				String ev = escapeValue(av);
-				validateValue(ev);
-				values.append("'");
-				values.append(ev);
-				values.append("',");
+				validateValue(av);
+				marks.append("?,");
+				values.add(av);
 			}
 		}
 		keys.setLength(keys.length() - 1);
-		values.setLength(values.length() - 1);
+		marks.setLength(marks.length() - 1);
 		String sql = "INSERT INTO " + s.getTable() + " (" + keys +
-			") VALUES (" + values + ");";
-		update(sql);
+			") VALUES (" + marks + ");";
+		updatePrepared(sql, values.toArray(new String[0]));
+	}
+
+	/** Create a batch of storable records with one INSERT statement.
+	 * All records must be for the same table, with the same non-null
+	 * columns. */
+	public void createAll(List<? extends Storable> rows)
+		throws TMSException
+	{
+		if (rows.isEmpty())
+			return;
+		String table = rows.get(0).getTable();
+		TreeSet<String> fields = null;
+		ArrayList<String> values = new ArrayList<String>();
+		for (Storable s: rows) {
+			validateName(s.getPKey());
+			if (!table.equals(s.getTable()))
+				throw new ChangeVetoException("Invalid table");
+			TreeMap<String, Object> columns = nonNullColumns(s);
+			if (fields == null) {
+				fields = new TreeSet<String>(columns.keySet());
+				for (String field: fields)
+					validateIdentifier(field);
+			} else if (!fields.equals(columns.keySet()))
+				throw new ChangeVetoException("Invalid columns");
+			for (Object value: columns.values()) {
+				String av = prepareArray(value);
+				validateValue(av);
+				values.add(av);
+			}
+		}
+		StringBuilder marks = new StringBuilder();
+		for (int i = 0; i < fields.size(); i++)
+			marks.append((i > 0) ? ",?" : "(?");
+		marks.append(")");
+		StringBuilder sql = new StringBuilder();
+		sql.append("INSERT INTO ");
+		sql.append(table);
+		sql.append(" (");
+		sql.append(String.join(",", fields));
+		sql.append(") VALUES ");
+		for (int i = 0; i < rows.size(); i++) {
+			if (i > 0)
+				sql.append(",");
+			sql.append(marks);
+		}
+		sql.append(";");
+		updatePrepared(sql.toString(), values.toArray(new String[0]));
+	}
+
+	/** Get the non-null columns of a storable record, sorted by name */
+	static public TreeMap<String, Object> nonNullColumns(Storable s) {
+		TreeMap<String, Object> columns = new TreeMap<String, Object>();
+		for (Map.Entry<String, Object> col: s.getColumns().entrySet()) {
+			if (col.getValue() != null)
+				columns.put(col.getKey(), col.getValue());
+		}
+		return columns;
 	}
 
 	/** Destroy one storable record */
 	public void destroy(Storable s) throws TMSException {
-		String esc_val = escapeValue(s.getPKey());
-		String val = prepareArray(esc_val);
+		String val = prepareArray(s.getPKey());
 		validateValue(val);
-		update("DELETE FROM " + s.getTable() +
-		      " WHERE " + s.getPKeyName() + " = '" + val + "';");
+		updatePrepared("DELETE FROM " + s.getTable() +
+		      " WHERE " + s.getPKeyName() + " = ?;", val);
 	}
 
 	/** Update the database with a batch of SQL commands */
 	public void batch(BatchFactory f) throws TMSException {
-		Statement s = getStatement();
+		long start = System.nanoTime();
+		PooledConnection pc = acquire();
+		boolean ok = false;
 		try {
+			Statement s = pc.getStatement();
 			while (true) {
 				String sql = f.next();
 				if (sql == null)
@@ -321,11 +632,16 @@ public class SQLConnection {
 			}
 			s.executeBatch();
 			s.clearBatch();
-			putStatement(s);
+			pc.putStatement(s);
+			ok = true;
 		}
 		catch (SQLException e) {
 			SQL_LOG.log("batch -> " + e);
 			throw new TMSException(e);
 		}
+		finally {
+			release(pc, ok);
+			recordTiming("batch", start);
+		}
 	}
 }
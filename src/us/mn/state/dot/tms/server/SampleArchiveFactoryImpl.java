@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2010-2021  Minnesota Department of Transportation
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -36,7 +36,7 @@ public class SampleArchiveFactoryImpl implements SampleArchiveFactory {
 	 * @param stamp Time stamp
 	 * @return Directory to store sample data.
 	 * @throws IOException If directory cannot be created. */
-	static private String directory(long stamp) throws IOException {
+	static protected String directory(long stamp) throws IOException {
 		File arc = sampleArchiveDir();
 		if(!arc.exists() && !arc.mkdir())
 			throw new IOException("mkdir failed: " + arc);
@@ -54,12 +54,18 @@ public class SampleArchiveFactoryImpl implements SampleArchiveFactory {
 	private final HashSet<String> extensions = new HashSet<String>();
 
 	/** Add a file extension */
-	private void addExtension(String ext) {
+	protected void addExtension(String ext) {
 		synchronized(extensions) {
 			extensions.add(ext);
 		}
 	}
 
+	/** Create a new sample archive factory */
+	public SampleArchiveFactoryImpl() {
+		// Always archive mapped sample files, even if disabled
+		addExtension(MappedSampleFile.EXT);
+	}
+
 	/** Test if a sample file name has a known extension */
 	public boolean hasKnownExtension(String name) {
 		synchronized(extensions) {
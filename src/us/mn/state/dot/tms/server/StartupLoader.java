@@ -0,0 +1,239 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Startup loader for objects stored in the database.
+ *
+ * Loading is split into steps, which must complete in the order they were
+ * added.  A table step runs the loadAll method of one object type.  Table
+ * steps are run by a pool of threads, so the queries for several tables can
+ * be executed concurrently.  When a query has executed, the step waits at
+ * the query barrier until all previous steps have completed, and only then
+ * are its objects created and added to the namespace.  A plain step waits
+ * for all previous steps before starting.
+ *
+ * @author Douglas Lau
+ */
+public class StartupLoader {
+
+	/** A loading step */
+	public interface Step {
+
+		/** Load objects for the step */
+		void load() throws TMSException;
+	}
+
+	/** Step entry, with timing */
+	static private class Entry {
+		private final int index;
+		private final String name;
+		private final Step step;
+		private final boolean table;
+		private long start;
+		private long ready;
+		private long turn;
+		private long end;
+		private boolean has_turn;
+		private Entry(int i, String n, Step s, boolean t) {
+			index = i;
+			name = n;
+			step = s;
+			table = t;
+		}
+	}
+
+	/** Get milliseconds between two nano times */
+	static private long millis(long t0, long t1) {
+		return (t1 - t0) / 1000000;
+	}
+
+	/** Initialize a class.  This is done before starting loader threads,
+	 * since initializing classes which refer to each other from separate
+	 * threads can deadlock. */
+	static private void initClass(Class<?> c) throws TMSException {
+		try {
+			Class.forName(c.getName(), true, c.getClassLoader());
+		}
+		catch (ClassNotFoundException e) {
+			throw new TMSException(e);
+		}
+	}
+
+	/** Number of loader threads */
+	private final int n_threads;
+
+	/** All steps, in dependency order */
+	private final ArrayList<Entry> entries = new ArrayList<Entry>();
+
+	/** Index of next step to start */
+	private int next = 0;
+
+	/** Index of step which may create objects */
+	private int turn = 0;
+
+	/** First error encountered while loading */
+	private TMSException error;
+
+	/** Create a new startup loader.
+	 * @param n Number of loader threads. */
+	public StartupLoader(int n) {
+		n_threads = Math.max(1, n);
+	}
+
+	/** Add a table step for one class of objects.
+	 * @param c Class of objects to load; it is initialized now.
+	 * @param s Step to load objects (normally the loadAll method). */
+	public void addTable(Class<?> c, Step s) throws TMSException {
+		initClass(c);
+		addTable(c.getSimpleName(), s);
+	}
+
+	/** Add a table step.
+	 * @param n Name of step.
+	 * @param s Step to load objects; it may execute queries before
+	 *          previous steps have completed. */
+	public void addTable(String n, Step s) {
+		entries.add(new Entry(entries.size(), n, s, true));
+	}
+
+	/** Add a plain step.
+	 * @param n Name of step.
+	 * @param s Step to run after all previous steps have completed. */
+	public void addStep(String n, Step s) {
+		entries.add(new Entry(entries.size(), n, s, false));
+	}
+
+	/** Run all steps, and wait for them to complete */
+	public void run() throws TMSException {
+		long start = System.nanoTime();
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		int n = Math.min(n_threads, entries.size());
+		for (int i = 0; i < n; i++) {
+			Thread t = new Thread("startup_loader_" + i) {
+				@Override public void run() {
+					runSteps();
+				}
+			};
+			t.start();
+			threads.add(t);
+		}
+		try {
+			for (Thread t: threads)
+				t.join();
+		}
+		catch (InterruptedException e) {
+			fail(new TMSException(e));
+		}
+		synchronized (this) {
+			if (error != null)
+				throw error;
+		}
+		report(millis(start, System.nanoTime()));
+	}
+
+	/** Run steps until all have been started */
+	private void runSteps() {
+		while (true) {
+			Entry e = nextEntry();
+			if (e == null)
+				break;
+			runStep(e);
+		}
+	}
+
+	/** Get the next step to start */
+	private synchronized Entry nextEntry() {
+		return (error == null && next < entries.size())
+		      ? entries.get(next++)
+		      : null;
+	}
+
+	/** Run one step */
+	private void runStep(final Entry e) {
+		e.start = System.nanoTime();
+		try {
+			if (e.table) {
+				SQLConnection.setQueryBarrier(new Runnable() {
+					public void run() {
+						waitTurn(e);
+					}
+				});
+			} else
+				waitTurn(e);
+			e.step.load();
+			waitTurn(e);
+		}
+		catch (TMSException ex) {
+			fail(ex);
+		}
+		catch (Throwable t) {
+			fail(new TMSException(t));
+		}
+		finally {
+			SQLConnection.setQueryBarrier(null);
+			e.end = System.nanoTime();
+			finishTurn(e);
+		}
+	}
+
+	/** Wait for all steps before an entry to complete */
+	private synchronized void waitTurn(Entry e) {
+		if (e.has_turn)
+			return;
+		e.ready = System.nanoTime();
+		try {
+			while (turn < e.index && error == null)
+				wait();
+		}
+		catch (InterruptedException ex) {
+			throw new CancellationException(ex.getMessage());
+		}
+		if (error != null)
+			throw new CancellationException("Startup aborted");
+		e.turn = System.nanoTime();
+		e.has_turn = true;
+	}
+
+	/** Finish the turn of a step */
+	private synchronized void finishTurn(Entry e) {
+		if (e.index == turn) {
+			turn++;
+			notifyAll();
+		}
+	}
+
+	/** Record an error, aborting all steps which have not started */
+	private synchronized void fail(TMSException ex) {
+		if (error == null)
+			error = ex;
+		notifyAll();
+	}
+
+	/** Report timing for all steps */
+	private void report(long ms) {
+		for (Entry e: entries) {
+			System.err.println("Loaded " + e.name + ": " +
+				millis(e.start, e.ready) + " ms query, " +
+				millis(e.turn, e.end) + " ms create");
+		}
+		System.err.println("Loaded " + entries.size() + " steps in " +
+			ms + " ms, " + n_threads + " threads");
+	}
+}
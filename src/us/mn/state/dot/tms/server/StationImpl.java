@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2004-2024  Minnesota Department of Transportation
+ * Copyright (C) 2004-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,8 +14,6 @@
  */
 package us.mn.state.dot.tms.server;
 
-import java.io.IOException;
-import java.io.Writer;
 import java.util.Map;
 import java.util.NavigableMap;
 import us.mn.state.dot.sched.DebugLog;
@@ -24,7 +22,6 @@ import us.mn.state.dot.tms.R_Node;
 import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 
 /**
  * A station is a group of related detectors.
@@ -225,8 +222,9 @@ public class StationImpl implements Station, VehicleSampler {
 		return speeds_low.value(RankMode.SPEED, limit);
 	}
 
-	/** Calculate the current station data */
-	public void calculateData(long stamp, int per_ms) {
+	/** Calculate the current station data.
+	 * @return Immutable sample of the calculated data. */
+	public StationSnapshot.Sample calculateData(long stamp, int per_ms) {
 		speeds.setDensity(density);
 		speeds_ig.setDensity(density_ig);
 		float t_occ = 0;
@@ -280,56 +278,9 @@ public class StationImpl implements Station, VehicleSampler {
 		float speed_ig = average(t_speed_ig, n_speed_ig);
 		speeds_ig.push(speed_ig);
 		speeds_low.push(low);
-	}
-
-	/** Write the current sample as an XML element */
-	public void writeSampleXml(Writer w, long stamp, int per_ms)
-		throws IOException
-	{
-		if (!getActive())
-			return;
-		int f = getFlow(stamp, per_ms);
-		int s = Math.round(getSpeed(stamp, per_ms));
-		float o = occupancy;
-		w.write("\t<sample");
-		w.write(createAttribute("sensor", name));
-		if (f > MISSING_DATA)
-			w.write(createAttribute("flow", f));
-		if (s > 0)
-			w.write(createAttribute("speed", s));
-		if (o >= 0) {
-			w.write(createAttribute("occ",
-				BaseObjectImpl.formatFloat(o, 2)));
-		}
-		w.write("/>\n");
-	}
-
-	/** Write the current sample as a JSON object */
-	public boolean writeSampleJson(long stamp, int per_ms, Writer writer,
-		boolean first) throws IOException
-	{
-		int f = getFlow(stamp, per_ms);
-		int s = Math.round(getSpeed(stamp, per_ms));
-		if (f > MISSING_DATA || s > 0) {
-			if (!first)
-				writer.write(',');
-			writeSampleJson(f, s, writer);
-			return true;
-		} else
-			return false;
-	}
-
-	/** Write the current sample as a JSON object */
-	private void writeSampleJson(int f, int s, Writer writer)
-		throws IOException
-	{
-		writer.write("\n\"");
-		writer.write(name);
-		writer.write("\":[");
-		writer.write((f > MISSING_DATA) ? String.valueOf(f) : "null");
-		writer.write(',');
-		writer.write((s > 0) ? String.valueOf(s) : "null");
-		writer.write(']');
+		return new StationSnapshot.Sample(name, getActive(),
+			getFlow(stamp, per_ms), Math.round(speed), occupancy,
+			density);
 	}
 
 	/** Acceleration from previous station */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2004-2024  Minnesota Department of Transportation
+ * Copyright (C) 2004-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,21 +14,29 @@
  */
 package us.mn.state.dot.tms.server;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.Writer;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import us.mn.state.dot.tms.R_NodeHelper;
 import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.StationHelper;
 import us.mn.state.dot.tms.utils.DevelCfg;
 import us.mn.state.dot.tms.utils.FileIO;
 
 /**
- * This class writes out station XML files.
+ * Station manager calculates station data and writes out station XML files.
+ * Stations are calculated in parallel, with one fork-join task for each
+ * corridor.  The results are published as an immutable snapshot for each
+ * sample interval.
  *
  * @author Douglas Lau
  */
@@ -39,7 +47,7 @@ class StationManager {
 		new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
 
 	/** JSON output directory */
-	static private final File JSON_OUTPUT_DIRECTORY = new File(
+	static final File JSON_OUTPUT_DIRECTORY = new File(
 		DevelCfg.get("json.output.dir", "/var/lib/iris/web/"));
 
 	/** Location of station XML file */
@@ -48,36 +56,100 @@ class StationManager {
 	/** Name of station JSON file */
 	static private final String SAMPLE_JSON = "station_sample";
 
-	/** Time stamp at end of interval */
-	private long stamp;
+	/** Task to calculate data for the stations on one corridor */
+	static private class CorridorTask extends RecursiveAction {
+		/** All stations */
+		private final ArrayList<StationImpl> stations;
+
+		/** Indices of stations on the corridor */
+		private final ArrayList<Integer> indices;
+
+		/** Samples for all stations (indexed like stations) */
+		private final StationSnapshot.Sample[] samples;
+
+		/** Time stamp at end of interval */
+		private final long stamp;
+
+		/** Sample period (ms) */
+		private final int per_ms;
+
+		/** Create a new corridor task */
+		private CorridorTask(ArrayList<StationImpl> st,
+			ArrayList<Integer> idx, StationSnapshot.Sample[] smp,
+			long s, int p)
+		{
+			stations = st;
+			indices = idx;
+			samples = smp;
+			stamp = s;
+			per_ms = p;
+		}
+
+		/** Calculate data for all stations on the corridor */
+		@Override protected void compute() {
+			for (int i: indices) {
+				samples[i] = stations.get(i).calculateData(stamp,
+					per_ms);
+			}
+		}
+	}
+
+	/** Snapshot of the most recent interval */
+	private volatile StationSnapshot snapshot = new StationSnapshot(0,
+		new ArrayList<StationSnapshot.Sample>());
 
-	/** Get the time stamp at end of interval */
-	public long getStamp() {
-		return stamp;
+	/** Get the snapshot of the most recent interval */
+	public StationSnapshot getSnapshot() {
+		return snapshot;
 	}
 
-	/** Calculate the current data for all stations */
+	/** Calculate the current data for all stations.  Stations on the same
+	 * corridor are calculated by one task, in iteration order. */
 	public void calculateData() {
 		int per_ms = DetectorImpl.BIN_PERIOD_MS;
-		stamp = DetectorImpl.calculateEndTime(per_ms);
+		long stamp = DetectorImpl.calculateEndTime(per_ms);
+		ArrayList<StationImpl> stations = new ArrayList<StationImpl>();
+		LinkedHashMap<String, ArrayList<Integer>> corridors =
+			new LinkedHashMap<String, ArrayList<Integer>>();
 		Iterator<Station> it = StationHelper.iterator();
 		while (it.hasNext()) {
 			Station s = it.next();
 			if (s instanceof StationImpl) {
 				StationImpl si = (StationImpl) s;
-				si.calculateData(stamp, per_ms);
+				String cn = R_NodeHelper.getCorridorName(
+					si.getR_Node());
+				if (cn == null)
+					cn = "";
+				ArrayList<Integer> idx = corridors.get(cn);
+				if (idx == null) {
+					idx = new ArrayList<Integer>();
+					corridors.put(cn, idx);
+				}
+				idx.add(stations.size());
+				stations.add(si);
 			}
 		}
+		StationSnapshot.Sample[] samples =
+			new StationSnapshot.Sample[stations.size()];
+		ArrayList<CorridorTask> tasks = new ArrayList<CorridorTask>();
+		for (ArrayList<Integer> idx: corridors.values()) {
+			tasks.add(new CorridorTask(stations, idx, samples,
+				stamp, per_ms));
+		}
+		ForkJoinTask.invokeAll(tasks);
+		snapshot = new StationSnapshot(stamp, Arrays.asList(samples));
 	}
 
 	/** Write the station data out as XML */
-	public void writeSampleXml() throws IOException {
+	public void writeSampleXml(final StationSnapshot snap)
+		throws IOException
+	{
 		XmlWriter w = new XmlWriter(SAMPLE_XML, true) {
 			@Override protected void write(Writer w)
 				throws IOException
 			{
-				writeSampleXmlHead(w);
-				writeSampleXmlBody(w);
+				writeSampleXmlHead(w, snap);
+				writeSampleXmlBody(w, snap);
 				writeSampleXmlTail(w);
 			}
 		};
@@ -85,62 +157,45 @@ class StationManager {
 	}
 
 	/** Write the station data out as JSON */
-	public void writeSampleJson() throws IOException {
+	public void writeSampleJson(StationSnapshot snap) throws IOException {
 		File file = new File(JSON_OUTPUT_DIRECTORY, SAMPLE_JSON);
 		File temp = new File(file.getAbsolutePath() + "~");
-		FileWriter writer = new FileWriter(temp);
+		FeedWriter writer = new FeedWriter(new FileOutputStream(temp));
 		try {
-			writeSampleJson(writer);
+			writeSampleJson(writer, snap);
 		}
 		finally {
-			writer.flush();
 			writer.close();
 		}
 		FileIO.atomicMove(temp.toPath(), file.toPath());
 	}
 
 	/** Write the station data out as JSON */
-	private void writeSampleJson(FileWriter writer) throws IOException {
-		BufferedWriter buf_writer = new BufferedWriter(writer);
-		try {
-			writeSampleJson(buf_writer);
-		}
-		finally {
-			buf_writer.flush();
-		}
-	}
-
-	/** Write the station data out as JSON */
-	private void writeSampleJson(BufferedWriter writer) throws IOException {
-		int per_ms = DetectorImpl.BIN_PERIOD_MS;
+	private void writeSampleJson(Writer writer, StationSnapshot snap)
+		throws IOException
+	{
 		writer.write("{\n");
 		writer.write("\"time_stamp\":\"");
-		writer.write(RFC3339.format(new Date(stamp)));
+		writer.write(RFC3339.format(new Date(snap.stamp)));
 		writer.write("\",\n");
 		writer.write("\"period\":30,\n");
 		writer.write("\"samples\":{");
-		Iterator<Station> it = StationHelper.iterator();
 		boolean first = true;
-		while (it.hasNext()) {
-			Station s = it.next();
-			if (s instanceof StationImpl) {
-				StationImpl si = (StationImpl) s;
-				if (si.writeSampleJson(stamp, per_ms, writer,
-					first))
-				{
-					first = false;
-				}
-			}
+		for (StationSnapshot.Sample smp: snap.samples) {
+			if (smp.writeJson(writer, first))
+				first = false;
 		}
 		writer.write("\n}\n");
 		writer.write("}\n");
 	}
 
 	/** Print the header of the station XML file */
-	private void writeSampleXmlHead(Writer w) throws IOException {
+	private void writeSampleXmlHead(Writer w, StationSnapshot snap)
+		throws IOException
+	{
 		w.write(XmlWriter.XML_DECLARATION);
 		writeDtd(w);
-		w.write("<traffic_sample time_stamp='" + new Date(stamp) +
+		w.write("<traffic_sample time_stamp='" + new Date(snap.stamp) +
 			"' period='30'>\n");
 	}
 
@@ -160,16 +215,11 @@ class StationManager {
 	}
 
 	/** Print the body of the station XML file */
-	private void writeSampleXmlBody(Writer w) throws IOException {
-		int per_ms = DetectorImpl.BIN_PERIOD_MS;
-		Iterator<Station> it = StationHelper.iterator();
-		while (it.hasNext()) {
-			Station s = it.next();
-			if (s instanceof StationImpl) {
-				StationImpl si = (StationImpl) s;
-				si.writeSampleXml(w, stamp, per_ms);
-			}
-		}
+	private void writeSampleXmlBody(Writer w, StationSnapshot snap)
+		throws IOException
+	{
+		for (StationSnapshot.Sample smp: snap.samples)
+			smp.writeXml(w);
 	}
 
 	/** Print the tail of the station XML file */
@@ -0,0 +1,130 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
+import static us.mn.state.dot.tms.server.XmlWriter.writeAttribute;
+
+/**
+ * Immutable snapshot of station data for one sample interval.
+ *
+ * @author Douglas Lau
+ */
+public final class StationSnapshot {
+
+	/** Station data for one interval */
+	static public final class Sample {
+
+		/** Station name */
+		public final String name;
+
+		/** Active flag */
+		public final boolean active;
+
+		/** Average flow (vehicles per hour) */
+		public final int flow;
+
+		/** Average speed (MPH, rounded) */
+		public final int speed;
+
+		/** Average occupancy (percent) */
+		public final float occupancy;
+
+		/** Average density (vehicles per mile) */
+		public final float density;
+
+		/** Create a new station sample */
+		public Sample(String n, boolean a, int f, int s, float o,
+			float k)
+		{
+			name = n;
+			active = a;
+			flow = f;
+			speed = s;
+			occupancy = o;
+			density = k;
+		}
+
+		/** Write the sample as an XML element */
+		public void writeXml(Writer w) throws IOException {
+			if (!active)
+				return;
+			w.write("\t<sample");
+			writeAttribute(w, "sensor", name);
+			if (flow > MISSING_DATA)
+				writeAttribute(w, "flow", flow);
+			if (speed > 0)
+				writeAttribute(w, "speed", speed);
+			if (occupancy >= 0) {
+				writeAttribute(w, "occ", BaseObjectImpl
+					.formatFloat(occupancy, 2));
+			}
+			w.write("/>\n");
+		}
+
+		/** Write the sample as a JSON object.
+		 * @return true if anything was written. */
+		public boolean writeJson(Writer w, boolean first)
+			throws IOException
+		{
+			if (flow > MISSING_DATA || speed > 0) {
+				if (!first)
+					w.write(',');
+				w.write("\n\"");
+				w.write(name);
+				w.write("\":[");
+				if (flow > MISSING_DATA)
+					FeedWriter.writeInt(w, flow);
+				else
+					w.write("null");
+				w.write(',');
+				if (speed > 0)
+					FeedWriter.writeInt(w, speed);
+				else
+					w.write("null");
+				w.write(']');
+				return true;
+			} else
+				return false;
+		}
+
+		/** Get the sample value as JSON text (or null if missing) */
+		public String jsonValue() {
+			if (flow > MISSING_DATA || speed > 0) {
+				return "[" + ((flow > MISSING_DATA)
+				      ? String.valueOf(flow) : "null") + "," +
+				      ((speed > 0) ? String.valueOf(speed) : "null")
+				      + "]";
+			} else
+				return null;
+		}
+	}
+
+	/** Time stamp at end of interval */
+	public final long stamp;
+
+	/** Station samples */
+	public final List<Sample> samples;
+
+	/** Create a new station snapshot */
+	public StationSnapshot(long st, List<Sample> s) {
+		stamp = st;
+		samples = Collections.unmodifiableList(s);
+	}
+}
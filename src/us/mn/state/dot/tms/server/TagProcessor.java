@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2013-2025  Minnesota Department of Transportation
+ * Copyright (C) 2013-2026  Minnesota Department of Transportation
  * Copyright (C) 2021-2022  Iteris Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -24,7 +24,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import us.mn.state.dot.sched.DebugLog;
-import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.ActionPlan;
 import us.mn.state.dot.tms.Detector;
@@ -44,12 +43,10 @@ import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.StationHelper;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.TimeActionHelper;
-import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.TollZone;
 import us.mn.state.dot.tms.TollZoneHelper;
 import us.mn.state.dot.tms.WeatherSensor;
 import us.mn.state.dot.tms.WeatherSensorHelper;
-import static us.mn.state.dot.tms.server.MainServer.FLUSH;
 import us.mn.state.dot.tms.server.event.PriceMessageEvent;
 import us.mn.state.dot.tms.server.event.TravelTimeEvent;
 import us.mn.state.dot.tms.server.comm.clearguide.ClearGuidePoller;
@@ -111,12 +108,7 @@ public class TagProcessor {
 
 	/** Log an event */
 	static private void logEvent(EventType et, String d, String sid) {
-		final TravelTimeEvent ev = new TravelTimeEvent(et, d, sid);
-		FLUSH.addJob(new Job() {
-			public void perform() throws TMSException {
-				ev.doStore();
-			}
-		});
+		new TravelTimeEvent(et, d, sid).queueStore();
 	}
 
 	/** Travel time data (for hashmap) */
@@ -788,8 +780,7 @@ public class TagProcessor {
 	/** Find a route to a travel time destination */
 	private Route findRoute(Station s) {
 		GeoLoc dest = s.getR_Node().getGeoLoc();
-		RouteFinder rf = new RouteFinder(BaseObjectImpl.corridors);
-		return rf.findRoute(loc, dest);
+		return BaseObjectImpl.corridors.findRoute(loc, dest);
 	}
 
 	/** Process travel time tag */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2024  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,9 +16,12 @@ package us.mn.state.dot.tms.server;
 
 import java.sql.ResultSet;
 import java.util.Calendar;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import us.mn.state.dot.tms.ActionPlan;
 import us.mn.state.dot.tms.DayPlan;
 import us.mn.state.dot.tms.DayPlanHelper;
@@ -33,7 +36,49 @@ import us.mn.state.dot.tms.utils.UniqueNameCreator;
  *
  * @author Douglas Lau
  */
-public class TimeActionImpl extends BaseObjectImpl implements TimeAction {
+public class TimeActionImpl extends BaseObjectImpl implements TimeAction,
+	Comparable<TimeActionImpl>
+{
+
+	/** Mapping of minute-of-day to time actions, ordered by name */
+	static private final HashMap<Integer, TreeSet<TimeActionImpl>> MINUTES
+		= new HashMap<Integer, TreeSet<TimeActionImpl>>();
+
+	/** Add a time action to the minute index */
+	static private void addMinute(TimeActionImpl ta) {
+		synchronized (MINUTES) {
+			TreeSet<TimeActionImpl> set = MINUTES.get(ta.minute);
+			if (set == null) {
+				set = new TreeSet<TimeActionImpl>();
+				MINUTES.put(ta.minute, set);
+			}
+			set.add(ta);
+		}
+	}
+
+	/** Remove a time action from the minute index */
+	static private void removeMinute(TimeActionImpl ta) {
+		synchronized (MINUTES) {
+			TreeSet<TimeActionImpl> set = MINUTES.get(ta.minute);
+			if (set != null) {
+				set.remove(ta);
+				if (set.isEmpty())
+					MINUTES.remove(ta.minute);
+			}
+		}
+	}
+
+	/** Lookup all time actions for a minute-of-day.
+	 * @param min Minute-of-day (0-1439).
+	 * @return List of time actions, ordered by name (may be empty). */
+	static public List<TimeActionImpl> lookupMinute(int min) {
+		synchronized (MINUTES) {
+			TreeSet<TimeActionImpl> set = MINUTES.get(min);
+			return (set != null)
+			      ? new ArrayList<TimeActionImpl>(set)
+			      : new ArrayList<TimeActionImpl>();
+		}
+	}
 
 	/** Create a unique TimeAction record name */
 	static public String createUniqueName(String template) {
@@ -74,6 +119,12 @@ public class TimeActionImpl extends BaseObjectImpl implements TimeAction {
 		return map;
 	}
 
+	/** Compare to another time action */
+	@Override
+	public int compareTo(TimeActionImpl o) {
+		return name.compareTo(o.name);
+	}
+
 	/** Create a new time action */
 	public TimeActionImpl(String n) {
 		super(n);
@@ -89,8 +140,30 @@ public class TimeActionImpl extends BaseObjectImpl implements TimeAction {
 		sched_date = TimeActionHelper.formatDate(sd);
 		time_of_day = TimeActionHelper.formatTime(tod);
 		phase = lookupPlanPhase(p);
+		initTransients();
 	}
 
+	/** Initialize the transient fields */
+	@Override
+	protected void initTransients() {
+		removeMinute(this);
+		minute = (time_of_day != null)
+		       ? TimeActionHelper.getMinuteOfDay(this)
+		       : null;
+		if (minute != null)
+			addMinute(this);
+	}
+
+	/** Destroy a time action */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		removeMinute(this);
+	}
+
+	/** Minute-of-day of time action (null if invalid) */
+	private transient Integer minute;
+
 	/** Action plan */
 	private ActionPlan action_plan;
 
@@ -152,8 +225,7 @@ public class TimeActionImpl extends BaseObjectImpl implements TimeAction {
 
 	/** Perform action if date and time is right */
 	public void perform(Calendar cal, int min) {
-		if (isDayValid(cal) &&
-		    TimeActionHelper.getMinuteOfDay(this) == min)
+		if (isDayValid(cal) && minute != null && minute == min)
 			perform();
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,12 +15,9 @@
 package us.mn.state.dot.tms.server;
 
 import java.util.Calendar;
-import java.util.Iterator;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.sched.Scheduler;
-import us.mn.state.dot.tms.TimeAction;
-import us.mn.state.dot.tms.TimeActionHelper;
 import us.mn.state.dot.tms.TMSException;
 
 /**
@@ -49,17 +46,11 @@ public class TimeActionJob extends Job {
 		timer.addJob(new DeviceActionJob());
 	}
 
-	/** Perform all time actions */
+	/** Perform all time actions for the current minute */
 	private void performTimeActions() {
 		Calendar cal = TimeSteward.getCalendarInstance();
 		int min = TimeSteward.currentMinuteOfDayInt();
-		Iterator<TimeAction> it = TimeActionHelper.iterator();
-		while (it.hasNext()) {
-			TimeAction ta = it.next();
-			if (ta instanceof TimeActionImpl) {
-				TimeActionImpl tai = (TimeActionImpl) ta;
-				tai.perform(cal, min);
-			}
-		}
+		for (TimeActionImpl ta: TimeActionImpl.lookupMinute(min))
+			ta.perform(cal, min);
 	}
 }
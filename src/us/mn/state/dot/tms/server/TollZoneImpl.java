@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015-2024  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -340,8 +340,7 @@ public class TollZoneImpl extends BaseObjectImpl implements TollZone {
 	 * @return Route from origin to destination, or null */
 	private Route buildRoute(String lbl, GeoLoc o, GeoLoc d) {
 		long st = TimeSteward.currentTimeMillis();
-		RouteFinder rf = new RouteFinder(BaseObjectImpl.corridors);
-		Route r = rf.findRoute(o, d);
+		Route r = BaseObjectImpl.corridors.findRoute(o, d);
 		if (isLogging()) {
 			long e = TimeSteward.currentTimeMillis() - st;
 			log(lbl, "ROUTE TO " + end_id + strNot(r) + "FOUND: " +
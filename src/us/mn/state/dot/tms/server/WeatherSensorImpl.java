@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2010-2024  Minnesota Department of Transportation
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
  * Copyright (C) 2017-2021  Iteris Inc.
  * Copyright (C) 2023-2024  SRF Consulting Group
  *
@@ -53,7 +53,7 @@ import us.mn.state.dot.tms.server.comm.WeatherPoller;
  * @author John L. Stanley
  */
 public class WeatherSensorImpl extends DeviceImpl implements WeatherSensor,
-	Comparable<WeatherSensorImpl>
+	Comparable<WeatherSensorImpl>, SampleSensor
 {
 	/** Sample period for weather sensors (seconds) */
 	static private final int SAMPLE_PERIOD_SEC = 60;
@@ -432,6 +432,7 @@ public class WeatherSensorImpl extends DeviceImpl implements WeatherSensor,
 		int value = calculatePrecipValue(a);
 		if (per_sec > 0 && value >= 0) {
 			cache.add(new PeriodicSample(st, per_sec, value), name);
+			FlushSamplesJob.queueFlush(this);
 			float per_h = 3600f / per_sec;  // periods per hour
 			float umph = value * per_h;     // micrometers per hour
 			float mmph = umph / 1000;       // millimeters per hour
@@ -492,6 +493,7 @@ public class WeatherSensorImpl extends DeviceImpl implements WeatherSensor,
 	public void setPrecipitationType(PrecipitationType pt, long st) {
 		pt_cache.add(new PeriodicSample(st, SAMPLE_PERIOD_SEC,
 			pt.ordinal()), name);
+		FlushSamplesJob.queueFlush(this);
 	}
 
 	/** Precipitation situation (null for missing) */
@@ -898,12 +900,14 @@ public class WeatherSensorImpl extends DeviceImpl implements WeatherSensor,
 	}
 
 	/** Flush buffered sample data to disk */
+	@Override
 	public void flush(PeriodicSampleWriter writer) {
 		writer.flush(cache, name);
 		writer.flush(pt_cache, name);
 	}
 
 	/** Purge all samples before a given stamp. */
+	@Override
 	public void purge(long before) {
 		cache.purge(before);
 		pt_cache.purge(before);
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2022  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,14 +14,12 @@
  */
 package us.mn.state.dot.tms.server;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Deflater;
 import us.mn.state.dot.tms.utils.DevelCfg;
 import us.mn.state.dot.tms.utils.FileIO;
 
@@ -40,24 +38,92 @@ abstract public class XmlWriter {
 	static protected final String XML_DECLARATION =
 		"<?xml version='1.0' encoding='UTF-8'?>\n";
 
+	/** Compression level for gzip files (0-9, or -1 for default) */
+	static private final int GZIP_LEVEL = lookupGzipLevel();
+
+	/** Lookup the gzip compression level */
+	static private int lookupGzipLevel() {
+		try {
+			int lvl = Integer.parseInt(DevelCfg.get("xml.gzip.level",
+				String.valueOf(Deflater.DEFAULT_COMPRESSION)).trim());
+			if (FeedWriter.isValidLevel(lvl))
+				return lvl;
+		}
+		catch (NumberFormatException e) {
+			// fall through
+		}
+		return Deflater.DEFAULT_COMPRESSION;
+	}
+
+	/** Check if a char is special in XML */
+	static private boolean isSpecial(char c) {
+		switch (c) {
+		case '&':
+		case '<':
+		case '>':
+		case '"':
+		case '\'':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/** Get the escape sequence for a special char */
+	static private String escape(char c) {
+		switch (c) {
+		case '&':
+			return "&amp;";
+		case '<':
+			return "&lt;";
+		case '>':
+			return "&gt;";
+		case '"':
+			return "&quot;";
+		default:
+			return "&apos;";
+		}
+	}
+
+	/** Find the index of the first special char (or -1) */
+	static private int firstSpecial(String v) {
+		for (int i = 0; i < v.length(); i++) {
+			if (isSpecial(v.charAt(i)))
+				return i;
+		}
+		return -1;
+	}
+
 	/** Validate an xml element name */
 	static public String validateElementName(String e) {
-		e = e.replace("&", "");
-		e = e.replace("<", "");
-		e = e.replace(">", "");
-		e = e.replace("\"", "");
-		e = e.replace("\'", "");
-		return e;
+		int i = firstSpecial(e);
+		if (i < 0)
+			return e;
+		StringBuilder sb = new StringBuilder(e.length());
+		sb.append(e, 0, i);
+		for (; i < e.length(); i++) {
+			char c = e.charAt(i);
+			if (!isSpecial(c))
+				sb.append(c);
+		}
+		return sb.toString();
 	}
 
 	/** Validate an xml element value */
 	static public String validateElementValue(String v) {
-		v = v.replace("&", "&amp;");
-		v = v.replace("<", "&lt;");
-		v = v.replace(">", "&gt;");
-		v = v.replace("\"", "&quot;");
-		v = v.replace("\'", "&apos;");
-		return v;
+		int i = firstSpecial(v);
+		if (i < 0)
+			return v;
+		StringBuilder sb = new StringBuilder(v.length() + 16);
+		sb.append(v, 0, i);
+		for (; i < v.length(); i++) {
+			char c = v.charAt(i);
+			if (isSpecial(c))
+				sb.append(escape(c));
+			else
+				sb.append(c);
+		}
+		return sb.toString();
 	}
 
 	/** Create an XML attribute */
@@ -73,6 +139,39 @@ abstract public class XmlWriter {
 			return "";
 	}
 
+	/** Write an XML attribute, escaping the value while writing */
+	static public void writeAttribute(Writer w, String name, String value)
+		throws IOException
+	{
+		if (value != null) {
+			w.write(' ');
+			w.write(validateElementName(name));
+			w.write("='");
+			int s = 0;
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (isSpecial(c)) {
+					w.write(value, s, i - s);
+					w.write(escape(c));
+					s = i + 1;
+				}
+			}
+			w.write(value, s, value.length() - s);
+			w.write('\'');
+		}
+	}
+
+	/** Write an XML attribute with an integer value */
+	static public void writeAttribute(Writer w, String name, int value)
+		throws IOException
+	{
+		w.write(' ');
+		w.write(validateElementName(name));
+		w.write("='");
+		FeedWriter.writeInt(w, value);
+		w.write('\'');
+	}
+
 	/** File to write final XML data */
 	protected final File file;
 
@@ -94,17 +193,16 @@ abstract public class XmlWriter {
 	/** Create the underlying output stream */
 	private OutputStream createOutputStream() throws IOException {
 		OutputStream os = new FileOutputStream(temp);
-		return (gzip) ? new GZIPOutputStream(os) : os;
+		return (gzip) ? FeedWriter.gzipStream(os, GZIP_LEVEL) : os;
 	}
 
 	/** Write the XML file */
 	public void write() throws IOException {
 		OutputStream os = createOutputStream();
 		try {
-			BufferedWriter bw = new BufferedWriter(
-				new OutputStreamWriter(os));
-			write(bw);
-			bw.flush();
+			FeedWriter fw = new FeedWriter(os);
+			write(fw);
+			fw.flush();
 		}
 		finally {
 			os.close();
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2016-2024  Minnesota Department of Transportation
+ * Copyright (C) 2016-2026  Minnesota Department of Transportation
  * Copyright (C) 2017       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -31,7 +31,7 @@ import java.util.concurrent.ConcurrentSkipListSet;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.ExceptionHandler;
 import us.mn.state.dot.sched.Job;
-import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.WheelScheduler;
 import us.mn.state.dot.sched.Work;
 import us.mn.state.dot.sched.Worker;
 import us.mn.state.dot.tms.CommConfig;
@@ -91,15 +91,15 @@ abstract public class BasePoller implements DevicePoller {
 		}
 	};
 
-	/** Scheduler for processing comm operations */
-	static private final Scheduler COMM = new Scheduler("commx", HANDLER);
-
 	/** Worker for logging to debug logs */
 	static private final Worker LOGGER = new Worker("logger", HANDLER);
 
 	/** Poller (comm link) name */
 	private final String name;
 
+	/** Scheduler for processing comm operations */
+	private final WheelScheduler comm;
+
 	/** Default URI scheme */
 	private final URI scheme;
 
@@ -168,6 +168,7 @@ abstract public class BasePoller implements DevicePoller {
 	protected BasePoller(CommLink link, URI s, boolean cot) {
 		CommConfig cc = link.getCommConfig();
 		name = link.getName();
+		comm = CommScheduler.getScheduler(name, HANDLER);
 		scheme = s;
 		uri = link.getUri();
 		timeout_ms = cc.getTimeoutMs();
@@ -223,7 +224,7 @@ abstract public class BasePoller implements DevicePoller {
 
 	/** Add an operation to the device poller */
 	protected final void addOp(final Operation op) {
-		COMM.addJob(new Job() {
+		comm.addJob(new Job() {
 			@Override public String getName() {
 				return "addOp";
 			}
@@ -320,7 +321,7 @@ abstract public class BasePoller implements DevicePoller {
 
 	/** Schedule a timeout check */
 	private void scheduleTimeout() {
-		COMM.addJob(new Job(timeout_ms) {
+		comm.addJob(new Job(timeout_ms) {
 			@Override public String getName() {
 				return "scheduleTimeout";
 			}
@@ -495,7 +496,7 @@ abstract public class BasePoller implements DevicePoller {
 
 	/** Schedule poll of operation */
 	private void schedulePoll() {
-		COMM.addJob(new Job() {
+		comm.addJob(new Job() {
 			@Override public String getName() {
 				return "schedulePoll";
 			}
@@ -595,7 +596,7 @@ abstract public class BasePoller implements DevicePoller {
 
 	/** Check for data in receive buffer */
 	public void checkReceive() {
-		COMM.addJob(new Job() {
+		comm.addJob(new Job() {
 			@Override public String getName() {
 				return "checkReceive";
 			}
@@ -0,0 +1,114 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.util.Properties;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.ExceptionHandler;
+import us.mn.state.dot.sched.WheelScheduler;
+
+/**
+ * Comm scheduler is a set of scheduler threads for processing comm
+ * operations.  Each comm link is pinned to one scheduler (by name hash), so
+ * jobs for a single link are always performed in order, while a slow link
+ * only delays other links which share its scheduler.  Timing wheel
+ * schedulers are used, since every operation schedules a timeout job.
+ *
+ * @author Douglas Lau
+ */
+public final class CommScheduler {
+
+	/** Comm scheduler debug log */
+	static private final DebugLog COMM_LOG = new DebugLog("comm_sched");
+
+	/** Maximum number of scheduler threads */
+	static private final int MAX_THREADS = 64;
+
+	/** Number of scheduler threads */
+	static private int n_threads = Math.min(MAX_THREADS,
+		Runtime.getRuntime().availableProcessors());
+
+	/** Scheduler threads (created lazily) */
+	static private WheelScheduler[] scheds;
+
+	/** Don't allow instantiation */
+	private CommScheduler() { }
+
+	/** Initialize the comm scheduler from server properties.  This must
+	 * be called before any pollers are created. */
+	static public synchronized void init(Properties props)
+		throws IllegalArgumentException
+	{
+		String t = props.getProperty("comm.threads");
+		if (t != null) {
+			try {
+				int n = Integer.parseInt(t.trim());
+				if (n < 1 || n > MAX_THREADS)
+					throw new NumberFormatException();
+				n_threads = n;
+			}
+			catch (NumberFormatException e) {
+				throw new IllegalArgumentException(
+					"Invalid comm.threads: " + t);
+			}
+		}
+	}
+
+	/** Get the scheduler threads, creating them if necessary */
+	static private synchronized WheelScheduler[] getSchedulers(
+		ExceptionHandler h)
+	{
+		if (scheds == null) {
+			scheds = new WheelScheduler[n_threads];
+			for (int i = 0; i < scheds.length; i++)
+				scheds[i] = new WheelScheduler(schedName(i), h);
+		}
+		return scheds;
+	}
+
+	/** Get the name of one scheduler thread */
+	static private String schedName(int i) {
+		return (n_threads > 1) ? "commx_" + i : "commx";
+	}
+
+	/** Get the scheduler for a comm link.
+	 * @param name Comm link name.
+	 * @param h Exception handler (used when creating schedulers).
+	 * @return Scheduler to use for all jobs on the link. */
+	static public WheelScheduler getScheduler(String name,
+		ExceptionHandler h)
+	{
+		WheelScheduler[] s = getSchedulers(h);
+		int i = (name.hashCode() & Integer.MAX_VALUE) % s.length;
+		return s[i];
+	}
+
+	/** Log queue depth and lag for all scheduler threads */
+	static public void logMetrics() {
+		if (COMM_LOG.isOpen()) {
+			WheelScheduler[] s = getCreated();
+			for (int i = 0; i < s.length; i++) {
+				COMM_LOG.log(schedName(i) + " queue: " +
+					s[i].size() + ", lag: " +
+					s[i].takeMaxLag() + " ms");
+			}
+		}
+	}
+
+	/** Get the scheduler threads which have been created */
+	static private synchronized WheelScheduler[] getCreated() {
+		return (scheds != null) ? scheds : new WheelScheduler[0];
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2017-2020  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -53,9 +53,6 @@ public class CommThread<T extends ControllerProperty> {
 			return e.getClass().getSimpleName();
 	}
 
-	/** Thread group for all comm threads */
-	static private final ThreadGroup GROUP = new ThreadGroup("Comm");
-
 	/** Check if messenger needs reconnect after read timeout failure.
 	 * For a modem link, read timeout should be handled by reconnecting
 	 * the modem.  For a datagram messenger (UDP), a reconnect may be
@@ -85,7 +82,7 @@ public class CommThread<T extends ControllerProperty> {
 	/** Threaded poller */
 	private final ThreadedPoller<T> poller;
 
-	/** Thread to poll operations */
+	/** Thread to poll operations (platform or virtual) */
 	private final Thread thread;
 
 	/** Operation queue */
@@ -136,13 +133,14 @@ public class CommThread<T extends ControllerProperty> {
 		int rt, int nrd, DebugLog log)
 	{
 		poller = dp;
- 		thread = new Thread(GROUP, "Comm: " + poller.name) {
+		thread = CommThreadFactory.newThread("Comm: " + poller.name,
+			new Runnable()
+		{
 			@Override
 			public void run() {
 				doRun();
 			}
-		};
-		thread.setDaemon(true);
+		});
 		queue = q;
 		scheme = s;
 		uri = u;
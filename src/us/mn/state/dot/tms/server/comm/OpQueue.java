@@ -15,13 +15,19 @@
  */
 package us.mn.state.dot.tms.server.comm;
 
-import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import us.mn.state.dot.tms.EventType;
 
 /**
  * A prioritized queue which sorts Operation objects by their priority
  * class.  Operations with the same priority are sorted FIFO.
  *
+ * A lock is used instead of synchronized methods, so that comm threads
+ * waiting for operations do not pin a carrier when running on virtual
+ * threads.
+ *
  * @author Douglas Lau
  * @author John L. Stanley
  */
@@ -39,6 +45,12 @@ public final class OpQueue<T extends ControllerProperty> {
 		}
 	}
 
+	/** Lock for queue state */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Condition signalled when an operation is added */
+	private final Condition added = lock.newCondition();
+
 	/** Front node in the queue */
 	private Node<T> front = null;
 
@@ -50,8 +62,14 @@ public final class OpQueue<T extends ControllerProperty> {
 	private boolean closing = false;
 
 	/** Close the queue for new operations */
-	public synchronized void close() {
-		closing = true;
+	public void close() {
+		lock.lock();
+		try {
+			closing = true;
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Check if the queue is open */
@@ -60,24 +78,42 @@ public final class OpQueue<T extends ControllerProperty> {
 	}
 
 	/** Check if the queue is empty */
-	public synchronized boolean isEmpty() {
-		return (work == null) && (front == null);
+	public boolean isEmpty() {
+		lock.lock();
+		try {
+			return (work == null) && (front == null);
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Check if the queue has any more ops to process.
 	 * (Like isEmpty(), but ignores the current work op.) */
-	public synchronized boolean noMoreOps() {
-		return (front == null);
+	public boolean noMoreOps() {
+		lock.lock();
+		try {
+			return (front == null);
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Enqueue a new operation */
-	public synchronized boolean enqueue(OpController<T> op) {
-		if (shouldAdd(op)) {
-			op.begin();
-			add(op);
-			return true;
-		} else
-			return false;
+	public boolean enqueue(OpController<T> op) {
+		lock.lock();
+		try {
+			if (shouldAdd(op)) {
+				op.begin();
+				add(op);
+				return true;
+			} else
+				return false;
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Check if an operation should be added to the queue */
@@ -115,16 +151,22 @@ public final class OpQueue<T extends ControllerProperty> {
 			front = node;
 		else
 			prev.next = node;
-		notify();
+		added.signal();
 	}
 
 	/** Requeue an in-progress operation */
-	public synchronized boolean requeue(OpController<T> op) {
-		if ((remove(op) == op) && isOpen()) {
-			add(op);
-			return true;
-		} else
-			return false;
+	public boolean requeue(OpController<T> op) {
+		lock.lock();
+		try {
+			if ((remove(op) == op) && isOpen()) {
+				add(op);
+				return true;
+			} else
+				return false;
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Remove an operation from the queue */
@@ -156,53 +198,79 @@ public final class OpQueue<T extends ControllerProperty> {
 	 * @return Operation at front of queue.
 	 * @throws DisconnectException If idle timeout expires or comm thread is
 	 *                             destroyed. */
-	public synchronized OpController<T> next(long idle_ms)
-		throws DisconnectException
-	{
-		work = null;
-		while (null == front) {
-			try {
-				wait(idle_ms);
-			}
-			catch (InterruptedException e) {
-				throw new DisconnectException("DESTROYED");
-			}
-			if (idle_ms > 0 && null == front) {
-				// Empty msg (status) doesn't fail controllers
-				throw new DisconnectException("");
+	public OpController<T> next(long idle_ms) throws DisconnectException {
+		lock.lock();
+		try {
+			work = null;
+			while (null == front) {
+				awaitAdded(idle_ms);
+				if (idle_ms > 0 && null == front) {
+					// Empty msg (status) doesn't fail controllers
+					throw new DisconnectException("");
+				}
 			}
+			work = front.operation;
+			front = front.next;
+			return work;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Wait for an operation to be added.
+	 * @param idle_ms Idle timeout (ms); 0 indicates no timeout.
+	 * @throws DisconnectException If comm thread is destroyed. */
+	private void awaitAdded(long idle_ms) throws DisconnectException {
+		try {
+			if (idle_ms > 0)
+				added.await(idle_ms, TimeUnit.MILLISECONDS);
+			else
+				added.await();
+		}
+		catch (InterruptedException e) {
+			throw new DisconnectException("DESTROYED");
 		}
-		work = front.operation;
-		front = front.next;
-		return work;
 	}
 
 	/** Get the next operation from the queue (and remove it).
 	 * If there's no op in the queue, immediately return null. */
-	public synchronized OpController<T> tryNext() {
-		OpController<T> w = work;
-		if (w != null) {
-			work = null;
-			return w;
+	public OpController<T> tryNext() {
+		lock.lock();
+		try {
+			OpController<T> w = work;
+			if (w != null) {
+				work = null;
+				return w;
+			}
+			OpController<T> op = null;
+			if (front != null) {
+				op = front.operation;
+				front = front.next;
+			}
+			return op;
 		}
-		OpController<T> op = null;
-		if (front != null) {
-			op = front.operation;
-			front = front.next;
+		finally {
+			lock.unlock();
 		}
-		return op;
 	}
 
 	/** Do something to each operation in the queue */
-	public synchronized boolean forEach(OpHandler<T> handler) {
-		OpController<T> w = work;
-		boolean flag = (w != null) ? handler.handle(w) : true;
-		Node<T> node = front;
-		while (node != null) {
-			flag &= handler.handle(node.operation);
-			node = node.next;
+	public boolean forEach(OpHandler<T> handler) {
+		lock.lock();
+		try {
+			OpController<T> w = work;
+			boolean flag = (w != null) ? handler.handle(w) : true;
+			Node<T> node = front;
+			while (node != null) {
+				flag &= handler.handle(node.operation);
+				node = node.next;
+			}
+			return flag;
+		}
+		finally {
+			lock.unlock();
 		}
-		return flag;
 	}
 
 	/** Drain the operation queue */
@@ -23,6 +23,7 @@ import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.DeviceRequest;
 import us.mn.state.dot.tms.server.TagReaderImpl;
 import us.mn.state.dot.tms.server.comm.CommThread;
+import us.mn.state.dot.tms.server.comm.CommThreadFactory;
 import us.mn.state.dot.tms.server.comm.Messenger;
 import us.mn.state.dot.tms.server.comm.MessengerException;
 import us.mn.state.dot.tms.server.comm.OpController;
@@ -40,9 +41,6 @@ public class E6Thread extends CommThread<E6Property> {
 	static private final Command TAG_RESPONSE = new Command(
 		CommandGroup.MODE);
 
-	/** Thread group for all receive threads */
-	static private final ThreadGroup RECV = new ThreadGroup("Recv");
-
 	/** E6 debug log */
 	static private final DebugLog E6_LOG = new DebugLog("e6");
 
@@ -76,13 +74,14 @@ public class E6Thread extends CommThread<E6Property> {
 		super(dp, q, s, u, rt, nrd, E6_LOG);
 		poller = dp;
 		timeout = rt;
- 		rx_thread = new Thread(RECV, "Recv: " + dp.name) {
+		rx_thread = CommThreadFactory.newThread("Recv: " + dp.name,
+			new Runnable()
+		{
 			@Override
 			public void run() {
 				receivePackets();
 			}
-		};
-		rx_thread.setDaemon(true);
+		});
 	}
 
 	/** Start the thread */
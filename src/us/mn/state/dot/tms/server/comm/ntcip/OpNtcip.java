@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2013-2025  Minnesota Department of Transportation
+ * Copyright (C) 2013-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,7 +15,11 @@
 package us.mn.state.dot.tms.server.comm.ntcip;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.regex.Pattern;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.ControllerHelper;
@@ -24,11 +28,16 @@ import us.mn.state.dot.tms.GraphicHelper;
 import us.mn.state.dot.tms.LcsState;
 import us.mn.state.dot.tms.LcsStateHelper;
 import us.mn.state.dot.tms.MsgPattern;
+import us.mn.state.dot.tms.server.ControllerImpl;
 import us.mn.state.dot.tms.server.DeviceImpl;
+import us.mn.state.dot.tms.server.comm.CommMessage;
 import us.mn.state.dot.tms.server.comm.OpDevice;
 import us.mn.state.dot.tms.server.comm.PriorityLevel;
 import us.mn.state.dot.tms.server.comm.ntcip.mib1203.GraphicInfoList;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Object;
+import us.mn.state.dot.tms.server.comm.snmp.MessageLimit;
+import us.mn.state.dot.tms.server.comm.snmp.SNMP;
+import us.mn.state.dot.tms.server.comm.snmp.TooBig;
 import us.mn.state.dot.tms.utils.HexString;
 import us.mn.state.dot.tms.utils.MultiBuilder;
 import us.mn.state.dot.tms.utils.MultiString;
@@ -110,6 +119,24 @@ abstract public class OpNtcip extends OpDevice {
 		return null;
 	}
 
+	/** Message size limits, for each controller.  Weak keys are used so
+	 * that removed controllers are pruned. */
+	static private final Map<ControllerImpl, MessageLimit> LIMITS =
+		Collections.synchronizedMap(
+		new WeakHashMap<ControllerImpl, MessageLimit>());
+
+	/** Get the message size limit for a controller */
+	static private MessageLimit lookupLimit(ControllerImpl c) {
+		synchronized (LIMITS) {
+			MessageLimit ml = LIMITS.get(c);
+			if (ml == null) {
+				ml = new MessageLimit();
+				LIMITS.put(c, ml);
+			}
+			return ml;
+		}
+	}
+
 	/** Log a msg */
 	protected void log(String msg) {
 		if (NTCIP_LOG.isOpen())
@@ -222,4 +249,118 @@ abstract public class OpNtcip extends OpDevice {
 		}
 		return 1;
 	}
+
+	/** Phase to query consecutive rows of a table.  As many rows as will
+	 * fit in the message size limit of the controller are packed into
+	 * each request.  The limit is learned from the size of responses,
+	 * and lowered whenever the controller responds with TooBig.  Row
+	 * size estimates are scaled by the ratio of actual to estimated size
+	 * of the previous response. */
+	abstract protected class QueryRows<R> extends Phase {
+
+		/** Next row to query */
+		private int row;
+
+		/** Last row to query */
+		private final int last;
+
+		/** Estimated size of encoded values in one row (bytes) */
+		private final int v_size;
+
+		/** Maximum number of rows in one request */
+		private int max_rows = Integer.MAX_VALUE;
+
+		/** Ratio of actual to estimated response size */
+		private double scale = 1;
+
+		/** Create a new phase to query rows.
+		 * @param first First row to query.
+		 * @param lst Last row to query.
+		 * @param vs Estimated size of encoded values in a row. */
+		protected QueryRows(int first, int lst, int vs) {
+			row = first;
+			last = lst;
+			v_size = vs;
+		}
+
+		/** Create one row */
+		abstract protected R createRow(int r);
+
+		/** Get the objects to query for one row */
+		abstract protected ASN1Object[] rowObjects(R tr);
+
+		/** Handle one row after it has been queried */
+		abstract protected void rowQueried(int r, R tr)
+			throws IOException;
+
+		/** Get the phase after all rows have been queried */
+		abstract protected Phase nextPhase() throws IOException;
+
+		/** Get the estimated size of variable bindings for a row */
+		private int rowSize(R tr) {
+			int len = v_size;
+			for (ASN1Object mo: rowObjects(tr))
+				len += SNMP.varBindSize(mo, 0);
+			return len;
+		}
+
+		/** Get the expected size of a response */
+		private int expectedSize(String c, int vb_len) {
+			return (int) Math.ceil(SNMP.messageSize(c, vb_len) *
+				scale);
+		}
+
+		/** Query as many rows as will fit in one message */
+		@SuppressWarnings("unchecked")
+		protected Phase poll(CommMessage mess) throws IOException {
+			if (row > last)
+				return nextPhase();
+			String c = controller.getPassword();
+			MessageLimit ml = lookupLimit(controller);
+			int limit = ml.getLimit();
+			ArrayList<R> rows = new ArrayList<R>();
+			int vb_len = 0;
+			for (int r = row; r <= last; r++) {
+				if (rows.size() >= max_rows)
+					break;
+				R tr = createRow(r);
+				int len = rowSize(tr);
+				if (!rows.isEmpty() && expectedSize(c,
+				    vb_len + len) > limit)
+					break;
+				vb_len += len;
+				rows.add(tr);
+			}
+			for (R tr: rows) {
+				for (ASN1Object mo: rowObjects(tr))
+					mess.add(mo);
+			}
+			int size = expectedSize(c, vb_len);
+			try {
+				mess.queryProps();
+			}
+			catch (TooBig e) {
+				ml.tooBig(size);
+				if (rows.size() > 1) {
+					max_rows = rows.size() / 2;
+					return this;
+				}
+				throw e;
+			}
+			if (mess instanceof SNMP.Message) {
+				int rs = ((SNMP.Message) mess).getResponseSize();
+				int es = SNMP.messageSize(c, vb_len);
+				scale = rs / (double) es;
+				ml.success(rs);
+			} else
+				ml.success(size);
+			for (R tr: rows) {
+				for (ASN1Object mo: rowObjects(tr))
+					logQuery(mo);
+				rowQueried(row, tr);
+				row++;
+			}
+			return (row <= last) ? this : nextPhase();
+		}
+	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2018-2024  Minnesota Department of Transportation
+ * Copyright (C) 2018-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -24,6 +24,7 @@ import us.mn.state.dot.tms.server.comm.ntcip.mib1203.*;
 import static us.mn.state.dot.tms.server.comm.ntcip.mib1203.MIB1203.*;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Enum;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Integer;
+import us.mn.state.dot.tms.server.comm.snmp.ASN1Object;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1OctetString;
 import us.mn.state.dot.tms.server.comm.snmp.DisplayString;
 import us.mn.state.dot.tms.server.comm.snmp.NoSuchName;
@@ -251,66 +252,74 @@ public class OpQueryDMSFonts extends OpDMS {
 				char_spacing.getInteger());
 			writer.println("line_spacing: " +
 				line_spacing.getInteger());
-			return nextCharacter(writer, height.getInteger(),
-				row, 0);
+			return new QueryCharacters(writer,
+				height.getInteger(), row);
 		}
 	}
 
-	/** Get phase to query the next character in a font */
-	private Phase nextCharacter(PrintWriter writer, int height, int r,
-		int cr) throws IOException
-	{
-		if (cr < max_characters.getInteger())
-			return new QueryCharacter(writer, height, r, cr + 1);
-		else {
-			writer.flush();
-			writer.close();
-			return nextFont(r);
+	/** Character row */
+	static private class CharRow {
+		private final int crow;
+		private final ASN1Integer char_width;
+		private final ASN1OctetString char_bitmap;
+		private CharRow(int r, int cr) {
+			crow = cr;
+			char_width = characterWidth.makeInt(r, cr);
+			char_bitmap = new ASN1OctetString(characterBitmap.node,
+				r, cr);
 		}
 	}
 
-	/** Phase to query one character */
-	private class QueryCharacter extends Phase {
+	/** Phase to query characters, packing several into each request */
+	private class QueryCharacters extends QueryRows<CharRow> {
 		private final PrintWriter writer;
 		private final int height;
 		private final int row;
-		private final int crow;
-		private final ASN1Integer char_width;
-		private final ASN1OctetString char_bitmap;
 
-		/** Create a new add character phase */
-		public QueryCharacter(PrintWriter w, int h, int r, int cr) {
+		/** Create a new query characters phase */
+		public QueryCharacters(PrintWriter w, int h, int r) {
+			// estimate bitmap of a square character, plus width
+			super(1, max_characters.getInteger(),
+				(h * h + 7) / 8 + 3);
 			writer = w;
 			height = h;
 			row = r;
-			crow = cr;
-			char_width = characterWidth.makeInt(row,
-				crow);
-			char_bitmap = new ASN1OctetString(
-				characterBitmap.node, row, crow);
 		}
 
-		/** Add a character to the font table */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			mess.add(char_width);
-			mess.add(char_bitmap);
-			mess.queryProps();
-			logQuery(char_width);
-			logQuery(char_bitmap);
-			if (char_width.getInteger() > 0)
-				writeChar();
-			return nextCharacter(writer, height, row, crow);
+		/** Create one character row */
+		protected CharRow createRow(int cr) {
+			return new CharRow(row, cr);
+		}
+
+		/** Get the objects to query for a character */
+		protected ASN1Object[] rowObjects(CharRow ch) {
+			return new ASN1Object[] {
+				ch.char_width, ch.char_bitmap
+			};
+		}
+
+		/** Write a character after it has been queried */
+		protected void rowQueried(int cr, CharRow ch) {
+			if (ch.char_width.getInteger() > 0)
+				writeChar(ch);
+		}
+
+		/** Get the phase after all characters have been queried */
+		protected Phase nextPhase() throws IOException {
+			writer.flush();
+			writer.close();
+			return nextFont(row);
 		}
 
 		/** Write character data */
-		private void writeChar() throws IOException {
+		private void writeChar(CharRow ch) {
 			writer.println();
-			writer.println("ch: " + crow + ' ' + symbol(crow));
-			int width = char_width.getInteger();
+			writer.println("ch: " + ch.crow + ' ' +
+				symbol(ch.crow));
+			int width = ch.char_width.getInteger();
 			for (int y = 0; y < height; y++) {
 				for (int x = 0; x < width; x++) {
-					if (isPixelLit(x, y))
+					if (isPixelLit(ch, x, y))
 						writer.print('@');
 					else
 						writer.print('.');
@@ -320,11 +329,11 @@ public class OpQueryDMSFonts extends OpDMS {
 		}
 
 		/** Check if a pixel is lit */
-		private boolean isPixelLit(int x, int y) {
-			int pos = y * char_width.getInteger() + x;
+		private boolean isPixelLit(CharRow ch, int x, int y) {
+			int pos = y * ch.char_width.getInteger() + x;
 			int off = pos / 8;
 			int bit = 7 - (pos & 7); // 0b0111
-			byte[] bitmap = char_bitmap.getByteValue();
+			byte[] bitmap = ch.char_bitmap.getByteValue();
 			// NOTE: length check required --
 			//       sometimes width / bitmap don't match
 			return (off < bitmap.length)
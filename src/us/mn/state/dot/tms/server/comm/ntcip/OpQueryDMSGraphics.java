@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2025  Minnesota Department of Transportation
+ * Copyright (C) 2025-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,6 +17,7 @@ package us.mn.state.dot.tms.server.comm.ntcip;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import javax.imageio.ImageIO;
 import us.mn.state.dot.tms.BitmapGraphic;
 import us.mn.state.dot.tms.ColorScheme;
@@ -31,6 +32,7 @@ import static us.mn.state.dot.tms.server.comm.ntcip.mib1203.MIB1203.*;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Enum;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Flags;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Integer;
+import us.mn.state.dot.tms.server.comm.snmp.ASN1Object;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1OctetString;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1String;
 import us.mn.state.dot.tms.server.comm.snmp.DisplayString;
@@ -62,6 +64,9 @@ public class OpQueryDMSGraphics extends OpDMS {
 	/** Directory to write graphics files */
 	private final File dir;
 
+	/** Rows with valid graphics, not yet queried */
+	private final ArrayList<Integer> valid_rows = new ArrayList<Integer>();
+
 	/** Create a new query DMS graphics operation */
 	public OpQueryDMSGraphics(DMSImpl d) {
 		super(PriorityLevel.POLL_LOW, d);
@@ -89,38 +94,43 @@ public class OpQueryDMSGraphics extends OpDMS {
 			logQuery(max_graphics);
 			logQuery(block_size);
 			logQuery(max_size);
-			return nextRow(0);
+			return new QueryStatus();
 		}
 	}
 
-	/** Get phase for the next row */
-	private Phase nextRow(int row) {
-		return (row < max_graphics.getInteger())
-		      ? new QueryStatus(row + 1)
+	/** Get phase for the next valid row */
+	private Phase nextRow() {
+		return (!valid_rows.isEmpty())
+		      ? new QueryEntry(valid_rows.remove(0))
 		      : null;
 	}
 
-	/** Phase to query the status of one graphic */
-	private class QueryStatus extends Phase {
-		private final int row;
-		private QueryStatus(int r) {
-			row = r;
+	/** Phase to query the status of all graphics */
+	private class QueryStatus extends QueryRows<ASN1Enum<DmsGraphicStatus>>
+	{
+		private QueryStatus() {
+			super(1, max_graphics.getInteger(), 3);
 		}
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			ASN1Enum<DmsGraphicStatus> gst =
-				new ASN1Enum<DmsGraphicStatus>(
-					DmsGraphicStatus.class,
-					dmsGraphicStatus.node,
-					row
-				);
-			mess.add(gst);
-			mess.queryProps();
-			logQuery(gst);
+		protected ASN1Enum<DmsGraphicStatus> createRow(int r) {
+			return new ASN1Enum<DmsGraphicStatus>(
+				DmsGraphicStatus.class,
+				dmsGraphicStatus.node,
+				r
+			);
+		}
+		protected ASN1Object[] rowObjects(
+			ASN1Enum<DmsGraphicStatus> gst)
+		{
+			return new ASN1Object[] { gst };
+		}
+		protected void rowQueried(int r,
+			ASN1Enum<DmsGraphicStatus> gst)
+		{
 			if (gst.getEnum().isValid())
-				return new QueryEntry(row);
-			else
-				return nextRow(row);
+				valid_rows.add(r);
+		}
+		protected Phase nextPhase() {
+			return nextRow();
 		}
 	}
 
@@ -165,7 +175,7 @@ public class OpQueryDMSGraphics extends OpDMS {
 			else {
 				logError("Can not save graphic." + row +
 					": " + type);
-				return nextRow(row);
+				return nextRow();
 			}
 		}
 	}
@@ -258,7 +268,7 @@ public class OpQueryDMSGraphics extends OpDMS {
 			logQuery(gid);
 			saveRaster(number.getInteger(), name.getValue(),
 				gid.getInteger(), raster);
-			return nextRow(row);
+			return nextRow();
 		}
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2024  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2023       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -116,13 +116,15 @@ public class OpQueryDMSStatus extends OpDMS {
 	/** Create the second phase of the operation */
 	@Override
 	protected Phase phaseTwo() {
-		return new QueryBrightness();
+		return new QueryStatus();
 	}
 
-	/** Phase to query the brightness status */
-	protected class QueryBrightness extends Phase {
+	/** Phase to query the brightness, message table and failure status.
+	 * These objects are all required, so they are packed into one
+	 * request. */
+	protected class QueryStatus extends Phase {
 
-		/** Query the DMS brightness status */
+		/** Query the DMS status */
 		@SuppressWarnings("unchecked")
 		protected Phase poll(CommMessage mess) throws IOException {
 			ASN1Integer b_level =
@@ -132,28 +134,6 @@ public class OpQueryDMSStatus extends OpDMS {
 			ASN1Enum<DmsIllumControl> control = new ASN1Enum<
 				DmsIllumControl>(DmsIllumControl.class,
 				dmsIllumControl.node);
-			mess.add(p_level);
-			mess.add(max_level);
-			mess.add(b_level);
-			mess.add(light);
-			mess.add(control);
-			mess.queryProps();
-			logQuery(p_level);
-			logQuery(max_level);
-			logQuery(b_level);
-			logQuery(light);
-			logQuery(control);
-			putStatus(DMS.LIGHT_OUTPUT, getPercent(light));
-			return new QueryMessageTable();
-		}
-	}
-
-	/** Phase to query the DMS message table status */
-	protected class QueryMessageTable extends Phase {
-
-		/** Query the DMS message table status */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
 			ASN1Integer perm_num = dmsNumPermanentMsg.makeInt();
 			ASN1Integer chg_num = dmsNumChangeableMsg.makeInt();
 			ASN1Integer chg_max = dmsMaxChangeableMsg.makeInt();
@@ -161,6 +141,11 @@ public class OpQueryDMSStatus extends OpDMS {
 			ASN1Integer vol_num = dmsNumVolatileMsg.makeInt();
 			ASN1Integer vol_max = dmsMaxVolatileMsg.makeInt();
 			ASN1Integer vol_mem = dmsFreeVolatileMemory.makeInt();
+			mess.add(p_level);
+			mess.add(max_level);
+			mess.add(b_level);
+			mess.add(light);
+			mess.add(control);
 			mess.add(perm_num);
 			mess.add(chg_num);
 			mess.add(chg_max);
@@ -168,7 +153,13 @@ public class OpQueryDMSStatus extends OpDMS {
 			mess.add(vol_num);
 			mess.add(vol_max);
 			mess.add(vol_mem);
+			mess.add(shortError);
 			mess.queryProps();
+			logQuery(p_level);
+			logQuery(max_level);
+			logQuery(b_level);
+			logQuery(light);
+			logQuery(control);
 			logQuery(perm_num);
 			logQuery(chg_num);
 			logQuery(chg_max);
@@ -176,6 +167,11 @@ public class OpQueryDMSStatus extends OpDMS {
 			logQuery(vol_num);
 			logQuery(vol_max);
 			logQuery(vol_mem);
+			logQuery(shortError);
+			putStatus(DMS.LIGHT_OUTPUT, getPercent(light));
+			String faults = shortError.getValue(";");
+			if (faults.length() > 0)
+				putFaults(faults.toLowerCase());
 			return new ControllerTemperature();
 		}
 	}
@@ -212,22 +208,6 @@ public class OpQueryDMSStatus extends OpDMS {
 		protected Phase poll(CommMessage mess) throws IOException {
 			pollTemp(mess, DMS.HOUSING_TEMPS, tempMinSignHousing,
 				tempMaxSignHousing);
-			return new Failures();
-		}
-	}
-
-	/** Phase to query the DMS failure status */
-	protected class Failures extends Phase {
-
-		/** Query the DMS failure status */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			mess.add(shortError);
-			mess.queryProps();
-			logQuery(shortError);
-			String faults = shortError.getValue(";");
-			if (faults.length() > 0)
-				putFaults(faults.toLowerCase());
 			return new MoreFailures();
 		}
 	}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2022-2023  Minnesota Department of Transportation
+ * Copyright (C) 2022-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -20,9 +20,7 @@ import us.mn.state.dot.tms.server.comm.CommMessage;
 import us.mn.state.dot.tms.server.comm.PriorityLevel;
 import us.mn.state.dot.tms.server.comm.ntcip.mib1201.*;
 import static us.mn.state.dot.tms.server.comm.ntcip.mib1201.MIB1201.*;
-import us.mn.state.dot.tms.server.comm.snmp.ASN1Enum;
-import us.mn.state.dot.tms.server.comm.snmp.ASN1Integer;
-import us.mn.state.dot.tms.server.comm.snmp.ASN1String;
+import us.mn.state.dot.tms.server.comm.snmp.ASN1Object;
 
 /**
  * Operation to query the hardware/software modules.
@@ -54,38 +52,44 @@ public class OpQueryModules extends OpNtcip {
 			mess.add(mod_table.modules);
 			mess.queryProps();
 			logQuery(mod_table.modules);
-			return nextRow();
+			return queryModules();
 		}
 	}
 
-	/** Get phase to query the next row */
-	private QueryModule nextRow() {
-		return !mod_table.isDone()
-		      ? new QueryModule(mod_table.addRow())
-		      : null;
+	/** Get phase to query all module rows */
+	private QueryModules queryModules() {
+		return (mod_table.size() > 0) ? new QueryModules() : null;
 	}
 
-	/** Phase to query a module */
-	protected class QueryModule extends Phase {
-		private final ModuleTable.Row row;
+	/** Phase to query the module make, model, version and type */
+	protected class QueryModules extends QueryRows<ModuleTable.Row> {
 
-		private QueryModule(ModuleTable.Row tr) {
-			row = tr;
+		/** Create a new phase to query modules */
+		private QueryModules() {
+			// estimate 3 strings of 40 bytes, plus type
+			super(1, mod_table.size(), 3 * 40 + 1);
 		}
 
-		/** Query the module make, model and version */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			mess.add(row.make);
-			mess.add(row.model);
-			mess.add(row.version);
-			mess.add(row.m_type);
-			mess.queryProps();
-			logQuery(row.make);
-			logQuery(row.model);
-			logQuery(row.version);
-			logQuery(row.m_type);
-			return nextRow();
+		/** Create one module row */
+		protected ModuleTable.Row createRow(int r) {
+			return mod_table.createRow(r);
+		}
+
+		/** Get the objects to query for a row */
+		protected ASN1Object[] rowObjects(ModuleTable.Row tr) {
+			return new ASN1Object[] {
+				tr.make, tr.model, tr.version, tr.m_type
+			};
+		}
+
+		/** Add a module row to the table */
+		protected void rowQueried(int r, ModuleTable.Row tr) {
+			mod_table.addRow(tr);
+		}
+
+		/** Get the phase after all modules have been queried */
+		protected Phase nextPhase() {
+			return null;
 		}
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2022-2024  Minnesota Department of Transportation
+ * Copyright (C) 2022-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -79,24 +79,23 @@ public class ModuleTable {
 	/** Number of modules in table */
 	public final ASN1Integer modules = globalMaxModules.makeInt();
 
-	/** Check if all rows have been read */
-	public boolean isDone() {
-		return table_rows.size() >= size();
-	}
-
 	/** Get number of modules in table */
-	private int size() {
+	public int size() {
 		return modules.getInteger();
 	}
 
 	/** Rows in table */
 	private final ArrayList<Row> table_rows = new ArrayList<Row>();
 
+	/** Create a table row.
+	 * @param row Row number (starting at 1). */
+	public Row createRow(int row) {
+		return new Row(row);
+	}
+
 	/** Add a row to the table */
-	public Row addRow() {
-		Row tr = new Row(table_rows.size() + 1);
+	public void addRow(Row tr) {
 		table_rows.add(tr);
-		return tr;
 	}
 
 	/** Get software version (first software module in table) */
@@ -0,0 +1,60 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+/**
+ * Message size limit learned for one SNMP agent.  Every agent must accept
+ * messages of at least 484 bytes, but most accept larger ones.  The limit
+ * is raised after each successful response near the limit, until the agent
+ * responds with TooBig.  It is never raised beyond the largest UDP payload
+ * which fits in an Ethernet frame, to avoid IP fragmentation, and never
+ * lowered below 484 bytes.
+ *
+ * @author Douglas Lau
+ */
+public class MessageLimit {
+
+	/** Largest message size limit (bytes) */
+	static public final int MAX_LIMIT = 1472;
+
+	/** Current message size limit (bytes) */
+	private int limit = SNMP.MAX_MESSAGE_SIZE;
+
+	/** Largest size which may be accepted (bytes) */
+	private int ceiling = MAX_LIMIT;
+
+	/** Get the current message size limit (bytes) */
+	public synchronized int getLimit() {
+		return limit;
+	}
+
+	/** Record a successful response.
+	 * @param size Encoded size of response (bytes). */
+	public synchronized void success(int size) {
+		if (size > ceiling)
+			ceiling = Math.min(size, MAX_LIMIT);
+		// Raise limit when a message was within 1/8 of it
+		if (size >= limit - limit / 8)
+			limit = Math.min(limit + limit / 4, ceiling);
+		limit = Math.max(limit, Math.min(size, ceiling));
+	}
+
+	/** Record a TooBig response.
+	 * @param size Expected size of response which was too big (bytes). */
+	public synchronized void tooBig(int size) {
+		ceiling = Math.max(size - 1, SNMP.MAX_MESSAGE_SIZE);
+		limit = Math.min(limit, ceiling);
+	}
+}
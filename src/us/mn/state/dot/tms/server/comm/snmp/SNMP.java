@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2023  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -57,6 +57,52 @@ public class SNMP extends BER {
 	/** Public community name */
 	static public final String PUBLIC = "Public";
 
+	/** Maximum message size which all agents must accept (bytes) */
+	static public final int MAX_MESSAGE_SIZE = 484;
+
+	/** Get the encoded size of a length (bytes) */
+	static private int lengthSize(int length) {
+		if (length < 128)
+			return 1;
+		else if (length < 256)
+			return 2;
+		else
+			return 3;
+	}
+
+	/** Get the encoded size of an identifier, length and contents */
+	static private int tlvSize(int length) {
+		return 1 + lengthSize(length) + length;
+	}
+
+	/** Get the encoded size of an object identifier */
+	static private int oidSize(int[] oid) {
+		int len = 1;
+		for (int i = 2; i < oid.length; i++)
+			len += (oid[i] > SEVEN_BITS) ? 2 : 1;
+		return tlvSize(len);
+	}
+
+	/** Get the encoded size of a variable binding.
+	 * @param mo Object in variable binding.
+	 * @param vlen Length of encoded value (bytes); 0 for a null value.
+	 * @return Encoded size (bytes). */
+	static public int varBindSize(ASN1Object mo, int vlen) {
+		return tlvSize(oidSize(mo.oid()) + tlvSize(vlen));
+	}
+
+	/** Get the encoded size of a message.
+	 * @param community Community name (null for public).
+	 * @param vb_len Total size of variable bindings (bytes).
+	 * @return Encoded size (bytes), assuming a 4 byte request-id. */
+	static public int messageSize(String community, int vb_len) {
+		String c = (community != null) ? community : PUBLIC;
+		int pdu = tlvSize(4) + tlvSize(1) + tlvSize(1) +
+			tlvSize(vb_len);
+		return tlvSize(tlvSize(1) + tlvSize(c.getBytes().length) +
+			tlvSize(pdu));
+	}
+
 	/** Encode an SNMP message */
 	private void encodeSNMPMessage(String community) throws IOException {
 		byte[] pdu = getEncodedData();
@@ -66,17 +112,20 @@ public class SNMP extends BER {
 		encodeSequence(getEncodedData());
 	}
 
-	/** Decode an SNMP message */
-	private void decodeSNMPMessage(InputStream is, String community)
+	/** Decode an SNMP message.
+	 * @return Encoded size of message (bytes). */
+	private int decodeSNMPMessage(InputStream is, String community)
 		throws IOException
 	{
-		if (decodeSequence(is) > is.available())
+		int len = decodeSequence(is);
+		if (len > is.available())
 			throw new ParsingException("INVALID SNMP LENGTH");
 		if (decodeInteger(is) != 0)
 			throw new ParsingException("SNMP VERSION MISMATCH");
 		String c = new String(decodeOctetString(is));
 		if (!c.equals(community))
 			throw new ParsingException("SNMP COMMUNITY MISMATCH");
+		return tlvSize(len);
 	}
 
 	/** SNMP message class */
@@ -98,6 +147,14 @@ public class SNMP extends BER {
 		private final ArrayList<ASN1Object> mos =
 			new ArrayList<ASN1Object>();
 
+		/** Encoded size of response (bytes) */
+		private int response_size = 0;
+
+		/** Get the encoded size of the response (bytes) */
+		public int getResponseSize() {
+			return response_size;
+		}
+
 		/** Create a new SNMP message */
 		public Message(OutputStream o, InputStream i, String c,
 			int req_id)
@@ -169,7 +226,8 @@ public class SNMP extends BER {
 		private void decodeResponse() throws IOException {
 			for (int i = 0;; i++) {
 				try {
-					decodeSNMPMessage(is, community);
+					response_size = decodeSNMPMessage(is,
+						community);
 					decodeResponsePDU(is);
 					decodeVarBindList(is);
 					return;
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2024  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -32,6 +32,9 @@ abstract public class BaseEvent implements Storable {
 	/** SQL connection */
 	static public SQLConnection store;
 
+	/** Event writer */
+	static public EventWriter writer;
+
 	/** Event type */
 	public final EventType event_type;
 
@@ -69,4 +72,10 @@ abstract public class BaseEvent implements Storable {
 		if (EventConfigHelper.isStoreEnabled(eventConfigName()))
 			store.create(this);
 	}
+
+	/** Queue an object to be stored by the event writer */
+	public void queueStore() {
+		if (EventConfigHelper.isStoreEnabled(eventConfigName()))
+			writer.queue(this);
+	}
 }
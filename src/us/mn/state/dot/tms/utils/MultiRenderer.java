@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2023  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  * Copyright (C) 2019-2020  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -24,6 +24,7 @@ import us.mn.state.dot.tms.Glyph;
 import us.mn.state.dot.tms.GlyphHelper;
 import us.mn.state.dot.tms.Graphic;
 import us.mn.state.dot.tms.GraphicHelper;
+import us.mn.state.dot.tms.PackedGlyph;
 import us.mn.state.dot.tms.RasterGraphic;
 import us.mn.state.dot.tms.SystemAttrEnum;
 
@@ -684,6 +685,17 @@ public class MultiRenderer extends MultiAdapter {
 	private void renderGlyph(Glyph g, DmsColor fg, int x, int y) {
 		x--;
 		y--;
+		PackedGlyph pg = GlyphHelper.lookupPacked(g);
+		if (pg != null) {
+			try {
+				raster.blit(pg, x, y, fg);
+			}
+			catch (IndexOutOfBoundsException e) {
+				// No MULTI syntax error for graphic too big
+				syntax_err = MultiSyntaxError.other;
+			}
+			return;
+		}
 		RasterGraphic rg = GlyphHelper.createBitmap(g);
 		if (rg != null) {
 			try {
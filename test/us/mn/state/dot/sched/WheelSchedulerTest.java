@@ -0,0 +1,132 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Timing wheel scheduler tests
+ *
+ * @author Douglas Lau
+ */
+public class WheelSchedulerTest extends TestCase {
+
+	/** Time source which only advances when told to */
+	static private class FakeTimeSource implements TimeSource {
+		private volatile long now = 1000000;
+		public long currentTimeMillis() {
+			return now;
+		}
+		public void sleep(long millis) throws InterruptedException {
+			Thread.sleep(1);
+		}
+		public void wait(Object monitor, long ms)
+			throws InterruptedException
+		{
+			monitor.wait(1);
+		}
+		void advance(long ms) {
+			now += ms;
+		}
+	}
+
+	/** Job which records its name when performed */
+	static private class NamedJob extends Job {
+		private final List<String> done;
+		private final String name;
+		NamedJob(List<String> d, String n, int ms) {
+			super(ms);
+			done = d;
+			name = n;
+		}
+		public void perform() {
+			done.add(name);
+		}
+	}
+
+	public WheelSchedulerTest(String name) {
+		super(name);
+	}
+
+	/** Wait for a list to reach a size */
+	private void waitSize(List<String> done, int sz) {
+		for (int i = 0; i < 500 && done.size() < sz; i++)
+			TimeSteward.sleep_well(10);
+	}
+
+	public void testOrder() {
+		WheelScheduler sched = new WheelScheduler("test_wheel");
+		List<String> done =
+			Collections.synchronizedList(new ArrayList<String>());
+		sched.addJob(new NamedJob(done, "c", 60));
+		sched.addJob(new NamedJob(done, "a", 0));
+		sched.addJob(new NamedJob(done, "b", 30));
+		sched.addJob(new NamedJob(done, "d", 0));
+		waitSize(done, 4);
+		sched.dispose();
+		assertTrue(done.size() == 4);
+		assertTrue(done.get(0).equals("a"));
+		assertTrue(done.get(1).equals("d"));
+		assertTrue(done.get(2).equals("b"));
+		assertTrue(done.get(3).equals("c"));
+	}
+
+	public void testRemove() {
+		WheelScheduler sched = new WheelScheduler("test_wheel");
+		List<String> done =
+			Collections.synchronizedList(new ArrayList<String>());
+		Job job = new NamedJob(done, "removed", 100);
+		sched.addJob(job);
+		sched.addJob(new NamedJob(done, "kept", 200));
+		sched.removeJob(job);
+		waitSize(done, 1);
+		TimeSteward.sleep_well(100);
+		sched.dispose();
+		assertTrue(done.size() == 1);
+		assertTrue(done.get(0).equals("kept"));
+	}
+
+	public void testCascade() {
+		FakeTimeSource ts = new FakeTimeSource();
+		TimeSteward.setTimeSource(ts);
+		try {
+			WheelScheduler sched = new WheelScheduler("test_wheel");
+			List<String> done = Collections.synchronizedList(
+				new ArrayList<String>());
+			// 10 minutes requires two cascades
+			sched.addJob(new NamedJob(done, "late", 600000));
+			sched.addJob(new NamedJob(done, "early", 5000));
+			ts.advance(6000);
+			waitSize(done, 1);
+			for (int i = 6; i < 600; i++) {
+				ts.advance(999);
+				TimeSteward.sleep_well(1);
+			}
+			assertTrue(done.size() == 1);
+			ts.advance(1000);
+			waitSize(done, 2);
+			sched.dispose();
+			assertTrue(done.size() == 2);
+			assertTrue(done.get(0).equals("early"));
+			assertTrue(done.get(1).equals("late"));
+		}
+		finally {
+			TimeSteward.setTimeSource(new SystemTimeSource());
+		}
+	}
+}
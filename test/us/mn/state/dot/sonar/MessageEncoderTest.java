@@ -0,0 +1,62 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+/**
+ * Message encoder tests
+ *
+ * @author Douglas Lau
+ */
+public class MessageEncoderTest extends TestCase {
+
+	public MessageEncoderTest(String name) {
+		super(name);
+	}
+
+	/** Get the encoded bytes from an encoder */
+	private byte[] encoded(MessageEncoder enc) throws IOException {
+		enc.flush();
+		ByteBuffer b = enc.getBuffer();
+		return Arrays.copyOf(b.array(), b.position());
+	}
+
+	public void testEncodeBytes() throws IOException {
+		String[] params = new String[] { "a\u001eb", "\u00e9t\u00e9" };
+		MessageEncoder enc = new MessageEncoder(0);
+		enc.encode(Message.ATTRIBUTE, "dms/V1/msgCurrent", params);
+		byte[] msg = MessageEncoder.encodeBytes(Message.ATTRIBUTE,
+			"dms/V1/msgCurrent", params);
+		assertTrue(Arrays.equals(encoded(enc), msg));
+	}
+
+	public void testEncodeOrder() throws IOException {
+		MessageEncoder enc = new MessageEncoder(0);
+		enc.encode(Message.REMOVE, "dms/V1");
+		enc.encode(MessageEncoder.encodeBytes(Message.ATTRIBUTE,
+			"dms/V2/notes", new String[] { "x" }));
+		enc.encode(Message.SHOW, "done");
+		MessageEncoder exp = new MessageEncoder(0);
+		exp.encode(Message.REMOVE, "dms/V1");
+		exp.encode(Message.ATTRIBUTE, "dms/V2/notes",
+			new String[] { "x" });
+		exp.encode(Message.SHOW, "done");
+		assertTrue(Arrays.equals(encoded(enc), encoded(exp)));
+	}
+}
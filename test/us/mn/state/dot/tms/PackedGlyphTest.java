@@ -0,0 +1,117 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.util.Arrays;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Packed glyph test cases
+ * @author Douglas Lau
+ */
+public class PackedGlyphTest extends TestCase {
+
+	public PackedGlyphTest(String name) {
+		super(name);
+	}
+
+	/** Create a random glyph bitmap */
+	private BitmapGraphic randomGlyph(Random rnd, int w, int h) {
+		BitmapGraphic bg = new BitmapGraphic(w, h);
+		for (int y = 0; y < h; y++) {
+			for (int x = 0; x < w; x++) {
+				if (rnd.nextInt(3) == 0)
+					bg.setPixel(x, y, DmsColor.AMBER);
+			}
+		}
+		return bg;
+	}
+
+	public void testDecode() {
+		assertNull(PackedGlyph.decode("AA==", 65, 1));
+		assertNull(PackedGlyph.decode("AA==", 5, 7));
+		BitmapGraphic bg = randomGlyph(new Random(1), 7, 9);
+		String p = bg.getEncodedPixels();
+		PackedGlyph pg = PackedGlyph.decode(p, 7, 9);
+		assertTrue(pg.matches(p, 7, 9));
+		assertFalse(pg.matches(p, 7, 8));
+		for (int y = 0; y < 9; y++) {
+			for (int x = 0; x < 7; x++) {
+				boolean lit = (pg.getRow(y) &
+					(Long.MIN_VALUE >>> x)) != 0;
+				assertEquals(!bg.isTransparent(x, y), lit);
+			}
+		}
+	}
+
+	/** Blit a glyph and compare to copy */
+	private void checkBlit(RasterGraphic r0, RasterGraphic r1,
+		BitmapGraphic bg, int x0, int y0, DmsColor fg)
+	{
+		PackedGlyph pg = PackedGlyph.decode(bg.getEncodedPixels(),
+			bg.getWidth(), bg.getHeight());
+		boolean e0 = false;
+		boolean e1 = false;
+		try {
+			r0.copy(bg, x0, y0, fg);
+		}
+		catch (IndexOutOfBoundsException e) {
+			e0 = true;
+		}
+		try {
+			r1.blit(pg, x0, y0, fg);
+		}
+		catch (IndexOutOfBoundsException e) {
+			e1 = true;
+		}
+		assertEquals(e0, e1);
+		if (!e0) {
+			assertTrue(Arrays.equals(r0.getPixelData(),
+				r1.getPixelData()));
+		}
+	}
+
+	public void testBlit() {
+		Random rnd = new Random(42);
+		int[] widths = { 1, 5, 8, 13, 31, 57, 64 };
+		for (int w: widths) {
+			BitmapGraphic bg = randomGlyph(rnd, w, 7);
+			for (int i = 0; i < 50; i++) {
+				int x0 = rnd.nextInt(90) - 10;
+				int y0 = rnd.nextInt(24) - 4;
+				checkBlit(new BitmapGraphic(75, 20),
+					new BitmapGraphic(75, 20), bg, x0, y0,
+					DmsColor.AMBER);
+				checkBlit(new PixmapGraphic(75, 20),
+					new PixmapGraphic(75, 20), bg, x0, y0,
+					DmsColor.RED);
+			}
+		}
+	}
+
+	public void testBlitClipped() {
+		// glyph with blank border columns and rows
+		BitmapGraphic bg = new BitmapGraphic(6, 5);
+		bg.setPixel(2, 2, DmsColor.AMBER);
+		bg.setPixel(3, 2, DmsColor.AMBER);
+		checkBlit(new BitmapGraphic(4, 3), new BitmapGraphic(4, 3),
+			bg, -2, -2, DmsColor.AMBER);
+		checkBlit(new BitmapGraphic(4, 3), new BitmapGraphic(4, 3),
+			bg, 0, 0, DmsColor.AMBER);
+		checkBlit(new BitmapGraphic(4, 3), new BitmapGraphic(4, 3),
+			bg, -3, 0, DmsColor.AMBER);
+	}
+}
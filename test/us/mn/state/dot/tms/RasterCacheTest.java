@@ -0,0 +1,80 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import junit.framework.TestCase;
+
+/**
+ * Raster cache test cases
+ * @author Douglas Lau
+ */
+public class RasterCacheTest extends TestCase {
+
+	public RasterCacheTest(String name) {
+		super(name);
+	}
+
+	public void testCache() {
+		RasterGraphic[] r = { new PixmapGraphic(10, 10) };
+		RasterCache.setEnabled(false);
+		RasterCache.store("a", RasterCache.getGeneration(), r);
+		assertNull(RasterCache.lookup("a"));
+		RasterCache.setEnabled(true);
+		try {
+			assertNull(RasterCache.lookup("a"));
+			RasterCache.store("a", RasterCache.getGeneration(), r);
+			RasterCache.store("b", RasterCache.getGeneration(),
+				null);
+			assertTrue(RasterCache.lookup("a")[0] == r);
+			// invalid MULTI is cached as null rasters
+			assertNull(RasterCache.lookup("b")[0]);
+			assertEquals(2, RasterCache.size());
+			long gen = RasterCache.getGeneration();
+			RasterCache.invalidate();
+			assertEquals(0, RasterCache.size());
+			// rendered before invalidation: not stored
+			RasterCache.store("a", gen, r);
+			assertNull(RasterCache.lookup("a"));
+			// rendered after invalidation: stored
+			RasterCache.store("a", RasterCache.getGeneration(), r);
+			assertTrue(RasterCache.lookup("a")[0] == r);
+			assertTrue(RasterCache.takeStats().contains("hits: 3,"));
+		}
+		finally {
+			RasterCache.setEnabled(false);
+		}
+	}
+
+	public void testEvict() {
+		RasterCache.setEnabled(true);
+		try {
+			// 1 MB per entry; cache holds 16 MB
+			RasterGraphic[] r = {
+				new PixmapGraphic(512, 512),
+				new PixmapGraphic(512, 171),
+			};
+			for (int i = 0; i < 20; i++) {
+				RasterCache.store("m" + i,
+					RasterCache.getGeneration(), r);
+			}
+			assertTrue(RasterCache.size() < 20);
+			assertNull(RasterCache.lookup("m0"));
+			assertNotNull(RasterCache.lookup("m19"));
+		}
+		finally {
+			RasterCache.setEnabled(false);
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.geo.ZoomLevel;
+
+/**
+ * Tile cache test cases
+ * @author Douglas Lau
+ */
+public class TileCacheTest extends TestCase {
+
+	/** Image fetcher which creates tiles locally */
+	static private class TestFetcher extends ImageFetcher {
+		private final ArrayList<String> fetched = new ArrayList<String>();
+		private final HashMap<String, CountDownLatch> latches =
+			new HashMap<String, CountDownLatch>();
+		private final byte[] png;
+		private boolean blocked = false;
+		private TestFetcher() throws IOException {
+			super("http://localhost/");
+			BufferedImage img = new BufferedImage(256, 256,
+				BufferedImage.TYPE_INT_ARGB);
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			ImageIO.write(img, "png", bos);
+			png = bos.toByteArray();
+		}
+		@Override
+		public InputStream fetchImage(String n) throws IOException {
+			synchronized (this) {
+				fetched.add(n);
+				CountDownLatch l = latches.get(n);
+				if (l != null)
+					l.countDown();
+				try {
+					while (blocked)
+						wait();
+				}
+				catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+			}
+			if (n.startsWith("0/"))
+				throw new FileNotFoundException(n);
+			return new ByteArrayInputStream(png);
+		}
+		private synchronized CountDownLatch latch(String n) {
+			CountDownLatch l = new CountDownLatch(1);
+			latches.put(n, l);
+			return l;
+		}
+		private synchronized void setBlocked(boolean b) {
+			blocked = b;
+			notifyAll();
+		}
+		private synchronized int count(String n) {
+			int c = 0;
+			for (String f: fetched) {
+				if (f.equals(n))
+					c++;
+			}
+			return c;
+		}
+	}
+
+	public TileCacheTest(String name) {
+		super(name);
+	}
+
+	/** Wait for a tile to be loaded */
+	private BufferedImage waitTile(TileCache cache, String n)
+		throws InterruptedException
+	{
+		final CountDownLatch loaded = new CountDownLatch(1);
+		BufferedImage img = cache.getTile(n, new Runnable() {
+			public void run() {
+				loaded.countDown();
+			}
+		});
+		if (img != null)
+			return img;
+		await(loaded);
+		return cache.getTile(n, null);
+	}
+
+	/** Wait for a latch to count down */
+	private void await(CountDownLatch l) throws InterruptedException {
+		assertTrue(l.await(5, TimeUnit.SECONDS));
+	}
+
+	/** Delete a directory recursively */
+	private void deleteDir(File d) {
+		File[] fs = d.listFiles();
+		if (fs != null) {
+			for (File f: fs)
+				deleteDir(f);
+		}
+		d.delete();
+	}
+
+	public void testTileName() {
+		assertEquals("1/0/1", TileCache.tileName(ZoomLevel.ONE, 0, 0));
+		assertEquals("2/3/0", TileCache.tileName(ZoomLevel.TWO, 3, 3));
+	}
+
+	public void testDuplicate() throws Exception {
+		TestFetcher f = new TestFetcher();
+		TileCache cache = new TileCache(f, 1 << 20, null, 0);
+		try {
+			f.setBlocked(true);
+			for (int i = 0; i < 10; i++)
+				assertNull(cache.getTile("5/1/1", null));
+			f.setBlocked(false);
+			assertNotNull(waitTile(cache, "5/1/1"));
+			assertEquals(1, f.count("5/1/1"));
+			// missing tile is not fetched again: once its fetch
+			// has started, it is either pending or missing
+			CountDownLatch l = f.latch("0/0/0");
+			assertNull(cache.getTile("0/0/0", null));
+			await(l);
+			assertNull(cache.getTile("0/0/0", null));
+			assertEquals(1, f.count("0/0/0"));
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	public void testTiers() throws Exception {
+		TestFetcher f = new TestFetcher();
+		File dir = Files.createTempDirectory("tiles").toFile();
+		// memory tier holds 2 decoded tiles
+		TileCache cache = new TileCache(f, 2 * 256 * 256 * 4, dir,
+			1 << 20);
+		try {
+			for (int i = 0; i < 3; i++)
+				assertNotNull(waitTile(cache, "5/" + i + "/0"));
+			assertTrue(new File(dir, "5/0/0.png").exists());
+			// evicted from memory, loaded from disk
+			assertNull(cache.getTile("5/0/0", null));
+			assertNotNull(waitTile(cache, "5/0/0"));
+			assertEquals(1, f.count("5/0/0"));
+		}
+		finally {
+			cache.destroy();
+		}
+		// disk tier is kept for the next session
+		cache = new TileCache(f, 1 << 20, dir, 1 << 20);
+		try {
+			assertNotNull(waitTile(cache, "5/2/0"));
+			assertEquals(1, f.count("5/2/0"));
+		}
+		finally {
+			cache.destroy();
+			deleteDir(dir);
+		}
+	}
+
+	public void testPrefetch() throws Exception {
+		TestFetcher f = new TestFetcher();
+		TileCache cache = new TileCache(f, 1 << 24, null, 0);
+		try {
+			// neighbors of visible area
+			String n = TileCache.tileName(ZoomLevel.FIVE, 2, 5);
+			CountDownLatch l = f.latch(n);
+			cache.prefetch(ZoomLevel.FIVE, 3, 4, 3, 4);
+			await(l);
+			assertEquals(1, f.count(n));
+			assertEquals(0, f.count(TileCache.tileName(
+				ZoomLevel.FIVE, 1, 1)));
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	public void testReadStream() throws IOException {
+		byte[] data = new byte[1000];
+		assertEquals(1000, TileCache.readStream(
+			new ByteArrayInputStream(data)).length);
+		try {
+			TileCache.readStream(new ByteArrayInputStream(
+				new byte[512 * 1024]));
+			fail();
+		}
+		catch (IOException e) {
+			assertEquals("Tile too large", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.geo;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Quad tree test cases
+ *
+ * @author Douglas Lau
+ */
+public class QuadTreeTest extends TestCase {
+
+	public QuadTreeTest(String name) {
+		super(name);
+	}
+
+	/** Search a tree, collecting all items found */
+	private HashSet<Integer> search(QuadTree<Integer> qt, double x0,
+		double y0, double x1, double y1)
+	{
+		final HashSet<Integer> found = new HashSet<Integer>();
+		qt.search(x0, y0, x1, y1, new QuadTree.Searcher<Integer>() {
+			public boolean next(Integer i) {
+				assertTrue(found.add(i));
+				return false;
+			}
+		});
+		return found;
+	}
+
+	/** Search a map of points by brute force */
+	private HashSet<Integer> scan(HashMap<Integer, double[]> pts,
+		double x0, double y0, double x1, double y1)
+	{
+		HashSet<Integer> found = new HashSet<Integer>();
+		for (Integer i: pts.keySet()) {
+			double[] p = pts.get(i);
+			if (p[0] >= x0 && p[0] <= x1 &&
+			    p[1] >= y0 && p[1] <= y1)
+				found.add(i);
+		}
+		return found;
+	}
+
+	public void testSearch() {
+		QuadTree<Integer> qt = new QuadTree<Integer>(0, 0, 1000, 1000);
+		HashMap<Integer, double[]> pts =
+			new HashMap<Integer, double[]>();
+		Random rnd = new Random(7);
+		for (int n = 0; n < 5000; n++) {
+			int i = rnd.nextInt(1000);
+			if (rnd.nextInt(4) == 0) {
+				boolean r = pts.remove(i) != null;
+				assertEquals(r, qt.remove(i));
+			} else {
+				// some points outside of tree bounds
+				double x = rnd.nextDouble() * 1100 - 50;
+				double y = rnd.nextDouble() * 1100 - 50;
+				if (rnd.nextInt(8) == 0)
+					x = y = 500;
+				pts.put(i, new double[] { x, y });
+				qt.put(i, x, y);
+			}
+			assertEquals(pts.size(), qt.size());
+			if (n % 50 == 0) {
+				double x0 = rnd.nextDouble() * 1100 - 50;
+				double y0 = rnd.nextDouble() * 1100 - 50;
+				double x1 = x0 + rnd.nextDouble() * 300;
+				double y1 = y0 + rnd.nextDouble() * 300;
+				assertEquals(scan(pts, x0, y0, x1, y1),
+					search(qt, x0, y0, x1, y1));
+			}
+		}
+		assertEquals(scan(pts, -100, -100, 1100, 1100),
+			search(qt, -100, -100, 1100, 1100));
+		qt.clear();
+		assertEquals(0, qt.size());
+		assertTrue(search(qt, 0, 0, 1000, 1000).isEmpty());
+	}
+
+	public void testStop() {
+		QuadTree<Integer> qt = new QuadTree<Integer>(0, 0, 100, 100);
+		for (int i = 0; i < 100; i++)
+			qt.put(i, i, i);
+		Integer f = qt.search(10, 10, 20, 20,
+			new QuadTree.Searcher<Integer>()
+		{
+			public boolean next(Integer i) {
+				return i == 15;
+			}
+		});
+		assertEquals(Integer.valueOf(15), f);
+		assertTrue(qt.contains(15));
+		qt.put(15, 90, 90);
+		assertTrue(search(qt, 10, 10, 20, 20).size() == 10);
+	}
+}
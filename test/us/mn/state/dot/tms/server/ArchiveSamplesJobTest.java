@@ -0,0 +1,112 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import junit.framework.TestCase;
+
+/**
+ * Archive samples job tests
+ *
+ * @author Douglas Lau
+ */
+public class ArchiveSamplesJobTest extends TestCase {
+
+	/** Archive factory for testing */
+	static private final SampleArchiveFactory FACTORY =
+		new SampleArchiveFactory()
+	{
+		public File createFile(String sensor_id, String ext,
+			long stamp)
+		{
+			return null;
+		}
+		public File createFile(String sensor_id,
+			PeriodicSampleType s_type, PeriodicSample ps)
+		{
+			return null;
+		}
+		public boolean hasKnownExtension(String name) {
+			return name.endsWith(".v30") ||
+			       name.endsWith(MappedSampleFile.EXT);
+		}
+	};
+
+	public ArchiveSamplesJobTest(String name) {
+		super(name);
+	}
+
+	/** Read a zip entry */
+	static private byte[] readEntry(ZipFile zf, ZipEntry ze)
+		throws IOException
+	{
+		byte[] data = new byte[(int) ze.getSize()];
+		try (InputStream is = zf.getInputStream(ze)) {
+			int n = 0;
+			while (n < data.length) {
+				int r = is.read(data, n, data.length - n);
+				assertTrue(r > 0);
+				n += r;
+			}
+		}
+		return data;
+	}
+
+	public void testMixedDay() throws IOException {
+		File dir = Files.createTempDirectory("archive").toFile();
+		File day = new File(dir, "20260101");
+		File traf = new File(dir, "20260101.traffic");
+		try {
+			assertTrue(day.mkdir());
+			// Per-sensor file from before mapped mode was enabled
+			byte[] data = new byte[2880];
+			Arrays.fill(data, Constants.MISSING_DATA);
+			data[0] = 3;
+			data[1] = 9;
+			Files.write(new File(day, "D100.v30").toPath(), data);
+			MappedSampleFile mf = MappedSampleFile.openWrite(
+				new File(day, "v30" + MappedSampleFile.EXT), 1,
+				2880);
+			mf.putValue("D100", PeriodicSampleType.VEH_COUNT, 1, 4);
+			mf.putValue("D200", PeriodicSampleType.VEH_COUNT, 0, 5);
+			mf.close();
+			new ArchiveSamplesJob(FACTORY).createSampleArchive(day);
+			assertFalse(day.exists());
+			try (ZipFile zf = new ZipFile(traf)) {
+				assertTrue(zf.size() == 2);
+				byte[] d100 = readEntry(zf,
+					zf.getEntry("D100.v30"));
+				assertTrue(d100.length == 2880);
+				assertTrue(d100[0] == 3);
+				assertTrue(d100[1] == 4);
+				assertTrue(d100[2] == -1);
+				byte[] d200 = readEntry(zf,
+					zf.getEntry("D200.v30"));
+				assertTrue(d200[0] == 5);
+				assertTrue(d200[1] == -1);
+			}
+		}
+		finally {
+			traf.delete();
+			dir.delete();
+		}
+	}
+}
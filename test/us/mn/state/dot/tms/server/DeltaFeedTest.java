@@ -0,0 +1,69 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import junit.framework.TestCase;
+
+/**
+ * Delta feed test cases
+ * @author Douglas Lau
+ */
+public class DeltaFeedTest extends TestCase {
+
+	public DeltaFeedTest(String name) {
+		super(name);
+	}
+
+	/** Write one interval and return the JSON */
+	private String write(DeltaFeed feed, LinkedHashMap<String, String> v,
+		boolean key) throws IOException
+	{
+		StringWriter sw = new StringWriter();
+		assertEquals(key, feed.write(sw, 0, v));
+		return sw.toString();
+	}
+
+	public void testDelta() throws IOException {
+		DeltaFeed feed = new DeltaFeed(new File("unused"), 3);
+		LinkedHashMap<String, String> v =
+			new LinkedHashMap<String, String>();
+		v.put("S1", "[360,55]");
+		v.put("S2", "[120,null]");
+		String j = write(feed, v, true);
+		assertTrue(j.contains("\"seq\":1,"));
+		assertTrue(j.contains("\"keyframe\":true"));
+		assertTrue(j.contains("\"S1\":[360,55]"));
+		assertTrue(j.contains("\"S2\":[120,null]"));
+		assertFalse(j.contains("removed"));
+		v.put("S1", "[400,54]");
+		v.remove("S2");
+		j = write(feed, v, false);
+		assertTrue(j.contains("\"seq\":2,"));
+		assertTrue(j.contains("\"keyframe\":false"));
+		assertTrue(j.contains("\"S1\":[400,54]"));
+		assertFalse(j.contains("\"S2\":"));
+		assertTrue(j.contains("\"removed\":[\"S2\"]"));
+		j = write(feed, v, false);
+		assertTrue(j.contains("\"samples\":{\n}"));
+		assertFalse(j.contains("removed"));
+		j = write(feed, v, true);
+		assertTrue(j.contains("\"seq\":4,"));
+		assertTrue(j.contains("\"S1\":[400,54]"));
+	}
+}
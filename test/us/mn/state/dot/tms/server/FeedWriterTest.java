@@ -0,0 +1,87 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+/**
+ * Feed writer test cases
+ * @author Douglas Lau
+ */
+public class FeedWriterTest extends TestCase {
+
+	public FeedWriterTest(String name) {
+		super(name);
+	}
+
+	/** Write a string with a small buffer and return the bytes */
+	private byte[] encode(String s) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		FeedWriter fw = new FeedWriter(bos, 16);
+		fw.write(s);
+		fw.flush();
+		return bos.toByteArray();
+	}
+
+	public void testEncode() throws IOException {
+		String[] strs = {
+			"",
+			"sample",
+			"caf\u00e9 \u00b0F",
+			"\u20ac\u2192 arrow",
+			"smile \ud83d\ude00 wide",
+			"0123456789abcdef\u00e90123456789abcdef\u20ac",
+		};
+		for (String s: strs) {
+			assertTrue(Arrays.equals(encode(s),
+				s.getBytes(StandardCharsets.UTF_8)));
+		}
+		assertTrue(Arrays.equals(encode("a\ud83db"),
+			"a?b".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	public void testWriteInt() throws IOException {
+		int[] vals = { 0, 7, 10, 99, 1234, -5, -1000,
+			Integer.MAX_VALUE, Integer.MIN_VALUE };
+		for (int v: vals) {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			FeedWriter fw = new FeedWriter(bos);
+			fw.writeInt(v);
+			fw.flush();
+			assertEquals(String.valueOf(v), bos.toString("UTF-8"));
+		}
+	}
+
+	public void testAttribute() throws IOException {
+		String[] vals = { "plain", "a&b", "<tag>", "it's \"q\"", "&" };
+		for (String v: vals) {
+			StringWriter sw = new StringWriter();
+			XmlWriter.writeAttribute(sw, "n<a>me", v);
+			assertEquals(XmlWriter.createAttribute("n<a>me", v),
+				sw.toString());
+		}
+		StringWriter sw = new StringWriter();
+		XmlWriter.writeAttribute(sw, "flow", 360);
+		assertEquals(" flow='360'", sw.toString());
+		assertEquals("x &amp; &lt;y&gt;",
+			XmlWriter.validateElementValue("x & <y>"));
+		assertEquals("name", XmlWriter.validateElementName("n&a'me"));
+	}
+}
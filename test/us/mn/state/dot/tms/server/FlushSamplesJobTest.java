@@ -0,0 +1,93 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Calendar;
+import junit.framework.TestCase;
+
+/**
+ * Flush samples job test cases
+ * @author Douglas Lau
+ */
+public class FlushSamplesJobTest extends TestCase {
+
+	/** Archive factory which fails until a directory is set */
+	static private class TestFactory
+		extends PeriodicSampleWriterTest.TestFactory
+	{
+		private File dir;
+		@Override
+		public File createFile(String sensor_id,
+			PeriodicSampleType s_type, PeriodicSample ps)
+			throws IOException
+		{
+			if (dir == null)
+				throw new IOException("disk full");
+			return new File(dir, sensor_id + "." +
+				s_type.extension + ps.per_sec);
+		}
+	}
+
+	/** Sensor which counts flushes */
+	static private class TestSensor implements SampleSensor {
+		private final PeriodicSampleCache cache =
+			new PeriodicSampleCache(PeriodicSampleType.VEH_COUNT);
+		private int n_flushed = 0;
+		public void flush(PeriodicSampleWriter writer) {
+			n_flushed++;
+			writer.flush(cache, "TEST");
+		}
+		public void purge(long before) {
+			cache.purge(before);
+		}
+	}
+
+	public FlushSamplesJobTest(String name) {
+		super(name);
+	}
+
+	public void testRetry() throws IOException {
+		TestFactory factory = new TestFactory();
+		FlushSamplesJob job = new FlushSamplesJob(factory);
+		TestSensor ss = new TestSensor();
+		Calendar cal = Calendar.getInstance();
+		cal.set(Calendar.SECOND, 0);
+		cal.set(Calendar.MILLISECOND, 0);
+		ss.cache.add(new PeriodicSample(cal.getTimeInMillis(), 30, 1),
+			"test");
+		FlushSamplesJob.queueFlush(ss);
+		assertEquals(1, job.flushQueuedSamples(true));
+		assertEquals(1, ss.n_flushed);
+		// failed sensor is flushed again without a new sample
+		assertEquals(1, job.flushQueuedSamples(true));
+		assertEquals(2, ss.n_flushed);
+		factory.dir = Files.createTempDirectory("samples").toFile();
+		try {
+			assertEquals(1, job.flushQueuedSamples(true));
+			assertEquals(3, ss.n_flushed);
+			assertTrue(new File(factory.dir, "TEST.v30").exists());
+			// flushed sensor is not queued again
+			assertEquals(0, job.flushQueuedSamples(true));
+			assertEquals(3, ss.n_flushed);
+		}
+		finally {
+			new File(factory.dir, "TEST.v30").delete();
+			factory.dir.delete();
+		}
+	}
+}
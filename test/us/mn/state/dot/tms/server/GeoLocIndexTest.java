@@ -0,0 +1,93 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.List;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.geo.Position;
+
+/**
+ * GeoLoc index test cases
+ * @author Douglas Lau
+ */
+public class GeoLocIndexTest extends TestCase {
+
+	public GeoLocIndexTest(String name) {
+		super(name);
+	}
+
+	/** Create a location */
+	private GeoLocImpl createLoc(String n, String rt, double lat,
+		double lon)
+	{
+		GeoLocImpl loc = new GeoLocImpl(n, rt);
+		loc.setLat(lat);
+		loc.setLon(lon);
+		return loc;
+	}
+
+	public void testNear() {
+		GeoLocImpl a = createLoc("A", "test_near", 45.0, -93.0);
+		GeoLocImpl b = createLoc("B", "test_near", 45.01, -93.0);
+		GeoLocImpl c = createLoc("C", "test_near", 45.1, -93.0);
+		createLoc("D", "test_other", 45.0, -93.0);
+		Position pos = new Position(45.0, -93.0);
+		// B is about 1112 meters north of A
+		List<GeoLocImpl> near = GeoLocIndex.findNear("test_near", pos,
+			1100);
+		assertEquals(1, near.size());
+		assertTrue(near.contains(a));
+		near = GeoLocIndex.findNear("test_near", pos, 1200);
+		assertEquals(2, near.size());
+		assertTrue(near.contains(b));
+		assertTrue(GeoLocIndex.findNearest("test_near",
+			new Position(45.009, -93.0), 5000) == b);
+		assertNull(GeoLocIndex.findNearest("test_near",
+			new Position(45.2, -93.0), 5000));
+		// move C near A
+		c.setLat(45.001);
+		assertEquals(2, GeoLocIndex.findNear("test_near", pos,
+			1100).size());
+		c.setLat(null);
+		assertEquals(1, GeoLocIndex.findNear("test_near", pos,
+			1100).size());
+		assertTrue(GeoLocIndex.findNearest("test_near", pos,
+			1100) == a);
+		GeoLocIndex.remove(a, "test_near");
+		assertTrue(GeoLocIndex.findNear("test_near", pos,
+			1100).isEmpty());
+	}
+
+	public void testArea() {
+		createLoc("IN", "test_area", 45.05, -93.05);
+		createLoc("HOLE", "test_area", 45.05, -93.15);
+		createLoc("EDGE", "test_area", 45.05, -92.995);
+		createLoc("FAR", "test_area", 45.05, -92.9);
+		// square with a hole in the west half
+		double[][][] polys = {{
+			{ -93.2, 45.0, -93.0, 45.0, -93.0, 45.1, -93.2, 45.1,
+			  -93.2, 45.0 },
+			{ -93.18, 45.02, -93.12, 45.02, -93.12, 45.08,
+			  -93.18, 45.08, -93.18, 45.02 },
+		}};
+		// EDGE is about 394 meters east of area
+		List<GeoLocImpl> near = GeoLocIndex.findNear("test_area",
+			polys, 350);
+		assertEquals(1, near.size());
+		assertEquals("IN", near.get(0).getName());
+		near = GeoLocIndex.findNear("test_area", polys, 450);
+		assertEquals(2, near.size());
+	}
+}
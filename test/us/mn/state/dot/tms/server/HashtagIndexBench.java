@@ -0,0 +1,107 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.Random;
+import us.mn.state.dot.tms.Hashtags;
+
+/**
+ * Benchmark for finding the devices of each device action.  The "scan" path
+ * parses the notes of every device for every action, as DeviceActionJob
+ * did before the hashtag index.  The "index" path looks up each action
+ * hashtag in a HashtagIndex.  The time for one pass over all actions is
+ * reported for each path.
+ *
+ * Usage: ant bench -Dbench=us.mn.state.dot.tms.server.HashtagIndexBench
+ *        -Dbench.args="[devices] [actions] [rounds]"
+ *
+ * @author Douglas Lau
+ */
+public class HashtagIndexBench {
+
+	/** Device names */
+	static private String[] devices;
+
+	/** Device notes */
+	static private String[] notes;
+
+	/** Action hashtags */
+	static private String[] actions;
+
+	/** Create a synthetic data set */
+	static private void createData(int n_dev, int n_act) {
+		Random rnd = new Random(42);
+		devices = new String[n_dev];
+		notes = new String[n_dev];
+		for (int i = 0; i < n_dev; i++) {
+			devices[i] = "D" + i;
+			StringBuilder sb = new StringBuilder();
+			sb.append("Device ").append(i).append(" notes");
+			for (int t = 0; t < 4; t++)
+				sb.append(" #Tag").append(rnd.nextInt(n_act));
+			notes[i] = sb.toString();
+		}
+		actions = new String[n_act];
+		for (int i = 0; i < n_act; i++)
+			actions[i] = "#Tag" + i;
+	}
+
+	/** Find devices for all actions by parsing notes */
+	static private int scan() {
+		int found = 0;
+		for (String ht: actions) {
+			for (int i = 0; i < devices.length; i++) {
+				if (new Hashtags(notes[i]).contains(ht))
+					found++;
+			}
+		}
+		return found;
+	}
+
+	/** Find devices for all actions with an index */
+	static private int lookup(HashtagIndex<String> idx) {
+		int found = 0;
+		for (String ht: actions)
+			found += idx.lookup(ht).size();
+		return found;
+	}
+
+	/** Run the benchmark */
+	static public void main(String[] args) {
+		int n_dev = (args.length > 0) ? Integer.parseInt(args[0])
+		                              : 5000;
+		int n_act = (args.length > 1) ? Integer.parseInt(args[1])
+		                              : 2000;
+		int rounds = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+		createData(n_dev, n_act);
+		long t0 = System.nanoTime();
+		HashtagIndex<String> idx = new HashtagIndex<String>();
+		for (int i = 0; i < devices.length; i++)
+			idx.update(devices[i], notes[i]);
+		long t1 = System.nanoTime();
+		System.out.printf("index build: %.2f ms\n", (t1 - t0) / 1e6);
+		for (boolean index: new boolean[] { false, true }) {
+			int found = 0;
+			long best = Long.MAX_VALUE;
+			for (int r = 0; r < rounds; r++) {
+				long s = System.nanoTime();
+				found = index ? lookup(idx) : scan();
+				best = Math.min(best, System.nanoTime() - s);
+			}
+			System.out.printf("%s: %.2f ms per pass, %d matches\n",
+				index ? "index" : "scan", best / 1e6, found);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.Collections;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Hashtag index test cases
+ * @author Douglas Lau
+ */
+public class HashtagIndexTest extends TestCase {
+
+	public HashtagIndexTest(String name) {
+		super(name);
+	}
+
+	/** Lookup a hashtag, sorting the results */
+	private String lookup(HashtagIndex<String> idx, String ht) {
+		List<String> items = idx.lookup(ht);
+		Collections.sort(items);
+		return items.toString();
+	}
+
+	public void testLookup() {
+		HashtagIndex<String> idx = new HashtagIndex<String>();
+		idx.update("A", "north #Metro #I35W");
+		idx.update("B", "#metro");
+		idx.update("C", null);
+		assertEquals("[A, B]", lookup(idx, "#METRO"));
+		assertEquals("[A]", lookup(idx, "#i35w"));
+		assertEquals("[]", lookup(idx, "#Metr"));
+		assertEquals("[]", lookup(idx, "Metro"));
+		assertEquals("[]", lookup(idx, null));
+	}
+
+	public void testUpdate() {
+		HashtagIndex<String> idx = new HashtagIndex<String>();
+		idx.update("A", "#Metro #I35W");
+		idx.update("B", "#Metro");
+		idx.update("A", "#I35W #Rural");
+		assertEquals("[B]", lookup(idx, "#Metro"));
+		assertEquals("[A]", lookup(idx, "#Rural"));
+		idx.update("B", "");
+		assertEquals("[]", lookup(idx, "#Metro"));
+		idx.remove("A");
+		assertEquals("[]", lookup(idx, "#I35W"));
+		assertEquals("[]", lookup(idx, "#Rural"));
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Mapped sample file tests
+ *
+ * @author Douglas Lau
+ */
+public class MappedSampleFileTest extends TestCase {
+
+	public MappedSampleFileTest(String name) {
+		super(name);
+	}
+
+	/** Create a temporary file name */
+	private File tempFile() throws IOException {
+		File f = File.createTempFile("test", MappedSampleFile.EXT);
+		f.delete();
+		return f;
+	}
+
+	public void testWrite() throws IOException {
+		File f = tempFile();
+		try {
+			MappedSampleFile mf = MappedSampleFile.openWrite(f, 1,
+				2880);
+			mf.putValue("D100", PeriodicSampleType.VEH_COUNT, 0, 5);
+			mf.putValue("D200", PeriodicSampleType.VEH_COUNT, 1, 7);
+			mf.putValue("D100", PeriodicSampleType.VEH_COUNT, 2,
+				500);
+			ByteBuffer b = mf.read("D100");
+			assertTrue(b.remaining() == 2880);
+			assertTrue(b.get() == 5);
+			assertTrue(b.get() == -1);
+			assertTrue(b.get() == Byte.MAX_VALUE);
+			assertTrue(mf.read("D300") == null);
+			// Reopen and check index
+			MappedSampleFile rf = MappedSampleFile.openRead(f);
+			List<String> ids = rf.getSensorIds();
+			assertTrue(ids.size() == 2);
+			assertTrue(ids.get(0).equals("D100"));
+			assertTrue(ids.get(1).equals("D200"));
+			b = rf.readSlot(1);
+			assertTrue(b.get() == -1);
+			assertTrue(b.get() == 7);
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	public void testGrow() throws IOException {
+		File f = tempFile();
+		try {
+			MappedSampleFile mf = MappedSampleFile.openWrite(f, 2,
+				2880);
+			for (int i = 0; i < 1000; i++) {
+				mf.putValue("D" + i, PeriodicSampleType.SCAN,
+					i, i);
+			}
+			MappedSampleFile rf = MappedSampleFile.openRead(f);
+			assertTrue(rf.getSensorIds().size() == 1000);
+			for (int i = 0; i < 1000; i++) {
+				ByteBuffer b = rf.read("D" + i);
+				assertTrue(b.getShort(i * 2) == i);
+				if (i > 0)
+					assertTrue(b.getShort(0) == -1);
+			}
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	public void testStaleTemp() throws IOException {
+		File f = tempFile();
+		File tmp = MappedSampleFile.tempFile(f);
+		try {
+			assertTrue(tmp.createNewFile());
+			MappedSampleFile mf = MappedSampleFile.openWrite(f, 1,
+				2880);
+			assertFalse(tmp.exists());
+			mf.close();
+		}
+		finally {
+			tmp.delete();
+			f.delete();
+		}
+	}
+
+	public void testClose() throws IOException {
+		File f = tempFile();
+		try {
+			MappedSampleFile mf = MappedSampleFile.openWrite(f, 1,
+				2880);
+			mf.putValue("D100", PeriodicSampleType.VEH_COUNT, 0, 5);
+			mf.close();
+			try {
+				mf.putValue("D100", PeriodicSampleType.VEH_COUNT,
+					1, 5);
+				assertTrue(false);
+			}
+			catch (IOException e) {
+				// expected
+			}
+			MappedSampleFile rf = MappedSampleFile.openRead(f);
+			assertTrue(rf.read("D100").get() == 5);
+			rf.close();
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	public void testInvalid() throws IOException {
+		File f = tempFile();
+		try {
+			MappedSampleFile.openWrite(f, 1, 2880);
+			try {
+				MappedSampleFile.openWrite(f, 2, 2880);
+				assertTrue(false);
+			}
+			catch (IOException e) {
+				// expected
+			}
+		}
+		finally {
+			f.delete();
+		}
+	}
+}
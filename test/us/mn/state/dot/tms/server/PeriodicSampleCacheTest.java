@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2012-2021  Minnesota Department of Transportation
+ * Copyright (C) 2012-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -88,6 +88,53 @@ public class PeriodicSampleCacheTest extends TestCase {
 		assertFalse(it.hasNext());
 	}
 
+	public void testRing() {
+		PeriodicSampleCache cache = new PeriodicSampleCache(
+			PeriodicSampleType.VEH_COUNT);
+		// Add samples in reverse order to grow ring buffer
+		for (int i = 40; i > 0; i--) {
+			if (i != 20)
+				cache.add(new PeriodicSample(T[0] + i * 30000,
+					30, i), "test");
+		}
+		Iterator<PeriodicSample> it = cache.iterator();
+		for (int i = 1; i <= 40; i++) {
+			if (i != 20) {
+				assertTrue(it.hasNext());
+				PeriodicSample ps = it.next();
+				assertTrue(ps.value == i);
+				assertTrue(ps.end() == T[0] + i * 30000);
+			}
+		}
+		assertFalse(it.hasNext());
+		assertTrue(cache.getValue(T[0], T[2]) == 3);
+		assertTrue(cache.getValue(T[0] + 18 * 30000,
+			T[0] + 20 * 30000) == 38);
+		cache.purge(T[0] + 36 * 30000);
+		it = cache.iterator();
+		assertTrue(it.next().value == 36);
+		assertTrue(it.next().value == 37);
+		assertTrue(it.next().value == 38);
+		assertTrue(it.next().value == 39);
+		assertTrue(it.next().value == 40);
+		assertFalse(it.hasNext());
+		cache.purge(T[0] + 50 * 30000);
+		assertTrue(isEmpty(cache));
+	}
+
+	public void testDirty() {
+		PeriodicSampleCache cache = new PeriodicSampleCache(
+			PeriodicSampleType.VEH_COUNT);
+		assertFalse(cache.takeDirty());
+		cache.add(new PeriodicSample(T[1], 30, 5), "test");
+		assertTrue(cache.takeDirty());
+		assertFalse(cache.takeDirty());
+		cache.purge(T[2]);
+		assertFalse(cache.takeDirty());
+		cache.add(new PeriodicSample(T[2], 30, 6), "test");
+		assertTrue(cache.takeDirty());
+	}
+
 	private boolean isEmpty(PeriodicSampleCache cache) {
 		return !cache.iterator().hasNext();
 	}
@@ -89,6 +89,29 @@ public class PeriodicSampleWriterTest extends TestCase {
 */
 	}
 
+	public void testFailedFlush() {
+		PeriodicSampleCache cache = new PeriodicSampleCache(
+			PeriodicSampleType.VEH_COUNT);
+		Calendar cal = Calendar.getInstance();
+		cal.set(Calendar.SECOND, 0);
+		cal.set(Calendar.MILLISECOND, 0);
+		cache.add(new PeriodicSample(cal.getTimeInMillis(), 30, 1),
+			"test");
+		PeriodicSampleWriter writer = new PeriodicSampleWriter(
+			new TestFactory()
+		{
+			public File createFile(String sensor_id,
+				PeriodicSampleType s_type, PeriodicSample ps)
+				throws IOException
+			{
+				throw new IOException("disk full");
+			}
+		});
+		writer.flush(cache, "TEST");
+		// cache is flushed again after failure
+		assertTrue(cache.takeDirty());
+	}
+
 	static class TestFactory implements SampleArchiveFactory {
 		public File createFile(String sensor_id, String ext, long stamp)
 			throws IOException
@@ -0,0 +1,92 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.GeoLoc;
+
+/**
+ * Route cache test cases
+ * @author Douglas Lau
+ */
+public class RouteCacheTest extends TestCase {
+
+	/** Route finder which counts searches */
+	static private class TestFinder extends RouteFinder {
+		private int searches = 0;
+		private TestFinder() {
+			super(null);
+		}
+		@Override
+		public Route findRoute(GeoLoc orig, GeoLoc dest) {
+			searches++;
+			// no route from a location with no position
+			return (orig.getLat() != null) ? new Route(dest) : null;
+		}
+	}
+
+	public RouteCacheTest(String name) {
+		super(name);
+	}
+
+	/** Create a location */
+	private GeoLocImpl createLoc(String n, Double lat, Double lon) {
+		return new GeoLocImpl(n, "test_route", lat, lon);
+	}
+
+	public void testCache() {
+		RouteCache cache = new RouteCache();
+		TestFinder rf = new TestFinder();
+		GeoLocImpl o = createLoc("O", 45.0, -93.0);
+		GeoLocImpl d = createLoc("D", 45.1, -93.0);
+		GeoLocImpl x = createLoc("X", null, null);
+		Route r = cache.findRoute(rf, o, d);
+		assertNotNull(r);
+		assertTrue(r == cache.findRoute(rf, o, d));
+		assertEquals(1, rf.searches);
+		// no route is also cached
+		assertNull(cache.findRoute(rf, x, d));
+		assertNull(cache.findRoute(rf, x, d));
+		assertEquals(2, rf.searches);
+		assertEquals(2, cache.size());
+		// moved origin is routed again
+		o.setLat(45.01);
+		assertFalse(r == cache.findRoute(rf, o, d));
+		assertEquals(3, rf.searches);
+		assertEquals(2, cache.size());
+		cache.clear();
+		assertEquals(0, cache.size());
+		cache.findRoute(rf, o, d);
+		assertEquals(4, rf.searches);
+	}
+
+	public void testR_NodeChange() {
+		RouteCache cache = new RouteCache();
+		TestFinder rf = new TestFinder();
+		GeoLocImpl o = createLoc("O", 45.0, -93.0);
+		GeoLocImpl d = createLoc("D", 45.1, -93.0);
+		R_NodeImpl rn = new R_NodeImpl("test_rnd");
+		Route r = cache.findRoute(rf, o, d);
+		assertTrue(r == cache.findRoute(rf, o, d));
+		assertEquals(1, rf.searches);
+		// route found before deactivating is not served after
+		rn.setActive(false);
+		assertFalse(r == cache.findRoute(rf, o, d));
+		assertEquals(2, rf.searches);
+		rn.setTransition(0);
+		cache.findRoute(rf, o, d);
+		assertEquals(3, rf.searches);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Startup loader test cases
+ * @author Douglas Lau
+ */
+public class StartupLoaderTest extends TestCase {
+
+	/** Objects created, in order */
+	private final ArrayList<String> created = new ArrayList<String>();
+
+	/** Latch counted down by each query */
+	private CountDownLatch queried;
+
+	public StartupLoaderTest(String name) {
+		super(name);
+	}
+
+	/** Create a table step which simulates a query */
+	private StartupLoader.Step tableStep(final String n, final int ms) {
+		return new StartupLoader.Step() {
+			public void load() throws TMSException {
+				queried.countDown();
+				try {
+					// first query waits for others to start
+					if (ms > 0) {
+						queried.await(ms,
+							TimeUnit.MILLISECONDS);
+					}
+				}
+				catch (InterruptedException e) {
+					throw new TMSException(e);
+				}
+				SQLConnection.passQueryBarrier();
+				synchronized (created) {
+					created.add(n);
+				}
+			}
+		};
+	}
+
+	/** Create a plain step */
+	private StartupLoader.Step plainStep(final String n) {
+		return new StartupLoader.Step() {
+			public void load() {
+				synchronized (created) {
+					created.add(n);
+				}
+			}
+		};
+	}
+
+	public void testOrder() throws TMSException {
+		queried = new CountDownLatch(3);
+		StartupLoader loader = new StartupLoader(4);
+		loader.addTable("a", tableStep("a", 5000));
+		loader.addTable("b", tableStep("b", 0));
+		loader.addStep("c", plainStep("c"));
+		loader.addTable("d", tableStep("d", 0));
+		loader.run();
+		assertEquals(0, queried.getCount());
+		assertEquals("[a, b, c, d]", created.toString());
+	}
+
+	public void testError() {
+		queried = new CountDownLatch(1);
+		StartupLoader loader = new StartupLoader(2);
+		loader.addTable("a", tableStep("a", 0));
+		loader.addTable("b", new StartupLoader.Step() {
+			public void load() throws TMSException {
+				throw new TMSException("failed");
+			}
+		});
+		loader.addStep("c", plainStep("c"));
+		try {
+			loader.run();
+			fail();
+		}
+		catch (TMSException e) {
+			assertEquals("failed", e.getMessage());
+		}
+		assertFalse(created.contains("c"));
+	}
+
+	public void testThrowable() {
+		queried = new CountDownLatch(1);
+		StartupLoader loader = new StartupLoader(2);
+		loader.addTable("a", tableStep("a", 0));
+		loader.addTable("b", new StartupLoader.Step() {
+			public void load() {
+				throw new AssertionError("broken");
+			}
+		});
+		loader.addStep("c", plainStep("c"));
+		try {
+			loader.run();
+			fail();
+		}
+		catch (TMSException e) {
+			assertTrue(e.getCause() instanceof AssertionError);
+		}
+		assertFalse(created.contains("c"));
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.List;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.TimeActionHelper;
+
+/**
+ * Time action test cases
+ * @author Douglas Lau
+ */
+public class TimeActionImplTest extends TestCase {
+
+	public TimeActionImplTest(String name) {
+		super(name);
+	}
+
+	/** Create a time action */
+	private TimeActionImpl createAction(String n, String tod) {
+		return new TimeActionImpl(n, null, null, null,
+			(tod != null) ? TimeActionHelper.parseTime(tod) : null,
+			null);
+	}
+
+	public void testLookupMinute() {
+		TimeActionImpl b = createAction("TA_B", "7:30");
+		TimeActionImpl a = createAction("TA_A", "7:30");
+		TimeActionImpl c = createAction("TA_C", "16:00");
+		createAction("TA_D", null);
+		List<TimeActionImpl> tas = TimeActionImpl.lookupMinute(450);
+		assertEquals(2, tas.size());
+		// ordered by name
+		assertTrue(tas.get(0) == a);
+		assertTrue(tas.get(1) == b);
+		tas = TimeActionImpl.lookupMinute(960);
+		assertEquals(1, tas.size());
+		assertTrue(tas.get(0) == c);
+		assertTrue(TimeActionImpl.lookupMinute(451).isEmpty());
+		// initializing again must not duplicate
+		a.initTransients();
+		assertEquals(2, TimeActionImpl.lookupMinute(450).size());
+	}
+}
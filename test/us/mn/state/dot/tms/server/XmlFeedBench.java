@@ -0,0 +1,187 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark for writing sample XML feeds.  The "legacy" path writes through
+ * BufferedWriter / OutputStreamWriter, with String.replace escaping and
+ * createAttribute strings.  The "feed" path uses FeedWriter and
+ * XmlWriter.writeAttribute.  Time and allocated bytes per sample are
+ * reported for each path.
+ *
+ * Usage: ant bench -Dbench=us.mn.state.dot.tms.server.XmlFeedBench
+ *        -Dbench.args="[samples] [rounds] [gzip level|none]"
+ *
+ * @author Douglas Lau
+ */
+public class XmlFeedBench {
+
+	/** Output stream which discards everything */
+	static private class NullOutputStream extends OutputStream {
+		private long n_bytes;
+		public void write(int b) {
+			n_bytes++;
+		}
+		public void write(byte[] b, int off, int len) {
+			n_bytes += len;
+		}
+	}
+
+	/** Legacy escaping (previous validateElementValue) */
+	static private String legacyValue(String v) {
+		v = v.replace("&", "&amp;");
+		v = v.replace("<", "&lt;");
+		v = v.replace(">", "&gt;");
+		v = v.replace("\"", "&quot;");
+		v = v.replace("\'", "&apos;");
+		return v;
+	}
+
+	/** Legacy name validation (previous validateElementName) */
+	static private String legacyName(String e) {
+		e = e.replace("&", "");
+		e = e.replace("<", "");
+		e = e.replace(">", "");
+		e = e.replace("\"", "");
+		e = e.replace("\'", "");
+		return e;
+	}
+
+	/** Legacy attribute (previous createAttribute) */
+	static private String legacyAttr(String name, Object value) {
+		StringBuilder sb = new StringBuilder(" ");
+		sb.append(legacyName(name));
+		sb.append("='");
+		sb.append(legacyValue(value.toString()));
+		sb.append("'");
+		return sb.toString();
+	}
+
+	/** Sensor names */
+	static private String[] names;
+
+	/** Write samples with the legacy path */
+	static private void writeLegacy(Writer w) throws IOException {
+		for (int i = 0; i < names.length; i++) {
+			w.write("\t<sample");
+			w.write(legacyAttr("sensor", names[i]));
+			w.write(legacyAttr("flow", 300 + i % 2000));
+			w.write(legacyAttr("speed", 20 + i % 50));
+			w.write(legacyAttr("occ", BaseObjectImpl.formatFloat(
+				(i % 1000) / 10f, 2)));
+			w.write("/>\n");
+		}
+	}
+
+	/** Write samples with the feed writer path */
+	static private void writeFeed(Writer w) throws IOException {
+		for (int i = 0; i < names.length; i++) {
+			w.write("\t<sample");
+			XmlWriter.writeAttribute(w, "sensor", names[i]);
+			XmlWriter.writeAttribute(w, "flow", 300 + i % 2000);
+			XmlWriter.writeAttribute(w, "speed", 20 + i % 50);
+			XmlWriter.writeAttribute(w, "occ", BaseObjectImpl
+				.formatFloat((i % 1000) / 10f, 2));
+			w.write("/>\n");
+		}
+	}
+
+	/** Create the output stream */
+	static private OutputStream createStream(OutputStream os, Integer lvl)
+		throws IOException
+	{
+		if (lvl == null)
+			return os;
+		return (lvl < -1) ? new GZIPOutputStream(os)
+		                  : FeedWriter.gzipStream(os, lvl);
+	}
+
+	/** Thread bean for allocation counting */
+	static private final ThreadMXBean BEAN =
+		ManagementFactory.getThreadMXBean();
+
+	/** Get bytes allocated by the current thread (or 0) */
+	static private long allocated() {
+		if (BEAN instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) BEAN)
+				.getThreadAllocatedBytes(
+				Thread.currentThread().getId());
+		} else
+			return 0;
+	}
+
+	/** Run one round of a path */
+	static private long[] round(boolean feed, Integer lvl)
+		throws IOException
+	{
+		NullOutputStream nos = new NullOutputStream();
+		long a0 = allocated();
+		long t0 = System.nanoTime();
+		OutputStream os = createStream(nos, lvl);
+		if (feed) {
+			FeedWriter fw = new FeedWriter(os);
+			writeFeed(fw);
+			fw.close();
+		} else {
+			BufferedWriter bw = new BufferedWriter(
+				new OutputStreamWriter(os));
+			writeLegacy(bw);
+			bw.close();
+		}
+		long t1 = System.nanoTime();
+		long a1 = allocated();
+		return new long[] { t1 - t0, a1 - a0, nos.n_bytes };
+	}
+
+	/** Run the benchmark */
+	static public void main(String[] args) throws Exception {
+		int samples = (args.length > 0) ? Integer.parseInt(args[0])
+		                                : 10000;
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 50;
+		Integer lvl = null;
+		if (args.length > 2 && !"none".equals(args[2]))
+			lvl = Integer.valueOf(args[2]);
+		names = new String[samples];
+		for (int i = 0; i < samples; i++)
+			names[i] = "S" + i;
+		for (boolean feed: new boolean[] { false, true }) {
+			// warm up
+			for (int r = 0; r < rounds; r++)
+				round(feed, lvl);
+			long ns = 0;
+			long bytes = 0;
+			long out = 0;
+			for (int r = 0; r < rounds; r++) {
+				long[] res = round(feed, lvl);
+				ns += res[0];
+				bytes += res[1];
+				out = res[2];
+			}
+			double n = (double) rounds * samples;
+			System.out.printf("%s: %.1f ns/sample, %.1f B/sample " +
+				"allocated, %d bytes output\n",
+				feed ? "feed" : "legacy", ns / n, bytes / n, out);
+		}
+	}
+}
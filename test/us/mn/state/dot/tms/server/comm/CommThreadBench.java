@@ -0,0 +1,147 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark for comm thread modes.  Each simulated link waits for a poll
+ * period on an operation queue, like an idle comm thread.  Memory (RSS) and
+ * context switches for the process are reported (Linux only).
+ *
+ * Usage: ant bench -Dbench=us.mn.state.dot.tms.server.comm.CommThreadBench
+ *        -Dbench.args="[platform|virtual] [links] [seconds]"
+ *
+ * @author Douglas Lau
+ */
+public class CommThreadBench {
+
+	/** Poll period for each link (ms) */
+	static private final int POLL_MS = 100;
+
+	/** Total number of polls */
+	static private final AtomicLong POLLS = new AtomicLong();
+
+	/** Total lateness of polls (ms) */
+	static private final AtomicLong LATE_MS = new AtomicLong();
+
+	/** Flag to stop links */
+	static private volatile boolean done = false;
+
+	/** Read a value (kB or count) from a proc status file */
+	static private long readStatus(File f, String key) {
+		try (BufferedReader r = new BufferedReader(new FileReader(f))) {
+			String line;
+			while ((line = r.readLine()) != null) {
+				if (line.startsWith(key)) {
+					String v = line.substring(key.length())
+						.trim().split("\\s+")[0];
+					return Long.parseLong(v);
+				}
+			}
+		}
+		catch (IOException | NumberFormatException e) {
+			// thread may have exited
+		}
+		return 0;
+	}
+
+	/** Get the process resident set size (kB) */
+	static private long rssKb() {
+		return readStatus(new File("/proc/self/status"), "VmRSS:");
+	}
+
+	/** Get the total context switches for all process threads */
+	static private long contextSwitches() {
+		long n = 0;
+		File[] tasks = new File("/proc/self/task").listFiles();
+		if (tasks != null) {
+			for (File t: tasks) {
+				File st = new File(t, "status");
+				n += readStatus(st, "voluntary_ctxt_switches:");
+				n += readStatus(st,
+					"nonvoluntary_ctxt_switches:");
+			}
+		}
+		return n;
+	}
+
+	/** Simulated comm link loop.  Each link waits on an empty operation
+	 * queue with an idle timeout, like an idle comm thread. */
+	static private final Runnable LINK = new Runnable() {
+		public void run() {
+			OpQueue<ControllerProperty> queue =
+				new OpQueue<ControllerProperty>();
+			while (!done) {
+				long next = System.currentTimeMillis() + POLL_MS;
+				try {
+					queue.next(POLL_MS);
+				}
+				catch (DisconnectException e) {
+					if ("DESTROYED".equals(e.getMessage()))
+						return;
+				}
+				long now = System.currentTimeMillis();
+				LATE_MS.addAndGet(Math.max(now - next, 0));
+				POLLS.incrementAndGet();
+			}
+		}
+	};
+
+	/** Run the benchmark */
+	static public void main(String[] args) throws Exception {
+		String mode = (args.length > 0) ? args[0] : "platform";
+		int links = (args.length > 1) ? Integer.parseInt(args[1]) : 2000;
+		int secs = (args.length > 2) ? Integer.parseInt(args[2]) : 10;
+		CommThreadFactory.setFactory(
+			CommThreadFactory.lookupFactory(mode));
+		System.gc();
+		long rss0 = rssKb();
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < links; i++) {
+			Thread t = CommThreadFactory.newThread("Comm: bench" + i,
+				LINK);
+			t.start();
+			threads.add(t);
+		}
+		Thread.sleep(1000);
+		long rss1 = rssKb();
+		long cs0 = contextSwitches();
+		long p0 = POLLS.get();
+		long l0 = LATE_MS.get();
+		Thread.sleep(secs * 1000L);
+		long cs1 = contextSwitches();
+		long polls = POLLS.get() - p0;
+		long late = LATE_MS.get() - l0;
+		done = true;
+		for (Thread t: threads)
+			t.interrupt();
+		for (Thread t: threads)
+			t.join();
+		System.out.println("mode: " + mode + ", links: " + links +
+			", seconds: " + secs);
+		System.out.println("RSS: " + (rss1 - rss0) + " kB total, " +
+			((rss1 - rss0) / Math.max(links, 1)) + " kB per link");
+		System.out.println("polls: " + polls + ", avg late: " +
+			((polls > 0) ? (late / (double) polls) : 0) + " ms");
+		System.out.println("context switches: " + (cs1 - cs0) + ", " +
+			((cs1 - cs0) / Math.max(secs, 1)) + " per second");
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import junit.framework.TestCase;
+
+/**
+ * SNMP message limit test cases
+ * @author Douglas Lau
+ */
+public class MessageLimitTest extends TestCase {
+
+	public MessageLimitTest(String name) {
+		super(name);
+	}
+
+	public void testGrow() {
+		MessageLimit ml = new MessageLimit();
+		assertEquals(484, ml.getLimit());
+		// small messages don't raise the limit
+		ml.success(200);
+		assertEquals(484, ml.getLimit());
+		ml.success(480);
+		assertEquals(605, ml.getLimit());
+		for (int i = 0; i < 10; i++)
+			ml.success(ml.getLimit());
+		assertEquals(MessageLimit.MAX_LIMIT, ml.getLimit());
+	}
+
+	public void testTooBig() {
+		MessageLimit ml = new MessageLimit();
+		ml.success(480);
+		ml.success(600);
+		assertEquals(756, ml.getLimit());
+		ml.tooBig(700);
+		assertEquals(699, ml.getLimit());
+		// never raised beyond a TooBig size
+		ml.success(690);
+		assertEquals(699, ml.getLimit());
+		// never lowered below the minimum
+		ml.tooBig(300);
+		assertEquals(484, ml.getLimit());
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.comm.ntcip.mib1203.*;
+import static us.mn.state.dot.tms.server.comm.ntcip.mib1203.MIB1203.*;
+
+/**
+ * SNMP message size test cases
+ * @author Douglas Lau
+ */
+public class MessageSizeTest extends TestCase {
+
+	public MessageSizeTest(String name) {
+		super(name);
+	}
+
+	/** Encode a get-request and return its size */
+	private int encodeGet(String c, ASN1Object[] objs) {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		SNMP snmp = new SNMP();
+		SNMP.Message mess = snmp.new Message(os,
+			new ByteArrayInputStream(new byte[0]), c, 0x12345678);
+		for (ASN1Object mo: objs)
+			mess.add(mo);
+		try {
+			mess.queryProps();
+			fail();
+		}
+		catch (IOException e) {
+			// no response
+		}
+		return os.size();
+	}
+
+	/** Estimate the size of a get-request */
+	private int estimateGet(String c, ASN1Object[] objs) {
+		int vb_len = 0;
+		for (ASN1Object mo: objs)
+			vb_len += SNMP.varBindSize(mo, 0);
+		return SNMP.messageSize(c, vb_len);
+	}
+
+	public void testResponseSize() throws IOException {
+		ASN1Integer h = dmsSignHeight.makeInt();
+		ASN1Integer w = dmsSignWidth.makeInt();
+		h.setInteger(1200);
+		w.setInteger(5000);
+		// encode a set-request, and turn it into a get-response
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		SNMP snmp = new SNMP();
+		SNMP.Message set = snmp.new Message(os,
+			new ByteArrayInputStream(new byte[0]), null, 77);
+		set.add(h);
+		set.add(w);
+		try {
+			set.storeProps();
+			fail();
+		}
+		catch (IOException e) {
+			// no response
+		}
+		byte[] resp = os.toByteArray();
+		for (int i = 0; i < resp.length; i++) {
+			if (resp[i] == (byte) 0xA3) {
+				resp[i] = (byte) 0xA2;
+				break;
+			}
+		}
+		// response is not available until the request is sent
+		InputStream is = new ByteArrayInputStream(resp) {
+			@Override public long skip(long n) {
+				return 0;
+			}
+		};
+		SNMP.Message get = snmp.new Message(new ByteArrayOutputStream(),
+			is, null, 77);
+		get.add(dmsSignHeight.makeInt());
+		get.add(dmsSignWidth.makeInt());
+		get.queryProps();
+		assertEquals(resp.length, get.getResponseSize());
+	}
+
+	public void testSmall() {
+		ASN1Object[] objs = new ASN1Object[] {
+			dmsSignHeight.makeInt(),
+			dmsSignWidth.makeInt(),
+		};
+		assertEquals(encodeGet(null, objs), estimateGet(null, objs));
+		assertEquals(encodeGet("secret", objs),
+			estimateGet("secret", objs));
+	}
+
+	public void testLarge() {
+		ASN1Object[] objs = new ASN1Object[40];
+		for (int i = 0; i < 20; i++) {
+			objs[i * 2] = characterWidth.makeInt(3, i + 120);
+			objs[i * 2 + 1] = new ASN1OctetString(
+				characterBitmap.node, 3, i + 120);
+		}
+		int size = encodeGet(null, objs);
+		assertTrue(size > 255);
+		assertEquals(size, estimateGet(null, objs));
+	}
+}